@@ -46,4 +46,13 @@ public @interface RPCMethod {
      * @return if the annotated method is an rpc method
      */
     boolean legacy() default false;
+
+    /**
+     * Flag marking RPCs which are invoked directly by the thread handling the request instead of a separate executor task.
+     * Only use this for methods which return immediately or return a future, because a stalled method can not be canceled
+     * by the rpc timeout and blocks the handler thread.
+     *
+     * @return if the annotated method should be invoked directly.
+     */
+    boolean directDispatch() default false;
 }
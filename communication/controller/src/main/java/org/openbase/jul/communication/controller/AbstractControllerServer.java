@@ -24,12 +24,15 @@ package org.openbase.jul.communication.controller;
 
 import com.google.protobuf.AbstractMessage;
 import com.google.protobuf.Descriptors;
+import org.openbase.jps.core.JPService;
+import org.openbase.jul.communication.controller.jp.JPDeltaPublication;
 import org.openbase.jul.exception.InstantiationException;
 import org.openbase.jul.exception.*;
 import org.openbase.jul.exception.printer.ExceptionPrinter;
 import org.openbase.jul.exception.printer.LogLevel;
 import org.openbase.jul.extension.protobuf.*;
 import org.openbase.jul.extension.protobuf.BuilderSyncSetup.NotificationStrategy;
+import org.openbase.jul.extension.protobuf.processing.ProtoBufDeltaProcessor;
 import org.openbase.jul.extension.rsb.com.*;
 import org.openbase.jul.extension.rsb.iface.RSBInformer;
 import org.openbase.jul.extension.rsb.iface.RSBLocalServer;
@@ -50,8 +53,10 @@ import org.slf4j.LoggerFactory;
 import rsb.Event;
 import rsb.config.ParticipantConfig;
 
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
@@ -77,6 +82,10 @@ public abstract class AbstractControllerServer<M extends AbstractMessage, MB ext
 
     public final static String RPC_REQUEST_STATUS = "requestStatus";
 
+    public final static String DATA_SEQUENCE_NUMBER_KEY = "DATA_SEQUENCE_NUMBER";
+    public final static String DATA_DELTA_FIELDS_KEY = "DATA_DELTA_FIELDS";
+    public final static String DATA_DELTA_FIELD_SEPARATOR = ",";
+
     protected final Logger logger = LoggerFactory.getLogger(getClass());
 
     private final ShutdownDaemon shutdownDaemon;
@@ -107,6 +116,15 @@ public abstract class AbstractControllerServer<M extends AbstractMessage, MB ext
 
     private volatile long transaction_id = 0;
 
+    private final SyncObject publicationLock = new SyncObject("PublicationLock");
+    private ScheduledFuture<?> publicationFuture;
+    private long lastPublicationTime = 0;
+
+    private final SyncObject snapshotLock = new SyncObject("SnapshotLock");
+    private M lastPublishedData;
+    private long publicationSequenceNumber = 0;
+    private boolean snapshotRequired = true;
+
     /**
      * Create a communication service.
      *
@@ -151,6 +169,27 @@ public abstract class AbstractControllerServer<M extends AbstractMessage, MB ext
         return 0;
     }
 
+    /**
+     * Method can be overwritten to limit the rate of data publications.
+     * All changes notified within this interval are coalesced into a single publication of the latest data state.
+     * Zero disables the coalescing so each change is published immediately.
+     *
+     * @return the minimal interval between two publications in milliseconds.
+     */
+    protected long getMinPublicationInterval() {
+        return 0;
+    }
+
+    /**
+     * Method can be overwritten to control if data changes are published as field level deltas.
+     * By default this is configured via {@link JPDeltaPublication}.
+     *
+     * @return true if only the changed fields should be published.
+     */
+    protected boolean isDeltaPublicationEnabled() {
+        return JPService.getValue(JPDeltaPublication.class, false);
+    }
+
 
     /**
      * @param scope
@@ -352,6 +391,9 @@ public abstract class AbstractControllerServer<M extends AbstractMessage, MB ext
                 initialDataSyncFuture.cancel(true);
             }
 
+            // flush coalesced changes while the remotes can still receive them
+            flushPendingPublication();
+
             logger.debug("Deactivate AbstractControllerServer for: " + this);
             // The order is important: The informer publishes a zero event when the availabilityState is set to deactivating which leads remotes to disconnect
             // The remotes try to reconnect again and start a requestData. If the server is still active it will respond
@@ -365,6 +407,7 @@ public abstract class AbstractControllerServer<M extends AbstractMessage, MB ext
                 informerWatchDog.deactivate();
             }
             setAvailabilityState(OFFLINE);
+            lastPublishedData = null;
         } finally {
             manageLock.unlockWrite(this);
         }
@@ -375,6 +418,7 @@ public abstract class AbstractControllerServer<M extends AbstractMessage, MB ext
         try {
             // clear init flag
             initialized = false;
+            lastPublishedData = null;
 
             if (serverWatchDog != null) {
                 serverWatchDog.shutdown();
@@ -769,6 +813,53 @@ public abstract class AbstractControllerServer<M extends AbstractMessage, MB ext
     @Override
     public void notifyChange() throws CouldNotPerformException, InterruptedException {
         logger.debug("Notify data change of {}", this);
+
+        final long minPublicationInterval = getMinPublicationInterval();
+        if (minPublicationInterval > 0) {
+            synchronized (publicationLock) {
+                // a scheduled publication always publishes the latest data state so this change is covered
+                if (publicationFuture != null && !publicationFuture.isDone()) {
+                    return;
+                }
+
+                final long delay = lastPublicationTime + minPublicationInterval - System.currentTimeMillis();
+                if (delay > 0) {
+                    publicationFuture = GlobalScheduledExecutorService.schedule(() -> {
+                        try {
+                            publishChange();
+                        } catch (InterruptedException ex) {
+                            Thread.currentThread().interrupt();
+                        } catch (CouldNotPerformException ex) {
+                            if (!ExceptionProcessor.isCausedBySystemShutdown(ex)) {
+                                ExceptionPrinter.printHistory(new CouldNotPerformException("Could not publish coalesced data change of " + this + "!", ex), logger);
+                            }
+                        }
+                    }, delay, TimeUnit.MILLISECONDS);
+                    return;
+                }
+            }
+        }
+        publishChange();
+    }
+
+    /**
+     * Publishes a coalesced change which is still waiting for its publication slot.
+     *
+     * @throws CouldNotPerformException if the publication fails.
+     * @throws InterruptedException     is thrown if the thread was externally interrupted.
+     */
+    private void flushPendingPublication() throws CouldNotPerformException, InterruptedException {
+        synchronized (publicationLock) {
+            // a publication which is already running is blocked by the manage lock and will be skipped since the controller is not active anymore
+            if (publicationFuture == null || !publicationFuture.cancel(false)) {
+                return;
+            }
+            publicationFuture = null;
+        }
+        publishChange();
+    }
+
+    private void publishChange() throws CouldNotPerformException, InterruptedException {
         // synchronized by manageable lock to prevent reinit between validateInitialization and publish
         M newData;
         manageLock.lockWriteInterruptibly(this);
@@ -783,16 +874,30 @@ public abstract class AbstractControllerServer<M extends AbstractMessage, MB ext
                 throw ex;
             }
 
+            synchronized (publicationLock) {
+                lastPublicationTime = System.currentTimeMillis();
+            }
+
             // update the current data builder before updating to allow implementations to change data beforehand
             newData = updateDataToPublish(cloneDataBuilder());
-            Event event = new Event(informer.getScope(), newData.getClass(), newData);
-            event.getMetaData().setUserTime(RPCHelper.USER_TIME_KEY, System.nanoTime());
 
             // only publish if controller is active
             if (isActive()) {
                 try {
                     waitForMiddleware(NOTIFICATILONG_TIMEOUT, TimeUnit.MILLISECONDS);
-                    informer.publish(event);
+
+                    // snapshot requests received while the event is build or published are served by the next publication
+                    synchronized (snapshotLock) {
+                        final Event event = createDataEvent(newData);
+                        informer.publish(event);
+
+                        // remotes which missed a publication detect the sequence gap and resync via requestStatus
+                        publicationSequenceNumber++;
+                        lastPublishedData = newData;
+                        if (!event.getMetaData().hasUserInfo(DATA_DELTA_FIELDS_KEY)) {
+                            snapshotRequired = false;
+                        }
+                    }
                 } catch (TimeoutException ex) {
                     if (ExceptionProcessor.isCausedBySystemShutdown(ex)) {
                         throw ex;
@@ -826,6 +931,43 @@ public abstract class AbstractControllerServer<M extends AbstractMessage, MB ext
         }
     }
 
+    /**
+     * Creates the event to publish the given data. If delta publication is enabled via {@link #isDeltaPublicationEnabled()}
+     * only the fields which changed since the last publication are transferred. A full snapshot is published
+     * instead whenever no previous publication is known or a remote resynchronized via {@link #requestStatus()},
+     * because those remotes can only continue applying deltas after receiving a sequenced snapshot.
+     * <p>
+     * Note: Method needs to be called while holding the snapshot lock.
+     *
+     * @param newData the data to publish.
+     *
+     * @return the event to publish.
+     *
+     * @throws NotAvailableException if the informer scope is not available.
+     */
+    private Event createDataEvent(final M newData) throws NotAvailableException {
+        final long sequenceNumber = publicationSequenceNumber + 1;
+        Event event = null;
+
+        if (lastPublishedData != null && !snapshotRequired && isDeltaPublicationEnabled()) {
+            final List<String> fieldPathList = ProtoBufDeltaProcessor.computeChangedFieldPaths(lastPublishedData, newData);
+            final M delta = ProtoBufDeltaProcessor.extractFields(newData, fieldPathList);
+
+            // partial messages missing required fields can not be deserialized by the remote
+            if (delta.isInitialized()) {
+                event = new Event(informer.getScope(), delta.getClass(), delta);
+                event.getMetaData().setUserInfo(DATA_DELTA_FIELDS_KEY, String.join(DATA_DELTA_FIELD_SEPARATOR, fieldPathList));
+            }
+        }
+
+        if (event == null) {
+            event = new Event(informer.getScope(), newData.getClass(), newData);
+        }
+        event.getMetaData().setUserInfo(DATA_SEQUENCE_NUMBER_KEY, Long.toString(sequenceNumber));
+        event.getMetaData().setUserTime(RPCHelper.USER_TIME_KEY, System.nanoTime());
+        return event;
+    }
+
     /**
      * Called before publishing data via the informer. Can be implemented by
      * sub classes to update data which can be received by everyone.
@@ -1072,6 +1214,10 @@ public abstract class AbstractControllerServer<M extends AbstractMessage, MB ext
     public M requestStatus() throws CouldNotPerformException {
         logger.trace("requestStatus of {}", this);
         try {
+            // the requesting remote waits for a full snapshot before applying deltas again
+            synchronized (snapshotLock) {
+                snapshotRequired = true;
+            }
             return getData();
         } catch (RuntimeException ex) {
             throw ex;
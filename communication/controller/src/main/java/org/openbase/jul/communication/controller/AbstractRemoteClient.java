@@ -31,6 +31,7 @@ import org.openbase.jul.exception.*;
 import org.openbase.jul.exception.printer.ExceptionPrinter;
 import org.openbase.jul.exception.printer.LogLevel;
 import org.openbase.jul.extension.protobuf.processing.MessageProcessor;
+import org.openbase.jul.extension.protobuf.processing.ProtoBufDeltaProcessor;
 import org.openbase.jul.extension.protobuf.processing.SimpleMessageProcessor;
 import org.openbase.jul.extension.rsb.com.*;
 import org.openbase.jul.extension.rsb.com.exception.RSBResolvedException;
@@ -56,11 +57,18 @@ import rsb.Handler;
 import rsb.RSBException;
 import rsb.config.ParticipantConfig;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.*;
 
+import static org.openbase.jul.communication.controller.AbstractControllerServer.DATA_DELTA_FIELDS_KEY;
+import static org.openbase.jul.communication.controller.AbstractControllerServer.DATA_DELTA_FIELD_SEPARATOR;
+import static org.openbase.jul.communication.controller.AbstractControllerServer.DATA_SEQUENCE_NUMBER_KEY;
 import static org.openbase.jul.communication.controller.AbstractControllerServer.RPC_REQUEST_STATUS;
 import static org.openbase.type.domotic.state.ConnectionStateType.ConnectionState.State.*;
 
@@ -117,6 +125,9 @@ public abstract class AbstractRemoteClient<M extends Message> implements RSBRemo
     private boolean connectionFailure = false;
     private Future<Long> pingTask = null;
     private volatile long transactionId = -1;
+    private Message deltaBase;
+    private long dataSequenceNumber = -1;
+    private volatile List<String> dataFieldMask = null;
 
 
     public AbstractRemoteClient(final Class<M> dataClass) {
@@ -131,6 +142,13 @@ public abstract class AbstractRemoteClient<M extends Message> implements RSBRemo
         this.lastPingReceived = -1;
         this.messageProcessor = new SimpleMessageProcessor<>(dataClass);
         this.connectionStateObservable.setExecutorService(GlobalCachedExecutorService.getInstance().getExecutorService());
+        this.dataObservable.setHashGenerator(value -> {
+            final List<String> fieldMask = dataFieldMask;
+            if (fieldMask == null) {
+                return value.hashCode();
+            }
+            return ProtoBufDeltaProcessor.extractFields(value, fieldMask).hashCode();
+        });
         this.middlewareFailureObserver = (source, watchDogState) -> {
             switch (watchDogState) {
                 case FAILED:
@@ -1069,17 +1087,12 @@ public abstract class AbstractRemoteClient<M extends Message> implements RSBRemo
 
                 // reset transaction id because controller will start at 0 again after reconnect.
                 transactionId = 0;
+                deltaBase = null;
+                dataSequenceNumber = -1;
                 setConnectionState(CONNECTING);
 
                 return dataUpdate;
             } else {
-                // received correct data
-                try {
-                    dataUpdate = messageProcessor.process((Message) event.getData());
-                } catch (CouldNotPerformException ex) {
-                    throw new CouldNotPerformException("Could not process message", ex);
-                }
-
                 // skip events which were send later than the last received update
                 long userTime = RPCHelper.USER_TIME_VALUE_INVALID;
                 if (event.getMetaData().hasUserTime(RPCHelper.USER_TIME_KEY)) {
@@ -1098,12 +1111,74 @@ public abstract class AbstractRemoteClient<M extends Message> implements RSBRemo
                     newestEventTimeNano = userTime;
                 }
                 newestEventTime = event.getMetaData().getCreateTime();
+
+                // received correct data
+                final Message message = resolveDeltaUpdate(event);
+                if (message == null) {
+                    return data;
+                }
+
+                try {
+                    dataUpdate = messageProcessor.process(message);
+                } catch (CouldNotPerformException ex) {
+                    throw new CouldNotPerformException("Could not process message", ex);
+                }
                 applyDataUpdate(dataUpdate);
                 return dataUpdate;
             }
         }
     }
 
+    /**
+     * Resolves the full message of the given event. Delta events are applied on the last received message as long
+     * as their sequence number directly follows the one of the last received message. On a sequence gap a full
+     * snapshot is requested and all deltas are skipped until a sequenced snapshot arrives.
+     * <p>
+     * Note: Method needs to be called while holding the data update monitor.
+     *
+     * @param event the event to resolve.
+     *
+     * @return the full message or null if the event can not be applied.
+     */
+    private Message resolveDeltaUpdate(final Event event) {
+        final Message message = (Message) event.getData();
+
+        // snapshots delivered via rpc do not carry a sequence number and can not be used as delta base.
+        if (!event.getMetaData().hasUserInfo(DATA_SEQUENCE_NUMBER_KEY)) {
+            deltaBase = null;
+            dataSequenceNumber = -1;
+            return message;
+        }
+
+        final long sequenceNumber = Long.parseLong(event.getMetaData().getUserInfo(DATA_SEQUENCE_NUMBER_KEY));
+
+        // full snapshot
+        if (!event.getMetaData().hasUserInfo(DATA_DELTA_FIELDS_KEY)) {
+            deltaBase = message;
+            dataSequenceNumber = sequenceNumber;
+            return message;
+        }
+
+        if (deltaBase == null || sequenceNumber != dataSequenceNumber + 1) {
+            // a pending snapshot request is reused so consecutive deltas do not cause further requests.
+            logger.debug("Skip data update of " + getScopeStringRep() + " because sequence number " + sequenceNumber + " does not follow " + dataSequenceNumber + ". Request snapshot...");
+            deltaBase = null;
+            dataSequenceNumber = -1;
+            requestData();
+            return null;
+        }
+
+        final List<String> fieldPathList = new ArrayList<>();
+        for (final String fieldPath : event.getMetaData().getUserInfo(DATA_DELTA_FIELDS_KEY).split(DATA_DELTA_FIELD_SEPARATOR)) {
+            if (!fieldPath.isEmpty()) {
+                fieldPathList.add(fieldPath);
+            }
+        }
+        deltaBase = ProtoBufDeltaProcessor.applyDelta(deltaBase, message, fieldPathList);
+        dataSequenceNumber = sequenceNumber;
+        return deltaBase;
+    }
+
     /**
      * This method deactivates the remote and cleans all resources.
      */
@@ -1532,6 +1607,48 @@ public abstract class AbstractRemoteClient<M extends Message> implements RSBRemo
         }
     }
 
+    /**
+     * Declares the fields the data observers of this remote are interested in.
+     * Once a mask is set, data observers are only notified if at least one of the masked fields has changed.
+     * The transaction id is always part of the mask so transaction synchronization futures are still resolved.
+     * The data object itself is always fully synchronized, so {@link #getData()} is not affected by the mask.
+     * <p>
+     * Note: The mask should be declared before the remote is activated.
+     *
+     * @param fieldPaths the paths of the fields to observe, nested fields are separated by a dot, e.g. {@code power_state.value}.
+     *                   If no path is passed the mask is removed and observers are informed about every data change.
+     *
+     * @throws CouldNotPerformException if at least one path can not be resolved for the data type of this remote.
+     */
+    public void setDataFieldMask(final String... fieldPaths) throws CouldNotPerformException {
+        if (fieldPaths.length == 0) {
+            dataFieldMask = null;
+            return;
+        }
+
+        final List<String> fieldMask = new ArrayList<>(Arrays.asList(fieldPaths));
+        ProtoBufDeltaProcessor.validateFieldPaths(dataClass, fieldMask);
+        if (!fieldMask.contains(TransactionIdProvider.TRANSACTION_ID_FIELD_NAME)) {
+            fieldMask.add(TransactionIdProvider.TRANSACTION_ID_FIELD_NAME);
+        }
+        dataFieldMask = Collections.unmodifiableList(fieldMask);
+    }
+
+    /**
+     * Returns the field mask declared via {@link #setDataFieldMask(String...)}.
+     *
+     * @return the mask including the transaction id field.
+     *
+     * @throws NotAvailableException if no mask was declared.
+     */
+    public List<String> getDataFieldMask() throws NotAvailableException {
+        final List<String> fieldMask = dataFieldMask;
+        if (fieldMask == null) {
+            throw new NotAvailableException("DataFieldMask");
+        }
+        return fieldMask;
+    }
+
     /**
      * This observable notifies sequentially and prior to the normal dataObserver.
      * It should be used by remote services which need to do some things before
@@ -40,6 +40,10 @@ import rsb.Event;
 import rsb.patterns.Callback;
 import rsb.patterns.Callback.UserCodeException;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
 import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.Map;
@@ -109,6 +113,17 @@ public class RPCHelper {
 //        }
         final Logger logger = LoggerFactory.getLogger(instance.getClass());
         logger.debug("Register Method[{}] on Scope[{}].", method.getName(), server.getScope());
+
+        // bind the method once so calls do not pay for reflective access checks and argument array creation.
+        final MethodHandle invoker;
+        final boolean argumentRequired = method.getParameterCount() > 0;
+        final boolean directDispatch = method.getAnnotation(RPCMethod.class) != null && method.getAnnotation(RPCMethod.class).directDispatch();
+        try {
+            invoker = MethodHandles.lookup().unreflect(method).bindTo(instance).asType(MethodType.genericMethodType(method.getParameterCount()));
+        } catch (IllegalAccessException | IllegalArgumentException | ClassCastException | WrongMethodTypeException ex) {
+            throw new CouldNotPerformException("Could not bind Method[" + method.getName() + "] of " + instance + "!", ex);
+        }
+
         try {
             server.addMethod(method.getName(), event -> {
                 try {
@@ -116,43 +131,22 @@ public class RPCHelper {
                         throw new NotAvailableException("event");
                     }
 
-                    Object result;
-                    Class<?> payloadType;
-                    Future<Object> resultFuture = null;
-
-                    try {
-                        // Encapsulate invocation to detect method invocation stall via timeout
-                        //TODO: please check via benchmark if this causes into a performance issue compared to the direct invocation. Related to openbase/jul#46 Validate performance of method invocation encapsulation
-                        resultFuture = GlobalCachedExecutorService.submit(() -> {
-                            if (event.getData() == null) {
-                                return method.invoke(instance);
+                    final Callable<Object> invocation = () -> {
+                        try {
+                            if (argumentRequired) {
+                                return (Object) invoker.invokeExact(event.getData());
                             } else {
-                                return method.invoke(instance, event.getData());
-                            }
-                        });
-                        result = resultFuture.get(RPC_TIMEOUT, TimeUnit.MILLISECONDS);
-
-                        // Implementation of Future support by resolving result to reach inner future object.
-                        if (result instanceof Future) {
-                            try {
-                                result = ((Future) result).get(RPC_TIMEOUT, TimeUnit.MILLISECONDS);
-                            } catch (final TimeoutException ex) {
-                                ((Future) result).cancel(true);
-                                throw ex;
+                                return (Object) invoker.invokeExact();
                             }
+                        } catch (Exception | Error ex) {
+                            throw ex;
+                        } catch (Throwable ex) {
+                            throw new ExecutionException(ex);
                         }
-                    } catch (final TimeoutException ex) {
-                        if (resultFuture != null && !resultFuture.isDone()) {
-                            resultFuture.cancel(true);
-                        }
-                        throw new CouldNotPerformException("Remote task was canceled!", ex);
-                    } catch (InterruptedException ex) {
-                        if (resultFuture != null && !resultFuture.isDone()) {
-                            resultFuture.cancel(true);
-                        }
-                        throw ex;
-                    }
+                    };
 
+                    final Object result = invokeMethod(invocation, directDispatch, RPC_TIMEOUT);
+                    final Class<?> payloadType;
                     if (result == null) {
                         payloadType = Void.class;
                     } else {
@@ -180,43 +174,128 @@ public class RPCHelper {
         }
     }
 
+    /**
+     * Invokes a registered method and resolves its result.
+     * <p>
+     * By default the invocation is performed by the global executor, so a stalled method is canceled after the given timeout
+     * without interrupting the calling thread. Methods which opt in via {@link RPCMethod#directDispatch()} are invoked by the
+     * calling thread instead. In this case the timeout only applies to the resolution of a returned future.
+     *
+     * @param invocation     the method invocation.
+     * @param directDispatch if the invocation should be performed by the calling thread.
+     * @param timeout        the timeout in milliseconds.
+     *
+     * @return the result of the invocation where returned futures are already resolved.
+     *
+     * @throws CouldNotPerformException is thrown if the invocation timed out.
+     * @throws ExecutionException       is thrown if the invoked method has thrown an exception.
+     * @throws InterruptedException     is thrown if the calling thread was interrupted.
+     */
+    static Object invokeMethod(final Callable<Object> invocation, final boolean directDispatch, final long timeout) throws CouldNotPerformException, ExecutionException, InterruptedException {
+        final long deadline = System.currentTimeMillis() + timeout;
+        Future<Object> resultFuture = null;
+        Object result;
+        try {
+            if (directDispatch) {
+                try {
+                    result = invocation.call();
+                } catch (InterruptedException | ExecutionException ex) {
+                    throw ex;
+                } catch (Exception | Error ex) {
+                    // report failures in the same way as the executor does.
+                    throw new ExecutionException(ex);
+                }
+            } else {
+                // Encapsulate invocation to detect method invocation stall via timeout
+                //TODO: please check via benchmark if this causes into a performance issue compared to the direct invocation. Related to openbase/jul#46 Validate performance of method invocation encapsulation
+                resultFuture = GlobalCachedExecutorService.submit(invocation);
+                result = resultFuture.get(timeout, TimeUnit.MILLISECONDS);
+            }
+
+            // Implementation of Future support by resolving result to reach inner future object.
+            if (result instanceof Future) {
+                try {
+                    result = ((Future) result).get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+                } catch (final TimeoutException | InterruptedException ex) {
+                    ((Future) result).cancel(true);
+                    throw ex;
+                }
+            }
+            return result;
+        } catch (final TimeoutException ex) {
+            if (resultFuture != null && !resultFuture.isDone()) {
+                resultFuture.cancel(true);
+            }
+            throw new CouldNotPerformException("Remote task was canceled!", ex);
+        } catch (InterruptedException ex) {
+            if (resultFuture != null && !resultFuture.isDone()) {
+                resultFuture.cancel(true);
+            }
+            throw ex;
+        }
+    }
+
     public static Future<Object> callRemoteMethod(final RSBRemote remote) {
-        return internalCallRemoteMethod(null, remote, Object.class);
+        return internalCallRemoteMethod(null, null, remote, Object.class);
     }
 
     public static Future<Object> callRemoteMethod(final Object argument, final RSBRemote remote) {
-        return internalCallRemoteMethod(argument, remote, Object.class);
+        return internalCallRemoteMethod(null, argument, remote, Object.class);
     }
 
     public static <RETURN> Future<RETURN> callRemoteMethod(final RSBRemote remote, final Class<? extends RETURN> returnClass) {
-        return internalCallRemoteMethod(null, remote, returnClass);
+        return internalCallRemoteMethod(null, null, remote, returnClass);
     }
 
     public static <RETURN> Future<RETURN> callRemoteMethod(final Object argument, final RSBRemote remote, final Class<? extends RETURN> returnClass) {
-        return internalCallRemoteMethod(argument, remote, returnClass);
+        return internalCallRemoteMethod(null, argument, remote, returnClass);
     }
 
-    private static <RETURN> Future<RETURN> internalCallRemoteMethod(final Object argument, final RSBRemote remote, final Class<? extends RETURN> returnClass) {
+    /**
+     * Calls the remote method with the given name. Compared to the overloads without method name,
+     * no stack trace needs to be captured to detect the method name, which makes this the preferred variant for frequent calls.
+     *
+     * @param remote     the remote to call the method on.
+     * @param methodName the name of the method to call.
+     *
+     * @return a future of the method result.
+     */
+    public static Future<Object> callRemoteMethod(final RSBRemote remote, final String methodName) {
+        return internalCallRemoteMethod(methodName, null, remote, Object.class);
+    }
+
+    /**
+     * Calls the remote method with the given name and argument.
+     *
+     * @param remote     the remote to call the method on.
+     * @param methodName the name of the method to call.
+     * @param argument   the argument of the method call.
+     *
+     * @return a future of the method result.
+     */
+    public static Future<Object> callRemoteMethod(final RSBRemote remote, final String methodName, final Object argument) {
+        return internalCallRemoteMethod(methodName, argument, remote, Object.class);
+    }
 
+    /**
+     * Calls the remote method with the given name and argument.
+     *
+     * @param remote      the remote to call the method on.
+     * @param methodName  the name of the method to call.
+     * @param argument    the argument of the method call, can be null if the method does not expect any.
+     * @param returnClass the type of the method result.
+     * @param <RETURN>    the type of the method result.
+     *
+     * @return a future of the method result.
+     */
+    public static <RETURN> Future<RETURN> callRemoteMethod(final RSBRemote remote, final String methodName, final Object argument, final Class<? extends RETURN> returnClass) {
+        return internalCallRemoteMethod(methodName, argument, remote, returnClass);
+    }
+
+    private static <RETURN> Future<RETURN> internalCallRemoteMethod(final String remoteMethodName, final Object argument, final RSBRemote remote, final Class<? extends RETURN> returnClass) {
         String methodName = "?";
         try {
-            StackTraceElement[] stackTrace = Thread.currentThread().getStackTrace();
-            if (stackTrace == null) {
-                throw new NotAvailableException("method stack");
-            } else if (stackTrace.length == 0) {
-                throw new InvalidStateException("Could not detect method stack!");
-            }
-
-            try {
-                for (int i = 0; i < stackTrace.length; i++) {
-                    if (stackTrace[i].getMethodName().equals(INTERNAL_CALL_REMOTE_METHOD_NAME)) {
-                        methodName = stackTrace[i + 2].getMethodName();
-                        break;
-                    }
-                }
-            } catch (NullPointerException | IndexOutOfBoundsException ex) {
-                throw new CouldNotPerformException("Could not detect method name!");
-            }
+            methodName = (remoteMethodName != null) ? remoteMethodName : detectRemoteMethodName();
             return remote.callMethodAsync(methodName, argument);
         } catch (CouldNotPerformException ex) {
             return (Future<RETURN>) FutureProcessor.canceledFuture(new CouldNotPerformException("Could not call remote Message[" + methodName + "]", ex));
@@ -224,48 +303,101 @@ public class RPCHelper {
     }
 
     public static Future<Object> callRemoteServerMethod(final RSBRemoteServer remote) {
-        return internalCallRemoteMethod(null, remote, Object.class);
+        return internalCallRemoteMethod(null, null, remote, Object.class);
     }
 
     public static Future<Object> callRemoteServerMethod(final Object argument, final RSBRemoteServer remote) {
-        return internalCallRemoteMethod(argument, remote, Object.class);
+        return internalCallRemoteMethod(null, argument, remote, Object.class);
     }
 
     public static <RETURN> Future<RETURN> callRemoteServerMethod(final RSBRemoteServer remote, final Class<? extends RETURN> returnClass) {
-        return internalCallRemoteMethod(null, remote, returnClass);
+        return internalCallRemoteMethod(null, null, remote, returnClass);
     }
 
     public static <RETURN> Future<RETURN> callRemoteServerMethod(final Object argument, final RSBRemoteServer remote, final Class<? extends RETURN> returnClass) {
-        return internalCallRemoteMethod(argument, remote, returnClass);
+        return internalCallRemoteMethod(null, argument, remote, returnClass);
     }
 
-    private static <RETURN> Future<RETURN> internalCallRemoteMethod(final Object argument, final RSBRemoteServer remote, final Class<? extends RETURN> returnClass) {
+    /**
+     * Calls the remote server method with the given name. Compared to the overloads without method name,
+     * no stack trace needs to be captured to detect the method name, which makes this the preferred variant for frequent calls.
+     *
+     * @param remote     the remote server to call the method on.
+     * @param methodName the name of the method to call.
+     *
+     * @return a future of the method result.
+     */
+    public static Future<Object> callRemoteServerMethod(final RSBRemoteServer remote, final String methodName) {
+        return internalCallRemoteMethod(methodName, null, remote, Object.class);
+    }
+
+    /**
+     * Calls the remote server method with the given name and argument.
+     *
+     * @param remote     the remote server to call the method on.
+     * @param methodName the name of the method to call.
+     * @param argument   the argument of the method call.
+     *
+     * @return a future of the method result.
+     */
+    public static Future<Object> callRemoteServerMethod(final RSBRemoteServer remote, final String methodName, final Object argument) {
+        return internalCallRemoteMethod(methodName, argument, remote, Object.class);
+    }
 
+    /**
+     * Calls the remote server method with the given name and argument.
+     *
+     * @param remote      the remote server to call the method on.
+     * @param methodName  the name of the method to call.
+     * @param argument    the argument of the method call, can be null if the method does not expect any.
+     * @param returnClass the type of the method result.
+     * @param <RETURN>    the type of the method result.
+     *
+     * @return a future of the method result.
+     */
+    public static <RETURN> Future<RETURN> callRemoteServerMethod(final RSBRemoteServer remote, final String methodName, final Object argument, final Class<? extends RETURN> returnClass) {
+        return internalCallRemoteMethod(methodName, argument, remote, returnClass);
+    }
+
+    private static <RETURN> Future<RETURN> internalCallRemoteMethod(final String remoteMethodName, final Object argument, final RSBRemoteServer remote, final Class<? extends RETURN> returnClass) {
         String methodName = "?";
         try {
-            StackTraceElement[] stackTrace = Thread.currentThread().getStackTrace();
-            if (stackTrace == null) {
-                throw new NotAvailableException("method stack");
-            } else if (stackTrace.length == 0) {
-                throw new InvalidStateException("Could not detect method stack!");
-            }
-
-            try {
-                for (int i = 0; i < stackTrace.length; i++) {
-                    if (stackTrace[i].getMethodName().equals(INTERNAL_CALL_REMOTE_METHOD_NAME)) {
-                        methodName = stackTrace[i + 2].getMethodName();
-                        break;
-                    }
-                }
-            } catch (NullPointerException | IndexOutOfBoundsException ex) {
-                throw new CouldNotPerformException("Could not detect method name!");
-            }
+            methodName = (remoteMethodName != null) ? remoteMethodName : detectRemoteMethodName();
             return remote.callAsync(methodName, argument);
         } catch (CouldNotPerformException ex) {
             return (Future<RETURN>) FutureProcessor.canceledFuture(new CouldNotPerformException("Could not call remote Message[" + methodName + "]", ex));
         }
     }
 
+    /**
+     * Detects the name of the method which called one of the public call helpers without passing an explicit method name.
+     * Note: This requires to capture the stack trace of the current thread, which is expensive and therefore only used as fallback.
+     *
+     * @return the name of the calling method.
+     *
+     * @throws CouldNotPerformException if the method name could not be detected.
+     */
+    private static String detectRemoteMethodName() throws CouldNotPerformException {
+        final StackTraceElement[] stackTrace = Thread.currentThread().getStackTrace();
+        if (stackTrace == null) {
+            throw new NotAvailableException("method stack");
+        } else if (stackTrace.length == 0) {
+            throw new InvalidStateException("Could not detect method stack!");
+        }
+
+        try {
+            for (int i = 0; i < stackTrace.length; i++) {
+                if (stackTrace[i].getMethodName().equals(INTERNAL_CALL_REMOTE_METHOD_NAME)) {
+                    // skip the internal call and the public helper to reach the caller.
+                    return stackTrace[i + 2].getMethodName();
+                }
+            }
+        } catch (NullPointerException | IndexOutOfBoundsException ex) {
+            throw new CouldNotPerformException("Could not detect method name!");
+        }
+        throw new CouldNotPerformException("Could not detect method name!");
+    }
+
     public static String eventDataToArgumentString(final Event event) {
         if (event == null) {
             return "Void";
@@ -29,6 +29,7 @@ import org.openbase.jul.exception.CouldNotPerformException;
 import org.openbase.jul.exception.InstantiationException;
 import org.openbase.jul.exception.StackTracePrinter;
 import org.openbase.jul.exception.printer.ExceptionPrinter;
+import org.openbase.jul.extension.protobuf.ClosableDataBuilder;
 import org.openbase.jul.extension.rsb.iface.RSBLocalServer;
 import org.openbase.jul.pattern.Observer;
 import org.openbase.jul.pattern.provider.DataProvider;
@@ -45,8 +46,10 @@ import org.openbase.type.domotic.unit.UnitConfigType.UnitConfig;
 
 import java.util.ArrayList;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.openbase.type.domotic.state.ConnectionStateType.ConnectionState.State.*;
 import static org.openbase.type.domotic.state.AvailabilityStateType.AvailabilityState.State.*;
@@ -451,6 +454,143 @@ public class AbstractControllerServerTest {
         }
     }
 
+    /**
+     * Test if changes notified within the minimal publication interval are coalesced into a single publication of the latest data state.
+     *
+     * @throws Exception
+     */
+    @Test(timeout = 20000)
+    public void testPublicationCoalescing() throws Exception {
+        System.out.println("testPublicationCoalescing");
+
+        final int changeCount = 10;
+        String scope = "/test/coalescing";
+        final CoalescingControllerServer controller = new CoalescingControllerServer(UnitRegistryData.getDefaultInstance().toBuilder(), 500);
+        controller.init(scope);
+        controller.activate();
+
+        AbstractRemoteClient remoteService = new AbstractRemoteClientImpl();
+        remoteService.init(scope);
+        remoteService.activate();
+        remoteService.waitForData();
+
+        final CountDownLatch latestDataLatch = new CountDownLatch(1);
+        remoteService.addDataObserver((Observer<DataProvider<UnitRegistryData>, UnitRegistryData>) (source, data) -> {
+            if (data.getLocationUnitConfigCount() == changeCount) {
+                latestDataLatch.countDown();
+            }
+        });
+
+        controller.publicationCounter.set(0);
+        for (int i = 0; i < changeCount; i++) {
+            try (ClosableDataBuilder<Builder> dataBuilder = controller.getDataBuilder(this)) {
+                dataBuilder.getInternalBuilder().addLocationUnitConfig(UnitConfig.newBuilder().setId("Location" + i));
+            }
+        }
+
+        assertTrue("Latest data state was not published!", latestDataLatch.await(5, TimeUnit.SECONDS));
+        assertTrue("Changes were not coalesced: " + controller.publicationCounter.get() + " publications for " + changeCount + " changes!", controller.publicationCounter.get() <= 2);
+
+        remoteService.shutdown();
+        controller.shutdown();
+    }
+
+    /**
+     * Test if a coalesced change which still waits for its publication is published when the controller is deactivated.
+     *
+     * @throws Exception
+     */
+    @Test(timeout = 20000)
+    public void testFlushPendingPublicationOnDeactivation() throws Exception {
+        System.out.println("testFlushPendingPublicationOnDeactivation");
+
+        String scope = "/test/coalescing/flush";
+        final CoalescingControllerServer controller = new CoalescingControllerServer(UnitRegistryData.getDefaultInstance().toBuilder(), 60000);
+        controller.init(scope);
+        controller.activate();
+
+        AbstractRemoteClient remoteService = new AbstractRemoteClientImpl();
+        remoteService.init(scope);
+        remoteService.activate();
+        remoteService.waitForData();
+
+        final CountDownLatch latestDataLatch = new CountDownLatch(1);
+        remoteService.addDataObserver((Observer<DataProvider<UnitRegistryData>, UnitRegistryData>) (source, data) -> {
+            if (data.getLocationUnitConfigCount() == 2) {
+                latestDataLatch.countDown();
+            }
+        });
+
+        // at least the second change has to wait for the next publication slot
+        for (int i = 0; i < 2; i++) {
+            try (ClosableDataBuilder<Builder> dataBuilder = controller.getDataBuilder(this)) {
+                dataBuilder.getInternalBuilder().addLocationUnitConfig(UnitConfig.newBuilder().setId("Location" + i));
+            }
+        }
+        assertFalse("Change was published before the publication interval passed!", latestDataLatch.await(500, TimeUnit.MILLISECONDS));
+
+        controller.deactivate();
+        assertTrue("Pending change was not published during deactivation!", latestDataLatch.await(5, TimeUnit.SECONDS));
+
+        remoteService.shutdown();
+        controller.shutdown();
+    }
+
+    /**
+     * Test if a remote which requested the controller status receives the following change as full snapshot
+     * and is able to apply the deltas published afterwards without requesting the status again.
+     *
+     * @throws Exception
+     */
+    @Test(timeout = 20000)
+    public void testRequestStatusBeforeDelta() throws Exception {
+        System.out.println("testRequestStatusBeforeDelta");
+
+        String scope = "/test/delta";
+        final DeltaControllerServer controller = new DeltaControllerServer(UnitRegistryData.getDefaultInstance().toBuilder());
+        controller.init(scope);
+        controller.activate();
+
+        AbstractRemoteClient remoteService = new AbstractRemoteClientImpl();
+        remoteService.init(scope);
+        remoteService.activate();
+        remoteService.waitForData();
+
+        final CountDownLatch snapshotLatch = new CountDownLatch(1);
+        final CountDownLatch deltaLatch = new CountDownLatch(1);
+        remoteService.addDataObserver((Observer<DataProvider<UnitRegistryData>, UnitRegistryData>) (source, data) -> {
+            if (data.getLocationUnitConfigCount() == 2) {
+                snapshotLatch.countDown();
+            }
+            if (data.getLocationUnitConfigCount() == 3) {
+                deltaLatch.countDown();
+            }
+        });
+
+        // publish a first change so the following one could be published as delta
+        try (ClosableDataBuilder<Builder> dataBuilder = controller.getDataBuilder(this)) {
+            dataBuilder.getInternalBuilder().addLocationUnitConfig(UnitConfig.newBuilder().setId("Location0"));
+        }
+
+        // the status request drops the delta base of the remote
+        remoteService.requestData().get();
+        controller.requestStatusCounter.set(0);
+
+        try (ClosableDataBuilder<Builder> dataBuilder = controller.getDataBuilder(this)) {
+            dataBuilder.getInternalBuilder().addLocationUnitConfig(UnitConfig.newBuilder().setId("Location1"));
+        }
+        assertTrue("Change after status request was not received!", snapshotLatch.await(5, TimeUnit.SECONDS));
+
+        try (ClosableDataBuilder<Builder> dataBuilder = controller.getDataBuilder(this)) {
+            dataBuilder.getInternalBuilder().addLocationUnitConfig(UnitConfig.newBuilder().setId("Location2"));
+        }
+        assertTrue("Delta after snapshot was not received!", deltaLatch.await(5, TimeUnit.SECONDS));
+        assertEquals("Remote had to request the status again!", 0, controller.requestStatusCounter.get());
+
+        remoteService.shutdown();
+        controller.shutdown();
+    }
+
     public static class AbstractControllerServerImpl extends AbstractControllerServer<UnitRegistryData, Builder> {
 
         static {
@@ -466,6 +606,48 @@ public class AbstractControllerServerTest {
         }
     }
 
+    private static class CoalescingControllerServer extends AbstractControllerServerImpl {
+
+        private final long minPublicationInterval;
+        private final AtomicInteger publicationCounter = new AtomicInteger();
+
+        public CoalescingControllerServer(final UnitRegistryData.Builder builder, final long minPublicationInterval) throws InstantiationException {
+            super(builder);
+            this.minPublicationInterval = minPublicationInterval;
+        }
+
+        @Override
+        protected long getMinPublicationInterval() {
+            return minPublicationInterval;
+        }
+
+        @Override
+        protected UnitRegistryData updateDataToPublish(final Builder dataBuilder) throws CouldNotPerformException {
+            publicationCounter.incrementAndGet();
+            return super.updateDataToPublish(dataBuilder);
+        }
+    }
+
+    private static class DeltaControllerServer extends AbstractControllerServerImpl {
+
+        private final AtomicInteger requestStatusCounter = new AtomicInteger();
+
+        public DeltaControllerServer(final UnitRegistryData.Builder builder) throws InstantiationException {
+            super(builder);
+        }
+
+        @Override
+        protected boolean isDeltaPublicationEnabled() {
+            return true;
+        }
+
+        @Override
+        public UnitRegistryData requestStatus() throws CouldNotPerformException {
+            requestStatusCounter.incrementAndGet();
+            return super.requestStatus();
+        }
+    }
+
     public static class AbstractRemoteClientImpl extends AbstractRemoteClient<UnitRegistryData> {
 
         static {
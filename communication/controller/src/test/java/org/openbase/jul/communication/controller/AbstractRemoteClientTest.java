@@ -47,7 +47,9 @@ import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import static org.openbase.type.domotic.state.ConnectionStateType.ConnectionState.State.*;
@@ -212,6 +214,55 @@ public class AbstractRemoteClientTest {
         communicationService.shutdown();
     }
 
+    /**
+     * Test if the data observers of a remote with a data field mask are only notified about changes of the masked fields,
+     * while the data of the remote is still fully synchronized.
+     *
+     * @throws Exception if an error occurs.
+     */
+    @Test(timeout = 10000)
+    public void testDataFieldMask() throws Exception {
+        System.out.println("testDataFieldMask");
+        final String scope = "/test/data/field/mask";
+
+        final TransactionControllerServer communicationService = new TransactionControllerServer();
+        communicationService.init(scope);
+        communicationService.activate();
+
+        final AtomicInteger notificationCounter = new AtomicInteger();
+        final TransactionRemoteClient remoteService = new TransactionRemoteClient();
+        remoteService.setDataFieldMask("power_state.value");
+        remoteService.addDataObserver((source, data) -> notificationCounter.incrementAndGet());
+        remoteService.init(scope);
+        remoteService.activate();
+        remoteService.waitForData();
+
+        // wait for the notification of the initial data.
+        while (notificationCounter.get() < 1) {
+            Thread.sleep(10);
+        }
+
+        try (ClosableDataBuilder<Builder> dataBuilder = communicationService.getDataBuilder(this)) {
+            dataBuilder.getInternalBuilder().setId("UnmaskedChange");
+        }
+        while (!remoteService.getData().getId().equals("UnmaskedChange")) {
+            Thread.sleep(10);
+        }
+
+        try (ClosableDataBuilder<Builder> dataBuilder = communicationService.getDataBuilder(this)) {
+            dataBuilder.getInternalBuilder().getPowerStateBuilder().setValue(State.ON);
+        }
+        while (remoteService.getData().getPowerState().getValue() != State.ON || notificationCounter.get() < 2) {
+            Thread.sleep(10);
+        }
+
+        // updates are applied in order, so the unmasked change would have been notified already.
+        assertEquals("Data observers not notified about the masked change only!", 2, notificationCounter.get());
+
+        remoteService.shutdown();
+        communicationService.shutdown();
+    }
+
     private static class TransactionControllerServer extends AbstractControllerServer<PowerSwitchData, Builder> {
 
         /**
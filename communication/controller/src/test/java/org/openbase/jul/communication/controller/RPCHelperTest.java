@@ -0,0 +1,247 @@
+package org.openbase.jul.communication.controller;
+
+/*-
+ * #%L
+ * JUL Extension Controller
+ * %%
+ * Copyright (C) 2015 - 2021 openbase.org
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.openbase.jps.core.JPService;
+import org.openbase.jps.exception.JPServiceException;
+import org.openbase.jul.exception.CouldNotPerformException;
+import org.openbase.jul.extension.rsb.com.RSBFactoryImpl;
+import org.openbase.jul.extension.rsb.com.RSBRemote;
+import org.openbase.jul.extension.rsb.com.RSBSharedConnectionConfig;
+import org.openbase.jul.extension.rsb.iface.RSBLocalServer;
+import org.openbase.jul.extension.rsb.iface.RSBRemoteServer;
+import rsb.Scope;
+import rsb.config.ParticipantConfig;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author <a href="mailto:divine@openbase.org">Divine Threepwood</a>
+ */
+public class RPCHelperTest {
+
+    private static final long TIMEOUT = 100;
+
+    @BeforeClass
+    public static void setUpClass() throws JPServiceException {
+        JPService.setupJUnitTestMode();
+    }
+
+    /**
+     * Test if a stalled method is canceled after the timeout without interrupting the calling thread,
+     * even if the method reports its cancellation as failure.
+     *
+     * @throws Exception
+     */
+    @Test(timeout = 5000)
+    public void testInvocationTimeout() throws Exception {
+        System.out.println("testInvocationTimeout");
+
+        final CountDownLatch canceledLatch = new CountDownLatch(1);
+        final Callable<Object> invocation = () -> {
+            try {
+                Thread.sleep(10000);
+            } catch (InterruptedException ex) {
+                canceledLatch.countDown();
+                throw new CouldNotPerformException("Method was interrupted!", ex);
+            }
+            return null;
+        };
+
+        try {
+            RPCHelper.invokeMethod(invocation, false, TIMEOUT);
+            fail("Stalled method did not time out!");
+        } catch (CouldNotPerformException ex) {
+            assertTrue("Timeout reported as " + ex.getCause() + "!", ex.getCause() instanceof TimeoutException);
+        }
+        assertFalse("Calling thread was interrupted!", Thread.interrupted());
+        assertTrue("Stalled method was not canceled!", canceledLatch.await(1, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Test if a failing method is reported as failure and not as timeout.
+     *
+     * @throws Exception
+     */
+    @Test(timeout = 5000)
+    public void testInvocationFailure() throws Exception {
+        System.out.println("testInvocationFailure");
+
+        for (final boolean directDispatch : new boolean[]{false, true}) {
+            try {
+                RPCHelper.invokeMethod(() -> {
+                    throw new CouldNotPerformException("Method failed!");
+                }, directDispatch, TIMEOUT);
+                fail("Failure was not reported!");
+            } catch (ExecutionException ex) {
+                assertTrue("Unexpected cause " + ex.getCause() + "!", ex.getCause() instanceof CouldNotPerformException);
+            }
+
+            try {
+                RPCHelper.invokeMethod(() -> {
+                    throw new AssertionError("Method failed!");
+                }, directDispatch, TIMEOUT);
+                fail("Error was not reported!");
+            } catch (ExecutionException ex) {
+                assertTrue("Unexpected cause " + ex.getCause() + "!", ex.getCause() instanceof AssertionError);
+            }
+        }
+    }
+
+    /**
+     * Test if an interruption of the calling thread cancels the invocation.
+     *
+     * @throws Exception
+     */
+    @Test(timeout = 5000)
+    public void testCallerInterruption() throws Exception {
+        System.out.println("testCallerInterruption");
+
+        final CountDownLatch startedLatch = new CountDownLatch(1);
+        final CountDownLatch canceledLatch = new CountDownLatch(1);
+        final AtomicReference<Exception> callerException = new AtomicReference<>();
+        final Thread caller = new Thread(() -> {
+            try {
+                RPCHelper.invokeMethod(() -> {
+                    startedLatch.countDown();
+                    try {
+                        Thread.sleep(10000);
+                    } catch (InterruptedException ex) {
+                        canceledLatch.countDown();
+                    }
+                    return null;
+                }, false, TimeUnit.SECONDS.toMillis(10));
+            } catch (Exception ex) {
+                callerException.set(ex);
+            }
+        });
+        caller.start();
+
+        assertTrue("Method not invoked!", startedLatch.await(1, TimeUnit.SECONDS));
+        caller.interrupt();
+        caller.join(1000);
+
+        assertTrue("Interruption not forwarded to the caller!", callerException.get() instanceof InterruptedException);
+        assertTrue("Method was not canceled after the interruption of the caller!", canceledLatch.await(1, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Test if direct dispatched methods are invoked by the calling thread and returned futures are resolved within the timeout.
+     *
+     * @throws Exception
+     */
+    @Test(timeout = 5000)
+    public void testDirectDispatch() throws Exception {
+        System.out.println("testDirectDispatch");
+
+        final Thread caller = Thread.currentThread();
+        assertEquals("Result not returned!", caller, RPCHelper.invokeMethod(Thread::currentThread, true, TIMEOUT));
+
+        final CompletableFuture<Object> pendingFuture = new CompletableFuture<>();
+        try {
+            RPCHelper.invokeMethod(() -> pendingFuture, true, TIMEOUT);
+            fail("Pending future did not time out!");
+        } catch (CouldNotPerformException ex) {
+            assertTrue("Timeout reported as " + ex.getCause() + "!", ex.getCause() instanceof TimeoutException);
+        }
+        assertTrue("Pending future was not canceled!", pendingFuture.isCancelled());
+        assertFalse("Calling thread was interrupted!", Thread.interrupted());
+
+        final Future<Object> completedFuture = CompletableFuture.completedFuture("Result");
+        assertEquals("Future result not resolved!", "Result", RPCHelper.invokeMethod(() -> completedFuture, true, TIMEOUT));
+    }
+
+    /**
+     * Test if the call helpers invoke the method with the given name and otherwise the method named like the calling method.
+     *
+     * @throws Exception
+     */
+    @Test(timeout = 10000)
+    public void testRemoteMethodNames() throws Exception {
+        System.out.println("testRemoteMethodNames");
+
+        final Scope scope = new Scope("/test/rpchelper/methodnames");
+        final ParticipantConfig participantConfig = RSBSharedConnectionConfig.getParticipantConfig();
+        final RSBLocalServer localServer = RSBFactoryImpl.getInstance().createSynchronizedLocalServer(scope, participantConfig);
+        final RSBRemoteServer remoteServer = RSBFactoryImpl.getInstance().createSynchronizedRemoteServer(scope, participantConfig);
+
+        final EchoService echoService = new EchoService();
+        RPCHelper.registerMethod(EchoService.class.getMethod("first", String.class), echoService, localServer);
+        RPCHelper.registerMethod(EchoService.class.getMethod("second", String.class), echoService, localServer);
+        localServer.activate();
+        remoteServer.activate();
+
+        // the remote forwards its calls to the remote server, all other methods are not required by the call helpers.
+        final RSBRemote<?> remote = (RSBRemote<?>) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{RSBRemote.class}, (proxy, method, args) -> {
+            if (method.getName().equals("callMethodAsync") && args.length == 2) {
+                return remoteServer.callAsync((String) args[0], args[1]);
+            }
+            throw new UnsupportedOperationException(method.getName());
+        });
+
+        try {
+            assertEquals("first:a", RPCHelper.callRemoteMethod(remote, "first", "a", String.class).get(1, TimeUnit.SECONDS));
+            assertEquals("second:b", RPCHelper.callRemoteMethod(remote, "second", "b").get(1, TimeUnit.SECONDS));
+            assertEquals("first:c", RPCHelper.callRemoteServerMethod(remoteServer, "first", "c", String.class).get(1, TimeUnit.SECONDS));
+            assertEquals("second:d", RPCHelper.callRemoteServerMethod(remoteServer, "second", "d").get(1, TimeUnit.SECONDS));
+
+            // without explicit name the name of the calling method is detected.
+            assertEquals("first:e", first(remote, "e").get(1, TimeUnit.SECONDS));
+            assertEquals("second:f", second(remoteServer, "f").get(1, TimeUnit.SECONDS));
+        } finally {
+            remoteServer.deactivate();
+            localServer.deactivate();
+        }
+    }
+
+    private Future<String> first(final RSBRemote<?> remote, final String argument) {
+        return RPCHelper.callRemoteMethod(argument, remote, String.class);
+    }
+
+    private Future<String> second(final RSBRemoteServer remoteServer, final String argument) {
+        return RPCHelper.callRemoteServerMethod(argument, remoteServer, String.class);
+    }
+
+    public static class EchoService {
+
+        public String first(final String argument) {
+            return "first:" + argument;
+        }
+
+        public String second(final String argument) {
+            return "second:" + argument;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package org.openbase.jul.extension.protobuf.processing;
+
+/*
+ * #%L
+ * JUL Extension Protobuf
+ * %%
+ * Copyright (C) 2015 - 2021 openbase.org
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor.JavaType;
+import com.google.protobuf.Message;
+import org.openbase.jul.exception.CouldNotPerformException;
+import org.openbase.jul.exception.NotAvailableException;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Computes and applies field level deltas between two states of the same message type.
+ * <p>
+ * A delta is described by a list of field paths (field names separated by a dot) and a partial message which only
+ * contains the values of these paths. Singular message fields which are set in both states are compared recursively,
+ * all other fields (scalars, repeated fields and maps) are always transferred as a whole.
+ * Applying a delta first clears all listed paths of the base message and afterwards merges the partial message,
+ * so cleared fields are restored correctly as well.
+ *
+ * @author <a href="mailto:divine@openbase.org">Divine Threepwood</a>
+ */
+public class ProtoBufDeltaProcessor {
+
+    public static final String FIELD_PATH_SEPARATOR = ".";
+
+    /**
+     * Computes the paths of all fields which differ between both messages.
+     *
+     * @param previous the previous state.
+     * @param current  the current state of the same message type.
+     *
+     * @return a list of field paths, which is empty if both messages are equal.
+     */
+    public static List<String> computeChangedFieldPaths(final Message previous, final Message current) {
+        final List<String> fieldPathList = new ArrayList<>();
+        computeChangedFieldPaths(previous, current, "", fieldPathList);
+        return fieldPathList;
+    }
+
+    private static void computeChangedFieldPaths(final Message previous, final Message current, final String prefix, final List<String> fieldPathList) {
+        for (final FieldDescriptor fieldDescriptor : current.getDescriptorForType().getFields()) {
+            final String fieldPath = prefix + fieldDescriptor.getName();
+            if (fieldDescriptor.isRepeated()) {
+                if (!previous.getField(fieldDescriptor).equals(current.getField(fieldDescriptor))) {
+                    fieldPathList.add(fieldPath);
+                }
+                continue;
+            }
+
+            final boolean previousPresent = previous.hasField(fieldDescriptor);
+            final boolean currentPresent = current.hasField(fieldDescriptor);
+            if (!previousPresent && !currentPresent) {
+                continue;
+            }
+
+            if (previousPresent != currentPresent) {
+                fieldPathList.add(fieldPath);
+                continue;
+            }
+
+            final Object previousValue = previous.getField(fieldDescriptor);
+            final Object currentValue = current.getField(fieldDescriptor);
+            if (previousValue.equals(currentValue)) {
+                continue;
+            }
+
+            if (fieldDescriptor.getJavaType() == JavaType.MESSAGE) {
+                computeChangedFieldPaths((Message) previousValue, (Message) currentValue, fieldPath + FIELD_PATH_SEPARATOR, fieldPathList);
+            } else {
+                fieldPathList.add(fieldPath);
+            }
+        }
+    }
+
+    /**
+     * Validates that all given field paths are resolvable for the given message type.
+     *
+     * @param messageClass  the message type.
+     * @param fieldPathList the paths to validate.
+     *
+     * @throws CouldNotPerformException if at least one path can not be resolved.
+     */
+    public static void validateFieldPaths(final Class<? extends Message> messageClass, final Collection<String> fieldPathList) throws CouldNotPerformException {
+        final Descriptor rootDescriptor;
+        try {
+            rootDescriptor = ((Message) messageClass.getMethod("getDefaultInstance").invoke(null)).getDescriptorForType();
+        } catch (NoSuchMethodException | SecurityException | IllegalArgumentException | IllegalAccessException | InvocationTargetException ex) {
+            throw new CouldNotPerformException("Could not detect descriptor of " + messageClass.getSimpleName() + "!", ex);
+        }
+
+        for (final String fieldPath : fieldPathList) {
+            Descriptor descriptor = rootDescriptor;
+            for (final String fieldName : fieldPath.split("\\" + FIELD_PATH_SEPARATOR)) {
+                if (descriptor == null) {
+                    throw new NotAvailableException("FieldPath[" + fieldPath + "] of " + messageClass.getSimpleName());
+                }
+                final FieldDescriptor fieldDescriptor = descriptor.findFieldByName(fieldName);
+                if (fieldDescriptor == null) {
+                    throw new NotAvailableException("FieldPath[" + fieldPath + "] of " + messageClass.getSimpleName());
+                }
+                descriptor = (fieldDescriptor.getJavaType() == JavaType.MESSAGE && !fieldDescriptor.isRepeated()) ? fieldDescriptor.getMessageType() : null;
+            }
+        }
+    }
+
+    /**
+     * Creates a partial copy of the given message which only contains the values of the given field paths.
+     *
+     * @param message       the message to extract the values from.
+     * @param fieldPathList the paths to extract.
+     * @param <M>           the message type.
+     *
+     * @return the partial message, which is not necessarily initialized.
+     */
+    public static <M extends Message> M extractFields(final M message, final Collection<String> fieldPathList) {
+        final Message.Builder builder = message.newBuilderForType();
+        for (final String fieldPath : fieldPathList) {
+            copyField(message, builder, fieldPath.split("\\" + FIELD_PATH_SEPARATOR), 0);
+        }
+        return (M) builder.buildPartial();
+    }
+
+    private static void copyField(final Message source, final Message.Builder target, final String[] fieldPath, final int index) {
+        final FieldDescriptor fieldDescriptor = source.getDescriptorForType().findFieldByName(fieldPath[index]);
+        if (fieldDescriptor == null) {
+            return;
+        }
+
+        if (index == fieldPath.length - 1) {
+            if (fieldDescriptor.isRepeated() || source.hasField(fieldDescriptor)) {
+                target.setField(fieldDescriptor, source.getField(fieldDescriptor));
+            }
+            return;
+        }
+
+        if (fieldDescriptor.getJavaType() == JavaType.MESSAGE && !fieldDescriptor.isRepeated() && source.hasField(fieldDescriptor)) {
+            copyField((Message) source.getField(fieldDescriptor), target.getFieldBuilder(fieldDescriptor), fieldPath, index + 1);
+        }
+    }
+
+    /**
+     * Applies a delta computed via {@link #computeChangedFieldPaths(Message, Message)} and
+     * {@link #extractFields(Message, Collection)} on the given base message.
+     *
+     * @param base          the state the delta was computed against.
+     * @param delta         the partial message containing the new values.
+     * @param fieldPathList the paths covered by the delta.
+     * @param <M>           the message type.
+     *
+     * @return the new state.
+     */
+    public static <M extends Message> M applyDelta(final M base, final M delta, final Collection<String> fieldPathList) {
+        final Message.Builder builder = base.toBuilder();
+        for (final String fieldPath : fieldPathList) {
+            clearField(builder, fieldPath.split("\\" + FIELD_PATH_SEPARATOR), 0);
+        }
+        builder.mergeFrom(delta);
+        return (M) builder.buildPartial();
+    }
+
+    private static void clearField(final Message.Builder builder, final String[] fieldPath, final int index) {
+        final FieldDescriptor fieldDescriptor = builder.getDescriptorForType().findFieldByName(fieldPath[index]);
+        if (fieldDescriptor == null) {
+            return;
+        }
+
+        if (index == fieldPath.length - 1) {
+            builder.clearField(fieldDescriptor);
+            return;
+        }
+
+        if (fieldDescriptor.getJavaType() == JavaType.MESSAGE && !fieldDescriptor.isRepeated() && builder.hasField(fieldDescriptor)) {
+            clearField(builder.getFieldBuilder(fieldDescriptor), fieldPath, index + 1);
+        }
+    }
+}
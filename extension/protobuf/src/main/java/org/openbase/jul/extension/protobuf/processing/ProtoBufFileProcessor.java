@@ -83,8 +83,8 @@ public class ProtoBufFileProcessor<DT, M extends AbstractMessage, MB extends M.B
 
     @Override
     public DT deserialize(final File file, final DT data) throws CouldNotPerformException {
-        try {
-            jsonFormat.merge(new FileInputStream(file), Charset.forName(UTF_8), transformer.transform(data).newBuilderForType());
+        try (final FileInputStream inputStream = new FileInputStream(file)) {
+            jsonFormat.merge(inputStream, Charset.forName(UTF_8), transformer.transform(data).newBuilderForType());
             return data;
         } catch (IOException ex) {
             throw new CouldNotPerformException("Could not deserialize " + file + " into " + data + "!", ex);
@@ -111,8 +111,8 @@ public class ProtoBufFileProcessor<DT, M extends AbstractMessage, MB extends M.B
     @Override
     public DT deserialize(File file) throws CouldNotPerformException {
         MB builder = transformer.newBuilderForType();
-        try {
-            jsonFormat.merge(new FileInputStream(file), Charset.forName(UTF_8), builder);
+        try (final FileInputStream inputStream = new FileInputStream(file)) {
+            jsonFormat.merge(inputStream, Charset.forName(UTF_8), builder);
             return transformer.transform((M) builder.build());
         } catch (IOException | CouldNotPerformException ex) {
             throw new CouldNotPerformException("Could not deserialize " + file + " into " + builder + "!", ex);
@@ -0,0 +1,91 @@
+package org.openbase.jul.extension.protobuf.processing;
+
+/*-
+ * #%L
+ * JUL Extension Protobuf
+ * %%
+ * Copyright (C) 2015 - 2021 openbase.org
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import org.junit.Test;
+import org.openbase.jul.exception.NotAvailableException;
+import org.openbase.type.domotic.state.ColorStateType.ColorState;
+import org.openbase.type.domotic.state.PowerStateType.PowerState;
+import org.openbase.type.domotic.unit.dal.ColorableLightDataType.ColorableLightData;
+import org.openbase.type.vision.ColorType;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author <a href="mailto:divine@openbase.org">Divine Threepwood</a>
+ */
+public class ProtoBufDeltaProcessorTest {
+
+    @Test(timeout = 5000)
+    public void testDeltaRoundTrip() throws Exception {
+        System.out.println("testDeltaRoundTrip");
+
+        final ColorableLightData previous = ColorableLightData.newBuilder()
+                .setId("ID")
+                .addAlias("Alias")
+                .setPowerState(PowerState.newBuilder().setValue(PowerState.State.OFF))
+                .setColorState(ColorState.newBuilder().setColor(ColorType.Color.getDefaultInstance()))
+                .build();
+
+        final ColorableLightData current = previous.toBuilder()
+                .setPowerState(PowerState.newBuilder().setValue(PowerState.State.ON))
+                .clearColorState()
+                .addAlias("SecondAlias")
+                .build();
+
+        final List<String> fieldPathList = ProtoBufDeltaProcessor.computeChangedFieldPaths(previous, current);
+        assertTrue("Nested change not resolved!", fieldPathList.contains("power_state.value"));
+        assertTrue("Cleared field not detected!", fieldPathList.contains("color_state"));
+        assertTrue("Repeated field change not detected!", fieldPathList.contains("alias"));
+        assertFalse("Unchanged field reported!", fieldPathList.contains("id"));
+
+        final ColorableLightData delta = ProtoBufDeltaProcessor.extractFields(current, fieldPathList);
+        assertFalse("Unchanged field transferred!", delta.hasId());
+        assertEquals("Delta could not be applied!", current, ProtoBufDeltaProcessor.applyDelta(previous, delta, fieldPathList));
+    }
+
+    @Test(timeout = 5000)
+    public void testEqualMessages() throws Exception {
+        System.out.println("testEqualMessages");
+
+        final ColorableLightData message = ColorableLightData.newBuilder().setId("ID").build();
+        assertTrue(ProtoBufDeltaProcessor.computeChangedFieldPaths(message, message.toBuilder().build()).isEmpty());
+    }
+
+    @Test(timeout = 5000)
+    public void testValidateFieldPaths() throws Exception {
+        System.out.println("testValidateFieldPaths");
+
+        ProtoBufDeltaProcessor.validateFieldPaths(ColorableLightData.class, Arrays.asList("power_state.value", "alias"));
+        try {
+            ProtoBufDeltaProcessor.validateFieldPaths(ColorableLightData.class, Collections.singletonList("power_state.unknown"));
+            fail("Unknown field path accepted!");
+        } catch (NotAvailableException ex) {
+            // expected
+        }
+    }
+}
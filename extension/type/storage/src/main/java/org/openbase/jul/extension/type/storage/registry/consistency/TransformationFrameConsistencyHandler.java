@@ -35,19 +35,19 @@ import org.openbase.type.domotic.unit.UnitConfigType.UnitConfig;
 import org.openbase.type.domotic.unit.UnitConfigType.UnitConfig.Builder;
 import org.openbase.type.spatial.PlacementConfigType.PlacementConfig;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * @author <a href="mailto:divine@openbase.org">Divine Threepwood</a>
  */
 public class TransformationFrameConsistencyHandler extends AbstractProtoBufRegistryConsistencyHandler<String, UnitConfigType.UnitConfig, UnitConfig.Builder> {
 
-    private final List<String> labelCollisionList;
+    private final Set<String> labelCollisionSet;
     private final ProtoBufRegistry<String, UnitConfig, UnitConfig.Builder> locationRegistry;
 
     public TransformationFrameConsistencyHandler(final ProtoBufRegistry<String, UnitConfig, UnitConfig.Builder> locationRegistry) {
-        this.labelCollisionList = new ArrayList<>();
+        this.labelCollisionSet = new HashSet<>();
         this.locationRegistry = locationRegistry;
     }
 
@@ -88,10 +88,9 @@ public class TransformationFrameConsistencyHandler extends AbstractProtoBufRegis
         try {
             String frameId = StringProcessor.transformToIdString(alias);
 
-            if (labelCollisionList.contains(frameId.toLowerCase())) {
+            if (!labelCollisionSet.add(frameId.toLowerCase())) {
                 return locationRegistry.get(placementConfig.getLocationId()).getMessage().getPlacementConfig().getTransformationFrameId() + "_" + frameId;
             }
-            labelCollisionList.add(frameId.toLowerCase());
             return frameId;
         } catch (final CouldNotPerformException ex) {
             throw new CouldNotPerformException("Could not generate frame id!", ex);
@@ -115,6 +114,6 @@ public class TransformationFrameConsistencyHandler extends AbstractProtoBufRegis
 
     @Override
     public void reset() {
-        labelCollisionList.clear();
+        labelCollisionSet.clear();
     }
 }
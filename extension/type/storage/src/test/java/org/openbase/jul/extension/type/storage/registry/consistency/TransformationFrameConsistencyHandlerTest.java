@@ -245,6 +245,11 @@ public class TransformationFrameConsistencyHandlerTest {
                     throw new UnsupportedOperationException("Not supported yet.");
                 }
 
+                @Override
+                public List<UnitConfig> registerMessages(Collection<UnitConfig> messages) throws CouldNotPerformException {
+                    throw new UnsupportedOperationException("Not supported yet.");
+                }
+
                 @Override
                 public UnitConfig getMessage(String key) throws CouldNotPerformException {
                     throw new UnsupportedOperationException("Not supported yet.");
@@ -280,6 +285,16 @@ public class TransformationFrameConsistencyHandlerTest {
                     throw new UnsupportedOperationException("Not supported yet.");
                 }
 
+                @Override
+                public List<IdentifiableMessage<String, UnitConfig, Builder>> registerAll(Collection<IdentifiableMessage<String, UnitConfig, Builder>> identifiableMessages) throws MultiException, InvalidStateException {
+                    throw new UnsupportedOperationException("Not supported yet.");
+                }
+
+                @Override
+                public List<IdentifiableMessage<String, UnitConfig, Builder>> updateAll(Collection<IdentifiableMessage<String, UnitConfig, Builder>> identifiableMessages) throws MultiException, InvalidStateException {
+                    throw new UnsupportedOperationException("Not supported yet.");
+                }
+
                 @Override
                 public List<IdentifiableMessage<String, UnitConfig, Builder>> removeAll(Collection<IdentifiableMessage<String, UnitConfig, Builder>> identifiableMessages) throws MultiException {
                     throw new UnsupportedOperationException("Not supported yet.");
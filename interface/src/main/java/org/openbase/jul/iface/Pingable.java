@@ -34,10 +34,11 @@ public interface Pingable {
     /**
      * Method can be used to calculate connection ping.
      * The given timestamp argument is just returned from the local server to calculate the delay on client side.
+     * The method is dispatched directly because it returns a future and is called frequently by each connected remote.
      *
      * @param timestamp the current time in milliseconds.
      * @return the timestamp returned by the controller.
      */
-    @RPCMethod
+    @RPCMethod(directDispatch = true)
     Future<Long> ping(final Long timestamp);
 }
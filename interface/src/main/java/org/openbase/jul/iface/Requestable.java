@@ -31,6 +31,14 @@ import org.openbase.jul.annotation.RPCMethod;
  */
 public interface Requestable<T> {
 
-    @RPCMethod
+    /**
+     * Method returns the current status.
+     * The status is returned without waiting for any update, so the method is dispatched directly by the rpc server.
+     *
+     * @return the current status.
+     *
+     * @throws CouldNotPerformException is thrown if the status is not available.
+     */
+    @RPCMethod(directDispatch = true)
     T requestStatus() throws CouldNotPerformException;
 }
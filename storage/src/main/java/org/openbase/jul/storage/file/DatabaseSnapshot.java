@@ -0,0 +1,229 @@
+package org.openbase.jul.storage.file;
+
+/*
+ * #%L
+ * JUL Storage
+ * %%
+ * Copyright (C) 2015 - 2021 openbase.org
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import org.openbase.jul.exception.CouldNotPerformException;
+import org.openbase.jul.exception.InvalidStateException;
+import org.openbase.jul.exception.NotAvailableException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Binary snapshot of all entries of a file based database.
+ * <p>
+ * The snapshot starts with a manifest containing the database version, the identifiers of the state the entries were validated with
+ * (e.g. the consistency handlers and the content of depending databases) and the name, length and modification time of each database file.
+ * Each file description is followed by the length-delimited binary record of its entry and the snapshot is terminated by a checksum of its content.
+ * <p>
+ * Since a snapshot is only valid as long as the database files are not touched, it can be used to restore all entries
+ * without parsing the database files as long as the manifest still matches the database directory.
+ * Whether the restored entries can be considered as validated is decided separately by comparing the validation identifiers.
+ *
+ * @param <D> data type
+ *
+ * @author <a href="mailto:divine@openbase.org">Divine Threepwood</a>
+ */
+public class DatabaseSnapshot<D> {
+
+    private static final int MAGIC_NUMBER = 0x4A554C53;
+    private static final int FORMAT_VERSION = 1;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+    private final File snapshotFile;
+    private final SnapshotProcessor<D> snapshotProcessor;
+
+    public DatabaseSnapshot(final File snapshotFile, final SnapshotProcessor<D> snapshotProcessor) {
+        this.snapshotFile = snapshotFile;
+        this.snapshotProcessor = snapshotProcessor;
+    }
+
+    /**
+     * Writes a new snapshot of the given database files.
+     * The snapshot is written into a temporary file first which replaces the previous snapshot atomically.
+     * Therefore, make sure the given data is synchronized with its files before calling this method.
+     *
+     * @param fileDataMap           the database files mapped on the data they contain.
+     * @param dbVersion             the version of the database.
+     * @param validationIdentifiers the identifiers of the state the data was validated with.
+     *
+     * @throws CouldNotPerformException is thrown if the snapshot could not be written.
+     */
+    public void write(final Map<File, D> fileDataMap, final int dbVersion, final List<String> validationIdentifiers) throws CouldNotPerformException {
+        final File tempFile = new File(snapshotFile.getParentFile(), snapshotFile.getName() + TEMP_FILE_SUFFIX);
+        try {
+            final CRC32 checksum = new CRC32();
+            try (final FileOutputStream fileOutputStream = new FileOutputStream(tempFile)) {
+                final DataOutputStream outputStream = new DataOutputStream(new CheckedOutputStream(new BufferedOutputStream(fileOutputStream, BUFFER_SIZE), checksum));
+                outputStream.writeInt(MAGIC_NUMBER);
+                outputStream.writeInt(FORMAT_VERSION);
+                outputStream.writeInt(dbVersion);
+                outputStream.writeInt(validationIdentifiers.size());
+                for (final String validationIdentifier : validationIdentifiers) {
+                    outputStream.writeUTF(validationIdentifier);
+                }
+                outputStream.writeInt(fileDataMap.size());
+                for (final Entry<File, D> entry : fileDataMap.entrySet()) {
+                    outputStream.writeUTF(entry.getKey().getName());
+                    outputStream.writeLong(entry.getKey().length());
+                    outputStream.writeLong(entry.getKey().lastModified());
+                    snapshotProcessor.write(entry.getValue(), outputStream);
+                }
+                outputStream.writeLong(checksum.getValue());
+                outputStream.flush();
+                fileOutputStream.getFD().sync();
+            }
+            Files.move(tempFile.toPath(), snapshotFile.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            FileSynchronizer.syncDirectory(snapshotFile.getParentFile());
+        } catch (IOException | CouldNotPerformException ex) {
+            tempFile.delete();
+            throw new CouldNotPerformException("Could not write snapshot " + snapshotFile + "!", ex);
+        }
+    }
+
+    /**
+     * Restores the data of the given database files out of the snapshot.
+     *
+     * @param files     all files of the database.
+     * @param dbVersion the current version of the database.
+     *
+     * @return the restored data including the identifiers of the state it was validated with.
+     *
+     * @throws NotAvailableException    is thrown if no snapshot is available.
+     * @throws CouldNotPerformException is thrown if the snapshot is not valid anymore because the files or the database version have changed
+     *                                  or if the snapshot could not be read.
+     */
+    public RestoredSnapshot<D> restore(final File[] files, final int dbVersion) throws CouldNotPerformException {
+        if (!snapshotFile.exists()) {
+            throw new NotAvailableException("Snapshot[" + snapshotFile + "]");
+        }
+
+        final Map<String, File> fileMap = new HashMap<>();
+        for (final File file : files) {
+            fileMap.put(file.getName(), file);
+        }
+
+        final CRC32 checksum = new CRC32();
+        try (final DataInputStream inputStream = new DataInputStream(new CheckedInputStream(new BufferedInputStream(new FileInputStream(snapshotFile), BUFFER_SIZE), checksum))) {
+            if (inputStream.readInt() != MAGIC_NUMBER || inputStream.readInt() != FORMAT_VERSION) {
+                throw new InvalidStateException("Unknown snapshot format!");
+            }
+            if (inputStream.readInt() != dbVersion) {
+                throw new InvalidStateException("Database version has changed!");
+            }
+            final int validationIdentifierCount = inputStream.readInt();
+            final List<String> snapshotValidationIdentifiers = new ArrayList<>(validationIdentifierCount);
+            for (int i = 0; i < validationIdentifierCount; i++) {
+                snapshotValidationIdentifiers.add(inputStream.readUTF());
+            }
+
+            final int fileCount = inputStream.readInt();
+            if (fileCount != fileMap.size()) {
+                throw new InvalidStateException("Number of database files has changed!");
+            }
+            final Map<File, D> fileDataMap = new LinkedHashMap<>();
+            for (int i = 0; i < fileCount; i++) {
+                final String fileName = inputStream.readUTF();
+                final File file = fileMap.remove(fileName);
+                if (file == null) {
+                    throw new InvalidStateException("File[" + fileName + "] is not available anymore!");
+                }
+                if (inputStream.readLong() != file.length() || inputStream.readLong() != file.lastModified()) {
+                    throw new InvalidStateException("File[" + fileName + "] was modified!");
+                }
+                fileDataMap.put(file, snapshotProcessor.read(inputStream));
+            }
+
+            final long expectedChecksum = checksum.getValue();
+            if (inputStream.readLong() != expectedChecksum) {
+                throw new InvalidStateException("Snapshot is corrupted!");
+            }
+            return new RestoredSnapshot<>(fileDataMap, snapshotValidationIdentifiers);
+        } catch (IOException | CouldNotPerformException ex) {
+            throw new CouldNotPerformException("Could not restore snapshot " + snapshotFile + "!", ex);
+        }
+    }
+
+    /**
+     * Removes the snapshot so it can not be restored anymore.
+     */
+    public void invalidate() {
+        snapshotFile.delete();
+    }
+
+    public File getSnapshotFile() {
+        return snapshotFile;
+    }
+
+    /**
+     * The data restored out of a snapshot together with the identifiers of the state it was validated with.
+     *
+     * @param <D> data type
+     */
+    public static class RestoredSnapshot<D> {
+
+        private final Map<File, D> fileDataMap;
+        private final List<String> validationIdentifiers;
+
+        private RestoredSnapshot(final Map<File, D> fileDataMap, final List<String> validationIdentifiers) {
+            this.fileDataMap = fileDataMap;
+            this.validationIdentifiers = validationIdentifiers;
+        }
+
+        /**
+         * @return the database files mapped on their restored data.
+         */
+        public Map<File, D> getFileDataMap() {
+            return fileDataMap;
+        }
+
+        /**
+         * Method checks if the restored data was validated with the given state.
+         *
+         * @param validationIdentifiers the identifiers of the current state, e.g. the registered consistency handlers and depending databases.
+         *
+         * @return true if the data was validated with exactly the given state, otherwise false.
+         */
+        public boolean isValidatedWith(final List<String> validationIdentifiers) {
+            return this.validationIdentifiers.equals(validationIdentifiers);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package org.openbase.jul.storage.file;
+
+/*
+ * #%L
+ * JUL Storage
+ * %%
+ * Copyright (C) 2015 - 2021 openbase.org
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import org.openbase.jul.exception.CouldNotPerformException;
+import org.openbase.jul.exception.printer.ExceptionPrinter;
+import org.openbase.jul.exception.printer.LogLevel;
+import org.openbase.jul.iface.Activatable;
+import org.openbase.jul.pattern.ObservableImpl;
+import org.openbase.jul.schedule.GlobalCachedExecutorService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Observes a directory for created, modified and deleted files.
+ * <p>
+ * Changes are debounced: the observers are notified with the set of all changed files once no further change was detected for the configured delay.
+ * To not delay the notification forever in case of continuous changes, the collected changes are reported at the latest after the configured maximal latency.
+ * Deleted files are always reported because the file filter can not be applied on them anymore.
+ * In case file system events were lost, the directory itself is reported as changed and needs to be rescanned completely.
+ *
+ * @author <a href="mailto:divine@openbase.org">Divine Threepwood</a>
+ */
+public class DirectoryWatcher extends ObservableImpl<DirectoryWatcher, Set<File>> implements Activatable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DirectoryWatcher.class);
+
+    private final File directory;
+    private final FileFilter fileFilter;
+    private final long debounceDelay;
+    private final long maxLatency;
+
+    private WatchService watchService;
+    private Future<?> watchTask;
+
+    /**
+     * Creates a new watcher.
+     *
+     * @param directory     the directory to observe.
+     * @param fileFilter    filter to select the files to report.
+     * @param debounceDelay the time in milliseconds without any further change before the collected changes are reported.
+     * @param maxLatency    the maximal time in milliseconds between the first collected change and its report.
+     */
+    public DirectoryWatcher(final File directory, final FileFilter fileFilter, final long debounceDelay, final long maxLatency) {
+        // every change is reported, even if the same files are changed again.
+        super(false, null);
+        this.directory = directory;
+        this.fileFilter = fileFilter;
+        this.debounceDelay = debounceDelay;
+        this.maxLatency = Math.max(debounceDelay, maxLatency);
+    }
+
+    @Override
+    public synchronized void activate() throws CouldNotPerformException {
+        if (isActive()) {
+            return;
+        }
+
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            directory.toPath().register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException ex) {
+            closeWatchService();
+            throw new CouldNotPerformException("Could not watch " + directory + "!", ex);
+        }
+        final WatchService activeWatchService = watchService;
+        watchTask = GlobalCachedExecutorService.submit(() -> watch(activeWatchService));
+    }
+
+    @Override
+    public synchronized void deactivate() {
+        if (watchTask != null) {
+            watchTask.cancel(true);
+            watchTask = null;
+        }
+        closeWatchService();
+    }
+
+    @Override
+    public synchronized boolean isActive() {
+        return watchTask != null && !watchTask.isDone();
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public void shutdown() {
+        deactivate();
+        super.shutdown();
+    }
+
+    private void closeWatchService() {
+        if (watchService == null) {
+            return;
+        }
+        try {
+            watchService.close();
+        } catch (IOException ex) {
+            ExceptionPrinter.printHistory("Could not close watch service of " + directory, ex, LOGGER, LogLevel.WARN);
+        }
+        watchService = null;
+    }
+
+    private void watch(final WatchService watchService) {
+        Set<File> changedFileSet = new HashSet<>();
+        long firstChangeTime = 0;
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                // wait until the first change is detected, afterwards only until the changes are settled or the maximal latency is reached.
+                final WatchKey watchKey;
+                if (changedFileSet.isEmpty()) {
+                    watchKey = watchService.take();
+                } else {
+                    final long remainingLatency = maxLatency - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - firstChangeTime);
+                    watchKey = remainingLatency > 0 ? watchService.poll(Math.min(debounceDelay, remainingLatency), TimeUnit.MILLISECONDS) : null;
+                }
+
+                if (watchKey == null) {
+                    notifyChanges(changedFileSet);
+                    changedFileSet = new HashSet<>();
+                    continue;
+                }
+
+                if (changedFileSet.isEmpty()) {
+                    firstChangeTime = System.nanoTime();
+                }
+
+                for (final WatchEvent<?> event : watchKey.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        changedFileSet.add(directory);
+                        continue;
+                    }
+                    final File file = new File(directory, ((Path) event.context()).toString());
+                    if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE || fileFilter == null || fileFilter.accept(file)) {
+                        changedFileSet.add(file);
+                    }
+                }
+
+                if (!watchKey.reset()) {
+                    LOGGER.warn("Stop watching " + directory + " because it is not accessible anymore.");
+                    return;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ex) {
+            // watcher was deactivated.
+        }
+    }
+
+    private void notifyChanges(final Set<File> changedFileSet) {
+        if (changedFileSet.isEmpty()) {
+            return;
+        }
+        try {
+            notifyObservers(this, Collections.unmodifiableSet(changedFileSet));
+        } catch (CouldNotPerformException ex) {
+            ExceptionPrinter.printHistory("Could not handle changes of " + directory, ex, LOGGER);
+        }
+    }
+}
@@ -32,9 +32,18 @@ import org.openbase.jul.exception.NotAvailableException;
 import org.openbase.jul.exception.printer.ExceptionPrinter;
 import org.openbase.jul.pattern.ObservableImpl;
 import org.openbase.jul.processing.FileProcessor;
+import org.openbase.jul.schedule.SyncObject;
+import org.openbase.jul.storage.registry.jp.JPFileWriteBehindInterval;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 import org.openbase.jul.exception.InvalidStateException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -48,14 +57,33 @@ public class FileSynchronizer<D> extends ObservableImpl<FileSynchronizer<D>, D>
 
     public enum InitMode {
 
-        AUTO, CREATE, LOAD, REPLACE
+        AUTO, CREATE, LOAD, REPLACE,
+        /**
+         * The given data is known to match the file content, e.g. because it is restored from a registry snapshot.
+         * Therefore, the file is neither read nor written.
+         */
+        RESTORE
     }
 
     protected final Logger logger = LoggerFactory.getLogger(getClass());
 
     private final FileProcessor<D> fileProcessor;
-    private D data;
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private final SyncObject writeLock = new SyncObject("WriteLock");
+    private volatile D data;
     private final File file;
+    private boolean deleted;
+
+    // state of the last file access used to detect if a write back is required without deserializing the file.
+    private byte[] syncedFileDigest;
+    private long syncedFileModificationTime = -1;
+    private long syncedFileLength = -1;
+
+    // state of the delegated write back, a failed write back stays pending until the data is written successfully.
+    private volatile boolean writeBackPending;
+    private volatile CouldNotPerformException writeFailure;
 
     /**
      * Creates a new file with the given data and starts the synchronization.
@@ -94,6 +122,9 @@ public class FileSynchronizer<D> extends ObservableImpl<FileSynchronizer<D>, D>
                     }
                     create(data);
                     break;
+                case RESTORE:
+                    restore(data);
+                    break;
                 default:
                     throw new EnumNotSupportedException(initMode, null);
 
@@ -103,13 +134,39 @@ public class FileSynchronizer<D> extends ObservableImpl<FileSynchronizer<D>, D>
         }
     }
 
+    private void restore(final D data) throws CouldNotPerformException {
+        if (data == null) {
+            throw new NotAvailableException("data");
+        }
+        if (!file.exists()) {
+            throw new NotAvailableException(File.class, file, "File does not exist!");
+        }
+        this.data = data;
+
+        // the digest is computed lazily on the first write to avoid reading the file during the restore.
+        markSynchronized(null);
+    }
+
     public final D load() throws CouldNotPerformException {
         logger.debug("Load " + file);
         data = fileProcessor.deserialize(file);
+        markSynchronized(null);
         return data;
     }
 
     public final File save(final D data) throws CouldNotPerformException {
+        return save(data, false);
+    }
+
+    /**
+     * Saves the given data into the file if its content has changed.
+     *
+     * @param data          the data to save.
+     * @param forceSyncWrite if true the data is written immediately, otherwise the write is delegated to the {@code FileWriteBehindQueue} in case write behind is enabled.
+     * @return the file.
+     * @throws CouldNotPerformException is thrown if the data could not be saved.
+     */
+    private File save(final D data, final boolean forceSyncWrite) throws CouldNotPerformException {
         logger.debug("Save " + data + " into " + file);
 
         try {
@@ -136,19 +193,15 @@ public class FileSynchronizer<D> extends ObservableImpl<FileSynchronizer<D>, D>
                 new InvalidStateException("File["+file.getAbsolutePath()+"] does not provide write access!");
             }
 
-            // make sure files are only written in case the content has changed,
-            // otherwise skip write because this action is especially critical during shutdown where an interrupted write can cause into corrupted files.
-            // Therefore, only write things back that has really changed.
-            try {
-                if (fileProcessor.deserialize(file).equals(data)) {
-                    return file;
-                }
-            } catch (CouldNotPerformException ex) {
-                // in case the file could not be deserialized, we better perform the write back.
+            // perform the file sync, unchanged content is detected by the write itself.
+            // after a failed write back the data is written directly, so the failure is reported to the caller.
+            final int writeBehindInterval = JPService.getValue(JPFileWriteBehindInterval.class, 0);
+            if (!forceSyncWrite && writeBehindInterval > 0 && writeFailure == null) {
+                FileWriteBehindQueue.getInstance().schedule(this, writeBehindInterval);
+                return file;
             }
-
-            // perform the file sync.
-            return fileProcessor.serialize(data, file);
+            write(true);
+            return file;
         } catch (CouldNotPerformException ex) {
             throw new CouldNotPerformException("Could not save " + data + "!", ex);
         }
@@ -181,7 +234,122 @@ public class FileSynchronizer<D> extends ObservableImpl<FileSynchronizer<D>, D>
         } catch (IOException | CouldNotPerformException ex) {
             throw new CouldNotPerformException("Could not create data entry for " + data + "!", ex);
         }
-        return save(data);
+
+        // new files are always written directly to never leave an empty file behind.
+        return save(data, true);
+    }
+
+    /**
+     * Writes all pending changes immediately in case the write back was delegated to the {@code FileWriteBehindQueue}.
+     *
+     * @throws CouldNotPerformException is thrown if the pending changes could not be written.
+     */
+    public void flush() throws CouldNotPerformException {
+        if (FileWriteBehindQueue.getInstance().cancel(this)) {
+            write(true);
+        }
+    }
+
+    /**
+     * Writes the current data atomically into the file.
+     * The data is first written into a hidden temporary file within the same directory which then replaces the actual file via an atomic rename.
+     * This way, an interrupted write never results in a corrupted file.
+     * <p>
+     * Files are only replaced in case their content has changed, which is detected by comparing the digest of the serialized data with the one of the current file.
+     * This is especially important during shutdown where an interrupted write of the actual file could cause into corrupted files.
+     *
+     * @param syncDirectory if true the directory is synced afterwards to make the rename durable.
+     *                      Otherwise the caller is responsible for syncing the directory, which allows to sync a directory only once for a group of written files.
+     * @throws CouldNotPerformException is thrown if the data could not be written.
+     */
+    void write(final boolean syncDirectory) throws CouldNotPerformException {
+        synchronized (writeLock) {
+            if (deleted) {
+                writeBackPending = false;
+                return;
+            }
+
+            final File tempFile = new File(file.getParentFile(), "." + file.getName() + TEMP_FILE_SUFFIX);
+            final D writtenData = data;
+
+            try {
+                fileProcessor.serialize(writtenData, tempFile);
+                final byte[] writtenDataDigest = computeDigest(tempFile);
+
+                // skip the replacement if the file already contains exactly the serialized data.
+                if (file.exists() && Arrays.equals(writtenDataDigest, getFileDigest())) {
+                    Files.delete(tempFile.toPath());
+                    markSynchronized(writtenDataDigest);
+                    markWritten(writtenData);
+                    return;
+                }
+
+                try (final FileChannel tempFileChannel = FileChannel.open(tempFile.toPath(), StandardOpenOption.WRITE)) {
+                    tempFileChannel.force(true);
+                }
+                Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                markSynchronized(writtenDataDigest);
+                markWritten(writtenData);
+            } catch (IOException | CouldNotPerformException ex) {
+                tempFile.delete();
+                writeFailure = new CouldNotPerformException("Could not write " + writtenData + " into " + file + "!", ex);
+                throw writeFailure;
+            }
+        }
+
+        if (syncDirectory) {
+            syncDirectory(file.getParentFile());
+        }
+    }
+
+    private void markWritten(final D writtenData) {
+        writeFailure = null;
+
+        // the data may have been replaced during the write, in this case the next write back is still pending.
+        if (data == writtenData) {
+            writeBackPending = false;
+        }
+    }
+
+    /**
+     * Marks the data as delegated to the {@code FileWriteBehindQueue}.
+     */
+    void markWriteBackPending() {
+        writeBackPending = true;
+    }
+
+    /**
+     * Checks if the latest data was delegated to the {@code FileWriteBehindQueue} but not written yet.
+     * This is also the case if the write back has failed.
+     *
+     * @return true if a write back is pending.
+     */
+    public boolean isWriteBackPending() {
+        return writeBackPending;
+    }
+
+    /**
+     * Checks if the last write of the data has failed.
+     * In this case, the next save writes the data directly instead of delegating the write to the {@code FileWriteBehindQueue}.
+     *
+     * @return true if the last write has failed.
+     */
+    public boolean isWriteFailed() {
+        return writeFailure != null;
+    }
+
+    /**
+     * Forces all file renamings of the given directory to disk.
+     * Errors are only logged since not all platforms support to sync directories.
+     *
+     * @param directory the directory to sync.
+     */
+    static void syncDirectory(final File directory) {
+        try (final FileChannel directoryChannel = FileChannel.open(directory.toPath(), StandardOpenOption.READ)) {
+            directoryChannel.force(true);
+        } catch (IOException ex) {
+            LoggerFactory.getLogger(FileSynchronizer.class).debug("Could not sync " + directory + ": " + ex.getMessage());
+        }
     }
 
     public void delete() throws CouldNotPerformException {
@@ -196,17 +364,76 @@ public class FileSynchronizer<D> extends ObservableImpl<FileSynchronizer<D>, D>
         }
 
         try {
-            if (!file.exists()) {
-                throw new FileNotFoundException(file.getAbsolutePath());
-            }
-            if (!file.delete()) {
-                throw new CouldNotPerformException("Could not delete File[" + file.getAbsolutePath() + "]!");
+            // pending writes are obsolete.
+            FileWriteBehindQueue.getInstance().cancel(this);
+            synchronized (writeLock) {
+                if (!file.exists()) {
+                    throw new FileNotFoundException(file.getAbsolutePath());
+                }
+                if (!file.delete()) {
+                    throw new CouldNotPerformException("Could not delete File[" + file.getAbsolutePath() + "]!");
+                }
+                deleted = true;
             }
         } catch (FileNotFoundException | CouldNotPerformException | NullPointerException ex) {
             throw new CouldNotPerformException("Could not delete database " + file + "!", ex);
         }
     }
 
+    /**
+     * Stores the digest of the file content as well as the current file state to be able to skip redundant writes later on.
+     *
+     * @param fileDigest the digest of the current file content or null if it is not known yet.
+     */
+    private void markSynchronized(final byte[] fileDigest) {
+        syncedFileDigest = fileDigest;
+        syncedFileModificationTime = file.lastModified();
+        syncedFileLength = file.length();
+    }
+
+    /**
+     * Returns the digest of the current file content.
+     * The digest of the last synchronization is reused as long as the file was not touched since then.
+     *
+     * @return the content digest.
+     *
+     * @throws IOException is thrown if the file could not be read.
+     */
+    private byte[] getFileDigest() throws IOException {
+        if (syncedFileDigest == null || !isFileUnchanged()) {
+            markSynchronized(computeDigest(file));
+        }
+        return syncedFileDigest;
+    }
+
+    private static byte[] computeDigest(final File file) throws IOException {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM).digest(Files.readAllBytes(file.toPath()));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IOException("Digest algorithm " + DIGEST_ALGORITHM + " not available!", ex);
+        }
+    }
+
+    /**
+     * Checks if the file was not touched since the last synchronization.
+     *
+     * @return true if the file still reflects the last synchronized state.
+     */
+    private boolean isFileUnchanged() {
+        return syncedFileModificationTime != -1 && syncedFileModificationTime == file.lastModified() && syncedFileLength == file.length();
+    }
+
+    /**
+     * Checks if the file was modified by someone else since it was last read or written by this synchronizer.
+     *
+     * @return true if the file does not reflect the last synchronized state anymore.
+     */
+    public boolean isExternallyModified() {
+        synchronized (writeLock) {
+            return !isFileUnchanged();
+        }
+    }
+
     public D getData() throws NotAvailableException {
         if (data == null) {
             throw new NotAvailableException("data");
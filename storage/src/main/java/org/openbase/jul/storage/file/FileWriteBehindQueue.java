@@ -0,0 +1,172 @@
+package org.openbase.jul.storage.file;
+
+/*
+ * #%L
+ * JUL Storage
+ * %%
+ * Copyright (C) 2015 - 2021 openbase.org
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import org.openbase.jul.exception.CouldNotPerformException;
+import org.openbase.jul.exception.MultiException;
+import org.openbase.jul.exception.MultiException.ExceptionStack;
+import org.openbase.jul.exception.printer.ExceptionPrinter;
+import org.openbase.jul.iface.Shutdownable;
+import org.openbase.jul.schedule.GlobalScheduledExecutorService;
+import org.openbase.jul.schedule.SyncObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queue to write back file changes asynchronously.
+ * <p>
+ * Repeated saves of the same {@code FileSynchronizer} are coalesced until the queue is flushed, so only the latest state is written.
+ * All pending files are written together after the configured interval, whereby each affected directory is synced only once per flush.
+ * Pending changes are flushed during the application shutdown.
+ * A failed write back is not retried by the queue, instead the affected {@code FileSynchronizer} stays pending and reports the failure,
+ * so its owner is able to retry the write.
+ *
+ * @author <a href="mailto:divine@openbase.org">Divine Threepwood</a>
+ */
+public class FileWriteBehindQueue implements Shutdownable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileWriteBehindQueue.class);
+
+    private static FileWriteBehindQueue instance;
+
+    private final SyncObject queueLock = new SyncObject("QueueLock");
+    private final Set<FileSynchronizer<?>> pendingFileSynchronizerSet;
+    private ScheduledFuture<?> flushTask;
+
+    private FileWriteBehindQueue() {
+        this.pendingFileSynchronizerSet = new LinkedHashSet<>();
+        try {
+            Shutdownable.registerShutdownHook(this);
+        } catch (CouldNotPerformException ex) {
+            ExceptionPrinter.printHistory("Could not register shutdown hook! Pending file changes may get lost during shutdown.", ex, LOGGER);
+        }
+    }
+
+    public static synchronized FileWriteBehindQueue getInstance() {
+        if (instance == null) {
+            instance = new FileWriteBehindQueue();
+        }
+        return instance;
+    }
+
+    /**
+     * Schedules the write back of the given file synchronizer.
+     * In case the file synchronizer is already scheduled, both writes are merged.
+     *
+     * @param fileSynchronizer the synchronizer to write back.
+     * @param flushDelay       the delay in milliseconds after which all pending changes are written in case no flush is scheduled yet.
+     */
+    void schedule(final FileSynchronizer<?> fileSynchronizer, final long flushDelay) {
+        synchronized (queueLock) {
+            fileSynchronizer.markWriteBackPending();
+            pendingFileSynchronizerSet.add(fileSynchronizer);
+            if (flushTask != null && !flushTask.isDone()) {
+                return;
+            }
+            try {
+                flushTask = GlobalScheduledExecutorService.schedule(() -> {
+                    try {
+                        flush();
+                    } catch (CouldNotPerformException ex) {
+                        ExceptionPrinter.printHistory("Could not write back all file changes!", ex, LOGGER);
+                    }
+                }, flushDelay, TimeUnit.MILLISECONDS);
+            } catch (RuntimeException ex) {
+                // write synchronously if no flush can be scheduled.
+                ExceptionPrinter.printHistory("Could not schedule file write back!", ex, LOGGER);
+                flushTask = null;
+                pendingFileSynchronizerSet.remove(fileSynchronizer);
+                try {
+                    fileSynchronizer.write(true);
+                } catch (CouldNotPerformException exx) {
+                    ExceptionPrinter.printHistory("Could not write back " + fileSynchronizer.getFile() + "!", exx, LOGGER);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes the given file synchronizer from the queue.
+     *
+     * @param fileSynchronizer the synchronizer to remove.
+     * @return true if a write back of the synchronizer was pending.
+     */
+    boolean cancel(final FileSynchronizer<?> fileSynchronizer) {
+        synchronized (queueLock) {
+            return pendingFileSynchronizerSet.remove(fileSynchronizer);
+        }
+    }
+
+    /**
+     * Writes all pending changes and syncs the affected directories.
+     *
+     * @throws CouldNotPerformException is thrown if at least one file could not be written.
+     */
+    public void flush() throws CouldNotPerformException {
+        final List<FileSynchronizer<?>> fileSynchronizerList;
+        synchronized (queueLock) {
+            fileSynchronizerList = new ArrayList<>(pendingFileSynchronizerSet);
+            pendingFileSynchronizerSet.clear();
+            if (flushTask != null) {
+                flushTask.cancel(false);
+                flushTask = null;
+            }
+        }
+
+        ExceptionStack exceptionStack = null;
+        final Set<File> directorySet = new HashSet<>();
+        for (final FileSynchronizer<?> fileSynchronizer : fileSynchronizerList) {
+            try {
+                fileSynchronizer.write(false);
+                directorySet.add(fileSynchronizer.getFile().getParentFile());
+            } catch (CouldNotPerformException ex) {
+                exceptionStack = MultiException.push(this, ex, exceptionStack);
+            }
+        }
+
+        // group commit of all renamings
+        for (final File directory : directorySet) {
+            FileSynchronizer.syncDirectory(directory);
+        }
+
+        MultiException.checkAndThrow(() -> "Could not write back all file changes!", exceptionStack);
+    }
+
+    @Override
+    public void shutdown() {
+        try {
+            flush();
+        } catch (CouldNotPerformException ex) {
+            ExceptionPrinter.printHistory("Final write back failed!", ex, LOGGER);
+        }
+    }
+}
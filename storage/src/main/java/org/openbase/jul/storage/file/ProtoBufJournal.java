@@ -0,0 +1,612 @@
+package org.openbase.jul.storage.file;
+
+/*
+ * #%L
+ * JUL Storage
+ * %%
+ * Copyright (C) 2015 - 2021 openbase.org
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import com.google.protobuf.AbstractMessage;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Parser;
+import com.google.protobuf.WireFormat;
+import org.openbase.jul.exception.CouldNotPerformException;
+import org.openbase.jul.exception.InstantiationException;
+import org.openbase.jul.exception.InvalidStateException;
+import org.openbase.jul.exception.MultiException;
+import org.openbase.jul.exception.MultiException.ExceptionStack;
+import org.openbase.jul.exception.NotAvailableException;
+import org.openbase.jul.exception.printer.ExceptionPrinter;
+import org.openbase.jul.iface.Identifiable;
+import org.openbase.jul.iface.Shutdownable;
+import org.openbase.jul.processing.FileProcessor;
+import org.openbase.jul.schedule.GlobalScheduledExecutorService;
+import org.openbase.jul.schedule.SyncObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileFilter;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append-only binary storage of protobuf messages.
+ * <p>
+ * Instead of writing one json file per entry, all register, update and remove operations are appended as records to a single journal file.
+ * Each record is a length-delimited protobuf encoded message of the following layout:
+ * <pre>
+ * {@code
+ *     message Record {
+ *         RecordType type = 1;
+ *         string id = 2;
+ *         bytes message = 3;
+ *     }
+ * }
+ * </pre>
+ * The journal is written via one sequential channel and forced to disk in groups by a periodic sync task.
+ * Once the number of journal records exceeds the compaction threshold, the current state is written into a snapshot file and the journal is truncated.
+ * During startup, the snapshot is loaded and the journal is replayed, whereby an incomplete trailing record caused by a crash is discarded.
+ * A corrupted record in the middle of a file fails the recovery instead of dropping all subsequent records.
+ * <p>
+ * The entries are identified by the {@code id} field of the message.
+ * Use {@link #exportToJson(File, FileProvider, FileProcessor)} and {@link #importFromJson(File, FileFilter, FileProcessor)} to convert from and to the human readable per entry json layout.
+ *
+ * @param <M> the message type to store.
+ *
+ * @author <a href="mailto:divine@openbase.org">Divine Threepwood</a>
+ */
+public class ProtoBufJournal<M extends AbstractMessage> implements Shutdownable {
+
+    public enum RecordType {
+        REGISTER,
+        UPDATE,
+        REMOVE
+    }
+
+    public static final String SNAPSHOT_FILE_NAME = "snapshot.pb";
+    public static final String JOURNAL_FILE_NAME = "journal.pb";
+    public static final long DEFAULT_SYNC_INTERVAL = 100;
+    public static final int DEFAULT_COMPACTION_THRESHOLD = 10000;
+
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+    private static final int RECORD_FIELD_TYPE = 1;
+    private static final int RECORD_FIELD_ID = 2;
+    private static final int RECORD_FIELD_MESSAGE = 3;
+    private static final int MAX_LENGTH_PREFIX_SIZE = 5;
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final SyncObject journalLock = new SyncObject("JournalLock");
+    private final File directory;
+    private final File snapshotFile;
+    private final File journalFile;
+    private final Parser<M> parser;
+    private final FieldDescriptor idFieldDescriptor;
+    private final int compactionThreshold;
+    private final Map<String, M> entryMap;
+    private final ScheduledFuture<?> syncTask;
+
+    private FileChannel journalChannel;
+    private int journalRecordCounter;
+    private boolean unsynced;
+    private boolean shutdown;
+
+    /**
+     * Creates a new journal within the given directory with default sync interval and compaction threshold.
+     *
+     * @param directory       the directory to store the snapshot and journal in.
+     * @param defaultInstance the default instance of the message type to store.
+     *
+     * @throws InstantiationException is thrown if the directory is not accessible or the stored data could not be recovered.
+     */
+    public ProtoBufJournal(final File directory, final M defaultInstance) throws InstantiationException {
+        this(directory, defaultInstance, DEFAULT_SYNC_INTERVAL, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    /**
+     * Creates a new journal within the given directory.
+     *
+     * @param directory           the directory to store the snapshot and journal in.
+     * @param defaultInstance     the default instance of the message type to store.
+     * @param syncInterval        the interval in milliseconds in which appended records are forced to disk.
+     * @param compactionThreshold the number of journal records after which the journal is compacted into a new snapshot.
+     *
+     * @throws InstantiationException is thrown if the directory is not accessible or the stored data could not be recovered.
+     */
+    public ProtoBufJournal(final File directory, final M defaultInstance, final long syncInterval, final int compactionThreshold) throws InstantiationException {
+        try {
+            this.directory = directory;
+            this.snapshotFile = new File(directory, SNAPSHOT_FILE_NAME);
+            this.journalFile = new File(directory, JOURNAL_FILE_NAME);
+            this.parser = (Parser<M>) defaultInstance.getParserForType();
+            this.idFieldDescriptor = defaultInstance.getDescriptorForType().findFieldByName(Identifiable.TYPE_FIELD_ID);
+            this.compactionThreshold = compactionThreshold;
+            this.entryMap = new HashMap<>();
+
+            if (idFieldDescriptor == null) {
+                throw new NotAvailableException("Field[" + Identifiable.TYPE_FIELD_ID + "] of " + defaultInstance.getDescriptorForType().getName());
+            }
+
+            if (!directory.exists() && !directory.mkdirs()) {
+                throw new CouldNotPerformException("Could not create Directory[" + directory.getAbsolutePath() + "]!");
+            }
+
+            recover();
+            this.syncTask = GlobalScheduledExecutorService.scheduleWithFixedDelay(() -> {
+                try {
+                    sync();
+                } catch (CouldNotPerformException ex) {
+                    ExceptionPrinter.printHistory("Could not sync " + this + "!", ex, logger);
+                }
+            }, syncInterval, syncInterval, TimeUnit.MILLISECONDS);
+        } catch (CouldNotPerformException | IllegalArgumentException ex) {
+            throw new InstantiationException(this, ex);
+        }
+    }
+
+    /**
+     * Method returns a snapshot of all stored entries.
+     *
+     * @return an unmodifiable map of all entries indexed by their ids.
+     */
+    public Map<String, M> getEntries() {
+        synchronized (journalLock) {
+            return Collections.unmodifiableMap(new HashMap<>(entryMap));
+        }
+    }
+
+    /**
+     * Method checks if an entry with the given id is stored.
+     *
+     * @param id the id of the entry.
+     *
+     * @return true if the entry is stored, otherwise false.
+     */
+    public boolean contains(final String id) {
+        synchronized (journalLock) {
+            return entryMap.containsKey(id);
+        }
+    }
+
+    public M register(final M message) throws CouldNotPerformException {
+        final String id = resolveId(message);
+        synchronized (journalLock) {
+            if (entryMap.containsKey(id)) {
+                throw new InvalidStateException("Entry[" + id + "] is already registered!");
+            }
+            append(RecordType.REGISTER, id, message);
+        }
+        return message;
+    }
+
+    public M update(final M message) throws CouldNotPerformException {
+        final String id = resolveId(message);
+        synchronized (journalLock) {
+            if (!entryMap.containsKey(id)) {
+                throw new NotAvailableException("Entry", id);
+            }
+            append(RecordType.UPDATE, id, message);
+        }
+        return message;
+    }
+
+    public M remove(final String id) throws CouldNotPerformException {
+        synchronized (journalLock) {
+            final M message = entryMap.get(id);
+            if (message == null) {
+                throw new NotAvailableException("Entry", id);
+            }
+            append(RecordType.REMOVE, id, null);
+            return message;
+        }
+    }
+
+    /**
+     * Forces all appended records to disk.
+     * Records are synced periodically, so this method only needs to be called if the durability of the latest records has to be guaranteed immediately.
+     *
+     * @throws CouldNotPerformException is thrown if the journal could not be synced.
+     */
+    public void sync() throws CouldNotPerformException {
+        synchronized (journalLock) {
+            if (!unsynced || shutdown) {
+                return;
+            }
+            try {
+                journalChannel.force(false);
+                unsynced = false;
+            } catch (IOException ex) {
+                throw new CouldNotPerformException("Could not sync " + journalFile + "!", ex);
+            }
+        }
+    }
+
+    /**
+     * Writes the current state into a new snapshot and truncates the journal.
+     * The snapshot is written into a temporary file which replaces the previous snapshot atomically,
+     * so a crash during compaction leaves either the old snapshot with the complete journal or the new snapshot behind.
+     * Since the journal replay is idempotent, both states recover the same entries.
+     *
+     * @throws CouldNotPerformException is thrown if the compaction failed.
+     */
+    public void compact() throws CouldNotPerformException {
+        synchronized (journalLock) {
+            if (shutdown) {
+                throw new InvalidStateException(this + " is already shutdown!");
+            }
+            logger.debug("Compact " + this + " with " + entryMap.size() + " entries and " + journalRecordCounter + " journal records.");
+            final File tempSnapshotFile = new File(directory, SNAPSHOT_FILE_NAME + TEMP_FILE_SUFFIX);
+            try {
+                try (final FileChannel snapshotChannel = FileChannel.open(tempSnapshotFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    for (final Map.Entry<String, M> entry : entryMap.entrySet()) {
+                        write(snapshotChannel, encodeRecord(RecordType.REGISTER, entry.getKey(), entry.getValue()));
+                    }
+                    snapshotChannel.force(true);
+                }
+                Files.move(tempSnapshotFile.toPath(), snapshotFile.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                syncDirectory();
+
+                journalChannel.truncate(0);
+                journalChannel.force(true);
+                journalRecordCounter = 0;
+                unsynced = false;
+            } catch (IOException ex) {
+                throw new CouldNotPerformException("Could not compact " + this + "!", ex);
+            }
+        }
+    }
+
+    /**
+     * Writes all entries as pretty printed json files into the given directory, one file per entry.
+     *
+     * @param jsonDirectory the directory to export the entries to.
+     * @param fileProvider  the provider used to generate the file name of each entry.
+     * @param fileProcessor the processor used to serialize the entries.
+     *
+     * @throws CouldNotPerformException is thrown if at least one entry could not be exported.
+     */
+    public void exportToJson(final File jsonDirectory, final FileProvider<Identifiable<String>> fileProvider, final FileProcessor<M> fileProcessor) throws CouldNotPerformException {
+        if (!jsonDirectory.exists() && !jsonDirectory.mkdirs()) {
+            throw new CouldNotPerformException("Could not create Directory[" + jsonDirectory.getAbsolutePath() + "]!");
+        }
+
+        ExceptionStack exceptionStack = null;
+        for (final Map.Entry<String, M> entry : getEntries().entrySet()) {
+            try {
+                fileProcessor.serialize(entry.getValue(), new File(jsonDirectory, fileProvider.getFileName(entry::getKey)));
+            } catch (CouldNotPerformException ex) {
+                exceptionStack = MultiException.push(this, new CouldNotPerformException("Could not export Entry[" + entry.getKey() + "]!", ex), exceptionStack);
+            }
+        }
+        MultiException.checkAndThrow(() -> "Could not export all entries of " + this + "!", exceptionStack);
+    }
+
+    /**
+     * Imports all json files of the given directory which are accepted by the given filter.
+     * Entries which are already stored are updated. Afterwards the journal is compacted so the imported state is directly part of the snapshot.
+     *
+     * @param jsonDirectory the directory to import the entries from.
+     * @param fileFilter    the filter to select the files to import.
+     * @param fileProcessor the processor used to deserialize the entries.
+     *
+     * @throws CouldNotPerformException is thrown if at least one entry could not be imported.
+     */
+    public void importFromJson(final File jsonDirectory, final FileFilter fileFilter, final FileProcessor<M> fileProcessor) throws CouldNotPerformException {
+        final File[] files = jsonDirectory.listFiles(fileFilter);
+        if (files == null) {
+            throw new NotAvailableException("Directory[" + jsonDirectory.getAbsolutePath() + "]");
+        }
+
+        ExceptionStack exceptionStack = null;
+        synchronized (journalLock) {
+            for (final File file : files) {
+                try {
+                    final M message = fileProcessor.deserialize(file);
+                    final String id = resolveId(message);
+                    append(entryMap.containsKey(id) ? RecordType.UPDATE : RecordType.REGISTER, id, message);
+                } catch (CouldNotPerformException ex) {
+                    exceptionStack = MultiException.push(this, new CouldNotPerformException("Could not import " + file + "!", ex), exceptionStack);
+                }
+            }
+            compact();
+        }
+        MultiException.checkAndThrow(() -> "Could not import all entries into " + this + "!", exceptionStack);
+    }
+
+    @Override
+    public void shutdown() {
+        synchronized (journalLock) {
+            if (shutdown) {
+                return;
+            }
+            syncTask.cancel(false);
+            try {
+                sync();
+            } catch (CouldNotPerformException ex) {
+                ExceptionPrinter.printHistory("Final sync of " + this + " failed!", ex, logger);
+            }
+            shutdown = true;
+            try {
+                journalChannel.close();
+            } catch (IOException ex) {
+                ExceptionPrinter.printHistory("Could not close " + journalFile + "!", ex, logger);
+            }
+        }
+    }
+
+    private void append(final RecordType type, final String id, final M message) throws CouldNotPerformException {
+        if (shutdown) {
+            throw new InvalidStateException(this + " is already shutdown!");
+        }
+        final long recordPosition;
+        try {
+            recordPosition = journalChannel.position();
+        } catch (IOException ex) {
+            throw new CouldNotPerformException("Could not access " + journalFile + "!", ex);
+        }
+        try {
+            write(journalChannel, encodeRecord(type, id, message));
+        } catch (IOException ex) {
+            // discard the partially written record, otherwise all further records would follow a corrupted one.
+            discardTornRecord(recordPosition);
+            throw new CouldNotPerformException("Could not append " + type.name().toLowerCase() + " record of Entry[" + id + "] to " + journalFile + "!", ex);
+        }
+        apply(type, id, message);
+        unsynced = true;
+        journalRecordCounter++;
+
+        if (journalRecordCounter >= compactionThreshold) {
+            compact();
+        }
+    }
+
+    private void discardTornRecord(final long recordPosition) {
+        try {
+            journalChannel.truncate(recordPosition);
+            journalChannel.position(recordPosition);
+        } catch (IOException ex) {
+            ExceptionPrinter.printHistory("Could not discard torn record at Position[" + recordPosition + "] of " + journalFile + "! The record is discarded during the next recovery if it is the last one.", ex, logger);
+        }
+    }
+
+    private void apply(final RecordType type, final String id, final M message) {
+        // apply is idempotent so a journal can be replayed on top of a snapshot which already includes some of its records.
+        switch (type) {
+            case REGISTER:
+            case UPDATE:
+                entryMap.put(id, message);
+                break;
+            case REMOVE:
+                entryMap.remove(id);
+                break;
+        }
+    }
+
+    /**
+     * Loads the snapshot and replays the journal.
+     * An incomplete trailing journal record is discarded by truncating the journal to its last complete record.
+     *
+     * @throws CouldNotPerformException is thrown if the snapshot is incomplete or a file contains a corrupted record which is followed by further data.
+     */
+    private void recover() throws CouldNotPerformException {
+        try {
+            if (snapshotFile.exists()) {
+                if (readRecords(snapshotFile) != snapshotFile.length()) {
+                    throw new InvalidStateException("Snapshot " + snapshotFile + " is corrupted!");
+                }
+            }
+            journalRecordCounter = 0;
+
+            // replay before opening the channel so a failed recovery does not leak it.
+            final long validJournalLength = journalFile.exists() ? readRecords(journalFile) : 0;
+            journalChannel = FileChannel.open(journalFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            if (validJournalLength < journalChannel.size()) {
+                logger.warn("Discard incomplete record at Position[" + validJournalLength + "] of " + journalFile + " which is probably caused by a crash.");
+                journalChannel.truncate(validJournalLength);
+                journalChannel.force(true);
+            }
+            journalChannel.position(validJournalLength);
+        } catch (IOException ex) {
+            throw new CouldNotPerformException("Could not recover " + this + "!", ex);
+        }
+    }
+
+    /**
+     * Applies all complete records of the given file.
+     * <p>
+     * A record which is cut off by the end of the file, or a corrupted record which is only followed by zero bytes, is the result of an interrupted write
+     * and marks the end of the log. A corrupted record which is followed by further data can not be caused by a crash, so instead of silently dropping
+     * all subsequent records the recovery fails.
+     *
+     * @return the length of the valid part of the file.
+     */
+    private long readRecords(final File file) throws IOException, CouldNotPerformException {
+        final long fileLength = file.length();
+        long validLength = 0;
+        try (final DataInputStream inputStream = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            while (validLength < fileLength) {
+                // read length prefix
+                int recordLength = 0;
+                int prefixLength = 0;
+                int currentByte;
+                do {
+                    currentByte = inputStream.read();
+                    if (currentByte == -1) {
+                        // length prefix is truncated
+                        return validLength;
+                    }
+                    if (prefixLength == MAX_LENGTH_PREFIX_SIZE) {
+                        return handleCorruptedRecord(file, inputStream, validLength, -1, fileLength, null);
+                    }
+                    recordLength |= (currentByte & 0x7F) << (7 * prefixLength);
+                    prefixLength++;
+                } while ((currentByte & 0x80) != 0);
+
+                if (recordLength < 0) {
+                    return handleCorruptedRecord(file, inputStream, validLength, -1, fileLength, null);
+                }
+
+                final long recordEnd = validLength + prefixLength + recordLength;
+                if (recordEnd > fileLength) {
+                    // record is truncated
+                    return validLength;
+                }
+
+                final byte[] recordBytes = new byte[recordLength];
+                inputStream.readFully(recordBytes);
+                try {
+                    applyRecord(file, validLength, recordBytes);
+                } catch (InvalidProtocolBufferException | InvalidStateException | ArrayIndexOutOfBoundsException ex) {
+                    return handleCorruptedRecord(file, inputStream, validLength, recordEnd, fileLength, ex);
+                }
+                journalRecordCounter++;
+                validLength = recordEnd;
+            }
+        }
+        return validLength;
+    }
+
+    private void applyRecord(final File file, final long position, final byte[] recordBytes) throws InvalidProtocolBufferException, InvalidStateException {
+        final CodedInputStream codedInputStream = CodedInputStream.newInstance(recordBytes);
+        RecordType type = null;
+        String id = null;
+        ByteString messageBytes = null;
+        while (!codedInputStream.isAtEnd()) {
+            final int tag = codedInputStream.readTag();
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case RECORD_FIELD_TYPE:
+                    type = RecordType.values()[codedInputStream.readEnum()];
+                    break;
+                case RECORD_FIELD_ID:
+                    id = codedInputStream.readString();
+                    break;
+                case RECORD_FIELD_MESSAGE:
+                    messageBytes = codedInputStream.readBytes();
+                    break;
+                default:
+                    codedInputStream.skipField(tag);
+            }
+        }
+
+        if (type == null || id == null || (type != RecordType.REMOVE && messageBytes == null)) {
+            throw new InvalidStateException("Incomplete record detected in " + file + " at Position[" + position + "]!");
+        }
+
+        // the record is applied after it was completely decoded so a corrupted record never leaves a partial state behind.
+        apply(type, id, messageBytes == null ? null : parser.parseFrom(messageBytes));
+    }
+
+    /**
+     * Decides whether a corrupted record is the torn tail of the log or mid-file corruption.
+     *
+     * @return the valid length of the file if the corrupted record is the torn tail of the log.
+     *
+     * @throws InvalidStateException is thrown if further data follows the corrupted record.
+     */
+    private long handleCorruptedRecord(final File file, final InputStream inputStream, final long position, final long recordEnd, final long fileLength, final Exception cause) throws IOException, InvalidStateException {
+        if (recordEnd == fileLength || isZeroFilled(inputStream)) {
+            return position;
+        }
+        throw new InvalidStateException("Corrupted record detected in " + file + " at Position[" + position + "] which is followed by further data! "
+                + "Please repair or remove the file manually, otherwise all subsequent records would be lost.", cause);
+    }
+
+    private boolean isZeroFilled(final InputStream inputStream) throws IOException {
+        int currentByte;
+        while ((currentByte = inputStream.read()) != -1) {
+            if (currentByte != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private byte[] encodeRecord(final RecordType type, final String id, final M message) throws IOException {
+        final ByteArrayOutputStream recordStream = new ByteArrayOutputStream();
+        final CodedOutputStream recordOutputStream = CodedOutputStream.newInstance(recordStream);
+        recordOutputStream.writeEnum(RECORD_FIELD_TYPE, type.ordinal());
+        recordOutputStream.writeString(RECORD_FIELD_ID, id);
+        if (message != null) {
+            recordOutputStream.writeBytes(RECORD_FIELD_MESSAGE, message.toByteString());
+        }
+        recordOutputStream.flush();
+
+        final ByteArrayOutputStream delimitedStream = new ByteArrayOutputStream(recordStream.size() + 5);
+        final CodedOutputStream delimitedOutputStream = CodedOutputStream.newInstance(delimitedStream);
+        delimitedOutputStream.writeUInt32NoTag(recordStream.size());
+        delimitedOutputStream.flush();
+        recordStream.writeTo(delimitedStream);
+        return delimitedStream.toByteArray();
+    }
+
+    /**
+     * Writes the given data completely into the given channel.
+     * The method is package private so tests are able to simulate interrupted writes.
+     */
+    void write(final FileChannel channel, final byte[] data) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.wrap(data);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private void syncDirectory() {
+        // make sure the snapshot renaming is durable, not all platforms support to sync directories.
+        try (final FileChannel directoryChannel = FileChannel.open(directory.toPath(), StandardOpenOption.READ)) {
+            directoryChannel.force(true);
+        } catch (IOException ex) {
+            logger.debug("Could not sync " + directory + ": " + ex.getMessage());
+        }
+    }
+
+    private String resolveId(final M message) throws NotAvailableException {
+        if (message == null) {
+            throw new NotAvailableException("message");
+        }
+        final String id = (String) message.getField(idFieldDescriptor);
+        if (id.isEmpty()) {
+            throw new NotAvailableException("Field[" + Identifiable.TYPE_FIELD_ID + "] of " + message.getDescriptorForType().getName());
+        }
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[" + directory.getAbsolutePath() + "]";
+    }
+}
@@ -0,0 +1,73 @@
+package org.openbase.jul.storage.file;
+
+/*
+ * #%L
+ * JUL Storage
+ * %%
+ * Copyright (C) 2015 - 2021 openbase.org
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import com.google.protobuf.AbstractMessage;
+import com.google.protobuf.Message;
+import org.openbase.jul.exception.CouldNotPerformException;
+import org.openbase.jul.exception.InvalidStateException;
+import org.openbase.jul.extension.protobuf.processing.ProtoBufFileProcessor.TypeToMessageTransformer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Snapshot processor encoding entries as length-delimited protobuf messages.
+ *
+ * @param <DT> datatype
+ * @param <M>  message
+ * @param <MB> message builder
+ *
+ * @author <a href="mailto:divine@openbase.org">Divine Threepwood</a>
+ */
+public class ProtoBufSnapshotProcessor<DT, M extends AbstractMessage, MB extends M.Builder<MB>> implements SnapshotProcessor<DT> {
+
+    private final TypeToMessageTransformer<DT, M, MB> transformer;
+
+    public ProtoBufSnapshotProcessor(final TypeToMessageTransformer<DT, M, MB> transformer) {
+        this.transformer = transformer;
+    }
+
+    @Override
+    public void write(final DT data, final OutputStream outputStream) throws CouldNotPerformException {
+        try {
+            transformer.transform(data).writeDelimitedTo(outputStream);
+        } catch (IOException ex) {
+            throw new CouldNotPerformException("Could not write " + data + " into snapshot!", ex);
+        }
+    }
+
+    @Override
+    public DT read(final InputStream inputStream) throws CouldNotPerformException {
+        final Message.Builder builder = transformer.newBuilderForType();
+        try {
+            if (!builder.mergeDelimitedFrom(inputStream)) {
+                throw new InvalidStateException("Unexpected end of snapshot!");
+            }
+            return transformer.transform((M) builder.build());
+        } catch (IOException ex) {
+            throw new CouldNotPerformException("Could not read entry out of snapshot!", ex);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package org.openbase.jul.storage.file;
+
+/*
+ * #%L
+ * JUL Storage
+ * %%
+ * Copyright (C) 2015 - 2021 openbase.org
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import org.openbase.jul.exception.CouldNotPerformException;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Processor to encode entries into a binary database snapshot and vise versa.
+ *
+ * @param <D> data type
+ *
+ * @author <a href="mailto:divine@openbase.org">Divine Threepwood</a>
+ */
+public interface SnapshotProcessor<D> {
+
+    /**
+     * Writes the given data as self-delimited record into the given stream.
+     *
+     * @param data         the data to write.
+     * @param outputStream the stream to write to.
+     *
+     * @throws CouldNotPerformException is thrown if the data could not be written.
+     */
+    void write(final D data, final OutputStream outputStream) throws CouldNotPerformException;
+
+    /**
+     * Reads the next record written via {@link #write(Object, OutputStream)} out of the given stream.
+     *
+     * @param inputStream the stream to read from.
+     *
+     * @return the data of the record.
+     *
+     * @throws CouldNotPerformException is thrown if the record could not be read, e.g. because the end of the stream is reached.
+     */
+    D read(final InputStream inputStream) throws CouldNotPerformException;
+}
@@ -35,6 +35,7 @@ import org.openbase.jul.exception.printer.ExceptionPrinter;
 import org.openbase.jul.exception.printer.LogLevel;
 import org.openbase.jul.exception.printer.LogLevelFilter;
 import org.openbase.jul.exception.printer.Printer;
+import org.openbase.jul.extension.protobuf.IdentifiableMessage;
 import org.openbase.jul.iface.Activatable;
 import org.openbase.jul.iface.Identifiable;
 import org.openbase.jul.iface.Shutdownable;
@@ -43,13 +44,25 @@ import org.openbase.jul.pattern.ChangeListener;
 import org.openbase.jul.pattern.ObservableImpl;
 import org.openbase.jul.pattern.Observer;
 import org.openbase.jul.pattern.provider.DataProvider;
+import org.openbase.jul.processing.StringProcessor;
+import org.openbase.jul.schedule.GlobalCachedExecutorService;
 import org.openbase.jul.schedule.RecurrenceEventFilter;
+import org.openbase.jul.storage.registry.jp.JPRegistryChangeFeedCapacity;
 import org.openbase.jul.storage.registry.plugin.RegistryPlugin;
 import org.openbase.jul.storage.registry.plugin.RegistryPluginPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
@@ -63,15 +76,46 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
  */
 public abstract class AbstractRegistry<KEY, ENTRY extends Identifiable<KEY>, MAP extends Map<KEY, ENTRY>, REGISTRY extends Registry<KEY, ENTRY>, PLUGIN extends RegistryPlugin<KEY, ENTRY, REGISTRY>> extends ObservableImpl<DataProvider<Map<KEY, ENTRY>>, Map<KEY, ENTRY>> implements Registry<KEY, ENTRY> {
 
+    /**
+     * The minimal number of entries to validate before consistency handlers supporting parallel processing are applied concurrently.
+     */
+    public static final int PARALLEL_CONSISTENCY_CHECK_THRESHOLD = 64;
+
+    /**
+     * The maximal time in milliseconds to wait for a single registry lock before all acquired locks are released and the acquisition is repeated.
+     * This timeout only takes effect if locks are requested out of order, e.g. if a thread already holding a registry lock locks another registry.
+     */
+    private static final long LOCK_ACQUISITION_TIMEOUT = 500;
+
+    /**
+     * The maximal time in milliseconds to wait between two lock acquisitions.
+     * The wait time is doubled with each failed acquisition up to this limit, so registries which reject to be locked immediately are not polled permanently.
+     */
+    private static final long MAX_LOCK_RETRY_DELAY = 100;
+
+    /**
+     * The maximal time in milliseconds to continue the lock acquisition after the thread was interrupted during the shutdown.
+     */
+    private static final long SHUTDOWN_LOCK_TIMEOUT = 10000;
+
+    /**
+     * Counter used to define a global order in which registry locks are acquired.
+     */
+    private static final AtomicLong LOCK_ORDER_COUNTER = new AtomicLong();
+
     protected final Logger logger = LoggerFactory.getLogger(getClass());
     protected final RegistryPluginPool<KEY, ENTRY, PLUGIN, REGISTRY> pluginPool;
     private final MAP entryMap;
 
-    private final Random randomJitter;
+    private final long lockOrder = LOCK_ORDER_COUNTER.incrementAndGet();
+    private final RegistryLockMetrics lockMetrics = new RegistryLockMetrics();
     private final ReentrantReadWriteLock registryLock = new ReentrantReadWriteLock();
     private final ReentrantReadWriteLock dependingRegistryMapLock = new ReentrantReadWriteLock();
     private final ReentrantReadWriteLock consistencyCheckLock = new ReentrantReadWriteLock();
-    private final Set<Registry> lockedRegistries = new HashSet<>();
+    /**
+     * All registries locked by the latest {@link #lock()} call in acquisition order. Only accessed by the thread holding the write lock.
+     */
+    private final List<Registry> lockedRegistryList = new ArrayList<>();
     private final List<ConsistencyHandler<KEY, ENTRY, MAP, REGISTRY>> consistencyHandlerList;
     /**
      * Map of registries this one depends on.
@@ -79,6 +123,49 @@ public abstract class AbstractRegistry<KEY, ENTRY extends Identifiable<KEY>, MAP
     private final Map<Registry, DependencyConsistencyCheckTrigger> dependingRegistryMap;
     private final ObservableImpl<Registry<KEY, ENTRY>, Map<KEY, ENTRY>> dependingRegistryObservable;
     private final ChangeHandler transactionPerformedNotifier;
+    /**
+     * Map of all entries modified since the last consistency check. Removed entries are mapped on their last known instance.
+     */
+    private final Map<KEY, ENTRY> transactionEntryMap;
+    private boolean fullConsistencyCheckRequired;
+    /**
+     * Flag is set if the registry entries are restored out of an already validated state, e.g. a database snapshot.
+     * In this case the consistency check can be skipped until the first modification is applied.
+     */
+    private boolean validatedStateRestored;
+    /**
+     * Set of all entry ids modified since the last sandbox synchronization.
+     */
+    private final Set<KEY> unsyncedEntryIdSet;
+    private final Map<String, RegistryIndex<KEY, ENTRY>> indexMap;
+    /**
+     * Immutable copy of the entry map published after each transaction which allows readers to access the registry without locking.
+     */
+    private volatile EntrySnapshot<KEY, ENTRY> entrySnapshot;
+    /**
+     * Flag is false for sandboxes which are only accessed by the transaction of their origin registry, so no snapshots are published for them.
+     */
+    private final boolean entrySnapshotEnabled;
+    /**
+     * Set of all entry ids modified since the last snapshot publication.
+     */
+    private final Set<KEY> outdatedSnapshotEntryIdSet;
+    /**
+     * Hash contribution of each entry at the time it was stored, needed to remove the contribution again even if the entry instance was modified afterwards.
+     */
+    private final Map<KEY, Integer> entryHashMap;
+    /**
+     * Order independent hash of the entry map which is updated on each modification instead of rehashing all entries.
+     */
+    private int contentHash;
+    /**
+     * History of the latest entry changes which allows consumers to catch up without a full resync.
+     */
+    private final RegistryChangeFeed<KEY, ENTRY> changeFeed;
+    /**
+     * Ids of all entries reported as invalid by the latest consistency check.
+     */
+    private final Set<KEY> inconsistentEntryIdSet;
     protected RegistrySandbox<KEY, ENTRY, MAP, REGISTRY> sandbox;
     protected boolean consistent;
     private String name;
@@ -106,7 +193,6 @@ public abstract class AbstractRegistry<KEY, ENTRY extends Identifiable<KEY>, MAP
                 throw new NotAvailableException("pluginPool");
             }
 
-            this.randomJitter = new Random(System.currentTimeMillis());
             this.consistent = true;
             this.notificationSkipped = false;
             this.entryMap = entryMap;
@@ -121,6 +207,18 @@ public abstract class AbstractRegistry<KEY, ENTRY extends Identifiable<KEY>, MAP
             this.sandbox = new MockRegistrySandbox<>(this);
             this.dependingRegistryObservable = new ObservableImpl<>(this);
             this.transactionPerformedNotifier = new ChangeHandler();
+            this.transactionEntryMap = new HashMap<>();
+            this.fullConsistencyCheckRequired = true;
+            this.unsyncedEntryIdSet = new HashSet<>();
+            this.inconsistentEntryIdSet = ConcurrentHashMap.newKeySet();
+            this.indexMap = new HashMap<>();
+            this.entryHashMap = new HashMap<>();
+            rebuildContentHash();
+            // sandboxes are never observed so there is no need to record their changes or to publish snapshots.
+            this.entrySnapshotEnabled = !(this instanceof RegistrySandbox);
+            this.changeFeed = new RegistryChangeFeed<>(entrySnapshotEnabled ? JPService.getValue(JPRegistryChangeFeedCapacity.class, 1000) : 0);
+            this.outdatedSnapshotEntryIdSet = new HashSet<>();
+            this.entrySnapshot = entrySnapshotEnabled ? new EntrySnapshot<>(buildSnapshotEntryMap(), contentHash, changeFeed.getSequenceNumber()) : null;
 
             this.consistencyFeedbackEventFilter = new RecurrenceEventFilter<String>(10000) {
                 @Override
@@ -128,14 +226,8 @@ public abstract class AbstractRegistry<KEY, ENTRY extends Identifiable<KEY>, MAP
                     log(getLatestValue());
                 }
             };
-            setHashGenerator(value -> {
-                registryLock.readLock().lock();
-                try {
-                    return value.hashCode();
-                } finally {
-                    registryLock.readLock().unlock();
-                }
-            });
+            setHashGenerator(value -> getContentHash(value));
+            dependingRegistryObservable.setHashGenerator(value -> getContentHash(value));
 
             finishTransaction();
             notifyObservers();
@@ -188,7 +280,9 @@ public abstract class AbstractRegistry<KEY, ENTRY extends Identifiable<KEY>, MAP
                     }
                     sandbox.register(entry);
                     pluginPool.beforeRegister(entry);
-                    entryMap.put(entry.getId(), entry);
+                    putEntry(entry);
+                    transactionEntryMap.put(entry.getId(), entry);
+                    unsyncedEntryIdSet.add(entry.getId());
                     finishTransaction();
                     pluginPool.afterRegister(entry);
                 } finally {
@@ -219,7 +313,9 @@ public abstract class AbstractRegistry<KEY, ENTRY extends Identifiable<KEY>, MAP
                     }
                     sandbox.load(entry);
                     pluginPool.beforeRegister(entry);
-                    entryMap.put(entry.getId(), entry);
+                    putEntry(entry);
+                    unsyncedEntryIdSet.add(entry.getId());
+                    fullConsistencyCheckRequired = true;
                     pluginPool.afterRegister(entry);
                 } finally {
                     syncSandbox();
@@ -233,6 +329,51 @@ public abstract class AbstractRegistry<KEY, ENTRY extends Identifiable<KEY>, MAP
         return entry;
     }
 
+    /**
+     * Loads all given entries within one registry lock acquisition without performing any consistency checks.
+     * Entries which can not be loaded are skipped and reported via the thrown {@code MultiException} after all other entries are loaded.
+     *
+     * @param entries the entries to load.
+     * @return a list of all loaded entries.
+     * @throws MultiException is thrown if at least one entry could not be loaded.
+     * @throws CouldNotPerformException is thrown if the registry could not be locked.
+     */
+    public List<ENTRY> loadAll(final Collection<ENTRY> entries) throws MultiException, CouldNotPerformException {
+        logger.debug("Load " + entries.size() + " entries...");
+        final List<ENTRY> loadedEntryList = new ArrayList<>();
+        ExceptionStack exceptionStack = null;
+        lock();
+        try {
+            try {
+                for (final ENTRY entry : entries) {
+                    try {
+                        if (entry == null) {
+                            throw new NotAvailableException("entry");
+                        }
+                        if (entryMap.containsKey(entry.getId())) {
+                            throw new CouldNotPerformException("Could not register " + entry + "! Entry with same Id[" + entry.getId() + "] already registered!");
+                        }
+                        sandbox.load(entry);
+                        pluginPool.beforeRegister(entry);
+                        putEntry(entry);
+                        unsyncedEntryIdSet.add(entry.getId());
+                        fullConsistencyCheckRequired = true;
+                        pluginPool.afterRegister(entry);
+                        loadedEntryList.add(entry);
+                    } catch (CouldNotPerformException ex) {
+                        exceptionStack = MultiException.push(this, new CouldNotPerformException("Could not load " + entry + " in " + this + "!", ex), exceptionStack);
+                    }
+                }
+            } finally {
+                syncSandbox();
+            }
+        } finally {
+            unlock();
+        }
+        MultiException.checkAndThrow(() -> "Could not load all entries!", exceptionStack);
+        return loadedEntryList;
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -262,7 +403,9 @@ public abstract class AbstractRegistry<KEY, ENTRY extends Identifiable<KEY>, MAP
                     // check if the new message results in an update after consistency checks
                     final boolean changed = !isSandbox() && ((sandbox instanceof MockRegistrySandbox) || !get(entry).equals(sandbox.get(entry)));
                     pluginPool.beforeUpdate(entry);
-                    entryMap.put(entry.getId(), entry);
+                    putEntry(entry);
+                    transactionEntryMap.put(entry.getId(), entry);
+                    unsyncedEntryIdSet.add(entry.getId());
                     finishTransaction();
                     pluginPool.afterUpdate(entry);
                     // test if the entry has changed at all by this update method
@@ -329,7 +472,9 @@ public abstract class AbstractRegistry<KEY, ENTRY extends Identifiable<KEY>, MAP
                     pluginPool.beforeRemove(entry);
                     sandbox.remove(entry);
                     try {
-                        oldEntry = entryMap.remove(entry.getId());
+                        oldEntry = removeEntry(entry.getId());
+                        transactionEntryMap.put(entry.getId(), oldEntry);
+                        unsyncedEntryIdSet.add(entry.getId());
                     } finally {
                         finishTransaction();
                     }
@@ -359,31 +504,38 @@ public abstract class AbstractRegistry<KEY, ENTRY extends Identifiable<KEY>, MAP
      * @throws InvalidStateException {@inheritDoc}
      */
     @Override
-    public List<ENTRY> removeAll(final Collection<ENTRY> entries) throws MultiException, InvalidStateException {
-        final List<ENTRY> removedEntries = new ArrayList<>();
-        ExceptionStack exceptionStack = null;
-        registryLock.writeLock().lock();
-        try {
-            for (final ENTRY entry : entries) {
+    public List<ENTRY> registerAll(final Collection<ENTRY> entries) throws MultiException, InvalidStateException {
+        return performBulkTransaction(TransactionType.REGISTER, entries);
+    }
 
-                // shutdown check is needed because this is not a atomic transaction.
-                if (shutdownInitiated) {
-                    throw new InvalidStateException("Entry removal canceled because registry is shutting down!");
-                }
+    /**
+     * {@inheritDoc}
+     *
+     * @param entries {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     *
+     * @throws MultiException        {@inheritDoc}
+     * @throws InvalidStateException {@inheritDoc}
+     */
+    @Override
+    public List<ENTRY> updateAll(final Collection<ENTRY> entries) throws MultiException, InvalidStateException {
+        return performBulkTransaction(TransactionType.UPDATE, entries);
+    }
 
-                try {
-                    if (contains(entry)) {
-                        removedEntries.add(remove(entry));
-                    }
-                } catch (CouldNotPerformException ex) {
-                    exceptionStack = MultiException.push(this, ex, exceptionStack);
-                }
-            }
-            MultiException.checkAndThrow(() -> "Could not remove all entries!", exceptionStack);
-        } finally {
-            registryLock.writeLock().unlock();
-        }
-        return removedEntries;
+    /**
+     * {@inheritDoc}
+     *
+     * @param entries {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     *
+     * @throws MultiException        {@inheritDoc}
+     * @throws InvalidStateException {@inheritDoc}
+     */
+    @Override
+    public List<ENTRY> removeAll(final Collection<ENTRY> entries) throws MultiException, InvalidStateException {
+        return performBulkTransaction(TransactionType.REMOVE, entries);
     }
 
     /**
@@ -398,31 +550,213 @@ public abstract class AbstractRegistry<KEY, ENTRY extends Identifiable<KEY>, MAP
      */
     @Override
     public List<ENTRY> removeAllByKey(final Collection<KEY> keys) throws MultiException, InvalidStateException {
-        final List<ENTRY> removedEntries = new ArrayList<>();
-        ExceptionStack exceptionStack = null;
-        registryLock.writeLock().lock();
-
+        final List<ENTRY> entryList = new ArrayList<>();
+        registryLock.readLock().lock();
         try {
             for (final KEY key : keys) {
-
-                // shutdown check is needed because this is not a atomic transaction.
-                if (shutdownInitiated) {
-                    throw new InvalidStateException("Entry removal canceled because registry is shutting down!");
+                if (contains(key)) {
+                    entryList.add(entryMap.get(key));
                 }
+            }
+        } finally {
+            registryLock.readLock().unlock();
+        }
+        return removeAll(entryList);
+    }
+
+    /**
+     * Method applies the given transaction on all given entries by performing only one sandbox validation, one consistency check and one observer notification.
+     * All plugins are informed about each entry before and after the transaction.
+     * <p>
+     * The transaction is atomic: In case at least one entry is invalid, the transaction is aborted and all invalid entries are reported via the exception stack.
+     * Entries which should be removed but are not registered are skipped.
+     *
+     * @param transactionType the type of the transaction to perform.
+     * @param entries         the entries to register, update or remove.
+     *
+     * @return a list of all registered or updated entries in their consistent state or the list of removed entries.
+     *
+     * @throws MultiException        is thrown in case the transaction could not be performed.
+     * @throws InvalidStateException is thrown in case the registry is shutting down.
+     */
+    private List<ENTRY> performBulkTransaction(final TransactionType transactionType, final Collection<ENTRY> entries) throws MultiException, InvalidStateException {
+        final String action = transactionType.name().toLowerCase();
+        final List<ENTRY> validEntryList = new ArrayList<>();
+        final List<ENTRY> resultEntryList = new ArrayList<>();
+        ExceptionStack exceptionStack = null;
+
+        if (entries.isEmpty()) {
+            return resultEntryList;
+        }
+
+        if (shutdownInitiated) {
+            throw new InvalidStateException("Transaction canceled because registry is shutting down!");
+        }
 
+        log(StringProcessor.transformFirstCharToUpperCase(action) + " " + entries.size() + (entries.size() == 1 ? " entry" : " entries") + "...");
+        try {
+            checkWriteAccess();
+            lock();
+            try {
                 try {
-                    if (contains(key)) {
-                        removedEntries.add(remove(key));
+                    // validate transaction
+                    final Set<KEY> entryIdSet = new HashSet<>();
+                    for (final ENTRY entry : entries) {
+                        try {
+                            final KEY entryId = verifyID(entry);
+                            if (!entryIdSet.add(entryId)) {
+                                throw new InvalidStateException("Entry with same Id[" + entryId + "] is passed more than once!");
+                            }
+                            switch (transactionType) {
+                                case REGISTER:
+                                    if (entryMap.containsKey(entryId)) {
+                                        throw new InvalidStateException("Entry with same Id[" + entryId + "] already registered!");
+                                    }
+                                    break;
+                                case UPDATE:
+                                    if (!entryMap.containsKey(entryId)) {
+                                        throw new InvalidStateException("Entry not registered!");
+                                    }
+                                    break;
+                                case REMOVE:
+                                    if (!entryMap.containsKey(entryId)) {
+                                        // skip entries which are already removed
+                                        continue;
+                                    }
+                                    break;
+                            }
+                            validEntryList.add(entry);
+                        } catch (CouldNotPerformException ex) {
+                            exceptionStack = MultiException.push(this, new CouldNotPerformException("Could not " + action + " " + entry + " in " + this + "!", ex), exceptionStack);
+                        }
                     }
-                } catch (CouldNotPerformException ex) {
-                    exceptionStack = MultiException.push(this, ex, exceptionStack);
+
+                    // only perform a valid transaction
+                    if (!MultiException.containsException(exceptionStack) && !validEntryList.isEmpty()) {
+                        // perform transaction
+                        if (transactionType == TransactionType.REMOVE) {
+                            for (final ENTRY entry : validEntryList) {
+                                pluginPool.beforeRemove(entry);
+                            }
+                        }
+                        exceptionStack = validateBulkTransaction(transactionType, validEntryList, exceptionStack);
+                    }
+
+                    // only apply a transaction accepted by the sandbox
+                    if (!MultiException.containsException(exceptionStack) && !validEntryList.isEmpty()) {
+                        switch (transactionType) {
+                            case REGISTER:
+                                for (final ENTRY entry : validEntryList) {
+                                    pluginPool.beforeRegister(entry);
+                                }
+                                break;
+                            case UPDATE:
+                                for (final ENTRY entry : validEntryList) {
+                                    pluginPool.beforeUpdate(entry);
+                                }
+                                break;
+                        }
+
+                        try {
+                            for (final ENTRY entry : validEntryList) {
+                                if (transactionType == TransactionType.REMOVE) {
+                                    final ENTRY oldEntry = removeEntry(entry.getId());
+                                    transactionEntryMap.put(entry.getId(), oldEntry);
+                                    resultEntryList.add(oldEntry);
+                                } else {
+                                    putEntry(entry);
+                                    transactionEntryMap.put(entry.getId(), entry);
+                                }
+                                unsyncedEntryIdSet.add(entry.getId());
+                            }
+                        } finally {
+                            finishTransaction();
+                        }
+
+                        for (final ENTRY entry : validEntryList) {
+                            switch (transactionType) {
+                                case REGISTER:
+                                    pluginPool.afterRegister(entry);
+                                    resultEntryList.add(entryMap.get(entry.getId()));
+                                    break;
+                                case UPDATE:
+                                    pluginPool.afterUpdate(entry);
+                                    resultEntryList.add(entryMap.get(entry.getId()));
+                                    break;
+                                case REMOVE:
+                                    pluginPool.afterRemove(entry);
+                                    break;
+                            }
+                        }
+                    }
+                } finally {
+                    syncSandbox();
                 }
+            } finally {
+                unlock();
             }
-            MultiException.checkAndThrow(() -> "Could not remove all keys!", exceptionStack);
-        } finally {
-            registryLock.writeLock().unlock();
+        } catch (CouldNotPerformException ex) {
+            throw new MultiException("Could not " + action + " " + entries.size() + (entries.size() == 1 ? " entry" : " entries") + " in " + this + "!", MultiException.push(this, ex, null));
+        }
+
+        final int invalidEntryCounter = MultiException.size(exceptionStack);
+        MultiException.checkAndThrow(() -> "Transaction rejected because " + invalidEntryCounter + " of " + entries.size() + " entries are invalid!", exceptionStack);
+
+        if (!resultEntryList.isEmpty()) {
+            notifySuccessfulTransaction();
         }
-        return removedEntries;
+        notifyObservers();
+        return resultEntryList;
+    }
+
+    /**
+     * Method validates the given bulk transaction within the sandbox.
+     * In case the sandbox rejects the transaction, each entry reported as inconsistent is pushed on the given exception stack.
+     * If none of the given entries can be blamed, e.g. because the transaction breaks other entries, the transaction is reported as a whole.
+     *
+     * @param transactionType the type of the transaction to validate.
+     * @param entries         the entries of the transaction.
+     * @param exceptionStack  the exception stack to extend.
+     *
+     * @return the extended exception stack.
+     */
+    private ExceptionStack validateBulkTransaction(final TransactionType transactionType, final List<ENTRY> entries, ExceptionStack exceptionStack) {
+        try {
+            switch (transactionType) {
+                case REGISTER:
+                    sandbox.registerAll(entries);
+                    break;
+                case UPDATE:
+                    sandbox.updateAll(entries);
+                    break;
+                case REMOVE:
+                    sandbox.removeAll(entries);
+                    break;
+            }
+        } catch (CouldNotPerformException ex) {
+            final String action = transactionType.name().toLowerCase();
+            final Set<KEY> inconsistentEntryIds = sandbox.getInconsistentEntryIds();
+            boolean blamed = false;
+            for (final ENTRY entry : entries) {
+                if (inconsistentEntryIds.contains(entry.getId())) {
+                    exceptionStack = MultiException.push(this, new CouldNotPerformException("Could not " + action + " " + entry + " in " + this + " because Entry[" + entry.getId() + "] is inconsistent!", ex), exceptionStack);
+                    blamed = true;
+                }
+            }
+            if (!blamed) {
+                exceptionStack = MultiException.push(this, new CouldNotPerformException("Could not " + action + " " + entries.size() + (entries.size() == 1 ? " entry" : " entries") + " in " + this + "!", ex), exceptionStack);
+            }
+        }
+        return exceptionStack;
+    }
+
+    /**
+     * Returns the ids of all entries which are reported as invalid by the latest consistency check.
+     *
+     * @return a set of entry ids.
+     */
+    public Set<KEY> getInconsistentEntryIds() {
+        return Collections.unmodifiableSet(new HashSet<>(inconsistentEntryIdSet));
     }
 
     /**
@@ -440,39 +774,35 @@ public abstract class AbstractRegistry<KEY, ENTRY extends Identifiable<KEY>, MAP
             throw new NotAvailableException("key");
         }
         verifyID(key);
-        registryLock.readLock().lock();
-        try {
-            if (!entryMap.containsKey(key)) {
+        final Map<KEY, ENTRY> readableEntryMap = getReadableEntryMap();
+        if (!readableEntryMap.containsKey(key)) {
 
-                if (entryMap.isEmpty()) {
-                    throw new NotAvailableException("Entry", key.toString(), new InvalidStateException(this + " is empty!"));
-                }
+            if (readableEntryMap.isEmpty()) {
+                throw new NotAvailableException("Entry", key.toString(), new InvalidStateException(this + " is empty!"));
+            }
 
-                TreeMap<KEY, ENTRY> sortedMap = new TreeMap<>((KEY o1, KEY o2) -> {
-                    if (o1 instanceof String && o2 instanceof String) {
-                        return ((String) o1).toLowerCase().compareTo(((String) o2).toLowerCase());
-                    } else if (o1 instanceof Comparable && o2 instanceof Comparable) {
-                        return ((Comparable) o1).compareTo((o2));
-                    }
-                    return (o1).toString().compareTo(o2.toString());
-                });
-                sortedMap.putAll(entryMap);
-
-                if (sortedMap.floorKey(key) != null && sortedMap.ceilingKey(key) != null) {
-                    throw new NotAvailableException("Entry", key.toString(), "Nearest neighbor is " + get(sortedMap.floorKey(key)) + " or " + get(sortedMap.ceilingKey(key)) + ".");
-                } else if (sortedMap.floorKey(key) != null) {
-                    throw new NotAvailableException("Entry", key.toString(), "Nearest neighbor is " + get(sortedMap.floorKey(key)) + ".");
-                } else if (sortedMap.ceilingKey(key) != null) {
-                    throw new NotAvailableException("Entry", key.toString(), "Nearest neighbor is " + get(sortedMap.ceilingKey(key)) + ".");
-                } else {
-                    throw new InvalidStateException("Implementation error, case not handled.");
+            TreeMap<KEY, ENTRY> sortedMap = new TreeMap<>((KEY o1, KEY o2) -> {
+                if (o1 instanceof String && o2 instanceof String) {
+                    return ((String) o1).toLowerCase().compareTo(((String) o2).toLowerCase());
+                } else if (o1 instanceof Comparable && o2 instanceof Comparable) {
+                    return ((Comparable) o1).compareTo((o2));
                 }
+                return (o1).toString().compareTo(o2.toString());
+            });
+            sortedMap.putAll(readableEntryMap);
+
+            if (sortedMap.floorKey(key) != null && sortedMap.ceilingKey(key) != null) {
+                throw new NotAvailableException("Entry", key.toString(), "Nearest neighbor is " + get(sortedMap.floorKey(key)) + " or " + get(sortedMap.ceilingKey(key)) + ".");
+            } else if (sortedMap.floorKey(key) != null) {
+                throw new NotAvailableException("Entry", key.toString(), "Nearest neighbor is " + get(sortedMap.floorKey(key)) + ".");
+            } else if (sortedMap.ceilingKey(key) != null) {
+                throw new NotAvailableException("Entry", key.toString(), "Nearest neighbor is " + get(sortedMap.ceilingKey(key)) + ".");
+            } else {
+                throw new InvalidStateException("Implementation error, case not handled.");
             }
-            pluginPool.beforeGet(key);
-            return entryMap.get(key);
-        } finally {
-            registryLock.readLock().unlock();
         }
+        pluginPool.beforeGet(key);
+        return readableEntryMap.get(key);
     }
 
     /**
@@ -482,22 +812,21 @@ public abstract class AbstractRegistry<KEY, ENTRY extends Identifiable<KEY>, MAP
      */
     @Override
     public List<ENTRY> getEntries() {
-        registryLock.readLock().lock();
-        try {
-            return new ArrayList<>(entryMap.values());
-        } finally {
-            registryLock.readLock().unlock();
-        }
+        return new ArrayList<>(getReadableEntryMap().values());
     }
 
+    /**
+     * Method returns an unmodifiable map of all entries.
+     * Outside of a registry transaction the map represents the state of the latest finished transaction and is not affected by further transactions.
+     *
+     * @return a map of all entries.
+     */
     @Override
     public Map<KEY, ENTRY> getEntryMap() {
-        registryLock.readLock().lock();
-        try {
+        if (isReadingEntryMap()) {
             return Collections.unmodifiableMap(entryMap);
-        } finally {
-            registryLock.readLock().unlock();
         }
+        return entrySnapshot.getEntryMap();
     }
 
     /**
@@ -507,12 +836,7 @@ public abstract class AbstractRegistry<KEY, ENTRY extends Identifiable<KEY>, MAP
      */
     @Override
     public int size() {
-        registryLock.readLock().lock();
-        try {
-            return entryMap.size();
-        } finally {
-            registryLock.readLock().unlock();
-        }
+        return getReadableEntryMap().size();
     }
 
     /**
@@ -522,12 +846,7 @@ public abstract class AbstractRegistry<KEY, ENTRY extends Identifiable<KEY>, MAP
      */
     @Override
     public boolean isEmpty() {
-        registryLock.readLock().lock();
-        try {
-            return entryMap.isEmpty();
-        } finally {
-            registryLock.readLock().unlock();
-        }
+        return getReadableEntryMap().isEmpty();
     }
 
     /**
@@ -561,7 +880,218 @@ public abstract class AbstractRegistry<KEY, ENTRY extends Identifiable<KEY>, MAP
         } catch (VerificationFailedException ex) {
             return false;
         }
-        return entryMap.containsKey(key);
+        return getReadableEntryMap().containsKey(key);
+    }
+
+    /**
+     * Returns the sequence number of the latest published transaction.
+     * The number is increased by each transaction which modifies the registry.
+     * To resync, request the sequence number before the entries: changes applied in between are delivered again by {@link #getChangesSince(long)},
+     * which is harmless since each change contains the complete entry.
+     *
+     * @return the transaction sequence number.
+     */
+    public long getTransactionSequenceNumber() {
+        if (!entrySnapshotEnabled) {
+            return changeFeed.getSequenceNumber();
+        }
+        return entrySnapshot.getSequenceNumber();
+    }
+
+    /**
+     * Returns all entry changes applied after the given transaction.
+     * This allows consumers to catch up with the registry without reloading all entries.
+     *
+     * @param sequenceNumber the sequence number of the latest transaction already known by the consumer.
+     *
+     * @return a list of all changes in the order they were applied.
+     *
+     * @throws NotAvailableException is thrown if the requested changes are not available anymore.
+     *                               In this case the consumer has to resync via {@link #getEntries()} and {@link #getTransactionSequenceNumber()}.
+     */
+    public List<RegistryChange<KEY, ENTRY>> getChangesSince(final long sequenceNumber) throws NotAvailableException {
+        return changeFeed.getChangesSince(sequenceNumber);
+    }
+
+    /**
+     * Method returns the entry map readers should operate on.
+     * Threads performing a transaction operate on the internal map to see their own modifications,
+     * all other threads operate on the snapshot of the latest finished transaction without any locking.
+     *
+     * @return the entry map to read from.
+     */
+    private Map<KEY, ENTRY> getReadableEntryMap() {
+        if (isReadingEntryMap()) {
+            return entryMap;
+        }
+        return entrySnapshot.getEntryMap();
+    }
+
+    /**
+     * Readers operate on the internal entry map if the current thread performs a transaction or if no snapshots are published for this registry.
+     *
+     * @return true if the internal entry map should be read, false if the latest snapshot should be read.
+     */
+    private boolean isReadingEntryMap() {
+        return !entrySnapshotEnabled || registryLock.isWriteLockedByCurrentThread();
+    }
+
+    private void putEntry(final ENTRY entry) throws NotAvailableException {
+        final KEY id = entry.getId();
+        final ENTRY previousEntry = entryMap.put(id, entry);
+        updateIndexes(entry);
+        updateContentHash(id, entry);
+        recordChange(previousEntry == null ? RegistryChange.Type.REGISTER : RegistryChange.Type.UPDATE, id, entry);
+        outdatedSnapshotEntryIdSet.add(id);
+    }
+
+    private ENTRY removeEntry(final KEY id) {
+        final ENTRY entry = entryMap.remove(id);
+        removeFromIndexes(id);
+        removeFromContentHash(id);
+        if (entry != null) {
+            recordChange(RegistryChange.Type.REMOVE, id, null);
+        }
+        outdatedSnapshotEntryIdSet.add(id);
+        return entry;
+    }
+
+    /**
+     * Records the given change within the change feed.
+     * Entries are recorded as copies, so the recorded changes are not affected by later in place modifications, e.g. applied by consistency handlers.
+     * The previous state of the entry is the latest state recorded by the running transaction or otherwise the published state of the entry.
+     *
+     * @param type  the type of the change.
+     * @param id    the id of the modified entry.
+     * @param entry the entry after the change, or null if the entry was removed.
+     */
+    private void recordChange(final RegistryChange.Type type, final KEY id, final ENTRY entry) {
+        if (!changeFeed.isRecording()) {
+            changeFeed.markModified();
+            return;
+        }
+        ENTRY previousEntry;
+        try {
+            previousEntry = changeFeed.getPendingEntry(id);
+        } catch (NotAvailableException ex) {
+            previousEntry = entrySnapshot.getEntryMap().get(id);
+        }
+        changeFeed.record(type, id, previousEntry, entry == null ? null : createSnapshotEntry(entry));
+    }
+
+    /**
+     * Computes the hash contribution of a single entry.
+     * The contributions are summed up in the same way as {@link java.util.AbstractMap#hashCode()} does, so the content hash equals the hash of the entry map.
+     *
+     * @param id    the id of the entry.
+     * @param entry the entry to hash.
+     *
+     * @return the hash contribution of the entry.
+     */
+    private static int computeEntryHash(final Object id, final Object entry) {
+        return Objects.hashCode(id) ^ Objects.hashCode(entry);
+    }
+
+    private void updateContentHash(final KEY id, final ENTRY entry) {
+        final int entryHash = computeEntryHash(id, entry);
+        final Integer previousEntryHash = entryHashMap.put(id, entryHash);
+        contentHash += entryHash - (previousEntryHash == null ? 0 : previousEntryHash);
+    }
+
+    private void removeFromContentHash(final KEY id) {
+        final Integer previousEntryHash = entryHashMap.remove(id);
+        if (previousEntryHash != null) {
+            contentHash -= previousEntryHash;
+        }
+    }
+
+    private void rebuildContentHash() {
+        entryHashMap.clear();
+        contentHash = 0;
+        for (final Map.Entry<KEY, ENTRY> entry : entryMap.entrySet()) {
+            updateContentHash(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Returns the hash of the given registry state used by the observables to filter unchanged notifications.
+     * Threads holding the write lock receive the hash including all modifications of the running transaction,
+     * all other threads the hash of the latest published snapshot.
+     * The hash of the entry map is maintained incrementally, so only foreign values are hashed completely.
+     *
+     * @param value the value to hash.
+     *
+     * @return the hash of the value.
+     */
+    private int getContentHash(final Map<KEY, ENTRY> value) {
+        if (value != entryMap) {
+            return Objects.hashCode(value);
+        }
+        if (isReadingEntryMap()) {
+            return contentHash;
+        }
+        return entrySnapshot.getContentHash();
+    }
+
+    /**
+     * Publishes a new entry snapshot in case the entry map was modified since the last publication.
+     * Needs to be called while holding the write lock, so the snapshot is available before any other thread can access the registry.
+     * For sandboxes only the transaction is committed since nobody reads their snapshots.
+     */
+    private void publishEntrySnapshot() {
+        if (outdatedSnapshotEntryIdSet.isEmpty()) {
+            return;
+        }
+        if (!entrySnapshotEnabled) {
+            changeFeed.commit();
+            outdatedSnapshotEntryIdSet.clear();
+            return;
+        }
+        entrySnapshot = new EntrySnapshot<>(buildSnapshotEntryMap(), contentHash, changeFeed.commit());
+        outdatedSnapshotEntryIdSet.clear();
+    }
+
+    /**
+     * Builds the entry map of the next snapshot.
+     * Entries modified since the last publication are copied via {@link #createSnapshotEntry(Identifiable)}, all other entries are taken over from the previous snapshot.
+     *
+     * @return the entry map of the next snapshot.
+     */
+    private Map<KEY, ENTRY> buildSnapshotEntryMap() {
+        // on initialization no previous snapshot is available so all entries are copied.
+        final Map<KEY, ENTRY> previousSnapshotEntryMap = entrySnapshot != null ? entrySnapshot.getEntryMap() : Collections.emptyMap();
+        final Map<KEY, ENTRY> snapshotEntryMap = new LinkedHashMap<>();
+        for (final Map.Entry<KEY, ENTRY> entry : entryMap.entrySet()) {
+            final ENTRY previousSnapshotEntry = previousSnapshotEntryMap.get(entry.getKey());
+            if (previousSnapshotEntry != null && !outdatedSnapshotEntryIdSet.contains(entry.getKey())) {
+                snapshotEntryMap.put(entry.getKey(), previousSnapshotEntry);
+            } else {
+                snapshotEntryMap.put(entry.getKey(), createSnapshotEntry(entry.getValue()));
+            }
+        }
+        return snapshotEntryMap;
+    }
+
+    /**
+     * Method returns the instance of the given entry which is published to readers outside of a transaction.
+     * Because entries can be modified in place during a transaction, e.g. by consistency handlers, published entries must not share mutable state with the internal entries.
+     * This default implementation copies {@link IdentifiableMessage} entries and publishes all other entries as they are,
+     * so registries managing other mutable entry types should overwrite this method.
+     *
+     * @param entry the internal entry.
+     *
+     * @return the entry to publish.
+     */
+    protected ENTRY createSnapshotEntry(final ENTRY entry) {
+        if (!(entry instanceof IdentifiableMessage)) {
+            return entry;
+        }
+        try {
+            return (ENTRY) new IdentifiableMessage<>((IdentifiableMessage) entry);
+        } catch (InstantiationException ex) {
+            ExceptionPrinter.printHistory(new CouldNotPerformException("Could not copy " + entry + " so the internal instance is published!", ex), logger, LogLevel.WARN);
+            return entry;
+        }
     }
 
     /**
@@ -575,7 +1105,14 @@ public abstract class AbstractRegistry<KEY, ENTRY extends Identifiable<KEY>, MAP
         try {
             pluginPool.beforeClear();
             sandbox.clear();
+            outdatedSnapshotEntryIdSet.addAll(entryMap.keySet());
             entryMap.clear();
+            rebuildIndexes();
+            rebuildContentHash();
+            changeFeed.reset();
+            transactionEntryMap.clear();
+            unsyncedEntryIdSet.clear();
+            fullConsistencyCheckRequired = true;
             consistent = true;
         } finally {
             unlock();
@@ -584,58 +1121,315 @@ public abstract class AbstractRegistry<KEY, ENTRY extends Identifiable<KEY>, MAP
     }
 
     /**
-     * Replaces the internal registry map by the given one.
-     * <p>
-     * Use with care!
+     * Replaces the internal registry map by the given one.
+     * <p>
+     * Use with care!
+     *
+     * @param map
+     *
+     * @throws org.openbase.jul.exception.CouldNotPerformException
+     */
+    public void replaceInternalMap(final Map<KEY, ENTRY> map) throws CouldNotPerformException {
+        replaceInternalMap(map, true);
+    }
+
+    /**
+     * Method applies the given entry changes on the internal registry map without performing any transaction.
+     * This is used to incrementally synchronize sandbox instances with their origin registry.
+     * <p>
+     * Use with care!
+     *
+     * @param updatedEntryMap the entries to add or replace.
+     * @param removedEntryIds the ids of the entries to remove.
+     *
+     * @throws CouldNotPerformException is thrown if the registry could not be locked.
+     */
+    protected void syncInternalEntries(final Map<KEY, ENTRY> updatedEntryMap, final Collection<KEY> removedEntryIds) throws CouldNotPerformException {
+        lock();
+        try {
+            for (final KEY entryId : removedEntryIds) {
+                removeEntry(entryId);
+            }
+            for (final ENTRY entry : updatedEntryMap.values()) {
+                putEntry(entry);
+            }
+            transactionEntryMap.clear();
+            unsyncedEntryIdSet.clear();
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * Method returns the ids of all entries modified since the last sandbox synchronization.
+     *
+     * @return an unmodifiable set of entry ids.
+     */
+    protected Set<KEY> getUnsyncedEntryIds() {
+        return Collections.unmodifiableSet(unsyncedEntryIdSet);
+    }
+
+    /**
+     * Registers a new secondary index which allows to lookup entries via {@link #getEntriesByIndex(String, Object)}.
+     * The index is built for all entries which are already registered and afterwards maintained within each transaction.
+     *
+     * @param indexName    the name of the index.
+     * @param keyExtractor the extractor used to resolve the keys of each entry.
+     *
+     * @throws CouldNotPerformException is thrown if an index with the same name is already registered.
+     */
+    public void registerIndex(final String indexName, final RegistryIndex.KeyExtractor<ENTRY> keyExtractor) throws CouldNotPerformException {
+        registryLock.writeLock().lock();
+        try {
+            if (indexMap.containsKey(indexName)) {
+                throw new InvalidStateException("Index[" + indexName + "] is already registered!");
+            }
+            final RegistryIndex<KEY, ENTRY> index = new RegistryIndex<>(indexName, keyExtractor);
+            indexMap.put(indexName, index);
+            for (final ENTRY entry : entryMap.values()) {
+                updateIndex(index, entry);
+            }
+
+            // consistency handlers are applied on the sandbox, so the index is required there as well.
+            sandbox.registerIndex(indexName, keyExtractor);
+        } finally {
+            registryLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Method returns all entries which are indexed by the given key within the given index.
+     *
+     * @param indexName the name of the index.
+     * @param key       the key to lookup.
+     *
+     * @return a list of all matching entries, which is empty if no entry matches.
+     *
+     * @throws NotAvailableException is thrown if the index is not registered.
+     */
+    public List<ENTRY> getEntriesByIndex(final String indexName, final Object key) throws NotAvailableException {
+        registryLock.readLock().lock();
+        try {
+            final RegistryIndex<KEY, ENTRY> index = indexMap.get(indexName);
+            if (index == null) {
+                throw new NotAvailableException("Index", indexName);
+            }
+            final List<ENTRY> entryList = new ArrayList<>();
+            for (final KEY id : index.get(key)) {
+                entryList.add(entryMap.get(id));
+            }
+            return entryList;
+        } finally {
+            registryLock.readLock().unlock();
+        }
+    }
+
+    private void updateIndexes(final ENTRY entry) {
+        for (final RegistryIndex<KEY, ENTRY> index : indexMap.values()) {
+            updateIndex(index, entry);
+        }
+    }
+
+    private void updateIndex(final RegistryIndex<KEY, ENTRY> index, final ENTRY entry) {
+        try {
+            index.add(entry);
+        } catch (CouldNotPerformException ex) {
+            ExceptionPrinter.printHistory("Could not add " + entry + " to " + index + " of " + this + "!", ex, logger, LogLevel.WARN);
+        }
+    }
+
+    private void removeFromIndexes(final KEY id) {
+        for (final RegistryIndex<KEY, ENTRY> index : indexMap.values()) {
+            index.remove(id);
+        }
+    }
+
+    private void rebuildIndexes() {
+        for (final RegistryIndex<KEY, ENTRY> index : indexMap.values()) {
+            index.clear();
+            for (final ENTRY entry : entryMap.values()) {
+                updateIndex(index, entry);
+            }
+        }
+    }
+
+    public Class getEntryMapClass() {
+        return entryMap.getClass();
+    }
+
+    /**
+     * Replaces the internal registry map by the given one.
+     * <p>
+     * Use with care!
+     *
+     * @param map
+     * @param finishTransaction is true the registry transaction will be verified.
+     *
+     * @throws org.openbase.jul.exception.CouldNotPerformException
+     */
+    public void replaceInternalMap(final Map<KEY, ENTRY> map, boolean finishTransaction) throws CouldNotPerformException {
+        if (map == null) {
+            throw new NotAvailableException("map");
+        }
+        lock();
+        try {
+            try {
+                sandbox.replaceInternalMap(map);
+                outdatedSnapshotEntryIdSet.addAll(entryMap.keySet());
+                entryMap.clear();
+                entryMap.putAll(map);
+                outdatedSnapshotEntryIdSet.addAll(entryMap.keySet());
+                rebuildIndexes();
+                rebuildContentHash();
+                changeFeed.reset();
+                unsyncedEntryIdSet.clear();
+                if (finishTransaction && !(this instanceof RemoteRegistry)) {
+                    logger.warn("Replace internal map of [" + this + "]");
+                    fullConsistencyCheckRequired = true;
+                    finishTransaction();
+                } else {
+                    // map is synchronized with an already validated state.
+                    transactionEntryMap.clear();
+                }
+            } finally {
+                syncSandbox();
+            }
+        } catch (CouldNotPerformException ex) {
+            ExceptionPrinter.printHistory(new CouldNotPerformException("Internal map replaced by invalid data!", ex), logger, LogLevel.ERROR);
+        } finally {
+            unlock();
+        }
+        if (this instanceof RemoteRegistry) {
+            dependingRegistryObservable.notifyObservers(entryMap);
+        }
+        notifyObservers();
+    }
+
+    /**
+     * Method applies the given changes of an already validated registry state on the internal registry map.
+     * In contrast to {@link #replaceInternalMap(Map, boolean)} only the affected entries are modified and synchronized with the sandbox.
+     * This is used to incrementally synchronize remote registries with their origin registry.
+     * <p>
+     * Use with care!
+     *
+     * @param updatedEntryMap the entries to add or replace.
+     * @param removedEntryIds the ids of the entries to remove.
+     *
+     * @throws CouldNotPerformException is thrown if the registry could not be locked.
+     */
+    protected void applyInternalChanges(final Map<KEY, ENTRY> updatedEntryMap, final Collection<KEY> removedEntryIds) throws CouldNotPerformException {
+        lock();
+        try {
+            try {
+                for (final KEY entryId : removedEntryIds) {
+                    removeEntry(entryId);
+                    unsyncedEntryIdSet.add(entryId);
+                }
+                for (final ENTRY entry : updatedEntryMap.values()) {
+                    putEntry(entry);
+                    unsyncedEntryIdSet.add(entry.getId());
+                }
+                // changes are applied out of an already validated state.
+                transactionEntryMap.clear();
+            } finally {
+                syncSandbox();
+            }
+        } finally {
+            unlock();
+        }
+        dependingRegistryObservable.notifyObservers(entryMap);
+        notifyObservers();
+    }
+
+    /**
+     * Method is called by {@link #reloadEntries(Collection, Collection)} once the sandbox accepted the modifications and before they are applied.
+     * Can be overwritten to take over resources related to the reloaded entries, which should only be used if the modifications are accepted.
      *
-     * @param map
+     * @param modifiedEntries the entries to register or replace.
+     * @param removedEntryIds the ids of the entries to remove.
      *
-     * @throws org.openbase.jul.exception.CouldNotPerformException
+     * @throws CouldNotPerformException is thrown if the modifications can not be applied, in this case the registry is not modified.
      */
-    public void replaceInternalMap(final Map<KEY, ENTRY> map) throws CouldNotPerformException {
-        replaceInternalMap(map, true);
-    }
-
-    public Class getEntryMapClass() {
-        return entryMap.getClass();
+    protected void beforeReloadedEntriesApplied(final Collection<ENTRY> modifiedEntries, final Collection<KEY> removedEntryIds) throws CouldNotPerformException {
+        // overwrite if needed.
     }
 
     /**
-     * Replaces the internal registry map by the given one.
-     * <p>
-     * Use with care!
+     * Method applies entry modifications which are already persisted outside of the registry, e.g. database files which were edited externally.
+     * All modifications are applied within one transaction followed by one consistency check.
+     * Before, the modifications are validated by the sandbox within one transaction, which allows the consistency handlers to repair them.
+     * In case the sandbox rejects the modifications, none of them is applied.
      *
-     * @param map
-     * @param finishTransaction is true the registry transaction will be verified.
+     * @param modifiedEntries the entries to register or replace.
+     * @param removedEntryIds the ids of the entries to remove.
      *
-     * @throws org.openbase.jul.exception.CouldNotPerformException
+     * @throws RejectedException        is thrown if the modifications are rejected by the sandbox, in this case the registry is not modified.
+     * @throws CouldNotPerformException is thrown if the modifications could not be applied or the registry is inconsistent afterwards.
      */
-    public void replaceInternalMap(final Map<KEY, ENTRY> map, boolean finishTransaction) throws CouldNotPerformException {
-        if (map == null) {
-            throw new NotAvailableException("map");
-        }
+    protected void reloadEntries(final Collection<ENTRY> modifiedEntries, final Collection<KEY> removedEntryIds) throws CouldNotPerformException {
+        ExceptionStack exceptionStack = null;
         lock();
         try {
             try {
-                sandbox.replaceInternalMap(map);
-                entryMap.clear();
-                entryMap.putAll(map);
-                if (finishTransaction && !(this instanceof RemoteRegistry)) {
-                    logger.warn("Replace internal map of [" + this + "]");
-                    finishTransaction();
+                // validate all modifications within one sandbox transaction which applies them in the same order as below.
+                // removals are applied first, so an entry can be replaced by an entry with another id but the same unique properties.
+                try {
+                    sandbox.reloadAll(modifiedEntries, removedEntryIds);
+                } catch (CouldNotPerformException ex) {
+                    throw new RejectedException("External modifications of " + this + " are invalid!", ex);
+                }
+                beforeReloadedEntriesApplied(modifiedEntries, removedEntryIds);
+
+                for (final KEY entryId : removedEntryIds) {
+                    final ENTRY entry = entryMap.get(entryId);
+                    if (entry == null) {
+                        continue;
+                    }
+                    try {
+                        pluginPool.beforeRemove(entry);
+                        transactionEntryMap.put(entryId, removeEntry(entryId));
+                        unsyncedEntryIdSet.add(entryId);
+                        pluginPool.afterRemove(entry);
+                    } catch (CouldNotPerformException ex) {
+                        exceptionStack = MultiException.push(this, new CouldNotPerformException("Could not remove " + entry + " from " + this + "!", ex), exceptionStack);
+                    }
+                }
+                for (final ENTRY entry : modifiedEntries) {
+                    try {
+                        final boolean registered = !entryMap.containsKey(entry.getId());
+                        if (registered) {
+                            pluginPool.beforeRegister(entry);
+                        } else {
+                            pluginPool.beforeUpdate(entry);
+                        }
+                        putEntry(entry);
+                        transactionEntryMap.put(entry.getId(), entry);
+                        unsyncedEntryIdSet.add(entry.getId());
+                        if (registered) {
+                            pluginPool.afterRegister(entry);
+                        } else {
+                            pluginPool.afterUpdate(entry);
+                        }
+                    } catch (CouldNotPerformException ex) {
+                        exceptionStack = MultiException.push(this, new CouldNotPerformException("Could not reload " + entry + " in " + this + "!", ex), exceptionStack);
+                    }
+                }
+
+                try {
+                    checkConsistency(false);
+                    dependingRegistryObservable.notifyObservers(entryMap);
+                } catch (CouldNotPerformException ex) {
+                    exceptionStack = MultiException.push(this, new CouldNotPerformException("Reloaded entries are inconsistent!", ex), exceptionStack);
                 }
             } finally {
                 syncSandbox();
             }
-        } catch (CouldNotPerformException ex) {
-            ExceptionPrinter.printHistory(new CouldNotPerformException("Internal map replaced by invalid data!", ex), logger, LogLevel.ERROR);
         } finally {
             unlock();
         }
-        if (this instanceof RemoteRegistry) {
-            dependingRegistryObservable.notifyObservers(entryMap);
-        }
+        notifySuccessfulTransaction();
         notifyObservers();
+        MultiException.checkAndThrow(() -> "Could not reload all entries of " + this + "!", exceptionStack);
     }
 
     /**
@@ -813,6 +1607,7 @@ public abstract class AbstractRegistry<KEY, ENTRY extends Identifiable<KEY>, MAP
             if (super.notifyObservers(entryMap)) {
                 try {
                     pluginPool.afterRegistryChange();
+                    pluginPool.dispatchAsyncCallbacks();
                 } catch (CouldNotPerformException ex) {
                     MultiException.ExceptionStack exceptionStack = new MultiException.ExceptionStack();
                     exceptionStack.push(pluginPool, ex);
@@ -855,6 +1650,7 @@ public abstract class AbstractRegistry<KEY, ENTRY extends Identifiable<KEY>, MAP
                 throw new NotAvailableException("consistencyHandler");
             }
             consistencyHandlerList.add(consistencyHandler);
+            validatedStateRestored = false;
             sandbox.registerConsistencyHandler(consistencyHandler);
         } catch (CouldNotPerformException ex) {
             throw new CouldNotPerformException("Could not register ConsistencyHandler[" + consistencyHandler + "]", ex);
@@ -867,6 +1663,7 @@ public abstract class AbstractRegistry<KEY, ENTRY extends Identifiable<KEY>, MAP
                 throw new NotAvailableException("consistencyHandler");
             }
             consistencyHandlerList.remove(consistencyHandler);
+            validatedStateRestored = false;
             sandbox.removeConsistencyHandler(consistencyHandler);
         } catch (CouldNotPerformException ex) {
             throw new CouldNotPerformException("Could not remove ConsistencyHandler[" + consistencyHandler + "]", ex);
@@ -892,22 +1689,56 @@ public abstract class AbstractRegistry<KEY, ENTRY extends Identifiable<KEY>, MAP
         }
     }
 
-    @SuppressWarnings("UseSpecificCatch")
+    /**
+     * Method performs a full consistency check which means all registered consistency handlers are applied on all registry entries.
+     *
+     * @return the number of applied modifications.
+     *
+     * @throws CouldNotPerformException is thrown if the registry could not be made consistent.
+     */
     public final int checkConsistency() throws CouldNotPerformException {
+        return checkConsistency(true);
+    }
+
+    /**
+     * Method performs a consistency check of this registry.
+     * <p>
+     * In case the full check is not explicitly requested, consistency handlers supporting the incremental mode only validate the entries modified since the last check
+     * as well as any entry declared as dependent by those handlers. All other handlers are always applied on all registry entries.
+     * A full check is performed anyway if the registry was loaded, cleared or replaced or if the previous check has failed.
+     *
+     * @param fullCheck if true all entries are validated by all handlers.
+     *
+     * @return the number of applied modifications.
+     *
+     * @throws CouldNotPerformException is thrown if the registry could not be made consistent.
+     */
+    @SuppressWarnings("UseSpecificCatch")
+    protected final int checkConsistency(final boolean fullCheck) throws CouldNotPerformException {
         int modificationCounter = 0;
+        inconsistentEntryIdSet.clear();
+
+        if (validatedStateRestored && !fullConsistencyCheckRequired && transactionEntryMap.isEmpty()) {
+            logger.debug("Skip consistency check because " + getName() + " was restored out of a validated state and is not modified since.");
+            return modificationCounter;
+        }
+        validatedStateRestored = false;
 
         if (consistencyHandlerList.isEmpty()) {
             logger.debug("Skip consistency check because no handler are registered.");
+            transactionEntryMap.clear();
             return modificationCounter;
         }
 
         if (isEmpty()) {
             logger.debug("Skip consistency check because " + getName() + " is empty.");
+            transactionEntryMap.clear();
             return modificationCounter;
         }
 
         if (!isDependingOnConsistentRegistries()) {
             logger.warn("Skip consistency check because " + getName() + " is depending on at least one inconsistent registry!");
+            fullConsistencyCheckRequired = true;
             return modificationCounter;
         }
 
@@ -927,6 +1758,12 @@ public abstract class AbstractRegistry<KEY, ENTRY extends Identifiable<KEY>, MAP
                         int iterationCounter = 0;
                         MultiException.ExceptionStack exceptionStack = null, previousExceptionStack = null;
 
+                        // resolve entries to validate by incremental handlers, null means all entries.
+                        final Set<KEY> worklist = (fullCheck || fullConsistencyCheckRequired) ? null : resolveConsistencyWorklist();
+                        if (worklist != null) {
+                            logger.debug("Perform incremental consistency check of " + worklist.size() + " entries of " + this + ".");
+                        }
+
                         final ArrayDeque<ConsistencyHandler> consistencyHandlerQueue = new ArrayDeque<>();
                         Object lastModifiedEntry = null;
                         final ArrayList<ENTRY> entryValueCopy = new ArrayList<>();
@@ -989,15 +1826,33 @@ public abstract class AbstractRegistry<KEY, ENTRY extends Identifiable<KEY>, MAP
 
                             // consistency check
                             try {
+                                inconsistentEntryIdSet.clear();
                                 for (ConsistencyHandler<KEY, ENTRY, MAP, REGISTRY> consistencyHandler : consistencyHandlerList) {
                                     consistencyHandler.reset();
                                     entryValueCopy.clear();
-                                    entryValueCopy.addAll(new ArrayList<>(entryMap.values()));
+                                    if (worklist != null && consistencyHandler.isIncrementalCheckSupported()) {
+                                        for (final KEY key : worklist) {
+                                            // entries removed by the transaction are skipped.
+                                            if (entryMap.containsKey(key)) {
+                                                entryValueCopy.add(entryMap.get(key));
+                                            }
+                                        }
+                                    } else {
+                                        entryValueCopy.addAll(entryMap.values());
+                                    }
+
+                                    // verification only handler can be processed concurrently
+                                    if (consistencyHandler.isParallelProcessingSupported() && entryValueCopy.size() >= PARALLEL_CONSISTENCY_CHECK_THRESHOLD) {
+                                        exceptionStack = processDataInParallel(consistencyHandler, entryValueCopy, exceptionStack);
+                                        continue;
+                                    }
+
                                     for (ENTRY entry : entryValueCopy) {
                                         try {
                                             consistencyHandler.processData(entry.getId(), entry, entryMap, (REGISTRY) this);
                                         } catch (CouldNotPerformException | NullPointerException ex) {
                                             logger.debug("Inconsistency detected by ConsistencyHandler[" + consistencyHandler + "] in Entry[" + entry + "]!");
+                                            inconsistentEntryIdSet.add(entry.getId());
                                             exceptionStack = MultiException.push(consistencyHandler, new VerificationFailedException("Verification of Entry[" + entry + "] failed with " + consistencyHandler + "!", ex), exceptionStack);
                                         }
                                     }
@@ -1013,6 +1868,19 @@ public abstract class AbstractRegistry<KEY, ENTRY extends Identifiable<KEY>, MAP
                                 consistencyHandlerQueue.offer(ex.getConsistencyHandler());
                                 lastModifiedEntry = ex.getEntry();
 
+                                final ENTRY modifiedEntry = (ENTRY) ex.getEntry();
+                                updateIndexes(modifiedEntry);
+                                // the entry was modified in place so its hash contribution has to be refreshed as well.
+                                updateContentHash(modifiedEntry.getId(), modifiedEntry);
+                                recordChange(RegistryChange.Type.UPDATE, modifiedEntry.getId(), modifiedEntry);
+                                unsyncedEntryIdSet.add(modifiedEntry.getId());
+                                outdatedSnapshotEntryIdSet.add(modifiedEntry.getId());
+
+                                // the modified entry and its dependencies have to be revalidated as well.
+                                if (worklist != null) {
+                                    addToConsistencyWorklist(modifiedEntry.getId(), modifiedEntry, worklist);
+                                }
+
                                 // inform about modifications
                                 try {
                                     if (iterationCounter > (maxConsistencyChecks * 0.9) || JPService.getProperty(JPVerbose.class).getValue() && !JPService.getProperty(JPTestMode.class).getValue()) {
@@ -1023,7 +1891,7 @@ public abstract class AbstractRegistry<KEY, ENTRY extends Identifiable<KEY>, MAP
                                 } catch (JPNotAvailableException exx) {
                                     ExceptionPrinter.printHistory(new CouldNotPerformException("JPVerbose property could not be loaded!", exx), logger, LogLevel.WARN);
                                 }
-                                pluginPool.afterConsistencyModification((ENTRY) ex.getEntry());
+                                afterConsistencyModification(modifiedEntry);
                                 modificationCounter++;
 
                                 if (iterationCounter > maxConsistencyChecks && MultiException.size(exceptionStack) == 0) {
@@ -1031,6 +1899,9 @@ public abstract class AbstractRegistry<KEY, ENTRY extends Identifiable<KEY>, MAP
                                 }
 
                                 continue;
+                            } catch (InterruptedException ex) {
+                                Thread.currentThread().interrupt();
+                                throw new CouldNotPerformException("Consistency check of " + this + " was interrupted!", ex);
                             } catch (Throwable ex) {
                                 throw ExceptionPrinter.printHistoryAndReturnThrowable(new InvalidStateException("Fatal error occurred during consistency check!", ex), logger);
                             }
@@ -1068,6 +1939,8 @@ public abstract class AbstractRegistry<KEY, ENTRY extends Identifiable<KEY>, MAP
                             break;
                         }
                         consistent = true;
+                        transactionEntryMap.clear();
+                        fullConsistencyCheckRequired = false;
 
                         if (modificationCounter > 0 || consistencyFeedbackEventFilter.isTriggered()) {
                             consistencyFeedbackEventFilter.trigger("100% consistency checks passed of " + this + " after " + modificationCounter + " applied modifications.", true);
@@ -1075,6 +1948,8 @@ public abstract class AbstractRegistry<KEY, ENTRY extends Identifiable<KEY>, MAP
                         return modificationCounter;
                     } catch (CouldNotPerformException ex) {
                         consistent = false;
+                        transactionEntryMap.clear();
+                        fullConsistencyCheckRequired = true;
                         try {
                             if (JPService.getProperty(JPForce.class).getValue()) {
                                 ExceptionPrinter.printHistory(new CouldNotPerformException("Consistency process of " + this + " aborted after " + modificationCounter + " modifications but transaction passed because registry force mode is enabled!", ex), logger, LogLevel.WARN);
@@ -1097,6 +1972,187 @@ public abstract class AbstractRegistry<KEY, ENTRY extends Identifiable<KEY>, MAP
         }
     }
 
+    /**
+     * Method applies the given consistency handler concurrently on all given entries by using the global cached executor service.
+     * The entries are split into partitions which are bounded by the number of available processors.
+     * All detected inconsistencies are pushed on the given exception stack in the order of the given entry list.
+     *
+     * @param consistencyHandler the handler to apply, which has to support parallel processing.
+     * @param entries            the entries to validate.
+     * @param exceptionStack     the exception stack to extend.
+     *
+     * @return the extended exception stack.
+     *
+     * @throws CouldNotPerformException is thrown if the partitions could not be processed.
+     * @throws InterruptedException     is thrown in case the thread is externally interrupted.
+     */
+    private ExceptionStack processDataInParallel(final ConsistencyHandler<KEY, ENTRY, MAP, REGISTRY> consistencyHandler, final List<ENTRY> entries, ExceptionStack exceptionStack) throws CouldNotPerformException, InterruptedException {
+        final int partitionCount = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), entries.size() / (PARALLEL_CONSISTENCY_CHECK_THRESHOLD / 2)));
+        final int partitionSize = (entries.size() + partitionCount - 1) / partitionCount;
+        final List<Future<List<VerificationFailedException>>> partitionFutureList = new ArrayList<>();
+        try {
+            for (int partitionStart = 0; partitionStart < entries.size(); partitionStart += partitionSize) {
+                final List<ENTRY> partition = entries.subList(partitionStart, Math.min(partitionStart + partitionSize, entries.size()));
+                partitionFutureList.add(GlobalCachedExecutorService.submit(() -> processPartition(consistencyHandler, partition)));
+            }
+
+            for (final Future<List<VerificationFailedException>> partitionFuture : partitionFutureList) {
+                for (final VerificationFailedException ex : partitionFuture.get()) {
+                    exceptionStack = MultiException.push(consistencyHandler, ex, exceptionStack);
+                }
+            }
+        } catch (InterruptedException ex) {
+            for (final Future<List<VerificationFailedException>> partitionFuture : partitionFutureList) {
+                partitionFuture.cancel(true);
+            }
+            throw ex;
+        } catch (ExecutionException | RejectedExecutionException ex) {
+            for (final Future<List<VerificationFailedException>> partitionFuture : partitionFutureList) {
+                partitionFuture.cancel(true);
+            }
+            throw new CouldNotPerformException("Could not apply " + consistencyHandler + " in parallel!", ex);
+        }
+        return exceptionStack;
+    }
+
+    private List<VerificationFailedException> processPartition(final ConsistencyHandler<KEY, ENTRY, MAP, REGISTRY> consistencyHandler, final List<ENTRY> partition) {
+        final List<VerificationFailedException> verificationExceptionList = new ArrayList<>();
+        for (final ENTRY entry : partition) {
+            try {
+                consistencyHandler.processData(entry.getId(), entry, entryMap, (REGISTRY) this);
+            } catch (CouldNotPerformException | NullPointerException ex) {
+                logger.debug("Inconsistency detected by ConsistencyHandler[" + consistencyHandler + "] in Entry[" + entry + "]!");
+                inconsistentEntryIdSet.add(entry.getId());
+                verificationExceptionList.add(new VerificationFailedException("Verification of Entry[" + entry + "] failed with " + consistencyHandler + "!", ex));
+            } catch (EntryModification ex) {
+                inconsistentEntryIdSet.add(entry.getId());
+                verificationExceptionList.add(new VerificationFailedException("Verification of Entry[" + entry + "] failed with " + consistencyHandler + "!", new InvalidStateException("Entry modification is not supported by handler with enabled parallel processing!", ex)));
+            }
+        }
+        return verificationExceptionList;
+    }
+
+    /**
+     * Method resolves all entries which have to be validated by incremental consistency handlers.
+     * These are all entries modified since the last consistency check including their declared dependencies.
+     *
+     * @return a set of entry ids.
+     *
+     * @throws CouldNotPerformException is thrown if the dependencies could not be resolved.
+     */
+    private Set<KEY> resolveConsistencyWorklist() throws CouldNotPerformException {
+        final Set<KEY> worklist = new HashSet<>();
+        for (final Map.Entry<KEY, ENTRY> entry : transactionEntryMap.entrySet()) {
+            addToConsistencyWorklist(entry.getKey(), entry.getValue(), worklist);
+        }
+        return worklist;
+    }
+
+    private void addToConsistencyWorklist(final KEY id, final ENTRY entry, final Set<KEY> worklist) throws CouldNotPerformException {
+        worklist.add(id);
+        for (final ConsistencyHandler<KEY, ENTRY, MAP, REGISTRY> consistencyHandler : consistencyHandlerList) {
+            if (consistencyHandler.isIncrementalCheckSupported()) {
+                worklist.addAll(consistencyHandler.getDependentEntryIds(id, entry, entryMap, (REGISTRY) this));
+            }
+        }
+    }
+
+    /**
+     * Marks the currently loaded entries as already validated by the registered consistency handlers.
+     * This can be used if the entries are restored out of a state which was validated before, e.g. a database snapshot of a consistent registry.
+     * Consistency checks are skipped until the registry or one of its dependencies is modified.
+     *
+     * @throws CouldNotPerformException is thrown if the registry could not be locked.
+     */
+    protected void restoreValidatedState() throws CouldNotPerformException {
+        lock();
+        try {
+            transactionEntryMap.clear();
+            fullConsistencyCheckRequired = false;
+            consistent = true;
+            validatedStateRestored = true;
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * Method checks if the current registry state was validated by all registered consistency handlers and not modified since.
+     *
+     * @return true if the current state is validated.
+     */
+    protected boolean isValidatedState() {
+        registryLock.readLock().lock();
+        try {
+            return consistent && (consistencyHandlerList.isEmpty() || (!fullConsistencyCheckRequired && transactionEntryMap.isEmpty()));
+        } finally {
+            registryLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Method returns identifiers of everything the current registry state was validated with.
+     * These are the validation identifiers of all registered consistency handlers in their registration order,
+     * followed by the name and a content digest of each depending registry, because consistency handlers may validate the entries against them.
+     *
+     * @return a list of identifiers.
+     */
+    protected List<String> getValidationIdentifiers() {
+        final List<String> identifierList = new ArrayList<>();
+        for (final ConsistencyHandler<KEY, ENTRY, MAP, REGISTRY> consistencyHandler : consistencyHandlerList) {
+            identifierList.add(consistencyHandler.getValidationIdentifier());
+        }
+
+        final List<String> dependencyIdentifierList = new ArrayList<>();
+        dependingRegistryMapLock.readLock().lock();
+        try {
+            for (final Registry registry : dependingRegistryMap.keySet()) {
+                dependencyIdentifierList.add("dependency:" + registry.getName() + ":" + computeContentDigest(registry));
+            }
+        } finally {
+            dependingRegistryMapLock.readLock().unlock();
+        }
+        Collections.sort(dependencyIdentifierList);
+        identifierList.addAll(dependencyIdentifierList);
+        return identifierList;
+    }
+
+    /**
+     * Method computes a digest of all entries of the given registry which is stable across restarts.
+     * Protobuf based entries are covered by their binary encoding, all other entries by their string representation.
+     *
+     * @param registry the registry to compute the digest of.
+     * @return the digest encoded as base64 string.
+     */
+    private static String computeContentDigest(final Registry<?, ?> registry) {
+        final MessageDigest messageDigest;
+        try {
+            messageDigest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            // every java platform has to support SHA-256
+            throw new IllegalStateException(ex);
+        }
+
+        final SortedMap<String, Identifiable<?>> entryMap = new TreeMap<>();
+        for (final Identifiable<?> entry : registry.getEntries()) {
+            try {
+                entryMap.put(String.valueOf(entry.getId()), entry);
+            } catch (NotAvailableException ex) {
+                entryMap.put(String.valueOf(entry), entry);
+            }
+        }
+
+        for (final Map.Entry<String, Identifiable<?>> entry : entryMap.entrySet()) {
+            messageDigest.update(entry.getKey().getBytes(StandardCharsets.UTF_8));
+            if (entry.getValue() instanceof IdentifiableMessage) {
+                messageDigest.update(((IdentifiableMessage<?, ?, ?>) entry.getValue()).getMessage().toByteArray());
+            } else {
+                messageDigest.update(String.valueOf(entry.getValue()).getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return Base64.getEncoder().encodeToString(messageDigest.digest());
+    }
+
     /**
      * Can be overwritten for further registry actions scheduled after consistency checks.
      * <p>
@@ -1108,9 +2164,21 @@ public abstract class AbstractRegistry<KEY, ENTRY extends Identifiable<KEY>, MAP
         pluginPool.afterConsistencyCheck();
     }
 
+    /**
+     * Can be overwritten for further registry actions scheduled after an entry was modified by a consistency handler.
+     * <p>
+     * Don't forget to pass-through the call to the super class. (super.afterConsistencyModification(entry))
+     *
+     * @param entry the modified entry.
+     * @throws org.openbase.jul.exception.CouldNotPerformException is thrown if any plugin afterConsistencyModification fails.
+     */
+    protected void afterConsistencyModification(final ENTRY entry) throws CouldNotPerformException {
+        pluginPool.afterConsistencyModification(entry);
+    }
+
     protected void finishTransaction() throws CouldNotPerformException {
         try {
-            checkConsistency();
+            checkConsistency(false);
             dependingRegistryObservable.notifyObservers(entryMap);
         } catch (CouldNotPerformException ex) {
             throw ExceptionPrinter.printHistoryAndReturnThrowable(new FatalImplementationErrorException("Registry consistency check failed but sandbox check was successful!", this, ex), logger, LogLevel.ERROR);
@@ -1121,9 +2189,15 @@ public abstract class AbstractRegistry<KEY, ENTRY extends Identifiable<KEY>, MAP
 //        if (consistencyCheckLock.isWriteLocked()) {
 //            throw new FatalImplementationErrorException("Sync sandbox registry during consistency check[" + consistencyCheckLock.writeLock().isHeldByCurrentThread() + "]", this);
 //        }
+        // a sandbox does not own any further sandbox to sync.
+        if (isSandbox()) {
+            return;
+        }
+
         registryLock.readLock().lock();
         try {
-            sandbox.sync(entryMap);
+            sandbox.sync(entryMap, unsyncedEntryIdSet);
+            unsyncedEntryIdSet.clear();
         } finally {
             registryLock.readLock().unlock();
         }
@@ -1281,83 +2355,171 @@ public abstract class AbstractRegistry<KEY, ENTRY extends Identifiable<KEY>, MAP
 
     /**
      * Blocks until this registries write lock and the write locks of all registries this one depends on are acquired.
+     * <p>
+     * All locks are acquired in a global order, so concurrent transactions on different registries sharing dependencies can not deadlock
+     * and do not need to back off. Only if a lock can not be acquired in time, e.g. because the current thread already holds
+     * the lock of another registry and therefore acquires locks out of order, all acquired locks are released and the acquisition is repeated.
      *
      * @throws CouldNotPerformException Is thrown if the process gets interrupted. Additionally the interrupt flag is restored.
      */
     protected void lock() throws CouldNotPerformException {
-        boolean successfullyLocked;
+        // if this registry is already locked by the current thread only increase the lock counter.
+        if (lockCounter > 0 && registryLock.isWriteLockedByCurrentThread()) {
+            lockCounter++;
+            return;
+        }
+
+        final Set<AbstractRegistry> registrySet = new HashSet<>();
+        final Set<Registry> foreignRegistrySet = new HashSet<>();
+        collectLockRegistries(registrySet, foreignRegistrySet);
+        final List<AbstractRegistry> registryList = new ArrayList<>(registrySet);
+        registryList.sort(Comparator.comparingLong(registry -> registry.lockOrder));
+
+        final long startTime = System.nanoTime();
+        long interruptionTime = 0;
+        boolean interrupted = false;
+        int retryCounter = 0;
         try {
             while (true) {
-                /* Acquire the write lock first before recursively locking because the set used for it
-                 * is the same for different threads. Else while one thread is currently recursively locking
-                 * another can call the same method which will return true because the set already contains
-                 * this registry. */
-                if (registryLock.writeLock().tryLock()) {
-                    try {
-                        /* The method recursiveTryLockRegistry is disabled for remote registries so that they cannot be locked
-                         * externally. So, call the internal method which does the process but is only visible in this
-                         * package. */
-                        if (this instanceof RemoteRegistry) {
-                            successfullyLocked = ((RemoteRegistry) this).internalRecursiveTryLockRegistry(lockedRegistries);
-                        } else {
-                            successfullyLocked = recursiveTryLockRegistry(lockedRegistries);
-                        }
-
-                        if (successfullyLocked) {
-                            /*
-                             * If all registries could be locked return and increase the lock counter. The counter is necessary
-                             * because the recursive method will only lock every registry once to prevent infinite recursion for
-                             * dependency loops. */
-                            lockCounter++;
-                            return;
-                        } else {
-                            // locking all has failed so unlock the ones that have been acquired
-                            unlockRegistries(lockedRegistries);
-                        }
-                    } finally {
-                        registryLock.writeLock().unlock();
-                    }
-                }
-
-                // sleep for a random time before trying to lock again
                 try {
-                    long sleepTime = 5 + randomJitter.nextInt(10);
-                    Thread.sleep(sleepTime);
+                    if (tryLockRegistries(registryList, foreignRegistrySet)) {
+                        /*
+                         * The counter is necessary because the locks of all registries are only released
+                         * if the outermost lock of this registry is released. */
+                        lockCounter++;
+                        lockMetrics.record(System.nanoTime() - startTime, retryCounter);
+                        return;
+                    }
+                    retryCounter++;
+                    Thread.sleep(Math.min(MAX_LOCK_RETRY_DELAY, 1L << Math.min(retryCounter, 7)));
                 } catch (InterruptedException ex) {
-                    Thread.currentThread().interrupt();
                     if (!shutdownInitiated) {
+                        Thread.currentThread().interrupt();
                         throw new CouldNotPerformException("Could not lock registry because thread was externally interrupted!", ex);
                     }
+
+                    // the shutdown needs to be finished so the interruption is restored after the locks are acquired.
+                    if (!interrupted) {
+                        interrupted = true;
+                        interruptionTime = System.nanoTime();
+                    }
+                    retryCounter++;
+                }
+
+                if (interrupted && TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - interruptionTime) > SHUTDOWN_LOCK_TIMEOUT) {
+                    throw new CouldNotPerformException("Could not lock registry within " + SHUTDOWN_LOCK_TIMEOUT + "ms after the thread was interrupted during the shutdown!");
                 }
             }
         } catch (CouldNotPerformException ex) {
             throw new CouldNotPerformException("Could not lock registry!", ex);
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
         }
     }
 
-    private void unlockRegistries(final Set<Registry> lockedRegistries) {
-        assert registryLock.writeLock().isHeldByCurrentThread();
+    /**
+     * Collects this registry and all registries it depends on recursively.
+     *
+     * @param registrySet        the set to add all registries to which can be locked in a global order.
+     * @param foreignRegistrySet the set to add all registries to which are not derived from this class and therefore need to be locked via the {@link Registry} interface.
+     */
+    private void collectLockRegistries(final Set<AbstractRegistry> registrySet, final Set<Registry> foreignRegistrySet) {
+        if (!registrySet.add(this)) {
+            return;
+        }
 
-        /* Additional write lock because this registry is also part of the lockedRegistries set.
-         * So, if this registry would be the first one in the set it would be unlocked first and another
-         * thread could already start locking while not everything is unlocked.
-         * But by locking this registry additionally the next thread can only try to lock if all registries
-         * this one depends on have been unlocked. */
-        registryLock.writeLock().lock();
+        dependingRegistryMapLock.readLock().lock();
         try {
-            for (Registry registry : lockedRegistries) {
-                if (registry instanceof RemoteRegistry) {
-                    ((RemoteRegistry) registry).internalUnlockRegistry();
+            for (final Registry registry : dependingRegistryMap.keySet()) {
+                if (registry instanceof AbstractRegistry) {
+                    ((AbstractRegistry) registry).collectLockRegistries(registrySet, foreignRegistrySet);
                 } else {
-                    registry.unlockRegistry();
+                    foreignRegistrySet.add(registry);
                 }
             }
-            lockedRegistries.clear();
         } finally {
-            registryLock.writeLock().unlock();
+            dependingRegistryMapLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Tries to acquire the write locks of all given registries in the given order.
+     * If one lock can not be acquired all locks acquired so far are released again.
+     *
+     * @param registryList       the ordered list of registries to lock.
+     * @param foreignRegistrySet registries to lock via the {@link Registry} interface afterwards.
+     *
+     * @return true if all locks could be acquired.
+     *
+     * @throws InterruptedException     is thrown if the thread was interrupted while waiting for a lock.
+     * @throws CouldNotPerformException is thrown if a foreign registry rejects to be locked.
+     */
+    private boolean tryLockRegistries(final List<AbstractRegistry> registryList, final Set<Registry> foreignRegistrySet) throws InterruptedException, CouldNotPerformException {
+        final List<Registry> acquiredRegistryList = new ArrayList<>(registryList.size() + foreignRegistrySet.size());
+        boolean successfullyLocked = false;
+        try {
+            for (final AbstractRegistry registry : registryList) {
+                if (!registry.registryLock.writeLock().tryLock(LOCK_ACQUISITION_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                    return false;
+                }
+                acquiredRegistryList.add(registry);
+            }
+
+            if (!foreignRegistrySet.isEmpty()) {
+                final Set<Registry> foreignLockedRegistrySet = new HashSet<>();
+                for (final Registry registry : foreignRegistrySet) {
+                    final boolean foreignRegistryLocked = registry.recursiveTryLockRegistry(foreignLockedRegistrySet);
+                    acquiredRegistryList.addAll(foreignLockedRegistrySet);
+                    foreignLockedRegistrySet.clear();
+                    if (!foreignRegistryLocked) {
+                        return false;
+                    }
+                }
+            }
+
+            // this registry is locked at this point, so the list can not be accessed concurrently.
+            lockedRegistryList.addAll(acquiredRegistryList);
+            successfullyLocked = true;
+            return true;
+        } finally {
+            if (!successfullyLocked) {
+                unlockRegistries(acquiredRegistryList);
+            }
+        }
+    }
+
+    private void unlockRegistries() {
+        assert registryLock.writeLock().isHeldByCurrentThread();
+
+        // copy the list before releasing any lock because afterwards another thread can acquire the lock of this registry.
+        final List<Registry> registryList = new ArrayList<>(lockedRegistryList);
+        lockedRegistryList.clear();
+        unlockRegistries(registryList);
+    }
+
+    private static void unlockRegistries(final List<Registry> registryList) {
+        // release in reverse order of acquisition
+        for (int i = registryList.size() - 1; i >= 0; i--) {
+            final Registry registry = registryList.get(i);
+            if (registry instanceof AbstractRegistry) {
+                ((AbstractRegistry) registry).registryLock.writeLock().unlock();
+            } else {
+                registry.unlockRegistry();
+            }
         }
     }
 
+    /**
+     * Returns statistics about the time needed to lock this registry and all registries it depends on.
+     *
+     * @return the lock metrics of this registry.
+     */
+    public RegistryLockMetrics getLockMetrics() {
+        return lockMetrics;
+    }
+
     public boolean isBusy() {
         return registryLock.isWriteLocked();
     }
@@ -1373,9 +2535,12 @@ public abstract class AbstractRegistry<KEY, ENTRY extends Identifiable<KEY>, MAP
             // if the registry has been locked by the same thread multiple times only decrease the counter
             lockCounter--;
         } else {
-            // if the counter is at 1 than unlock all registries and decrease the counter to 0
+            // if the counter is at 1 than publish all changes, unlock all registries and decrease the counter to 0
+            publishEntrySnapshot();
             lockCounter--;
-            unlockRegistries(lockedRegistries);
+            unlockRegistries();
+            // asynchronous plugin callbacks are delivered once the registry is accessible again.
+            pluginPool.dispatchAsyncCallbacks();
         }
     }
 
@@ -1506,6 +2671,46 @@ public abstract class AbstractRegistry<KEY, ENTRY extends Identifiable<KEY>, MAP
         return shutdownInitiated;
     }
 
+    /**
+     * The types of transactions supported by this registry.
+     */
+    private enum TransactionType {
+        REGISTER,
+        UPDATE,
+        REMOVE
+    }
+
+    /**
+     * Immutable copy of the registry entries.
+     *
+     * @param <KEY>   the key type.
+     * @param <ENTRY> the entry type.
+     */
+    private static final class EntrySnapshot<KEY, ENTRY> {
+
+        private final Map<KEY, ENTRY> entryMap;
+        private final int contentHash;
+        private final long sequenceNumber;
+
+        private EntrySnapshot(final Map<KEY, ENTRY> entryMap, final int contentHash, final long sequenceNumber) {
+            this.entryMap = Collections.unmodifiableMap(entryMap);
+            this.contentHash = contentHash;
+            this.sequenceNumber = sequenceNumber;
+        }
+
+        private long getSequenceNumber() {
+            return sequenceNumber;
+        }
+
+        private int getContentHash() {
+            return contentHash;
+        }
+
+        private Map<KEY, ENTRY> getEntryMap() {
+            return entryMap;
+        }
+    }
+
     private class DependencyConsistencyCheckTrigger implements Observer<Registry<KEY, ENTRY>, Map<KEY, ENTRY>>, Shutdownable, Activatable {
 
         private final Registry dependency;
@@ -1534,6 +2739,10 @@ public abstract class AbstractRegistry<KEY, ENTRY extends Identifiable<KEY>, MAP
                     lock();
                     try {
                         try {
+                            // a restored validated state is only valid as long as the dependency is not modified as well.
+                            if (!(dependency instanceof AbstractRegistry && ((AbstractRegistry) dependency).validatedStateRestored)) {
+                                validatedStateRestored = false;
+                            }
                             pluginPool.beforeUpstreamDependencyNotification(dependency);
                             notificationNeeded = checkConsistency() > 0 || notificationSkipped;
                             if (notificationNeeded) {
@@ -40,12 +40,23 @@ import org.openbase.jul.schedule.SyncObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 public abstract class AbstractSynchronizer<KEY, ENTRY extends Identifiable<KEY>> implements Activatable, Shutdownable {
 
     public static final long DEFAULT_MAX_FREQUENCY = 15000;
 
+    /**
+     * Minimal number of entries processed by one concurrent task in case parallel processing is supported.
+     */
+    public static final int MIN_ENTRIES_PER_PARALLEL_TASK = 8;
+
     protected final Logger logger = LoggerFactory.getLogger(getClass());
 
     private final IdentifiableValueMap<KEY, ENTRY> currentEntryMap;
@@ -170,57 +181,33 @@ public abstract class AbstractSynchronizer<KEY, ENTRY extends Identifiable<KEY>>
                 listDiff.diff(getEntries());
                 int skippedChanges = 0;
 
-                MultiException.ExceptionStack removeExceptionStack = null;
-                for (ENTRY entry : listDiff.getRemovedValueMap().values()) {
-                    validateSynchronizerState();
-                    try {
-                        removeInternal(entry);
-                    } catch (CouldNotPerformException ex) {
-                        if (ExceptionProcessor.isCausedBySystemShutdown(ex)) {
-                            // in case of a shutdown just exit method as fast as possible...
-                            throw ex;
-                        }
-                        removeExceptionStack = MultiException.push(this, ex, removeExceptionStack);
-                    }
-                }
-
-                MultiException.ExceptionStack updateExceptionStack = null;
+                // updated entries which are not supported anymore have to be removed.
+                final List<ENTRY> updatedEntryList = new ArrayList<>();
+                final List<ENTRY> unsupportedEntryList = new ArrayList<>();
                 for (ENTRY entry : listDiff.getUpdatedValueMap().values()) {
-                    validateSynchronizerState();
-                    try {
-                        if (isSupported(entry)) {
-                            updateInternal(entry);
-                        } else {
-                            removeInternal(entry);
-                            listDiff.getOriginalValueMap().removeValue(entry);
-                        }
-                    } catch (CouldNotPerformException ex) {
-                        if (ExceptionProcessor.isCausedBySystemShutdown(ex)) {
-                            // in case of a shutdown just exit method as fast as possible...
-                            throw ex;
-                        }
-                        updateExceptionStack = MultiException.push(this, ex, updateExceptionStack);
+                    if (isSupported(entry)) {
+                        updatedEntryList.add(entry);
+                    } else {
+                        unsupportedEntryList.add(entry);
                     }
                 }
 
-                MultiException.ExceptionStack registerExceptionStack = null;
+                final List<ENTRY> newEntryList = new ArrayList<>();
                 for (ENTRY entry : listDiff.getNewValueMap().values()) {
-                    validateSynchronizerState();
-                    try {
-                        if (isSupported(entry)) {
-                            registerInternal(entry);
-                        } else {
-                            skippedChanges++;
-                        }
-                    } catch (CouldNotPerformException ex) {
-                        if (ExceptionProcessor.isCausedBySystemShutdown(ex)) {
-                            // in case of a shutdown just exit method as fast as possible...
-                            throw ex;
-                        }
-                        registerExceptionStack = MultiException.push(this, ex, registerExceptionStack);
+                    if (isSupported(entry)) {
+                        newEntryList.add(entry);
+                    } else {
+                        skippedChanges++;
                     }
                 }
 
+                final MultiException.ExceptionStack removeExceptionStack = applyBatch(new ArrayList<>(listDiff.getRemovedValueMap().values()), this::removeAll, currentEntryMap::removeValue, null);
+
+                MultiException.ExceptionStack updateExceptionStack = applyBatch(unsupportedEntryList, this::removeAll, currentEntryMap::removeValue, null);
+                updateExceptionStack = applyBatch(updatedEntryList, this::updateAll, currentEntryMap::put, updateExceptionStack);
+
+                final MultiException.ExceptionStack registerExceptionStack = applyBatch(newEntryList, this::registerAll, currentEntryMap::put, null);
+
                 // print changes
                 final int errorCounter = MultiException.size(removeExceptionStack) + MultiException.size(updateExceptionStack) + MultiException.size(registerExceptionStack);
                 final int changeCounter = (listDiff.getChangeCounter() - skippedChanges);
@@ -309,19 +296,183 @@ public abstract class AbstractSynchronizer<KEY, ENTRY extends Identifiable<KEY>>
         }
     }
 
-    private void updateInternal(final ENTRY entry) throws CouldNotPerformException, InterruptedException {
-        update(entry);
-        this.currentEntryMap.put(entry);
+    /**
+     * Method applies the given batch processor on the given entries and updates the internal entry map with all successfully processed entries.
+     *
+     * @param entries        the entries to process.
+     * @param batchProcessor the processor to apply.
+     * @param entryMapUpdate the update applied on the internal entry map for each successfully processed entry.
+     * @param exceptionStack the stack to push all failures on.
+     *
+     * @return the exception stack including all failures.
+     *
+     * @throws CouldNotPerformException is thrown in case the synchronizer is shutting down.
+     * @throws InterruptedException     is thrown in case the thread is externally interrupted.
+     */
+    private MultiException.ExceptionStack applyBatch(final List<ENTRY> entries, final BatchProcessor<ENTRY> batchProcessor, final EntryMapUpdate<ENTRY> entryMapUpdate, MultiException.ExceptionStack exceptionStack) throws CouldNotPerformException, InterruptedException {
+        if (entries.isEmpty()) {
+            return exceptionStack;
+        }
+
+        validateSynchronizerState();
+
+        final Set<ENTRY> failedEntrySet = Collections.newSetFromMap(new IdentityHashMap<>());
+        try {
+            batchProcessor.process(entries);
+        } catch (MultiException ex) {
+            if (ExceptionProcessor.isCausedBySystemShutdown(ex)) {
+                // in case of a shutdown just exit method as fast as possible...
+                throw ex;
+            }
+
+            final Set<ENTRY> batchEntrySet = Collections.newSetFromMap(new IdentityHashMap<>());
+            batchEntrySet.addAll(entries);
+            for (final MultiException.SourceExceptionEntry sourceExceptionEntry : ex.getExceptionStack()) {
+                if (ExceptionProcessor.isCausedBySystemShutdown(sourceExceptionEntry.getException())) {
+                    throw ex;
+                }
+                if (batchEntrySet.contains(sourceExceptionEntry.getSource())) {
+                    failedEntrySet.add((ENTRY) sourceExceptionEntry.getSource());
+                }
+            }
+
+            // failures which can not be assigned to any entry affect the whole batch.
+            if (failedEntrySet.isEmpty()) {
+                failedEntrySet.addAll(entries);
+                exceptionStack = MultiException.push(this, ex, exceptionStack);
+            } else {
+                for (final MultiException.SourceExceptionEntry sourceExceptionEntry : ex.getExceptionStack()) {
+                    exceptionStack = MultiException.push(this, (Exception) sourceExceptionEntry.getException(), exceptionStack);
+                }
+            }
+        }
+
+        for (final ENTRY entry : entries) {
+            if (!failedEntrySet.contains(entry)) {
+                entryMapUpdate.apply(entry);
+            }
+        }
+        return exceptionStack;
     }
 
-    private void registerInternal(final ENTRY entry) throws CouldNotPerformException, InterruptedException {
-        register(entry);
-        this.currentEntryMap.put(entry);
+    /**
+     * Method applies the given processor on all given entries.
+     * In case parallel processing is supported, the entries are split into partitions which are processed concurrently.
+     * The number of concurrent partitions is bounded by the available processors.
+     *
+     * @param entries        the entries to process.
+     * @param entryProcessor the processor to apply on each entry.
+     *
+     * @throws MultiException       is thrown if at least one entry could not be processed. The source of each reported exception is the related entry.
+     * @throws InterruptedException is thrown in case the thread is externally interrupted.
+     */
+    protected void processEntries(final List<ENTRY> entries, final EntryProcessor<ENTRY> entryProcessor) throws MultiException, InterruptedException {
+        final int partitionCount = isParallelProcessingSupported() ? Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), entries.size() / MIN_ENTRIES_PER_PARALLEL_TASK)) : 1;
+
+        if (partitionCount == 1) {
+            MultiException.checkAndThrow(() -> "Could not process all entries!", processPartition(entries, entryProcessor));
+            return;
+        }
+
+        final int partitionSize = (entries.size() + partitionCount - 1) / partitionCount;
+        final List<Future<MultiException.ExceptionStack>> partitionFutureList = new ArrayList<>();
+        for (int partitionStart = 0; partitionStart < entries.size(); partitionStart += partitionSize) {
+            final List<ENTRY> partition = entries.subList(partitionStart, Math.min(partitionStart + partitionSize, entries.size()));
+            partitionFutureList.add(GlobalCachedExecutorService.submit(() -> processPartition(partition, entryProcessor)));
+        }
+
+        MultiException.ExceptionStack exceptionStack = null;
+        try {
+            for (final Future<MultiException.ExceptionStack> partitionFuture : partitionFutureList) {
+                final MultiException.ExceptionStack partitionExceptionStack = partitionFuture.get();
+                if (partitionExceptionStack != null) {
+                    for (final MultiException.SourceExceptionEntry sourceExceptionEntry : partitionExceptionStack) {
+                        exceptionStack = MultiException.push(sourceExceptionEntry.getSource(), (Exception) sourceExceptionEntry.getException(), exceptionStack);
+                    }
+                }
+            }
+        } catch (InterruptedException ex) {
+            for (final Future<MultiException.ExceptionStack> partitionFuture : partitionFutureList) {
+                partitionFuture.cancel(true);
+            }
+            throw ex;
+        } catch (ExecutionException ex) {
+            throw new MultiException("Could not process all entries!", ex.getCause());
+        }
+        MultiException.checkAndThrow(() -> "Could not process all entries!", exceptionStack);
+    }
+
+    private MultiException.ExceptionStack processPartition(final List<ENTRY> partition, final EntryProcessor<ENTRY> entryProcessor) throws InterruptedException {
+        MultiException.ExceptionStack exceptionStack = null;
+        for (final ENTRY entry : partition) {
+            try {
+                validateSynchronizerState();
+                entryProcessor.process(entry);
+            } catch (CouldNotPerformException ex) {
+                exceptionStack = MultiException.push(entry, ex, exceptionStack);
+                if (ExceptionProcessor.isCausedBySystemShutdown(ex)) {
+                    // in case of a shutdown just exit as fast as possible...
+                    break;
+                }
+            }
+        }
+        return exceptionStack;
     }
 
-    private void removeInternal(final ENTRY entry) throws CouldNotPerformException, InterruptedException {
-        remove(entry);
-        this.currentEntryMap.removeValue(entry);
+    /**
+     * Method registers all given entries.
+     * This default implementation registers each entry via {@link #register(Identifiable)}, which is done in parallel in case {@link #isParallelProcessingSupported()} returns true.
+     * Overwrite this method to register all entries at once, e.g. within one registry transaction.
+     *
+     * @param entries the entries to register.
+     *
+     * @throws MultiException       is thrown if at least one entry could not be registered. Exceptions related to a single entry should use the entry as exception source,
+     *                              all other exceptions are treated as failure of all given entries.
+     * @throws InterruptedException is thrown in case the thread is externally interrupted.
+     */
+    protected void registerAll(final List<ENTRY> entries) throws MultiException, InterruptedException {
+        processEntries(entries, this::register);
+    }
+
+    /**
+     * Method updates all given entries.
+     * This default implementation updates each entry via {@link #update(Identifiable)}, which is done in parallel in case {@link #isParallelProcessingSupported()} returns true.
+     * Overwrite this method to update all entries at once, e.g. within one registry transaction.
+     *
+     * @param entries the entries to update.
+     *
+     * @throws MultiException       is thrown if at least one entry could not be updated. Exceptions related to a single entry should use the entry as exception source,
+     *                              all other exceptions are treated as failure of all given entries.
+     * @throws InterruptedException is thrown in case the thread is externally interrupted.
+     */
+    protected void updateAll(final List<ENTRY> entries) throws MultiException, InterruptedException {
+        processEntries(entries, this::update);
+    }
+
+    /**
+     * Method removes all given entries.
+     * This default implementation removes each entry via {@link #remove(Identifiable)}, which is done in parallel in case {@link #isParallelProcessingSupported()} returns true.
+     * Overwrite this method to remove all entries at once, e.g. within one registry transaction.
+     *
+     * @param entries the entries to remove.
+     *
+     * @throws MultiException       is thrown if at least one entry could not be removed. Exceptions related to a single entry should use the entry as exception source,
+     *                              all other exceptions are treated as failure of all given entries.
+     * @throws InterruptedException is thrown in case the thread is externally interrupted.
+     */
+    protected void removeAll(final List<ENTRY> entries) throws MultiException, InterruptedException {
+        processEntries(entries, this::remove);
+    }
+
+    /**
+     * Method should return true if independent entries can be registered, updated and removed concurrently.
+     * Since this requires thread safe implementations of {@link #register(Identifiable)}, {@link #update(Identifiable)} and {@link #remove(Identifiable)},
+     * this default implementation returns false.
+     *
+     * @return true if entries can be processed in parallel.
+     */
+    protected boolean isParallelProcessingSupported() {
+        return false;
     }
 
     public abstract void update(final ENTRY entry) throws CouldNotPerformException, InterruptedException;
@@ -332,6 +483,26 @@ public abstract class AbstractSynchronizer<KEY, ENTRY extends Identifiable<KEY>>
 
     public abstract List<ENTRY> getEntries() throws CouldNotPerformException;
 
+    /**
+     * Processor applied on a single entry.
+     *
+     * @param <E> the entry type.
+     */
+    @FunctionalInterface
+    protected interface EntryProcessor<E> {
+        void process(final E entry) throws CouldNotPerformException, InterruptedException;
+    }
+
+    @FunctionalInterface
+    private interface BatchProcessor<E> {
+        void process(final List<E> entries) throws MultiException, InterruptedException;
+    }
+
+    @FunctionalInterface
+    private interface EntryMapUpdate<E> {
+        void apply(final E entry) throws CouldNotPerformException;
+    }
+
     /**
      * Method should return true if the given entry is supported, otherwise
      * false. This default implementation accepts all entries. To
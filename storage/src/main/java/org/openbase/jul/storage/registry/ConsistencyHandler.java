@@ -21,6 +21,8 @@ package org.openbase.jul.storage.registry;
  * <http://www.gnu.org/licenses/lgpl-3.0.html>.
  * #L%
  */
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 import org.openbase.jul.exception.CouldNotPerformException;
 import org.openbase.jul.iface.Identifiable;
@@ -60,4 +62,57 @@ public interface ConsistencyHandler<KEY, VALUE extends Identifiable<KEY>, MAP ex
      *
      */
     void reset();
+
+    /**
+     * Method returns true if this handler is able to validate a single entry independently of all other entries.
+     * In this case the registry only passes the entries modified by a transaction (and their declared dependencies, see {@link #getDependentEntryIds(Object, Identifiable, Map, Registry)})
+     * to this handler instead of all registry entries. Full consistency checks (e.g. after loading the registry) are not affected.
+     *
+     * Note: Handlers caching properties of all entries during one iteration (e.g. to validate uniqueness) must not enable the incremental mode.
+     *
+     * @return true if the incremental mode is supported, otherwise false.
+     */
+    default boolean isIncrementalCheckSupported() {
+        return false;
+    }
+
+    /**
+     * Method returns true if this handler only verifies entries and never modifies any of them, which means no {@code EntryModification} is ever thrown.
+     * In this case the registry is allowed to process the entries concurrently on multiple threads.
+     *
+     * Note: Because the worker threads do not own the locks held by the registry transaction,
+     * the {@code processData} method of such a handler must be thread safe and should only access the given entry and entry map.
+     * Calls to any registry method that acquires a registry lock (e.g. {@code get} on the underlying or any depending registry) can cause into deadlocks!
+     *
+     * @return true if the parallel processing is supported, otherwise false.
+     */
+    default boolean isParallelProcessingSupported() {
+        return false;
+    }
+
+    /**
+     * Method returns the ids of all entries whose consistency could be affected by a modification of the given entry.
+     * These entries are revalidated during an incremental consistency check as well.
+     * In case the entry was removed by the transaction, the removed instance is passed.
+     *
+     * @param id the id of the modified entry.
+     * @param entry the modified entry.
+     * @param entryMap the entry map of the underlying registry.
+     * @param registry the underlying registry.
+     * @return a collection of entry ids which should be revalidated.
+     * @throws CouldNotPerformException thrown to handle errors.
+     */
+    default Collection<KEY> getDependentEntryIds(final KEY id, final VALUE entry, final MAP entryMap, final R registry) throws CouldNotPerformException {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Method returns an identifier of this handler which is used to detect if a registry state validated by this handler is still valid, e.g. when restoring a database snapshot.
+     * Handlers whose validation depends on any configuration should include it in the identifier, so a changed configuration invalidates the validated state.
+     *
+     * @return the identifier of this handler including its configuration, by default the class name.
+     */
+    default String getValidationIdentifier() {
+        return getClass().getName();
+    }
 }
@@ -36,8 +36,14 @@ import org.openbase.jul.exception.printer.LogLevel;
 import org.openbase.jul.iface.Identifiable;
 import org.openbase.jul.processing.FileProcessor;
 import org.openbase.jul.processing.StringProcessor;
+import org.openbase.jul.schedule.GlobalCachedExecutorService;
+import org.openbase.jul.storage.file.DatabaseSnapshot;
+import org.openbase.jul.storage.file.DirectoryWatcher;
 import org.openbase.jul.storage.file.FileProvider;
 import org.openbase.jul.storage.file.FileSynchronizer;
+import org.openbase.jul.storage.file.SnapshotProcessor;
+import org.openbase.jul.storage.registry.jp.JPRegistryFileWatcher;
+import org.openbase.jul.storage.registry.jp.JPRegistrySnapshot;
 import org.openbase.jul.storage.registry.jp.JPResetDB;
 import org.openbase.jul.storage.registry.plugin.FileRegistryPlugin;
 import org.openbase.jul.storage.registry.plugin.FileRegistryPluginPool;
@@ -45,9 +51,18 @@ import org.openbase.jul.storage.registry.version.DBVersionControl;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 /**
  * @param <KEY>
@@ -59,9 +74,28 @@ import java.util.Map.Entry;
  */
 public class FileSynchronizedRegistryImpl<KEY, ENTRY extends Identifiable<KEY>, MAP extends Map<KEY, ENTRY>, REGISTRY extends FileSynchronizedRegistry<KEY, ENTRY>> extends AbstractRegistry<KEY, ENTRY, MAP, REGISTRY, FileRegistryPlugin<KEY, ENTRY, REGISTRY>> implements FileSynchronizedRegistry<KEY, ENTRY> {
 
+    /**
+     * Minimal number of database files processed by one concurrent task during the registry loading.
+     */
+    public static final int MIN_FILES_PER_LOADING_TASK = 50;
+
+    /**
+     * Time in milliseconds without further external modifications of the database directory before the modified entries are reloaded.
+     */
+    public static final long DATABASE_WATCHER_DEBOUNCE_DELAY = 500;
+
+    /**
+     * Maximal time in milliseconds between the first external modification of the database directory and the reload, even if the directory is modified continuously.
+     */
+    public static final long DATABASE_WATCHER_MAX_LATENCY = 5000;
+
     private final File databaseDirectory;
     // release todo: synchronize fileSynchronizerMap because otherwise sometimes occure concurrent modification exceptions. Use a lock not synchronize block to make parallel read access more reliable. Validate that the new lock does not cause into deadlocks because of the registry sync.
     private final Map<KEY, FileSynchronizer<ENTRY>> fileSynchronizerMap;
+    // ids of all entries which are modified but not yet written back to the database.
+    private final Set<KEY> dirtyEntryIdSet;
+    // ids of all saved entries whose write back is delegated to the write behind queue, guarded by the dirtyEntryIdSet.
+    private final Set<KEY> writeBackEntryIdSet;
     private final FileProcessor<ENTRY> fileProcessor;
 
     private final FileProvider<Identifiable<KEY>> fileProvider;
@@ -72,6 +106,12 @@ public class FileSynchronizedRegistryImpl<KEY, ENTRY extends Identifiable<KEY>,
 
     private DBVersionControl versionControl;
     private DatabaseState databaseState;
+    private DatabaseSnapshot<ENTRY> databaseSnapshot;
+    private DirectoryWatcher databaseWatcher;
+    /**
+     * The file synchronizers of the database files reloaded by the running reload transaction, or null if no database files are reloaded.
+     */
+    private Map<KEY, FileSynchronizer<ENTRY>> reloadedFileSynchronizerMap;
 
     public FileSynchronizedRegistryImpl(
             final MAP entryMap,
@@ -94,6 +134,8 @@ public class FileSynchronizedRegistryImpl<KEY, ENTRY extends Identifiable<KEY>,
             this.databaseDirectory = databaseDirectory;
             this.localRegistryFlag = localRegistryFlag;
             this.fileSynchronizerMap = new HashMap<>();
+            this.dirtyEntryIdSet = new HashSet<>();
+            this.writeBackEntryIdSet = new HashSet<>();
             this.fileProcessor = fileProcessor;
             this.fileProvider = fileProvider;
             this.filePluginPool = filePluginPool;
@@ -150,53 +192,194 @@ public class FileSynchronizedRegistryImpl<KEY, ENTRY extends Identifiable<KEY>,
         versionControl = new DBVersionControl(entryType, fileProvider, converterPackage, databaseDirectory, this);
     }
 
+    /**
+     * This method activates the snapshot support of the underlying registry db.
+     * During a clean shutdown a binary snapshot of all entries is written next to the database directory.
+     * As long as the database files are not modified since, the next registry start restores all entries out of this snapshot
+     * which avoids the parsing of all database files as well as the initial consistency check.
+     * In any other case the database is loaded as usual.
+     * <p>
+     * Activate snapshot support before loading the registry.
+     *
+     * @param snapshotProcessor the processor used to encode the entries.
+     *
+     * @throws CouldNotPerformException in case the registry is already loaded.
+     */
+    public void activateSnapshotSupport(final SnapshotProcessor<ENTRY> snapshotProcessor) throws CouldNotPerformException {
+        if (!isEmpty()) {
+            throw new CouldNotPerformException("Could not activate snapshot support because registry already loaded! Please activate snapshot support before loading the registry.");
+        }
+        databaseSnapshot = new DatabaseSnapshot<>(new File(databaseDirectory.getParentFile(), "." + databaseDirectory.getName() + ".snapshot"), snapshotProcessor);
+    }
+
     @Override
     public ENTRY register(final ENTRY entry) throws CouldNotPerformException {
-        ENTRY result = super.register(entry);
-        FileSynchronizer<ENTRY> fileSynchronizer = new FileSynchronizer<>(result, new File(databaseDirectory, fileProvider.getFileName(entry)), FileSynchronizer.InitMode.CREATE, fileProcessor);
-        fileSynchronizerMap.put(result.getId(), fileSynchronizer);
-        filePluginPool.afterRegister(result, fileSynchronizer);
+        // the file plugins are informed within the transaction so their asynchronous callbacks are dispatched once the transaction is finished.
+        lock();
+        try {
+            ENTRY result = super.register(entry);
+            FileSynchronizer<ENTRY> fileSynchronizer = new FileSynchronizer<>(result, new File(databaseDirectory, fileProvider.getFileName(entry)), FileSynchronizer.InitMode.CREATE, fileProcessor);
+            fileSynchronizerMap.put(result.getId(), fileSynchronizer);
+            markClean(result.getId());
+            filePluginPool.afterRegister(result, fileSynchronizer);
 
-        return result;
+            return result;
+        } finally {
+            unlock();
+        }
     }
 
     @Override
     public ENTRY update(final ENTRY entry) throws CouldNotPerformException {
-        ENTRY result = super.update(entry);
+        lock();
+        try {
+            ENTRY result = super.update(entry);
 
-        // ignore update during registration process.
-        if (!fileSynchronizerMap.containsKey(result.getId())) {
-            logger.debug("Ignore update during registration process of entry " + result);
-            return entry;
-        }
+            // ignore update during registration process.
+            if (!fileSynchronizerMap.containsKey(result.getId())) {
+                logger.debug("Ignore update during registration process of entry " + result);
+                return entry;
+            }
 
-        FileSynchronizer<ENTRY> fileSynchronizer = fileSynchronizerMap.get(result.getId());
+            FileSynchronizer<ENTRY> fileSynchronizer = fileSynchronizerMap.get(result.getId());
 
-        filePluginPool.beforeUpdate(result, fileSynchronizer);
-        fileSynchronizer.save(result);
-        filePluginPool.afterUpdate(result, fileSynchronizer);
+            filePluginPool.beforeUpdate(result, fileSynchronizer);
+            fileSynchronizer.save(result);
+            markClean(result.getId());
+            filePluginPool.afterUpdate(result, fileSynchronizer);
 
-        return result;
+            return result;
+        } finally {
+            unlock();
+        }
     }
 
     @Override
     public ENTRY remove(final ENTRY entry) throws CouldNotPerformException {
-        ENTRY removedValue = super.remove(entry);
+        lock();
+        try {
+            ENTRY removedValue = super.remove(entry);
 
-        FileSynchronizer<ENTRY> fileSynchronizer = fileSynchronizerMap.get(entry.getId());
+            FileSynchronizer<ENTRY> fileSynchronizer = fileSynchronizerMap.get(entry.getId());
 
-        filePluginPool.beforeRemove(entry, fileSynchronizer);
-        fileSynchronizer.delete();
-        fileSynchronizerMap.remove(entry.getId());
-        filePluginPool.afterRemove(entry, fileSynchronizer);
+            filePluginPool.beforeRemove(entry, fileSynchronizer);
+            fileSynchronizer.delete();
+            fileSynchronizerMap.remove(entry.getId());
+            markClean(entry.getId());
+            filePluginPool.afterRemove(entry, fileSynchronizer);
 
-        return removedValue;
+            return removedValue;
+        } finally {
+            unlock();
+        }
+    }
+
+    @Override
+    public List<ENTRY> registerAll(final Collection<ENTRY> entries) throws MultiException, InvalidStateException {
+        try {
+            lock();
+        } catch (CouldNotPerformException ex) {
+            throw new MultiException("Could not lock " + this + "!", ex);
+        }
+        try {
+            final List<ENTRY> registeredEntries = super.registerAll(entries);
+            ExceptionStack exceptionStack = null;
+            for (final ENTRY entry : registeredEntries) {
+                try {
+                    final FileSynchronizer<ENTRY> fileSynchronizer = new FileSynchronizer<>(entry, new File(databaseDirectory, fileProvider.getFileName(entry)), FileSynchronizer.InitMode.CREATE, fileProcessor);
+                    fileSynchronizerMap.put(entry.getId(), fileSynchronizer);
+                    markClean(entry.getId());
+                    filePluginPool.afterRegister(entry, fileSynchronizer);
+                } catch (CouldNotPerformException ex) {
+                    exceptionStack = MultiException.push(this, new CouldNotPerformException("Could not create database entry for " + entry + "!", ex), exceptionStack);
+                }
+            }
+            MultiException.checkAndThrow(() -> "Could not store all registered entries!", exceptionStack);
+            return registeredEntries;
+        } finally {
+            unlock();
+        }
+    }
+
+    @Override
+    public List<ENTRY> updateAll(final Collection<ENTRY> entries) throws MultiException, InvalidStateException {
+        try {
+            lock();
+        } catch (CouldNotPerformException ex) {
+            throw new MultiException("Could not lock " + this + "!", ex);
+        }
+        try {
+            final List<ENTRY> updatedEntries = super.updateAll(entries);
+            ExceptionStack exceptionStack = null;
+            for (final ENTRY entry : updatedEntries) {
+                try {
+                    // ignore update during registration process.
+                    if (!fileSynchronizerMap.containsKey(entry.getId())) {
+                        logger.debug("Ignore update during registration process of entry " + entry);
+                        continue;
+                    }
+
+                    final FileSynchronizer<ENTRY> fileSynchronizer = fileSynchronizerMap.get(entry.getId());
+                    filePluginPool.beforeUpdate(entry, fileSynchronizer);
+                    fileSynchronizer.save(entry);
+                    markClean(entry.getId());
+                    filePluginPool.afterUpdate(entry, fileSynchronizer);
+                } catch (CouldNotPerformException ex) {
+                    exceptionStack = MultiException.push(this, new CouldNotPerformException("Could not store update of " + entry + "!", ex), exceptionStack);
+                }
+            }
+            MultiException.checkAndThrow(() -> "Could not store all updated entries!", exceptionStack);
+            return updatedEntries;
+        } finally {
+            unlock();
+        }
+    }
+
+    @Override
+    public List<ENTRY> removeAll(final Collection<ENTRY> entries) throws MultiException, InvalidStateException {
+        try {
+            lock();
+        } catch (CouldNotPerformException ex) {
+            throw new MultiException("Could not lock " + this + "!", ex);
+        }
+        try {
+            final List<ENTRY> removedEntries = super.removeAll(entries);
+            ExceptionStack exceptionStack = null;
+            for (final ENTRY entry : removedEntries) {
+                try {
+                    final FileSynchronizer<ENTRY> fileSynchronizer = fileSynchronizerMap.get(entry.getId());
+                    filePluginPool.beforeRemove(entry, fileSynchronizer);
+                    fileSynchronizer.delete();
+                    fileSynchronizerMap.remove(entry.getId());
+                    markClean(entry.getId());
+                    filePluginPool.afterRemove(entry, fileSynchronizer);
+                } catch (CouldNotPerformException ex) {
+                    exceptionStack = MultiException.push(this, new CouldNotPerformException("Could not remove database entry of " + entry + "!", ex), exceptionStack);
+                }
+            }
+            MultiException.checkAndThrow(() -> "Could not remove all database entries!", exceptionStack);
+            return removedEntries;
+        } finally {
+            unlock();
+        }
     }
 
     @Override
     public void clear() throws CouldNotPerformException {
         super.clear();
         fileSynchronizerMap.clear();
+        synchronized (dirtyEntryIdSet) {
+            dirtyEntryIdSet.clear();
+            writeBackEntryIdSet.clear();
+        }
+    }
+
+    @Override
+    protected void afterConsistencyModification(final ENTRY entry) throws CouldNotPerformException {
+        synchronized (dirtyEntryIdSet) {
+            dirtyEntryIdSet.add(entry.getId());
+        }
+        super.afterConsistencyModification(entry);
     }
 
     @Override
@@ -205,6 +388,41 @@ public class FileSynchronizedRegistryImpl<KEY, ENTRY extends Identifiable<KEY>,
         saveRegistry();
     }
 
+    /**
+     * Marks the entry related to the given id as synchronized with its database file.
+     *
+     * @param id the id of the entry.
+     */
+    private void markClean(final KEY id) {
+        synchronized (dirtyEntryIdSet) {
+            dirtyEntryIdSet.remove(id);
+            writeBackEntryIdSet.remove(id);
+        }
+    }
+
+    /**
+     * Checks if all entries are written to their database files.
+     * Entries whose delegated write back has finished in the meantime are released, while entries whose write back has failed are marked as dirty again,
+     * so the write is retried during the next save.
+     *
+     * @return true if all entries are written.
+     */
+    private boolean isSynchronizedWithDatabase() {
+        synchronized (dirtyEntryIdSet) {
+            for (final Iterator<KEY> iterator = writeBackEntryIdSet.iterator(); iterator.hasNext(); ) {
+                final KEY id = iterator.next();
+                final FileSynchronizer<ENTRY> fileSynchronizer = fileSynchronizerMap.get(id);
+                if (fileSynchronizer == null || !fileSynchronizer.isWriteBackPending()) {
+                    iterator.remove();
+                } else if (fileSynchronizer.isWriteFailed()) {
+                    iterator.remove();
+                    dirtyEntryIdSet.add(id);
+                }
+            }
+            return dirtyEntryIdSet.isEmpty() && writeBackEntryIdSet.isEmpty();
+        }
+    }
+
     @Override
     public void loadRegistry() throws CouldNotPerformException {
         assert databaseDirectory != null;
@@ -260,20 +478,51 @@ public class FileSynchronizedRegistryImpl<KEY, ENTRY extends Identifiable<KEY>,
         }
 
         for (final File file : listFiles) {
+            // check if entry is writeable otherwise mark db as readonly.
+            if (!file.canWrite()) {
+                readOnlyFlag = true;
+            }
+        }
+
+        // init file synchronizers
+        final List<FileSynchronizer<ENTRY>> fileSynchronizerList = new ArrayList<>();
+        final SnapshotRestoration snapshotRestoration = restoreSnapshot(listFiles, fileSynchronizerList);
+        if (snapshotRestoration == SnapshotRestoration.NONE) {
+            exceptionStack = parseDatabaseFiles(listFiles, fileSynchronizerList, exceptionStack);
+        }
+
+        final List<ENTRY> entryList = new ArrayList<>();
+        final Map<KEY, FileSynchronizer<ENTRY>> loadedFileSynchronizerMap = new HashMap<>();
+        for (final FileSynchronizer<ENTRY> fileSynchronizer : fileSynchronizerList) {
             try {
-                // check if entry is writeable otherwise mark db as readonly.
-                if (!file.canWrite()) {
-                    readOnlyFlag = true;
+                final ENTRY entry = fileSynchronizer.getData();
+                if (loadedFileSynchronizerMap.containsKey(entry.getId())) {
+                    throw new InvalidStateException("Entry[" + entry.getId() + "] of File[" + fileSynchronizer.getFile().getName() + "] is already provided by File[" + loadedFileSynchronizerMap.get(entry.getId()).getFile().getName() + "]!");
                 }
+                loadedFileSynchronizerMap.put(entry.getId(), fileSynchronizer);
+                entryList.add(entry);
+            } catch (CouldNotPerformException ex) {
+                exceptionStack = MultiException.push(this, ex, exceptionStack);
+            }
+        }
 
-                // init file synchronizer
-                FileSynchronizer<ENTRY> fileSynchronizer = new FileSynchronizer<>(file, fileProcessor);
-                ENTRY entry = fileSynchronizer.getData();
-                fileSynchronizerMap.put(entry.getId(), fileSynchronizer);
-                super.load(entry);
+        // apply all entries at once
+        lock();
+        try {
+            try {
+                super.loadAll(entryList);
             } catch (CouldNotPerformException ex) {
                 exceptionStack = MultiException.push(this, ex, exceptionStack);
             }
+
+            // only entries accepted by the registry are synchronized with their files.
+            for (final Entry<KEY, FileSynchronizer<ENTRY>> entry : loadedFileSynchronizerMap.entrySet()) {
+                if (contains(entry.getKey())) {
+                    fileSynchronizerMap.put(entry.getKey(), entry.getValue());
+                }
+            }
+        } finally {
+            unlock();
         }
 
         if (!isEmpty() || MultiException.size(exceptionStack) > 0) {
@@ -282,11 +531,336 @@ public class FileSynchronizedRegistryImpl<KEY, ENTRY extends Identifiable<KEY>,
 
         MultiException.checkAndThrow(() -> "Could not load all registry entries!", exceptionStack);
 
+        // the snapshot was only written for validated entries so the initial consistency check can be skipped if it was validated with the current state.
+        if (snapshotRestoration == SnapshotRestoration.VALIDATED) {
+            restoreValidatedState();
+        }
+
         notifyObservers();
 
         if (isReadOnly()) {
             logger.info("=== " + getName() + " is started in read only mode! ======");
         }
+
+        if (JPService.getValue(JPRegistryFileWatcher.class, false)) {
+            activateDatabaseWatcher();
+        }
+    }
+
+    /**
+     * Starts to watch the database directory for external modifications, e.g. caused by a git pull or a manual edit.
+     * Modified files are collected until no further modification is detected for {@link #DATABASE_WATCHER_DEBOUNCE_DELAY} milliseconds,
+     * but at most for {@link #DATABASE_WATCHER_MAX_LATENCY} milliseconds.
+     * Afterwards only the affected entries are reloaded within one transaction. Files written by this registry itself are ignored.
+     * In case the consistency checks reject the modifications, the registry keeps its state.
+     *
+     * @throws CouldNotPerformException is thrown if the database directory can not be watched.
+     */
+    public synchronized void activateDatabaseWatcher() throws CouldNotPerformException {
+        if (databaseWatcher != null) {
+            return;
+        }
+        final DirectoryWatcher watcher = new DirectoryWatcher(databaseDirectory, fileProvider.getFileFilter(), DATABASE_WATCHER_DEBOUNCE_DELAY, DATABASE_WATCHER_MAX_LATENCY);
+        watcher.addObserver((source, changedFiles) -> reloadDatabaseFiles(changedFiles));
+        watcher.activate();
+        databaseWatcher = watcher;
+    }
+
+    /**
+     * Reloads all entries affected by the given externally modified database files.
+     * The modified files are loaded by new file synchronizers, which are only assigned to their entries once the registry accepted the modifications.
+     * Therefore, rejected modifications neither affect the registry nor the data of its file synchronizers.
+     *
+     * @param changedFiles the created, modified or deleted files. If the database directory itself is included, all files are checked.
+     */
+    private void reloadDatabaseFiles(final Set<File> changedFiles) {
+        if (isShutdownInitiated()) {
+            return;
+        }
+
+        final Map<KEY, ENTRY> modifiedEntryMap = new HashMap<>();
+        final Set<KEY> removedEntryIdSet = new HashSet<>();
+        final Map<KEY, FileSynchronizer<ENTRY>> loadedFileSynchronizerMap = new HashMap<>();
+        ExceptionStack exceptionStack = null;
+        try {
+            // the files are loaded while holding the registry lock, the entries are reloaded afterwards to notify all observers after the transaction.
+            lock();
+            try {
+                final Map<File, FileSynchronizer<ENTRY>> knownFileMap = new HashMap<>();
+                for (final FileSynchronizer<ENTRY> fileSynchronizer : fileSynchronizerMap.values()) {
+                    knownFileMap.put(fileSynchronizer.getFile().getAbsoluteFile(), fileSynchronizer);
+                }
+
+                final Set<File> fileSet = new HashSet<>();
+                for (final File file : changedFiles) {
+                    if (file.equals(databaseDirectory)) {
+                        // modifications may have been missed, so check all files.
+                        fileSet.addAll(knownFileMap.keySet());
+                        final File[] listFiles = databaseDirectory.listFiles(fileProvider.getFileFilter());
+                        if (listFiles != null) {
+                            for (final File listedFile : listFiles) {
+                                fileSet.add(listedFile.getAbsoluteFile());
+                            }
+                        }
+                    } else {
+                        fileSet.add(file.getAbsoluteFile());
+                    }
+                }
+
+                // handle known files first, so entries moved into another file are released before the new file is processed.
+                for (final File file : fileSet) {
+                    final FileSynchronizer<ENTRY> fileSynchronizer = knownFileMap.get(file);
+
+                    // skip unknown files as well as files written by this registry.
+                    if (fileSynchronizer == null || !fileSynchronizer.isExternallyModified()) {
+                        continue;
+                    }
+
+                    try {
+                        final KEY previousEntryId = fileSynchronizer.getData().getId();
+                        if (!file.exists()) {
+                            removedEntryIdSet.add(previousEntryId);
+                            continue;
+                        }
+
+                        final FileSynchronizer<ENTRY> loadedFileSynchronizer = new FileSynchronizer<>(file, fileProcessor);
+                        final ENTRY entry = loadedFileSynchronizer.getData();
+                        if (!entry.getId().equals(previousEntryId)) {
+                            removedEntryIdSet.add(previousEntryId);
+                        }
+                        assignLoadedFileSynchronizer(entry, loadedFileSynchronizer, loadedFileSynchronizerMap, removedEntryIdSet);
+                        modifiedEntryMap.put(entry.getId(), entry);
+                    } catch (CouldNotPerformException ex) {
+                        exceptionStack = MultiException.push(this, new CouldNotPerformException("Could not reload " + file.getName() + "!", ex), exceptionStack);
+                    }
+                }
+
+                // handle new files
+                for (final File file : fileSet) {
+                    if (knownFileMap.containsKey(file) || !file.exists()) {
+                        continue;
+                    }
+
+                    try {
+                        final FileSynchronizer<ENTRY> loadedFileSynchronizer = new FileSynchronizer<>(file, fileProcessor);
+                        final ENTRY entry = loadedFileSynchronizer.getData();
+
+                        // skip files of entries registered by this registry in the meantime.
+                        if (!removedEntryIdSet.contains(entry.getId()) && contains(entry.getId()) && get(entry.getId()).equals(entry)) {
+                            continue;
+                        }
+
+                        assignLoadedFileSynchronizer(entry, loadedFileSynchronizer, loadedFileSynchronizerMap, removedEntryIdSet);
+                        modifiedEntryMap.put(entry.getId(), entry);
+                    } catch (CouldNotPerformException ex) {
+                        exceptionStack = MultiException.push(this, new CouldNotPerformException("Could not load " + file.getName() + "!", ex), exceptionStack);
+                    }
+                }
+
+            } finally {
+                unlock();
+            }
+
+            if (!modifiedEntryMap.isEmpty() || !removedEntryIdSet.isEmpty()) {
+                logger.info("Reload " + modifiedEntryMap.size() + " modified and " + removedEntryIdSet.size() + " removed entries of " + this + " because database files were changed externally.");
+                reloadedFileSynchronizerMap = loadedFileSynchronizerMap;
+                try {
+                    reloadEntries(modifiedEntryMap.values(), removedEntryIdSet);
+                } catch (CouldNotPerformException ex) {
+                    // in case the modifications are rejected the registry keeps its state, so the files stay assigned to the entries as before.
+                    exceptionStack = MultiException.push(this, ex, exceptionStack);
+                } finally {
+                    reloadedFileSynchronizerMap = null;
+                }
+            }
+
+            MultiException.checkAndThrow(() -> "Could not reload all externally modified database files!", exceptionStack);
+        } catch (CouldNotPerformException ex) {
+            ExceptionPrinter.printHistory(new CouldNotPerformException("Could not apply external modifications of " + databaseDirectory + " on " + this + "!", ex), logger);
+        }
+    }
+
+    /**
+     * Assigns the file synchronizers of the reloaded database files to their entries.
+     * The assignment is performed within the reload transaction once the modifications are accepted by the sandbox,
+     * so consistency modifications of the reloaded entries are saved into their new files.
+     *
+     * @param modifiedEntries {@inheritDoc}
+     * @param removedEntryIds {@inheritDoc}
+     */
+    @Override
+    protected void beforeReloadedEntriesApplied(final Collection<ENTRY> modifiedEntries, final Collection<KEY> removedEntryIds) {
+        if (reloadedFileSynchronizerMap == null) {
+            return;
+        }
+        for (final KEY entryId : removedEntryIds) {
+            fileSynchronizerMap.remove(entryId);
+            markClean(entryId);
+        }
+        fileSynchronizerMap.putAll(reloadedFileSynchronizerMap);
+    }
+
+    /**
+     * Registers the given loaded file synchronizer as provider of the given entry, if the entry is not provided by any other file.
+     *
+     * @param entry                     the entry loaded by the file synchronizer.
+     * @param fileSynchronizer          the loaded file synchronizer.
+     * @param loadedFileSynchronizerMap the file synchronizers loaded so far.
+     * @param removedEntryIdSet         the ids of all entries whose files are deleted or provide another entry now.
+     *
+     * @throws InvalidStateException is thrown if the entry is already provided by another file.
+     */
+    private void assignLoadedFileSynchronizer(final ENTRY entry, final FileSynchronizer<ENTRY> fileSynchronizer, final Map<KEY, FileSynchronizer<ENTRY>> loadedFileSynchronizerMap, final Set<KEY> removedEntryIdSet) throws InvalidStateException {
+        FileSynchronizer<ENTRY> providingFileSynchronizer = loadedFileSynchronizerMap.get(entry.getId());
+        if (providingFileSynchronizer == null && !removedEntryIdSet.contains(entry.getId())) {
+            providingFileSynchronizer = fileSynchronizerMap.get(entry.getId());
+        }
+        if (providingFileSynchronizer != null && !providingFileSynchronizer.getFile().getAbsoluteFile().equals(fileSynchronizer.getFile().getAbsoluteFile())) {
+            throw new InvalidStateException("Entry[" + entry.getId() + "] of File[" + fileSynchronizer.getFile().getName() + "] is already provided by File[" + providingFileSynchronizer.getFile().getName() + "]!");
+        }
+        removedEntryIdSet.remove(entry.getId());
+        loadedFileSynchronizerMap.put(entry.getId(), fileSynchronizer);
+    }
+
+    /**
+     * Method tries to restore the entries of all given database files out of the snapshot written during the last clean shutdown.
+     * The snapshot is consumed by this method, so it can only be restored once.
+     * The restored entries are only considered as validated if the snapshot was written with the same consistency handlers and the same content of all depending registries.
+     *
+     * @param files                the files to restore.
+     * @param fileSynchronizerList the list where the file synchronizers of all restored entries are added.
+     *
+     * @return the kind of restoration. In case nothing was restored, the given list remains untouched.
+     */
+    private SnapshotRestoration restoreSnapshot(final File[] files, final List<FileSynchronizer<ENTRY>> fileSynchronizerList) {
+        if (databaseSnapshot == null || isOutdated()) {
+            return SnapshotRestoration.NONE;
+        }
+
+        try {
+            if (!JPService.getValue(JPRegistrySnapshot.class, true)) {
+                return SnapshotRestoration.NONE;
+            }
+
+            final DatabaseSnapshot.RestoredSnapshot<ENTRY> restoredSnapshot = databaseSnapshot.restore(files, getSnapshotDBVersion());
+            final List<FileSynchronizer<ENTRY>> restoredFileSynchronizerList = new ArrayList<>();
+            for (final Entry<File, ENTRY> entry : restoredSnapshot.getFileDataMap().entrySet()) {
+                restoredFileSynchronizerList.add(new FileSynchronizer<>(entry.getValue(), entry.getKey(), FileSynchronizer.InitMode.RESTORE, fileProcessor));
+            }
+            fileSynchronizerList.addAll(restoredFileSynchronizerList);
+            logger.debug("Restored " + restoredFileSynchronizerList.size() + " entries of " + this + " out of " + databaseSnapshot.getSnapshotFile() + ".");
+
+            if (!restoredSnapshot.isValidatedWith(getValidationIdentifiers())) {
+                logger.debug("Consistency handlers or dependencies of " + this + " have changed since the snapshot was written, so the restored entries need to be validated.");
+                return SnapshotRestoration.RESTORED;
+            }
+            return SnapshotRestoration.VALIDATED;
+        } catch (NotAvailableException ex) {
+            // no snapshot available so just load the database files.
+            return SnapshotRestoration.NONE;
+        } catch (CouldNotPerformException ex) {
+            ExceptionPrinter.printHistory("Skip snapshot of " + this + " and load database files instead.", ex, logger, LogLevel.DEBUG);
+            return SnapshotRestoration.NONE;
+        } finally {
+            // a snapshot is only valid until the next transaction so it is always consumed.
+            databaseSnapshot.invalidate();
+        }
+    }
+
+    /**
+     * Method writes a snapshot of all entries if they are validated and synchronized with their database files.
+     */
+    private void writeSnapshot() {
+        if (databaseSnapshot == null || databaseState == DatabaseState.UNKNOWN || isOutdated() || isReadOnly() || !JPService.getValue(JPRegistrySnapshot.class, true)) {
+            return;
+        }
+
+        if (!isSynchronizedWithDatabase()) {
+            logger.debug("Skip snapshot of " + this + " because not all entries are saved.");
+            return;
+        }
+
+        if (!isValidatedState()) {
+            logger.debug("Skip snapshot of " + this + " because not all entries are validated.");
+            return;
+        }
+
+        try {
+            final Map<File, ENTRY> fileEntryMap = new LinkedHashMap<>();
+            for (final FileSynchronizer<ENTRY> fileSynchronizer : fileSynchronizerMap.values()) {
+                // the snapshot would otherwise claim the data of an externally modified file, e.g. of a rejected modification.
+                if (fileSynchronizer.isExternallyModified()) {
+                    logger.debug("Skip snapshot of " + this + " because " + fileSynchronizer.getFile().getName() + " was modified externally.");
+                    return;
+                }
+                fileEntryMap.put(fileSynchronizer.getFile(), fileSynchronizer.getData());
+            }
+            databaseSnapshot.write(fileEntryMap, getSnapshotDBVersion(), getValidationIdentifiers());
+        } catch (CouldNotPerformException ex) {
+            ExceptionPrinter.printHistory("Could not write snapshot of " + this + "!", ex, logger, LogLevel.WARN);
+        }
+    }
+
+    private int getSnapshotDBVersion() {
+        return versionControl == null ? -1 : versionControl.getLatestSupportedDBVersion();
+    }
+
+    /**
+     * Method deserializes all given database files.
+     * Since the json decoding dominates the loading time of large databases, the files are split into partitions which are processed concurrently.
+     * The number of concurrent partitions is bounded by the available processors.
+     *
+     * @param files                the files to parse.
+     * @param fileSynchronizerList the list where the file synchronizers of all successfully parsed files are added in the order of the given files.
+     * @param exceptionStack       the stack to push all parsing errors on.
+     * @return the exception stack including all parsing errors.
+     * @throws CouldNotPerformException is thrown if the parsing was interrupted.
+     */
+    private ExceptionStack parseDatabaseFiles(final File[] files, final List<FileSynchronizer<ENTRY>> fileSynchronizerList, ExceptionStack exceptionStack) throws CouldNotPerformException {
+        final int partitionCount = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), files.length / MIN_FILES_PER_LOADING_TASK));
+        final int partitionSize = (files.length + partitionCount - 1) / partitionCount;
+
+        final List<Future<List<Object>>> partitionFutureList = new ArrayList<>();
+        for (int partitionStart = 0; partitionStart < files.length; partitionStart += partitionSize) {
+            final List<File> partition = Arrays.asList(files).subList(partitionStart, Math.min(partitionStart + partitionSize, files.length));
+
+            // results are either file synchronizers or exceptions to keep the file order.
+            partitionFutureList.add(GlobalCachedExecutorService.submit(() -> {
+                final List<Object> resultList = new ArrayList<>();
+                for (final File file : partition) {
+                    try {
+                        resultList.add(new FileSynchronizer<>(file, fileProcessor));
+                    } catch (CouldNotPerformException ex) {
+                        resultList.add(ex);
+                    }
+                }
+                return resultList;
+            }));
+        }
+
+        try {
+            for (final Future<List<Object>> partitionFuture : partitionFutureList) {
+                for (final Object result : partitionFuture.get()) {
+                    if (result instanceof CouldNotPerformException) {
+                        exceptionStack = MultiException.push(this, (CouldNotPerformException) result, exceptionStack);
+                    } else {
+                        fileSynchronizerList.add((FileSynchronizer<ENTRY>) result);
+                    }
+                }
+            }
+        } catch (InterruptedException ex) {
+            for (final Future<List<Object>> partitionFuture : partitionFutureList) {
+                partitionFuture.cancel(true);
+            }
+            Thread.currentThread().interrupt();
+            throw new CouldNotPerformException("Could not load " + this + " because thread was externally interrupted!", ex);
+        } catch (ExecutionException ex) {
+            for (final Future<List<Object>> partitionFuture : partitionFutureList) {
+                partitionFuture.cancel(true);
+            }
+            throw new CouldNotPerformException("Could not parse database files of " + this + "!", ex);
+        }
+        return exceptionStack;
     }
 
     @Override
@@ -306,11 +880,37 @@ public class FileSynchronizedRegistryImpl<KEY, ENTRY extends Identifiable<KEY>,
         logger.debug("Save " + this + " into " + databaseDirectory + "...");
         ExceptionStack exceptionStack = null;
 
-        // save all changes.
-        for (FileSynchronizer<ENTRY> fileSynchronizer : new ArrayList<>(fileSynchronizerMap.values())) {
+        // save all changes, including the entries whose write back has failed.
+        final List<KEY> dirtyEntryIdList;
+        synchronized (dirtyEntryIdSet) {
+            isSynchronizedWithDatabase();
+            dirtyEntryIdList = new ArrayList<>(dirtyEntryIdSet);
+            dirtyEntryIdSet.clear();
+        }
+
+        for (final KEY id : dirtyEntryIdList) {
+            final FileSynchronizer<ENTRY> fileSynchronizer = fileSynchronizerMap.get(id);
+
+            // entry was removed in the meantime.
+            if (fileSynchronizer == null) {
+                continue;
+            }
+
             try {
                 fileSynchronizer.save();
+
+                // a delegated write back keeps the entry unsaved until it is written.
+                if (fileSynchronizer.isWriteBackPending()) {
+                    synchronized (dirtyEntryIdSet) {
+                        writeBackEntryIdSet.add(id);
+                    }
+                }
+                filePluginPool.afterSave(fileSynchronizer.getData(), fileSynchronizer);
             } catch (CouldNotPerformException ex) {
+                // keep entry dirty so the write back is retried during the next save.
+                synchronized (dirtyEntryIdSet) {
+                    dirtyEntryIdSet.add(id);
+                }
                 exceptionStack = MultiException.push(this, ex, exceptionStack);
             }
         }
@@ -327,13 +927,15 @@ public class FileSynchronizedRegistryImpl<KEY, ENTRY extends Identifiable<KEY>,
                 generatedFileName = fileProvider.getFileName(fileSynchronizer.getData());
                 if (!fileSynchronizer.getFile().getName().equals(generatedFileName)) {
                     try {
-                        // rename file
+                        // rename file, pending writes are applied first so they do not recreate the old file.
+                        fileSynchronizer.flush();
                         newFile = new File(fileSynchronizer.getFile().getParent(), generatedFileName);
                         if (!fileSynchronizer.getFile().renameTo(newFile)) {
                             throw new CouldNotPerformException("Rename failed without explicit error code, please rename file manually after registry shutdown!");
                         }
                         newFileSynchronizer = new FileSynchronizer<>(fileSynchronizer.getData(), newFile, FileSynchronizer.InitMode.AUTO, fileProcessor);
                         fileSynchronizerMap.replace(entry.getKey(), fileSynchronizer, newFileSynchronizer);
+                        filePluginPool.afterRename(newFileSynchronizer.getData(), fileSynchronizer.getFile(), newFileSynchronizer);
                     } catch (CouldNotPerformException ex) {
                         exceptionStack = MultiException.push(this, new CouldNotPerformException("Could not apply db Entry[" + fileSynchronizer.getFile().getName() + "] renaming to Entry[" + generatedFileName + "]!", ex), exceptionStack);
                     }
@@ -383,13 +985,40 @@ public class FileSynchronizedRegistryImpl<KEY, ENTRY extends Identifiable<KEY>,
 
     @Override
     public void shutdown() {
+        synchronized (this) {
+            if (databaseWatcher != null) {
+                databaseWatcher.shutdown();
+                databaseWatcher = null;
+            }
+        }
+
+        boolean synchronizedWithDatabase = true;
         try {
             saveRegistry();
         } catch (MultiException ex) {
+            synchronizedWithDatabase = false;
             ExceptionPrinter.printHistory(new CouldNotPerformException("Final save failed!", ex), logger);
         }
 
+        // write back changes which are still queued
+        for (final FileSynchronizer<ENTRY> fileSynchronizer : new ArrayList<>(fileSynchronizerMap.values())) {
+            try {
+                fileSynchronizer.flush();
+            } catch (CouldNotPerformException ex) {
+                synchronizedWithDatabase = false;
+                ExceptionPrinter.printHistory(new CouldNotPerformException("Final write back of " + fileSynchronizer.getFile() + " failed!", ex), logger);
+            }
+        }
+
+        if (synchronizedWithDatabase) {
+            writeSnapshot();
+        }
+
         fileSynchronizerMap.clear();
+        synchronized (dirtyEntryIdSet) {
+            dirtyEntryIdSet.clear();
+            writeBackEntryIdSet.clear();
+        }
         super.shutdown();
     }
 
@@ -420,4 +1049,22 @@ public class FileSynchronizedRegistryImpl<KEY, ENTRY extends Identifiable<KEY>,
     public boolean isLocalRegistry() {
         return localRegistryFlag;
     }
+
+    /**
+     * The possible results of a snapshot restoration.
+     */
+    private enum SnapshotRestoration {
+        /**
+         * Nothing was restored, so the database files need to be parsed.
+         */
+        NONE,
+        /**
+         * All entries were restored but need to be validated.
+         */
+        RESTORED,
+        /**
+         * All entries were restored and are still validated.
+         */
+        VALIDATED
+    }
 }
@@ -21,7 +21,9 @@ package org.openbase.jul.storage.registry;
  * <http://www.gnu.org/licenses/lgpl-3.0.html>.
  * #L%
  */
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -71,6 +73,16 @@ public class MockRegistrySandbox<KEY, ENTRY extends Identifiable<KEY>, MAP exten
         // Not needed for mock sandbox!
     }
 
+    @Override
+    public void sync(MAP map, Collection<KEY> changedEntryIds) {
+        // Not needed for mock sandbox!
+    }
+
+    @Override
+    public void registerIndex(String indexName, RegistryIndex.KeyExtractor<ENTRY> keyExtractor) {
+        // Not needed for mock sandbox!
+    }
+
     @Override
     public void registerConsistencyHandler(ConsistencyHandler<KEY, ENTRY, MAP, R> consistencyHandler) throws CouldNotPerformException {
         // Not needed for mock sandbox!
@@ -81,6 +93,16 @@ public class MockRegistrySandbox<KEY, ENTRY extends Identifiable<KEY>, MAP exten
         // Not needed for mock sandbox!
     }
 
+    @Override
+    public List<ENTRY> registerAll(Collection<ENTRY> entries) throws MultiException {
+        return new ArrayList<>(entries);
+    }
+
+    @Override
+    public List<ENTRY> updateAll(Collection<ENTRY> entries) throws MultiException {
+        return new ArrayList<>(entries);
+    }
+
     @Override
     public ENTRY remove(ENTRY entry) throws CouldNotPerformException {
         return null;
@@ -156,6 +178,15 @@ public class MockRegistrySandbox<KEY, ENTRY extends Identifiable<KEY>, MAP exten
         return entry;
     }
 
+    @Override
+    public void reloadAll(Collection<ENTRY> modifiedEntries, Collection<KEY> removedEntryIds) {
+    }
+
+    @Override
+    public Set<KEY> getInconsistentEntryIds() {
+        return Collections.emptySet();
+    }
+
     @Override
     public boolean isConsistent() {
         return true;
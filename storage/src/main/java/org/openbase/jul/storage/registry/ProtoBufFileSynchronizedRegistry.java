@@ -26,6 +26,9 @@ import com.google.protobuf.AbstractMessage;
 import com.google.protobuf.Descriptors;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 import org.openbase.jps.core.JPService;
 import org.openbase.jps.exception.JPServiceException;
@@ -43,8 +46,11 @@ import org.openbase.jul.extension.protobuf.container.transformer.IdentifiableMes
 import org.openbase.jul.extension.protobuf.processing.ProtoBufFileProcessor;
 import org.openbase.jul.iface.Identifiable;
 import org.openbase.jul.storage.file.FileProvider;
+import org.openbase.jul.storage.file.ProtoBufSnapshotProcessor;
 import org.openbase.jul.storage.registry.jp.JPGitRegistryPlugin;
+import org.openbase.jul.storage.registry.jp.JPRegistryJournal;
 import org.openbase.jul.storage.registry.plugin.GitRegistryPlugin;
+import org.openbase.jul.storage.registry.plugin.ProtoBufJournalRegistryPlugin;
 
 /**
  * @param <KEY>
@@ -58,6 +64,7 @@ public class ProtoBufFileSynchronizedRegistry<KEY extends Comparable<KEY>, M ext
     private final ProtoBufMessageMapImpl<KEY, M, MB, SIB> protobufMessageMap;
     private final IdGenerator<KEY, M> idGenerator;
     private final Class<M> messageClass;
+    private ProtoBufJournalRegistryPlugin<KEY, M, MB> journalPlugin;
 
     public ProtoBufFileSynchronizedRegistry(final Class<M> messageClass,
                                             final BuilderSyncSetup<SIB> builderSetup,
@@ -99,12 +106,31 @@ public class ProtoBufFileSynchronizedRegistry<KEY extends Comparable<KEY>, M ext
                 ExceptionPrinter.printHistory(new CouldNotPerformException("Could not access java property!", ex), logger);
             }
 
+            if (localRegistryFlag && JPService.getValue(JPRegistryJournal.class, false)) {
+                journalPlugin = new ProtoBufJournalRegistryPlugin<>(this, messageClass);
+                registerPlugin(journalPlugin);
+            }
+
             setupSandbox(new ProtoBufFileSynchronizedRegistrySandbox<>(idGenerator, protobufMessageMap.getFieldDescriptor(), this));
+            activateSnapshotSupport(new ProtoBufSnapshotProcessor<>(new IdentifiableMessageTransformer<KEY, M, MB>(messageClass, idGenerator)));
         } catch (CouldNotPerformException ex) {
             throw new InstantiationException(this, ex);
         }
     }
 
+    /**
+     * Loads all database files and synchronizes the journal with the loaded entries in case the journal is enabled via {@link JPRegistryJournal}.
+     *
+     * @throws CouldNotPerformException is thrown if the registry could not be loaded or the journal could not be synchronized.
+     */
+    @Override
+    public void loadRegistry() throws CouldNotPerformException {
+        super.loadRegistry();
+        if (journalPlugin != null) {
+            journalPlugin.synchronizeJournal();
+        }
+    }
+
     @Override
     public void shutdown() {
         protobufMessageMap.shutdown();
@@ -164,6 +190,25 @@ public class ProtoBufFileSynchronizedRegistry<KEY extends Comparable<KEY>, M ext
         return result;
     }
 
+    @Override
+    public List<M> registerMessages(final Collection<M> messages) throws CouldNotPerformException {
+        final List<IdentifiableMessage<KEY, M, MB>> entryList = new ArrayList<>();
+        for (final M message : messages) {
+            entryList.add(new IdentifiableMessage<>(message, idGenerator));
+        }
+        return toMessageList(registerAll(entryList));
+    }
+
+    @Override
+    public void registerMessageIndex(final String indexName, final RegistryIndex.KeyExtractor<M> keyExtractor) throws CouldNotPerformException {
+        registerIndex(indexName, entry -> keyExtractor.extractKeys(entry.getMessage()));
+    }
+
+    @Override
+    public List<M> getByIndex(final String indexName, final Object key) throws CouldNotPerformException {
+        return toMessageList(getEntriesByIndex(indexName, key));
+    }
+
     @Override
     public boolean contains(final M message) {
         try {
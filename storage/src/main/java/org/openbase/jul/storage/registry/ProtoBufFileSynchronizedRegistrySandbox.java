@@ -23,6 +23,9 @@ package org.openbase.jul.storage.registry;
  */
 import com.google.protobuf.AbstractMessage;
 import com.google.protobuf.Descriptors;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import org.openbase.jul.exception.CouldNotPerformException;
 import org.openbase.jul.extension.protobuf.IdGenerator;
 import org.openbase.jul.extension.protobuf.IdentifiableMessage;
@@ -52,6 +55,25 @@ public class ProtoBufFileSynchronizedRegistrySandbox<KEY extends Comparable<KEY>
         return super.register(new IdentifiableMessage<>(message, idGenerator)).getMessage();
     }
 
+    @Override
+    public List<M> registerMessages(final Collection<M> messages) throws CouldNotPerformException {
+        final List<IdentifiableMessage<KEY, M, MB>> entryList = new ArrayList<>();
+        for (final M message : messages) {
+            entryList.add(new IdentifiableMessage<>(message, idGenerator));
+        }
+        return toMessageList(registerAll(entryList));
+    }
+
+    @Override
+    public void registerMessageIndex(final String indexName, final RegistryIndex.KeyExtractor<M> keyExtractor) throws CouldNotPerformException {
+        registerIndex(indexName, entry -> keyExtractor.extractKeys(entry.getMessage()));
+    }
+
+    @Override
+    public List<M> getByIndex(final String indexName, final Object key) throws CouldNotPerformException {
+        return toMessageList(getEntriesByIndex(indexName, key));
+    }
+
     @Override
     public boolean contains(final M message) throws CouldNotPerformException {
         return contains(new IdentifiableMessage<KEY, M, MB>(message).getId());
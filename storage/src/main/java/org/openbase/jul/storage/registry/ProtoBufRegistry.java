@@ -22,11 +22,16 @@ package org.openbase.jul.storage.registry;
  * #L%
  */
 import com.google.protobuf.AbstractMessage;
+import com.google.protobuf.Descriptors.FieldDescriptor;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import org.openbase.jul.exception.CouldNotPerformException;
+import org.openbase.jul.exception.NotAvailableException;
+import org.openbase.jul.exception.NotSupportedException;
 import org.openbase.jul.extension.protobuf.IdentifiableMessage;
 
 /**
@@ -44,6 +49,48 @@ public interface ProtoBufRegistry<KEY, M extends AbstractMessage, MB extends M.B
 
     M update(final M entry) throws CouldNotPerformException;
 
+    /**
+     * Registers all given messages within one transaction.
+     *
+     * @param messages the messages to register.
+     * @return the registered messages updated by all consistency checks this registry provides.
+     * @throws CouldNotPerformException is thrown if at least one message is invalid or the transaction could not be performed.
+     * @see Registry#registerAll(Collection)
+     */
+    List<M> registerMessages(final Collection<M> messages) throws CouldNotPerformException;
+
+    /**
+     * Updates all given messages within one transaction.
+     *
+     * @param messages the messages to update.
+     * @return the updated messages modified by all consistency checks this registry provides.
+     * @throws CouldNotPerformException is thrown if at least one message is invalid or the transaction could not be performed.
+     * @see Registry#updateAll(Collection)
+     */
+    default List<M> updateMessages(final Collection<M> messages) throws CouldNotPerformException {
+        final List<IdentifiableMessage<KEY, M, MB>> entryList = new ArrayList<>();
+        for (final M message : messages) {
+            entryList.add(new IdentifiableMessage<>(message));
+        }
+        return toMessageList(updateAll(entryList));
+    }
+
+    /**
+     * Removes all given messages within one transaction.
+     *
+     * @param messages the messages to remove.
+     * @return the removed messages.
+     * @throws CouldNotPerformException is thrown if the transaction could not be performed.
+     * @see Registry#removeAll(Collection)
+     */
+    default List<M> removeMessages(final Collection<M> messages) throws CouldNotPerformException {
+        final List<IdentifiableMessage<KEY, M, MB>> entryList = new ArrayList<>();
+        for (final M message : messages) {
+            entryList.add(new IdentifiableMessage<>(message));
+        }
+        return toMessageList(removeAll(entryList));
+    }
+
     M remove(final M entry) throws CouldNotPerformException;
 
     M getMessage(final KEY key) throws CouldNotPerformException;
@@ -57,4 +104,60 @@ public interface ProtoBufRegistry<KEY, M extends AbstractMessage, MB extends M.B
     }
 
     MB getBuilder(final KEY key) throws CouldNotPerformException;
+
+    /**
+     * Registers a secondary index of the registry messages which can be queried via {@link #getByIndex(String, Object)}.
+     * The index is maintained within each registry transaction.
+     * By default, registries do not support secondary indexes.
+     *
+     * @param indexName    the name of the index.
+     * @param keyExtractor the extractor used to resolve the index keys of each message.
+     * @throws CouldNotPerformException is thrown if the index could not be registered.
+     */
+    default void registerMessageIndex(final String indexName, final RegistryIndex.KeyExtractor<M> keyExtractor) throws CouldNotPerformException {
+        throw new NotSupportedException("secondary index", this);
+    }
+
+    /**
+     * Registers a secondary index of the registry messages based on the given field.
+     * Messages are indexed by the field value or, in case of a repeated field, by each of its values.
+     *
+     * @param indexName       the name of the index.
+     * @param fieldDescriptor the descriptor of the field to index.
+     * @throws CouldNotPerformException is thrown if the index could not be registered.
+     */
+    default void registerIndex(final String indexName, final FieldDescriptor fieldDescriptor) throws CouldNotPerformException {
+        registerMessageIndex(indexName, message -> {
+            if (fieldDescriptor.isRepeated()) {
+                return (Collection<?>) message.getField(fieldDescriptor);
+            }
+            return Collections.singletonList(message.getField(fieldDescriptor));
+        });
+    }
+
+    /**
+     * Method returns all messages which are indexed by the given key within the given index.
+     *
+     * @param indexName the name of the index.
+     * @param key       the key to lookup.
+     * @return a list of all matching messages, which is empty if no message matches.
+     * @throws CouldNotPerformException is thrown if the index is not available.
+     */
+    default List<M> getByIndex(final String indexName, final Object key) throws CouldNotPerformException {
+        throw new NotAvailableException("Index", indexName);
+    }
+
+    /**
+     * Method extracts the messages of the given entries.
+     *
+     * @param entries the entries to transform.
+     * @return a list of messages in the order of the given entries.
+     */
+    default List<M> toMessageList(final Collection<IdentifiableMessage<KEY, M, MB>> entries) {
+        final List<M> messageList = new ArrayList<>();
+        for (final IdentifiableMessage<KEY, M, MB> entry : entries) {
+            messageList.add(entry.getMessage());
+        }
+        return messageList;
+    }
 }
@@ -64,12 +64,35 @@ public interface Registry<KEY, ENTRY extends Identifiable<KEY>> extends Writable
 
     ENTRY update(final ENTRY entry) throws CouldNotPerformException;
 
+    /**
+     * Registers all given entries within one transaction, which means the registry consistency is only verified once and observers are only notified once.
+     * The transaction is atomic: In case at least one entry is invalid, none of them is registered.
+     *
+     * @param entries the new entries to register which are not yet included in the registry.
+     * @return the registered entries updated by all consistency checks this registry provides.
+     * @throws MultiException is thrown in case the transaction could not be performed. Invalid entries are reported one by one via the exception stack.
+     * @throws InvalidStateException is thrown in case the registry is shutting down.
+     */
+    List<ENTRY> registerAll(final Collection<ENTRY> entries) throws MultiException, InvalidStateException;
+
+    /**
+     * Updates all given entries within one transaction, which means the registry consistency is only verified once and observers are only notified once.
+     * The transaction is atomic: In case at least one entry is invalid, none of them is updated.
+     *
+     * @param entries the entries to update.
+     * @return the updated entries modified by all consistency checks this registry provides.
+     * @throws MultiException is thrown in case the transaction could not be performed. Invalid entries are reported one by one via the exception stack.
+     * @throws InvalidStateException is thrown in case the registry is shutting down.
+     */
+    List<ENTRY> updateAll(final Collection<ENTRY> entries) throws MultiException, InvalidStateException;
+
     ENTRY remove(final KEY key) throws CouldNotPerformException;
 
     ENTRY remove(final ENTRY entry) throws CouldNotPerformException;
 
     /**
-     * Removes the given set of entries from the registry.
+     * Removes the given set of entries from the registry within one transaction.
+     * Entries which are not registered are skipped.
      * @param entries the entries to remove.
      * @return
      * @throws MultiException is thrown in case at least one transaction was not be performed.
@@ -78,7 +101,7 @@ public interface Registry<KEY, ENTRY extends Identifiable<KEY>> extends Writable
     List<ENTRY> removeAll(Collection<ENTRY> entries) throws MultiException, InvalidStateException;
 
     /**
-     * Removes the given set of entries from the registry that are referred by their key..
+     * Removes the given set of entries from the registry that are referred by their key within one transaction.
      * @param keys the keys of the entries to remove.
      * @return
      * @throws MultiException is thrown in case at least one transaction was not be performed.
@@ -0,0 +1,98 @@
+package org.openbase.jul.storage.registry;
+
+/*
+ * #%L
+ * JUL Storage
+ * %%
+ * Copyright (C) 2015 - 2021 openbase.org
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+/**
+ * Record of a single entry modification applied by a registry transaction.
+ *
+ * @param <KEY>   the key type of the registry entries.
+ * @param <ENTRY> the entry type.
+ *
+ * @author <a href="mailto:divine@openbase.org">Divine Threepwood</a>
+ */
+public class RegistryChange<KEY, ENTRY> {
+
+    public enum Type {
+        REGISTER,
+        UPDATE,
+        REMOVE
+    }
+
+    private final long sequenceNumber;
+    private final Type type;
+    private final KEY id;
+    private final ENTRY previousEntry;
+    private final ENTRY entry;
+
+    /**
+     * Creates a new change record.
+     *
+     * @param sequenceNumber the sequence number of the transaction which applied the change.
+     * @param type           the type of the change.
+     * @param id             the id of the modified entry.
+     * @param previousEntry  the entry before the change or null if the entry was registered.
+     * @param entry          the entry after the change or null if the entry was removed.
+     */
+    public RegistryChange(final long sequenceNumber, final Type type, final KEY id, final ENTRY previousEntry, final ENTRY entry) {
+        this.sequenceNumber = sequenceNumber;
+        this.type = type;
+        this.id = id;
+        this.previousEntry = previousEntry;
+        this.entry = entry;
+    }
+
+    public long getSequenceNumber() {
+        return sequenceNumber;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public KEY getId() {
+        return id;
+    }
+
+    /**
+     * Returns the entry as it was before the change.
+     *
+     * @return the previous entry or null if the entry was registered by this change.
+     */
+    public ENTRY getPreviousEntry() {
+        return previousEntry;
+    }
+
+    /**
+     * Returns the entry as it was stored by the change.
+     *
+     * @return the new entry or null if the entry was removed by this change.
+     */
+    public ENTRY getEntry() {
+        return entry;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[" + sequenceNumber + ":" + type.name() + ":" + id + "]";
+    }
+}
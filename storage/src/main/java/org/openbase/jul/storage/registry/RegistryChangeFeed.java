@@ -0,0 +1,224 @@
+package org.openbase.jul.storage.registry;
+
+/*
+ * #%L
+ * JUL Storage
+ * %%
+ * Copyright (C) 2015 - 2021 openbase.org
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import org.openbase.jul.exception.NotAvailableException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded in-memory history of the changes applied by the transactions of a registry.
+ * <p>
+ * Changes are collected while a transaction is running and become visible once the transaction is committed.
+ * Each committed transaction which modified the registry increases the sequence number by one.
+ * Consumers can catch up with the registry by requesting all changes since the last sequence number they know.
+ * In case those changes are not buffered anymore, the consumer needs to resync with the complete registry state.
+ *
+ * @param <KEY>   the key type of the registry entries.
+ * @param <ENTRY> the entry type.
+ *
+ * @author <a href="mailto:divine@openbase.org">Divine Threepwood</a>
+ */
+public class RegistryChangeFeed<KEY, ENTRY> {
+
+    private final RegistryChange<KEY, ENTRY>[] changeBuffer;
+    private final List<RegistryChange<KEY, ENTRY>> pendingChangeList;
+    /**
+     * Latest state of each entry recorded by the running transaction.
+     */
+    private final Map<KEY, ENTRY> pendingEntryMap;
+    private int oldestChangeIndex;
+    private int changeCount;
+    private long sequenceNumber;
+    /**
+     * All changes of transactions with a higher sequence number are still buffered.
+     */
+    private long resumableSequenceNumber;
+    private boolean resetPending;
+    private boolean modificationPending;
+
+    /**
+     * Creates a new change feed.
+     *
+     * @param capacity the maximal number of buffered changes. If the capacity is 0 no changes are buffered at all.
+     */
+    @SuppressWarnings("unchecked")
+    public RegistryChangeFeed(final int capacity) {
+        this.changeBuffer = new RegistryChange[Math.max(0, capacity)];
+        this.pendingChangeList = new ArrayList<>();
+        this.pendingEntryMap = new HashMap<>();
+        this.oldestChangeIndex = 0;
+        this.changeCount = 0;
+        this.sequenceNumber = 0;
+        this.resumableSequenceNumber = 0;
+        this.resetPending = false;
+        this.modificationPending = false;
+    }
+
+    /**
+     * Records a change of the running transaction.
+     * Even if the change itself is not buffered, the running transaction is marked as modifying so its commit increases the sequence number.
+     *
+     * @param type          the type of the change.
+     * @param id            the id of the modified entry.
+     * @param previousEntry the entry before the change.
+     * @param entry         the entry after the change.
+     */
+    public synchronized void record(final RegistryChange.Type type, final KEY id, final ENTRY previousEntry, final ENTRY entry) {
+        modificationPending = true;
+        if (changeBuffer.length == 0 || resetPending) {
+            return;
+        }
+        pendingChangeList.add(new RegistryChange<>(sequenceNumber + 1, type, id, previousEntry, entry));
+        pendingEntryMap.put(id, entry);
+    }
+
+    /**
+     * Marks the running transaction as modifying without recording any change.
+     * This is required if changes are not recorded, because the sequence number still needs to be increased on commit.
+     *
+     * @see #isRecording()
+     */
+    public synchronized void markModified() {
+        modificationPending = true;
+    }
+
+    /**
+     * Returns if changes are currently recorded.
+     * This is not the case if the feed has no capacity or was reset during the running transaction.
+     *
+     * @return true if changes passed to {@link #record(RegistryChange.Type, Object, Object, Object)} are recorded.
+     */
+    public synchronized boolean isRecording() {
+        return changeBuffer.length != 0 && !resetPending;
+    }
+
+    /**
+     * Returns the latest state of the given entry recorded by the running transaction.
+     *
+     * @param id the id of the entry.
+     *
+     * @return the entry after the latest recorded change.
+     *
+     * @throws NotAvailableException is thrown if the running transaction has not recorded any change of the entry.
+     */
+    public synchronized ENTRY getPendingEntry(final KEY id) throws NotAvailableException {
+        if (pendingEntryMap.containsKey(id)) {
+            return pendingEntryMap.get(id);
+        }
+        throw new NotAvailableException("Pending change of Entry[" + id + "]");
+    }
+
+    /**
+     * Marks all changes until the running transaction as unresumable, e.g. because the registry was cleared or its internal map was replaced.
+     * Consumers which are not yet synchronized with the state of the running transaction have to resync.
+     */
+    public synchronized void reset() {
+        pendingChangeList.clear();
+        pendingEntryMap.clear();
+        resetPending = true;
+    }
+
+    /**
+     * Commits the changes of the running transaction.
+     * If no changes are buffered because the feed has no capacity, consumers of previous transactions are forced to resync.
+     *
+     * @return the sequence number of the latest committed transaction.
+     */
+    public synchronized long commit() {
+        if (!modificationPending && !resetPending) {
+            return sequenceNumber;
+        }
+
+        sequenceNumber++;
+        modificationPending = false;
+
+        if (resetPending || changeBuffer.length == 0) {
+            clearBuffer();
+            resumableSequenceNumber = sequenceNumber;
+            resetPending = false;
+            return sequenceNumber;
+        }
+
+        for (final RegistryChange<KEY, ENTRY> change : pendingChangeList) {
+            if (changeCount == changeBuffer.length) {
+                // evict the oldest change, all consumers which still miss it have to resync.
+                resumableSequenceNumber = Math.max(resumableSequenceNumber, changeBuffer[oldestChangeIndex].getSequenceNumber());
+                changeBuffer[oldestChangeIndex] = null;
+                oldestChangeIndex = (oldestChangeIndex + 1) % changeBuffer.length;
+                changeCount--;
+            }
+            changeBuffer[(oldestChangeIndex + changeCount) % changeBuffer.length] = change;
+            changeCount++;
+        }
+        pendingChangeList.clear();
+        pendingEntryMap.clear();
+        return sequenceNumber;
+    }
+
+    /**
+     * Returns the sequence number of the latest committed transaction.
+     *
+     * @return the sequence number.
+     */
+    public synchronized long getSequenceNumber() {
+        return sequenceNumber;
+    }
+
+    /**
+     * Returns all changes committed after the given sequence number in the order they were applied.
+     *
+     * @param sequenceNumber the sequence number of the latest transaction already known by the consumer.
+     *
+     * @return a list of all changes applied since the given transaction.
+     *
+     * @throws NotAvailableException is thrown if the changes are not buffered anymore and the consumer has to resync with the complete registry state.
+     */
+    public synchronized List<RegistryChange<KEY, ENTRY>> getChangesSince(final long sequenceNumber) throws NotAvailableException {
+        if (sequenceNumber < resumableSequenceNumber || sequenceNumber > this.sequenceNumber) {
+            throw new NotAvailableException("Changes since transaction " + sequenceNumber, "Resync required because only changes after transaction " + resumableSequenceNumber + " until transaction " + this.sequenceNumber + " are available.");
+        }
+
+        final List<RegistryChange<KEY, ENTRY>> changeList = new ArrayList<>();
+        for (int i = 0; i < changeCount; i++) {
+            final RegistryChange<KEY, ENTRY> change = changeBuffer[(oldestChangeIndex + i) % changeBuffer.length];
+            if (change.getSequenceNumber() > sequenceNumber) {
+                changeList.add(change);
+            }
+        }
+        return changeList;
+    }
+
+    private void clearBuffer() {
+        for (int i = 0; i < changeBuffer.length; i++) {
+            changeBuffer[i] = null;
+        }
+        oldestChangeIndex = 0;
+        changeCount = 0;
+        pendingChangeList.clear();
+        pendingEntryMap.clear();
+    }
+}
@@ -0,0 +1,84 @@
+package org.openbase.jul.storage.registry;
+
+/*
+ * #%L
+ * JUL Storage
+ * %%
+ * Copyright (C) 2015 - 2021 openbase.org
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Describes the entries added, updated and removed by a registry change.
+ *
+ * @param <KEY>   the key type of the registry entries.
+ * @param <ENTRY> the entry type.
+ *
+ * @author <a href="mailto:divine@openbase.org">Divine Threepwood</a>
+ */
+public class RegistryChangeSet<KEY, ENTRY> {
+
+    private final Map<KEY, ENTRY> addedEntryMap;
+    private final Map<KEY, ENTRY> updatedEntryMap;
+    private final Map<KEY, ENTRY> removedEntryMap;
+
+    /**
+     * Creates a new change set.
+     *
+     * @param addedEntryMap   the added entries.
+     * @param updatedEntryMap the updated entries in their new state.
+     * @param removedEntryMap the removed entries in their last known state.
+     */
+    public RegistryChangeSet(final Map<KEY, ENTRY> addedEntryMap, final Map<KEY, ENTRY> updatedEntryMap, final Map<KEY, ENTRY> removedEntryMap) {
+        this.addedEntryMap = Collections.unmodifiableMap(addedEntryMap);
+        this.updatedEntryMap = Collections.unmodifiableMap(updatedEntryMap);
+        this.removedEntryMap = Collections.unmodifiableMap(removedEntryMap);
+    }
+
+    public Map<KEY, ENTRY> getAddedEntries() {
+        return addedEntryMap;
+    }
+
+    public Map<KEY, ENTRY> getUpdatedEntries() {
+        return updatedEntryMap;
+    }
+
+    public Map<KEY, ENTRY> getRemovedEntries() {
+        return removedEntryMap;
+    }
+
+    /**
+     * Method returns the number of all changed entries.
+     *
+     * @return the number of added, updated and removed entries.
+     */
+    public int size() {
+        return addedEntryMap.size() + updatedEntryMap.size() + removedEntryMap.size();
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[added:" + addedEntryMap.size() + ", updated:" + updatedEntryMap.size() + ", removed:" + removedEntryMap.size() + "]";
+    }
+}
@@ -0,0 +1,146 @@
+package org.openbase.jul.storage.registry;
+
+/*
+ * #%L
+ * JUL Storage
+ * %%
+ * Copyright (C) 2015 - 2021 openbase.org
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import org.openbase.jul.exception.CouldNotPerformException;
+import org.openbase.jul.iface.Identifiable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Secondary index of a registry which maps index keys extracted from the registry entries to the ids of these entries.
+ * <p>
+ * The index is maintained by the registry within each transaction and is not thread safe on its own,
+ * so all access has to be guarded by the registry lock.
+ *
+ * @param <KEY>   the registry key type.
+ * @param <ENTRY> the registry entry type.
+ *
+ * @author <a href="mailto:divine@openbase.org">Divine Threepwood</a>
+ */
+public class RegistryIndex<KEY, ENTRY extends Identifiable<KEY>> {
+
+    /**
+     * Extractor to resolve the index keys of an entry.
+     *
+     * @param <E> the entry type.
+     */
+    @FunctionalInterface
+    public interface KeyExtractor<E> {
+
+        /**
+         * Method resolves all keys the given entry should be indexed by.
+         *
+         * @param entry the entry to resolve the keys for.
+         * @return a collection of keys, an empty collection if the entry should not be indexed at all.
+         * @throws CouldNotPerformException is thrown if the keys could not be resolved.
+         */
+        Collection<?> extractKeys(final E entry) throws CouldNotPerformException;
+    }
+
+    private final String name;
+    private final KeyExtractor<ENTRY> keyExtractor;
+    private final Map<Object, Set<KEY>> indexKeyEntryIdMap;
+    private final Map<KEY, Collection<?>> entryIdIndexKeyMap;
+
+    public RegistryIndex(final String name, final KeyExtractor<ENTRY> keyExtractor) {
+        this.name = name;
+        this.keyExtractor = keyExtractor;
+        this.indexKeyEntryIdMap = new HashMap<>();
+        this.entryIdIndexKeyMap = new HashMap<>();
+    }
+
+    /**
+     * Adds the given entry to the index or updates it if it was already indexed.
+     *
+     * @param entry the entry to index.
+     * @throws CouldNotPerformException is thrown if the keys of the entry could not be resolved. In this case the entry is not part of the index anymore.
+     */
+    public void add(final ENTRY entry) throws CouldNotPerformException {
+        final KEY id = entry.getId();
+        remove(id);
+        final Collection<?> keys = keyExtractor.extractKeys(entry);
+        if (keys == null || keys.isEmpty()) {
+            return;
+        }
+        for (final Object key : keys) {
+            indexKeyEntryIdMap.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(id);
+        }
+        entryIdIndexKeyMap.put(id, keys);
+    }
+
+    /**
+     * Removes the entry with the given id from the index.
+     *
+     * @param id the id of the entry to remove.
+     */
+    public void remove(final KEY id) {
+        final Collection<?> keys = entryIdIndexKeyMap.remove(id);
+        if (keys == null) {
+            return;
+        }
+        for (final Object key : keys) {
+            final Set<KEY> entryIdSet = indexKeyEntryIdMap.get(key);
+            if (entryIdSet == null) {
+                continue;
+            }
+            entryIdSet.remove(id);
+            if (entryIdSet.isEmpty()) {
+                indexKeyEntryIdMap.remove(key);
+            }
+        }
+    }
+
+    public void clear() {
+        indexKeyEntryIdMap.clear();
+        entryIdIndexKeyMap.clear();
+    }
+
+    /**
+     * Method returns the ids of all entries indexed by the given key.
+     *
+     * @param key the index key.
+     * @return an unmodifiable set of entry ids which is empty if no entry is indexed by the given key.
+     */
+    public Set<KEY> get(final Object key) {
+        final Set<KEY> entryIdSet = indexKeyEntryIdMap.get(key);
+        if (entryIdSet == null) {
+            return Collections.emptySet();
+        }
+        return Collections.unmodifiableSet(entryIdSet);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[" + name + "]";
+    }
+}
@@ -0,0 +1,92 @@
+package org.openbase.jul.storage.registry;
+
+/*
+ * #%L
+ * JUL Storage
+ * %%
+ * Copyright (C) 2015 - 2021 openbase.org
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects statistics about the lock acquisitions of a registry transaction including the registries it depends on.
+ *
+ * @author <a href="mailto:divine@openbase.org">Divine Threepwood</a>
+ */
+public class RegistryLockMetrics {
+
+    private final LongAdder lockCount = new LongAdder();
+    private final LongAdder retryCount = new LongAdder();
+    private final LongAdder totalWaitTime = new LongAdder();
+    private final AtomicLong maxWaitTime = new AtomicLong();
+
+    /**
+     * Records a lock acquisition.
+     *
+     * @param waitTime   the time in nanoseconds it took to acquire all locks.
+     * @param retryCount the number of attempts which had to be repeated.
+     */
+    public void record(final long waitTime, final int retryCount) {
+        this.lockCount.increment();
+        this.retryCount.add(retryCount);
+        this.totalWaitTime.add(waitTime);
+        this.maxWaitTime.accumulateAndGet(waitTime, Math::max);
+    }
+
+    /**
+     * Returns the number of recorded lock acquisitions.
+     *
+     * @return the lock count.
+     */
+    public long getLockCount() {
+        return lockCount.sum();
+    }
+
+    /**
+     * Returns the number of lock attempts which had to be repeated because not all locks could be acquired in time.
+     *
+     * @return the retry count.
+     */
+    public long getRetryCount() {
+        return retryCount.sum();
+    }
+
+    public long getTotalWaitTime(final TimeUnit timeUnit) {
+        return timeUnit.convert(totalWaitTime.sum(), TimeUnit.NANOSECONDS);
+    }
+
+    public long getMaxWaitTime(final TimeUnit timeUnit) {
+        return timeUnit.convert(maxWaitTime.get(), TimeUnit.NANOSECONDS);
+    }
+
+    public long getAverageWaitTime(final TimeUnit timeUnit) {
+        final long count = lockCount.sum();
+        if (count == 0) {
+            return 0;
+        }
+        return timeUnit.convert(totalWaitTime.sum() / count, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[locks:" + getLockCount() + ", retries:" + getRetryCount() + ", averageWait:" + getAverageWaitTime(TimeUnit.MILLISECONDS) + "ms, maxWait:" + getMaxWaitTime(TimeUnit.MILLISECONDS) + "ms]";
+    }
+}
@@ -22,7 +22,9 @@ package org.openbase.jul.storage.registry;
  * #L%
  */
 
+import java.util.Collection;
 import java.util.Map;
+import java.util.Set;
 
 import org.openbase.jul.exception.CouldNotPerformException;
 import org.openbase.jul.iface.Identifiable;
@@ -38,6 +40,24 @@ public interface RegistrySandbox<KEY, ENTRY extends Identifiable<KEY>, MAP exten
 
     void sync(final MAP map);
 
+    /**
+     * Method synchronizes the sandbox with the given map by only updating the given entries as well as all entries modified within the sandbox since the last synchronization.
+     * Implementations can fall back to a full synchronization in case the sandbox state can not be restored incrementally.
+     *
+     * @param map the entry map of the origin registry.
+     * @param changedEntryIds the ids of all entries changed within the origin registry since the last synchronization.
+     */
+    void sync(final MAP map, final Collection<KEY> changedEntryIds);
+
+    /**
+     * Registers a secondary index which is maintained within the sandbox as well, so consistency handlers can make use of it.
+     *
+     * @param indexName    the name of the index.
+     * @param keyExtractor the extractor used to resolve the keys of each entry.
+     * @throws CouldNotPerformException is thrown if the index could not be registered.
+     */
+    void registerIndex(final String indexName, final RegistryIndex.KeyExtractor<ENTRY> keyExtractor) throws CouldNotPerformException;
+
     void registerConsistencyHandler(final ConsistencyHandler<KEY, ENTRY, MAP, REGISTRY> consistencyHandler) throws CouldNotPerformException;
 
     void removeConsistencyHandler(final ConsistencyHandler<KEY, ENTRY, MAP, REGISTRY> consistencyHandler) throws CouldNotPerformException;
@@ -46,4 +66,23 @@ public interface RegistrySandbox<KEY, ENTRY extends Identifiable<KEY>, MAP exten
 
     ENTRY load(final ENTRY entry) throws CouldNotPerformException;
 
+    /**
+     * Applies the given modifications within one transaction followed by one consistency check.
+     * The removals are applied before the given entries are registered or updated.
+     *
+     * @param modifiedEntries the entries to register or replace.
+     * @param removedEntryIds the ids of the entries to remove.
+     *
+     * @throws CouldNotPerformException is thrown if the modifications are invalid.
+     */
+    void reloadAll(final Collection<ENTRY> modifiedEntries, final Collection<KEY> removedEntryIds) throws CouldNotPerformException;
+
+    /**
+     * Returns the ids of all entries which are reported as invalid by the latest consistency check of the sandbox.
+     * This allows to blame the offending entries of a rejected transaction.
+     *
+     * @return a set of entry ids.
+     */
+    Set<KEY> getInconsistentEntryIds();
+
 }
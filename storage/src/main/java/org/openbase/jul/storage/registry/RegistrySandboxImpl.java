@@ -21,9 +21,17 @@ package org.openbase.jul.storage.registry;
  * <http://www.gnu.org/licenses/lgpl-3.0.html>.
  * #L%
  */
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.openbase.jul.exception.CouldNotPerformException;
 import org.openbase.jul.exception.FatalImplementationErrorException;
+import org.openbase.jul.exception.InvalidStateException;
+import org.openbase.jul.exception.MultiException;
 import org.openbase.jul.exception.printer.ExceptionPrinter;
 import org.openbase.jul.iface.Identifiable;
 import org.openbase.jul.pattern.Observer;
@@ -76,6 +84,33 @@ public class RegistrySandboxImpl<KEY, ENTRY extends Identifiable<KEY>, MAP exten
         return super.register(cloner.deepCloneEntry(entry));
     }
 
+    @Override
+    public List<ENTRY> registerAll(final Collection<ENTRY> entries) throws MultiException, InvalidStateException {
+        return super.registerAll(deepCloneEntries(entries));
+    }
+
+    @Override
+    public List<ENTRY> updateAll(final Collection<ENTRY> entries) throws MultiException, InvalidStateException {
+        return super.updateAll(deepCloneEntries(entries));
+    }
+
+    @Override
+    public void reloadAll(final Collection<ENTRY> modifiedEntries, final Collection<KEY> removedEntryIds) throws CouldNotPerformException {
+        reloadEntries(deepCloneEntries(modifiedEntries), removedEntryIds);
+    }
+
+    private List<ENTRY> deepCloneEntries(final Collection<ENTRY> entries) throws MultiException {
+        final List<ENTRY> entryList = new ArrayList<>();
+        try {
+            for (final ENTRY entry : entries) {
+                entryList.add(cloner.deepCloneEntry(entry));
+            }
+        } catch (CouldNotPerformException ex) {
+            throw new MultiException("Could not clone entries!", ex);
+        }
+        return entryList;
+    }
+
     @Override
     public void sync(MAP map) {
         try {
@@ -86,6 +121,49 @@ public class RegistrySandboxImpl<KEY, ENTRY extends Identifiable<KEY>, MAP exten
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Only the given entries and the entries modified within this sandbox since the last synchronization are cloned out of the given map.
+     * A full synchronization is performed if most of the entries are affected anyway or if both maps still differ in size afterwards.
+     *
+     * @param map             {@inheritDoc}
+     * @param changedEntryIds {@inheritDoc}
+     */
+    @Override
+    public void sync(final MAP map, final Collection<KEY> changedEntryIds) {
+        try {
+            final Set<KEY> entryIdsToSync = new HashSet<>(changedEntryIds);
+            entryIdsToSync.addAll(getUnsyncedEntryIds());
+
+            if (entryIdsToSync.size() > map.size() / 2) {
+                sync(map);
+                return;
+            }
+
+            final Map<KEY, ENTRY> updatedEntryMap = new HashMap<>();
+            final Set<KEY> removedEntryIds = new HashSet<>();
+            for (final KEY entryId : entryIdsToSync) {
+                if (map.containsKey(entryId)) {
+                    updatedEntryMap.put(entryId, cloner.deepCloneEntry(map.get(entryId)));
+                } else {
+                    removedEntryIds.add(entryId);
+                }
+            }
+            syncInternalEntries(updatedEntryMap, removedEntryIds);
+
+            // fallback if any modification was not tracked.
+            if (size() != map.size()) {
+                logger.debug("Incremental sync of " + this + " incomplete, perform full sync.");
+                sync(map);
+                return;
+            }
+            consistent = true;
+        } catch (Exception ex) {
+            ExceptionPrinter.printHistory(new FatalImplementationErrorException("Sandbox sync failed!", this, ex), logger);
+        }
+    }
+
     @Override
     public void addObserver(Observer<DataProvider<Map<KEY, ENTRY>>, Map<KEY, ENTRY>> observer) {
         logger.warn("Observer registration on sandbox instance skiped!");
@@ -94,7 +172,7 @@ public class RegistrySandboxImpl<KEY, ENTRY extends Identifiable<KEY>, MAP exten
     @Override
     protected void finishTransaction() throws CouldNotPerformException {
         try {
-            checkConsistency();
+            checkConsistency(false);
         } catch (CouldNotPerformException ex) {
             throw new CouldNotPerformException("Given transaction is invalid because " + this + " consistency check failed!", ex);
         }
@@ -24,13 +24,19 @@ package org.openbase.jul.storage.registry;
 
 import com.google.protobuf.AbstractMessage;
 import org.openbase.jul.exception.CouldNotPerformException;
+import org.openbase.jul.exception.InvalidStateException;
+import org.openbase.jul.exception.MultiException;
 import org.openbase.jul.extension.protobuf.IdentifiableMessage;
 import org.openbase.jul.iface.Configurable;
 import org.openbase.jul.pattern.Factory;
 import org.openbase.jul.pattern.Filter;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 
 import static org.openbase.jul.iface.Identifiable.TYPE_FIELD_ID;
 
@@ -105,6 +111,122 @@ public class RegistrySynchronizer<KEY, ENTRY extends Configurable<KEY, CONFIG_M>
         return localRegistry.register(factory.newInstance(config));
     }
 
+    /**
+     * Method should return true if all entries of a synchronization can be registered, updated and removed within one transaction of the local registry.
+     * Since the batch transactions bypass {@link #register(AbstractMessage)}, {@link #update(AbstractMessage)} and {@link #remove(AbstractMessage)},
+     * subclasses customizing those methods should not enable this mode. Therefore, this default implementation returns false.
+     *
+     * @return true if batch transactions should be used.
+     */
+    protected boolean isBatchTransactionSupported() {
+        return false;
+    }
+
+    @Override
+    protected void registerAll(final List<IdentifiableMessage<KEY, CONFIG_M, CONFIG_MB>> identifiableMessages) throws MultiException, InterruptedException {
+        if (!isBatchTransactionSupported()) {
+            super.registerAll(identifiableMessages);
+            return;
+        }
+
+        // instantiate all entries first which is done in parallel if supported.
+        final Map<IdentifiableMessage<KEY, CONFIG_M, CONFIG_MB>, ENTRY> entryMap = Collections.synchronizedMap(new IdentityHashMap<>());
+        MultiException.ExceptionStack exceptionStack = null;
+        try {
+            processEntries(identifiableMessages, identifiableMessage -> entryMap.put(identifiableMessage, factory.newInstance(identifiableMessage.getMessage())));
+        } catch (MultiException ex) {
+            exceptionStack = new MultiException.ExceptionStack(ex.getExceptionStack());
+        }
+
+        try {
+            localRegistry.registerAll(new ArrayList<>(entryMap.values()));
+        } catch (MultiException ex) {
+            // the transaction is rejected as a whole so register entries one by one to skip only the invalid ones.
+            for (final Entry<IdentifiableMessage<KEY, CONFIG_M, CONFIG_MB>, ENTRY> entry : entryMap.entrySet()) {
+                try {
+                    localRegistry.register(entry.getValue());
+                } catch (CouldNotPerformException exx) {
+                    exceptionStack = MultiException.push(entry.getKey(), exx, exceptionStack);
+                }
+            }
+        } catch (InvalidStateException ex) {
+            throw new MultiException("Could not register entries!", ex);
+        }
+        MultiException.checkAndThrow(() -> "Could not register all entries!", exceptionStack);
+    }
+
+    @Override
+    protected void updateAll(final List<IdentifiableMessage<KEY, CONFIG_M, CONFIG_MB>> identifiableMessages) throws MultiException, InterruptedException {
+        if (!isBatchTransactionSupported()) {
+            super.updateAll(identifiableMessages);
+            return;
+        }
+
+        // apply all config updates first which is done in parallel if supported.
+        final Map<IdentifiableMessage<KEY, CONFIG_M, CONFIG_MB>, ENTRY> entryMap = Collections.synchronizedMap(new IdentityHashMap<>());
+        MultiException.ExceptionStack exceptionStack = null;
+        try {
+            processEntries(identifiableMessages, identifiableMessage -> {
+                final ENTRY entry = localRegistry.get(remoteRegistry.getId(identifiableMessage.getMessage()));
+                entry.applyConfigUpdate(identifiableMessage.getMessage());
+                entryMap.put(identifiableMessage, entry);
+            });
+        } catch (MultiException ex) {
+            exceptionStack = new MultiException.ExceptionStack(ex.getExceptionStack());
+        }
+
+        // entries are already updated but a local registry update is needed to trigger depending observers of the local registry.
+        try {
+            localRegistry.updateAll(new ArrayList<>(entryMap.values()));
+        } catch (MultiException ex) {
+            // the transaction is rejected as a whole so update entries one by one to skip only the invalid ones.
+            for (final Entry<IdentifiableMessage<KEY, CONFIG_M, CONFIG_MB>, ENTRY> entry : entryMap.entrySet()) {
+                try {
+                    localRegistry.update(entry.getValue());
+                } catch (CouldNotPerformException exx) {
+                    exceptionStack = MultiException.push(entry.getKey(), exx, exceptionStack);
+                }
+            }
+        } catch (InvalidStateException ex) {
+            throw new MultiException("Could not update entries!", ex);
+        }
+        MultiException.checkAndThrow(() -> "Could not update all entries!", exceptionStack);
+    }
+
+    @Override
+    protected void removeAll(final List<IdentifiableMessage<KEY, CONFIG_M, CONFIG_MB>> identifiableMessages) throws MultiException, InterruptedException {
+        if (!isBatchTransactionSupported()) {
+            super.removeAll(identifiableMessages);
+            return;
+        }
+
+        final Map<IdentifiableMessage<KEY, CONFIG_M, CONFIG_MB>, KEY> keyMap = new IdentityHashMap<>();
+        MultiException.ExceptionStack exceptionStack = null;
+        for (final IdentifiableMessage<KEY, CONFIG_M, CONFIG_MB> identifiableMessage : identifiableMessages) {
+            try {
+                keyMap.put(identifiableMessage, getId(identifiableMessage.getMessage()));
+            } catch (CouldNotPerformException ex) {
+                exceptionStack = MultiException.push(identifiableMessage, ex, exceptionStack);
+            }
+        }
+
+        try {
+            localRegistry.removeAllByKey(new ArrayList<>(keyMap.values()));
+        } catch (MultiException ex) {
+            // the transaction is rejected as a whole so remove entries one by one to skip only the invalid ones.
+            for (final Entry<IdentifiableMessage<KEY, CONFIG_M, CONFIG_MB>, KEY> entry : keyMap.entrySet()) {
+                try {
+                    localRegistry.remove(entry.getValue());
+                } catch (CouldNotPerformException exx) {
+                    exceptionStack = MultiException.push(entry.getKey(), exx, exceptionStack);
+                }
+            }
+        } catch (InvalidStateException ex) {
+            throw new MultiException("Could not remove entries!", ex);
+        }
+        MultiException.checkAndThrow(() -> "Could not remove all entries!", exceptionStack);
+    }
+
     @Override
     public List<IdentifiableMessage<KEY, CONFIG_M, CONFIG_MB>> getEntries() throws CouldNotPerformException {
         return remoteRegistry.getEntries();
@@ -28,7 +28,7 @@ import org.openbase.jul.exception.InstantiationException;
 import org.openbase.jul.exception.*;
 import org.openbase.jul.exception.printer.ExceptionPrinter;
 import org.openbase.jul.extension.protobuf.IdentifiableMessage;
-import org.openbase.jul.extension.protobuf.IdentifiableMessageMap;
+import org.openbase.jul.pattern.ObservableImpl;
 import org.openbase.jul.pattern.Observer;
 import org.openbase.jul.pattern.provider.DataProvider;
 import org.openbase.jul.schedule.FutureProcessor;
@@ -58,6 +58,11 @@ public class RemoteRegistry<KEY, M extends AbstractMessage, MB extends M.Builder
      */
     private final RegistryRemote<?> registryRemote;
 
+    /**
+     * Observable used to inform about the entries changed by each registry update.
+     */
+    private final ObservableImpl<RemoteRegistry<KEY, M, MB>, RegistryChangeSet<KEY, IdentifiableMessage<KEY, M, MB>>> changeObservable;
+
     public RemoteRegistry() throws InstantiationException {
         this(null, new HashMap<>());
     }
@@ -73,10 +78,78 @@ public class RemoteRegistry<KEY, M extends AbstractMessage, MB extends M.Builder
     public RemoteRegistry(final RegistryRemote<?> registryRemote, final Map<KEY, IdentifiableMessage<KEY, M, MB>> internalMap) throws InstantiationException {
         super(internalMap);
         this.registryRemote = registryRemote;
+        this.changeObservable = new ObservableImpl<>(false, this);
+    }
+
+    /**
+     * Method synchronizes this remote registry with the given registry state.
+     * Only the entries which differ from the current state are replaced or removed, all other entries are kept untouched.
+     * <p>
+     * Note: Entries are matched by their id so each entry is compared at most once with its current state.
+     * Messages which are still the same instance as the current entry are skipped without comparing their content.
+     *
+     * @param values all entries of the registry state.
+     *
+     * @throws CouldNotPerformException is thrown if the update could not be applied.
+     */
+    public synchronized void notifyRegistryUpdate(Collection<M> values) throws CouldNotPerformException {
+        if (values == null) {
+            values = Collections.emptyList();
+        }
+        final Map<KEY, IdentifiableMessage<KEY, M, MB>> currentEntryMap = getEntryMap();
+        final Map<KEY, IdentifiableMessage<KEY, M, MB>> addedEntryMap = new HashMap<>();
+        final Map<KEY, IdentifiableMessage<KEY, M, MB>> updatedEntryMap = new HashMap<>();
+        final Map<KEY, IdentifiableMessage<KEY, M, MB>> removedEntryMap = new HashMap<>(currentEntryMap);
+
+        for (final M message : values) {
+            try {
+                final KEY id = IdentifiableMessage.getId(message);
+                final IdentifiableMessage<KEY, M, MB> currentEntry = removedEntryMap.remove(id);
+                if (currentEntry == null) {
+                    addedEntryMap.put(id, new IdentifiableMessage<>(message));
+                } else if (currentEntry.getMessage() != message && !currentEntry.getMessage().equals(message)) {
+                    updatedEntryMap.put(id, new IdentifiableMessage<>(message));
+                }
+            } catch (CouldNotPerformException ex) {
+                ExceptionPrinter.printHistory(new CouldNotPerformException("Could not apply Message[" + message + "] on " + this + "!", ex), logger);
+            }
+        }
+        applyChangeSet(new RegistryChangeSet<>(addedEntryMap, updatedEntryMap, removedEntryMap));
+    }
+
+    private void applyChangeSet(final RegistryChangeSet<KEY, IdentifiableMessage<KEY, M, MB>> changeSet) throws CouldNotPerformException {
+
+        // the initial update has to be published anyway to make the data available.
+        if (changeSet.isEmpty() && isValueAvailable()) {
+            return;
+        }
+
+        final Map<KEY, IdentifiableMessage<KEY, M, MB>> changedEntryMap = new HashMap<>(changeSet.getAddedEntries());
+        changedEntryMap.putAll(changeSet.getUpdatedEntries());
+        applyInternalChanges(changedEntryMap, changeSet.getRemovedEntries().keySet());
+
+        if (!changeSet.isEmpty()) {
+            changeObservable.notifyObservers(changeSet);
+        }
+    }
+
+    /**
+     * Registers an observer which is informed about the added, updated and removed entries of each registry update.
+     *
+     * @param observer the observer to register.
+     */
+    public void addChangeObserver(final Observer<RemoteRegistry<KEY, M, MB>, RegistryChangeSet<KEY, IdentifiableMessage<KEY, M, MB>>> observer) {
+        changeObservable.addObserver(observer);
     }
 
-    public synchronized void notifyRegistryUpdate(final Collection<M> values) throws CouldNotPerformException {
-        replaceInternalMap(new IdentifiableMessageMap<>(values));
+    public void removeChangeObserver(final Observer<RemoteRegistry<KEY, M, MB>, RegistryChangeSet<KEY, IdentifiableMessage<KEY, M, MB>>> observer) {
+        changeObservable.removeObserver(observer);
+    }
+
+    @Override
+    public void shutdown() {
+        changeObservable.shutdown();
+        super.shutdown();
     }
 
     public KEY getId(final M entry) throws CouldNotPerformException {
@@ -112,6 +185,31 @@ public class RemoteRegistry<KEY, M extends AbstractMessage, MB extends M.Builder
         throw new NotSupportedException("remove", this, "Operation not permitted!");
     }
 
+    @Override
+    public void registerMessageIndex(final String indexName, final RegistryIndex.KeyExtractor<M> keyExtractor) throws CouldNotPerformException {
+        registerIndex(indexName, entry -> keyExtractor.extractKeys(entry.getMessage()));
+    }
+
+    @Override
+    public List<M> getByIndex(final String indexName, final Object key) throws CouldNotPerformException {
+        return toMessageList(getEntriesByIndex(indexName, key));
+    }
+
+    @Override
+    public List<M> registerMessages(final Collection<M> messages) throws CouldNotPerformException {
+        throw new NotSupportedException("registerMessages", this, "Operation not permitted!");
+    }
+
+    @Override
+    public List<M> updateMessages(final Collection<M> messages) throws CouldNotPerformException {
+        throw new NotSupportedException("updateMessages", this, "Operation not permitted!");
+    }
+
+    @Override
+    public List<M> removeMessages(final Collection<M> messages) throws CouldNotPerformException {
+        throw new NotSupportedException("removeMessages", this, "Operation not permitted!");
+    }
+
     @Override
     public boolean contains(final M entry) {
         KEY key;
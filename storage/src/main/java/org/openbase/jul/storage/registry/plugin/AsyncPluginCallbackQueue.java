@@ -0,0 +1,218 @@
+package org.openbase.jul.storage.registry.plugin;
+
+/*
+ * #%L
+ * JUL Storage
+ * %%
+ * Copyright (C) 2015 - 2021 openbase.org
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import org.openbase.jul.exception.FatalImplementationErrorException;
+import org.openbase.jul.exception.printer.ExceptionPrinter;
+import org.openbase.jul.exception.printer.LogLevel;
+import org.openbase.jul.iface.Shutdownable;
+import org.openbase.jul.schedule.GlobalCachedExecutorService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Delivers the callbacks of one registry plugin asynchronously in the order they were submitted.
+ * <p>
+ * All callbacks are processed by a single worker so the plugin does not need to be thread safe with respect to its own callbacks.
+ * The worker is only started on demand by the global executor and terminates as soon as all pending callbacks are delivered.
+ * The queue is bounded: if the plugin can not keep up, submitting further callbacks blocks until the queue provides free capacity again.
+ *
+ * @author <a href="mailto:divine@openbase.org">Divine Threepwood</a>
+ */
+public class AsyncPluginCallbackQueue implements Shutdownable {
+
+    /**
+     * Maximal time in milliseconds to wait for pending callbacks during the shutdown.
+     */
+    public static final long SHUTDOWN_TIMEOUT = 5000;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncPluginCallbackQueue.class);
+
+    /**
+     * A plugin callback to deliver.
+     */
+    public interface Callback {
+
+        void call() throws Exception;
+    }
+
+    private final Object plugin;
+    private final BlockingQueue<QueuedCallback> callbackQueue;
+    private final LongAdder processedCallbackCount = new LongAdder();
+    private final LongAdder totalLag = new LongAdder();
+    private final AtomicLong maxLag = new AtomicLong();
+    private final Object workerLock = new Object();
+    private Future<?> workerTask;
+    private volatile boolean shutdownInitiated;
+
+    /**
+     * Creates a new queue.
+     *
+     * @param plugin   the plugin to deliver the callbacks to, only used for logging.
+     * @param capacity the maximal number of pending callbacks.
+     */
+    public AsyncPluginCallbackQueue(final Object plugin, final int capacity) {
+        this.plugin = plugin;
+        this.callbackQueue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Queues the given callback.
+     *
+     * @param description describes the callback for logging purposes.
+     * @param callback    the callback to deliver.
+     *
+     * @throws InterruptedException is thrown if the thread was interrupted while waiting for free queue capacity.
+     */
+    public void submit(final String description, final Callback callback) throws InterruptedException {
+        if (shutdownInitiated) {
+            LOGGER.debug("Skip " + description + " because " + this + " is shutting down.");
+            return;
+        }
+        callbackQueue.put(new QueuedCallback(description, callback));
+        synchronized (workerLock) {
+            if (workerTask == null) {
+                workerTask = GlobalCachedExecutorService.submit(this::processCallbacks);
+            }
+        }
+    }
+
+    private void processCallbacks() {
+        while (!Thread.currentThread().isInterrupted()) {
+            final QueuedCallback queuedCallback;
+            synchronized (workerLock) {
+                queuedCallback = callbackQueue.poll();
+                // the worker terminates within the lock so callbacks submitted in the meantime start a new one.
+                if (queuedCallback == null) {
+                    workerTask = null;
+                    return;
+                }
+            }
+
+            final long lag = System.nanoTime() - queuedCallback.submissionTime;
+            totalLag.add(lag);
+            maxLag.accumulateAndGet(lag, Math::max);
+            try {
+                queuedCallback.callback.call();
+            } catch (Exception ex) {
+                ExceptionPrinter.printHistory(new FatalImplementationErrorException("Could not inform RegistryPlugin[" + plugin + "] about " + queuedCallback.description + "!", plugin, ex), LOGGER, LogLevel.ERROR);
+            }
+            processedCallbackCount.increment();
+        }
+
+        // worker was canceled
+        synchronized (workerLock) {
+            workerTask = null;
+        }
+    }
+
+    /**
+     * Returns the number of callbacks waiting to be delivered.
+     *
+     * @return the queue depth.
+     */
+    public int getQueueDepth() {
+        return callbackQueue.size();
+    }
+
+    public long getProcessedCallbackCount() {
+        return processedCallbackCount.sum();
+    }
+
+    /**
+     * Returns the maximal time a callback was waiting in the queue before its delivery.
+     *
+     * @param timeUnit the time unit of the result.
+     *
+     * @return the maximal lag.
+     */
+    public long getMaxLag(final TimeUnit timeUnit) {
+        return timeUnit.convert(maxLag.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the average time callbacks were waiting in the queue before their delivery.
+     *
+     * @param timeUnit the time unit of the result.
+     *
+     * @return the average lag.
+     */
+    public long getAverageLag(final TimeUnit timeUnit) {
+        final long count = processedCallbackCount.sum();
+        if (count == 0) {
+            return 0;
+        }
+        return timeUnit.convert(totalLag.sum() / count, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Delivers all pending callbacks and stops the worker afterwards.
+     * Callbacks still pending after {@link #SHUTDOWN_TIMEOUT} are dropped.
+     */
+    @Override
+    public void shutdown() {
+        shutdownInitiated = true;
+        final Future<?> pendingWorkerTask;
+        synchronized (workerLock) {
+            pendingWorkerTask = workerTask;
+        }
+        if (pendingWorkerTask == null) {
+            return;
+        }
+        try {
+            pendingWorkerTask.get(SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            pendingWorkerTask.cancel(true);
+        } catch (Exception ex) {
+            LOGGER.warn("Drop " + callbackQueue.size() + " pending callbacks of RegistryPlugin[" + plugin + "] during shutdown.");
+            pendingWorkerTask.cancel(true);
+            callbackQueue.clear();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[" + plugin + ", depth:" + getQueueDepth() + ", averageLag:" + getAverageLag(TimeUnit.MILLISECONDS) + "ms, maxLag:" + getMaxLag(TimeUnit.MILLISECONDS) + "ms]";
+    }
+
+    private static class QueuedCallback {
+
+        private final String description;
+        private final Callback callback;
+        private final long submissionTime;
+
+        private QueuedCallback(final String description, final Callback callback) {
+            this.description = description;
+            this.callback = callback;
+            this.submissionTime = System.nanoTime();
+        }
+    }
+}
@@ -27,6 +27,8 @@ import org.openbase.jul.iface.Identifiable;
 import org.openbase.jul.storage.file.FileSynchronizer;
 import org.openbase.jul.storage.registry.FileSynchronizedRegistry;
 
+import java.io.File;
+
 /**
  *
  * * @author <a href="mailto:MarianPohling@cit-ec.uni-bielefeld.de">mpohling</a>
@@ -49,4 +51,29 @@ public interface FileRegistryPlugin<KEY, ENTRY extends Identifiable<KEY>, REGIST
 
     void beforeGet(final KEY key, final FileSynchronizer fileSynchronizer) throws RejectedException;
 
+    /**
+     * Method is called after the file of the given entry was renamed during the registry save, e.g. because the entry label has changed.
+     * Plugins tracking the database files should consider the previous as well as the new file.
+     *
+     * @param entry            the entry whose file was renamed.
+     * @param previousFile     the file which does not exist anymore.
+     * @param fileSynchronizer the synchronizer of the new file.
+     *
+     * @throws CouldNotPerformException can be thrown if the rename could not be processed.
+     */
+    default void afterRename(final ENTRY entry, final File previousFile, final FileSynchronizer fileSynchronizer) throws CouldNotPerformException {
+    }
+
+    /**
+     * Method is called after an entry modified by the consistency checks was written back during the registry save.
+     * In case the file of the entry is renamed during the same save, {@link #afterRename(Identifiable, File, FileSynchronizer)} is called afterwards.
+     *
+     * @param entry            the saved entry.
+     * @param fileSynchronizer the synchronizer of the entry file.
+     *
+     * @throws CouldNotPerformException can be thrown if the save could not be processed.
+     */
+    default void afterSave(final ENTRY entry, final FileSynchronizer fileSynchronizer) throws CouldNotPerformException {
+    }
+
 }
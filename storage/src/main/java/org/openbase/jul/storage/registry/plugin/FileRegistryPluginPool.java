@@ -30,6 +30,8 @@ import org.openbase.jul.iface.Identifiable;
 import org.openbase.jul.storage.file.FileSynchronizer;
 import org.openbase.jul.storage.registry.FileSynchronizedRegistry;
 
+import java.io.File;
+
 /**
  *
  * @author <a href="mailto:divine@openbase.org">Divine Threepwood</a>
@@ -55,6 +57,10 @@ public class FileRegistryPluginPool<KEY, ENTRY extends Identifiable<KEY>, PLUGIN
     @Override
     public void afterRegister(ENTRY entry, FileSynchronizer fileSynchronizer) throws CouldNotPerformException {
         for (PLUGIN plugin : pluginList) {
+            if (isAsyncCallbackSupported(plugin)) {
+                scheduleAsyncCallback(plugin, "successfully Entry[" + entry + "] registration", () -> plugin.afterRegister(entry, fileSynchronizer));
+                continue;
+            }
             try {
                 plugin.afterRegister(entry, fileSynchronizer);
             } catch (Exception ex) {
@@ -79,6 +85,10 @@ public class FileRegistryPluginPool<KEY, ENTRY extends Identifiable<KEY>, PLUGIN
     @Override
     public void afterRemove(ENTRY entry, FileSynchronizer fileSynchronizer) throws CouldNotPerformException {
         for (PLUGIN plugin : pluginList) {
+            if (isAsyncCallbackSupported(plugin)) {
+                scheduleAsyncCallback(plugin, "successfully Entry[" + entry + "] removal", () -> plugin.afterRemove(entry, fileSynchronizer));
+                continue;
+            }
             try {
                 plugin.afterRemove(entry, fileSynchronizer);
             } catch (Exception ex) {
@@ -103,6 +113,10 @@ public class FileRegistryPluginPool<KEY, ENTRY extends Identifiable<KEY>, PLUGIN
     @Override
     public void afterUpdate(ENTRY entry, FileSynchronizer fileSynchronizer) throws CouldNotPerformException {
         for (PLUGIN plugin : pluginList) {
+            if (isAsyncCallbackSupported(plugin)) {
+                scheduleAsyncCallback(plugin, "successfully Entry[" + entry + "] update", () -> plugin.afterUpdate(entry, fileSynchronizer));
+                continue;
+            }
             try {
                 plugin.afterUpdate(entry, fileSynchronizer);
             } catch (Exception ex) {
@@ -111,6 +125,36 @@ public class FileRegistryPluginPool<KEY, ENTRY extends Identifiable<KEY>, PLUGIN
         }
     }
 
+    @Override
+    public void afterRename(ENTRY entry, File previousFile, FileSynchronizer fileSynchronizer) throws CouldNotPerformException {
+        for (PLUGIN plugin : pluginList) {
+            if (isAsyncCallbackSupported(plugin)) {
+                scheduleAsyncCallback(plugin, "successfully Entry[" + entry + "] file renaming", () -> plugin.afterRename(entry, previousFile, fileSynchronizer));
+                continue;
+            }
+            try {
+                plugin.afterRename(entry, previousFile, fileSynchronizer);
+            } catch (Exception ex) {
+                ExceptionPrinter.printHistory(new CouldNotPerformException("Could not inform RegistryPlugin[" + plugin + "] about successfully Entry[" + entry + "] file renaming!", ex), logger, LogLevel.ERROR);
+            }
+        }
+    }
+
+    @Override
+    public void afterSave(ENTRY entry, FileSynchronizer fileSynchronizer) throws CouldNotPerformException {
+        for (PLUGIN plugin : pluginList) {
+            if (isAsyncCallbackSupported(plugin)) {
+                scheduleAsyncCallback(plugin, "successfully Entry[" + entry + "] save", () -> plugin.afterSave(entry, fileSynchronizer));
+                continue;
+            }
+            try {
+                plugin.afterSave(entry, fileSynchronizer);
+            } catch (Exception ex) {
+                ExceptionPrinter.printHistory(new CouldNotPerformException("Could not inform RegistryPlugin[" + plugin + "] about successfully Entry[" + entry + "] save!", ex), logger, LogLevel.ERROR);
+            }
+        }
+    }
+
     @Override
     public void beforeGet(KEY key, FileSynchronizer fileSynchronizer) throws RejectedException {
         for (PLUGIN plugin : pluginList) {
@@ -23,7 +23,9 @@ package org.openbase.jul.storage.registry.plugin;
  */
 
 import com.google.protobuf.AbstractMessage;
+import org.eclipse.jgit.api.AddCommand;
 import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.RmCommand;
 import org.eclipse.jgit.api.errors.DetachedHeadException;
 import org.eclipse.jgit.api.errors.GitAPIException;
 import org.eclipse.jgit.lib.Constants;
@@ -39,14 +41,24 @@ import org.openbase.jul.exception.RejectedException;
 import org.openbase.jul.exception.printer.ExceptionPrinter;
 import org.openbase.jul.exception.printer.LogLevel;
 import org.openbase.jul.extension.protobuf.IdentifiableMessage;
+import org.openbase.jul.schedule.GlobalScheduledExecutorService;
+import org.openbase.jul.schedule.RecurrenceEventFilter;
+import org.openbase.jul.schedule.SyncObject;
 import org.openbase.jul.storage.file.FileSynchronizer;
+import org.openbase.jul.storage.file.FileWriteBehindQueue;
 import org.openbase.jul.storage.registry.FileSynchronizedRegistry;
+import org.openbase.jul.storage.registry.jp.JPGitRegistryPluginCommitDelay;
 import org.openbase.jul.storage.registry.jp.JPGitRegistryPluginRemoteURL;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @param <KEY>
@@ -55,16 +67,36 @@ import java.io.IOException;
  */
 public class GitRegistryPlugin<KEY, M extends AbstractMessage, MB extends M.Builder<MB>> extends ProtobufRegistryPluginAdapter<KEY, M, MB> {
 
+    /**
+     * The number of times a failed commit is retried before further database modifications are rejected.
+     */
+    public static final int MAX_COMMIT_RETRIES = 3;
+
     protected final Logger logger = LoggerFactory.getLogger(getClass());
 
     private final FileSynchronizedRegistry<KEY, IdentifiableMessage<KEY, M, MB>> registry;
     private final Git git;
+    private final SyncObject commitLock = new SyncObject("CommitLock");
+    private final Set<File> pendingFileSet;
+    private final RecurrenceEventFilter<Void> commitFilter;
+    private final long commitDelay;
+    private int commitRetryCounter;
+    private ScheduledFuture<?> commitRetryFuture;
+    private CouldNotPerformException commitFailure;
     private boolean detached;
 
     public GitRegistryPlugin(final FileSynchronizedRegistry<KEY, IdentifiableMessage<KEY, M, MB>> registry) throws org.openbase.jul.exception.InstantiationException {
         try {
             this.detached = false;
             this.registry = registry;
+            this.pendingFileSet = new HashSet<>();
+            this.commitDelay = JPService.getValue(JPGitRegistryPluginCommitDelay.class, 1000);
+            this.commitFilter = new RecurrenceEventFilter<Void>(commitDelay) {
+                @Override
+                public void relay() {
+                    commitAndRetry();
+                }
+            };
             this.git = detectGitRepository(registry.getDatabaseDirectory());
             this.initialSync();
         } catch (Exception ex) {
@@ -132,50 +164,161 @@ public class GitRegistryPlugin<KEY, M extends AbstractMessage, MB extends M.Buil
 
     @Override
     public void afterRegister(IdentifiableMessage<KEY, M, MB> entry, FileSynchronizer fileSynchronizer) throws CouldNotPerformException {
-        commitAllChanges();
+        scheduleCommit(fileSynchronizer.getFile());
     }
 
     @Override
     public void afterUpdate(IdentifiableMessage<KEY, M, MB> entry, FileSynchronizer fileSynchronizer) throws CouldNotPerformException {
-        commitAllChanges();
+        scheduleCommit(fileSynchronizer.getFile());
     }
 
     @Override
     public void afterRemove(IdentifiableMessage<KEY, M, MB> entry, FileSynchronizer fileSynchronizer) throws CouldNotPerformException {
-        commitAllChanges();
+        scheduleCommit(fileSynchronizer.getFile());
     }
 
-    private void commitAllChanges() throws CouldNotPerformException {
+    @Override
+    public void afterRename(IdentifiableMessage<KEY, M, MB> entry, File previousFile, FileSynchronizer fileSynchronizer) throws CouldNotPerformException {
+        // stage the removal of the previous file as well as the new file so the rename is part of the next commit.
+        synchronized (commitLock) {
+            pendingFileSet.add(previousFile);
+            pendingFileSet.add(fileSynchronizer.getFile());
+        }
+        commitFilter.triggerDelayed();
+    }
 
-        // Avoid commit in test mode.
+    @Override
+    public void afterSave(IdentifiableMessage<KEY, M, MB> entry, FileSynchronizer fileSynchronizer) throws CouldNotPerformException {
+        // consistency modifications are written back during the registry save, renamed files are reported afterwards via afterRename.
+        scheduleCommit(fileSynchronizer.getFile());
+    }
+
+    /**
+     * Marks the given file as changed and schedules a commit.
+     * All changes reported within the commit delay are committed together.
+     *
+     * @param file the changed file.
+     */
+    private void scheduleCommit(final File file) throws CouldNotPerformException {
+        synchronized (commitLock) {
+            pendingFileSet.add(file);
+        }
+        commitFilter.triggerDelayed();
+    }
+
+    /**
+     * Commits all pending changes.
+     * If the commit fails, the pending changes are kept and the commit is retried after the commit delay.
+     * Once all retries failed, the failure is surfaced by rejecting further database modifications via {@link #checkAccess()}.
+     */
+    private void commitAndRetry() {
         try {
-            if (JPService.getProperty(JPTestMode.class).getValue()) {
+            commitPendingChanges();
+        } catch (CouldNotPerformException ex) {
+            synchronized (commitLock) {
+                if (commitRetryCounter < MAX_COMMIT_RETRIES) {
+                    commitRetryCounter++;
+                    ExceptionPrinter.printHistory(new CouldNotPerformException("Commit of " + registry + " failed, retry " + commitRetryCounter + " of " + MAX_COMMIT_RETRIES + " is scheduled.", ex), logger, LogLevel.WARN);
+                    commitRetryFuture = GlobalScheduledExecutorService.schedule(this::commitAndRetry, commitDelay, TimeUnit.MILLISECONDS);
+                    return;
+                }
+                commitFailure = ex;
+            }
+            ExceptionPrinter.printHistory(new CouldNotPerformException("Could not commit database changes of " + registry + "! Further modifications are rejected until the changes could be committed.", ex), logger, LogLevel.ERROR);
+        }
+    }
+
+    /**
+     * Commits all changes reported since the last commit.
+     * Only the reported files are staged.
+     *
+     * @throws CouldNotPerformException is thrown if the commit failed.
+     */
+    private void commitPendingChanges() throws CouldNotPerformException {
+        synchronized (commitLock) {
+            if (pendingFileSet.isEmpty()) {
+                return;
+            }
+
+            // Avoid commit in test mode.
+            if (isTestModeEnabled()) {
                 logger.warn("Skip commit because test mode is enabled!");
+                pendingFileSet.clear();
                 return;
             }
-        } catch (JPServiceException ex) {
-            ExceptionPrinter.printHistory(new CouldNotPerformException("Could not access java property!", ex), logger);
-        }
 
-        // Avoid commit if branch is detached.
-        if (detached) {
-            logger.info("Skip commit because branch detached!");
-            return;
+            // Avoid commit if branch is detached.
+            if (detached) {
+                logger.info("Skip commit because branch detached!");
+                pendingFileSet.clear();
+                return;
+            }
+
+            try {
+                // make sure queued file changes are part of the commit
+                FileWriteBehindQueue.getInstance().flush();
+
+                final Path workTree = git.getRepository().getWorkTree().getAbsoluteFile().toPath();
+                final AddCommand addCommand = git.add();
+                final RmCommand rmCommand = git.rm().setCached(true);
+                boolean additions = false;
+                boolean removals = false;
+                for (final File file : pendingFileSet) {
+                    final String filePattern = workTree.relativize(file.getAbsoluteFile().toPath()).toString().replace(File.separatorChar, '/');
+                    if (file.exists()) {
+                        addCommand.addFilepattern(filePattern);
+                        additions = true;
+                    } else {
+                        rmCommand.addFilepattern(filePattern);
+                        removals = true;
+                    }
+                }
+                if (additions) {
+                    addCommand.call();
+                }
+                if (removals) {
+                    rmCommand.call();
+                }
+
+                // commit
+                git.commit().setMessage(JPService.getApplicationName() + " committed all changes.").call();
+                pendingFileSet.clear();
+                commitRetryCounter = 0;
+                commitFailure = null;
+            } catch (Exception ex) {
+                throw new CouldNotPerformException("Could not commit all database changes!", ex);
+            }
         }
+    }
 
+    /**
+     * Method checks if the test mode is enabled, in which case no commits are performed.
+     * The method is package private so tests are able to verify the commits.
+     *
+     * @return true if the test mode is enabled.
+     */
+    boolean isTestModeEnabled() {
         try {
-            // add all changes
-            git.add().addFilepattern(".").call();
-
-            // commit
-            git.commit().setMessage(JPService.getApplicationName() + " committed all changes.").call();
-        } catch (Exception ex) {
-            throw new CouldNotPerformException("Could not commit all database changes!", ex);
+            return JPService.getProperty(JPTestMode.class).getValue();
+        } catch (JPServiceException ex) {
+            ExceptionPrinter.printHistory(new CouldNotPerformException("Could not access java property!", ex), logger);
+            return false;
         }
     }
 
     @Override
     public void checkAccess() throws RejectedException {
+        synchronized (commitLock) {
+            if (commitFailure != null) {
+                // retry the commit so a repaired repository accepts modifications again.
+                try {
+                    commitPendingChanges();
+                } catch (CouldNotPerformException ex) {
+                    throw new RejectedException("Previous database changes could not be committed!", ex);
+                }
+            }
+        }
+
         try {
             if (isTag(getHead(git.getRepository()))) {
                 throw new RejectedException("Database based on tag revision and can not be modifiered!");
@@ -194,6 +337,22 @@ public class GitRegistryPlugin<KEY, M extends AbstractMessage, MB extends M.Buil
         if (git == null) {
             return;
         }
+
+        // commit changes which are still pending
+        if (commitFilter != null) {
+            commitFilter.cancel();
+            synchronized (commitLock) {
+                if (commitRetryFuture != null) {
+                    commitRetryFuture.cancel(false);
+                }
+            }
+            try {
+                commitPendingChanges();
+            } catch (CouldNotPerformException ex) {
+                ExceptionPrinter.printHistory(new CouldNotPerformException("Could not commit pending changes!", ex), logger, LogLevel.ERROR);
+            }
+        }
+
         try {
             git.getRepository().close();
             git.close();
@@ -0,0 +1,161 @@
+package org.openbase.jul.storage.registry.plugin;
+
+/*
+ * #%L
+ * JUL Storage
+ * %%
+ * Copyright (C) 2015 - 2021 openbase.org
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import com.google.protobuf.AbstractMessage;
+import org.openbase.jul.exception.CouldNotPerformException;
+import org.openbase.jul.exception.InstantiationException;
+import org.openbase.jul.exception.MultiException;
+import org.openbase.jul.exception.MultiException.ExceptionStack;
+import org.openbase.jul.extension.protobuf.IdentifiableMessage;
+import org.openbase.jul.storage.file.ProtoBufJournal;
+import org.openbase.jul.storage.registry.FileSynchronizedRegistry;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Mirrors all entries of a registry into a {@link ProtoBufJournal} located next to the database directory.
+ * <p>
+ * After the database files are loaded, the journal is synchronized with the registry via {@link #synchronizeJournal()}.
+ * Afterwards each registered, updated or removed entry is appended as single record, so the journal stays a compact and crash safe
+ * binary copy of the registry which can be converted back into the per entry json layout via {@link ProtoBufJournal#exportToJson}.
+ * Modifications performed before the initial synchronization, e.g. while loading the database files, are covered by the synchronization itself.
+ *
+ * @param <KEY> the type of the entry ids.
+ * @param <M>   the message type of the entries.
+ * @param <MB>  the message builder type of the entries.
+ *
+ * @author <a href="mailto:divine@openbase.org">Divine Threepwood</a>
+ */
+public class ProtoBufJournalRegistryPlugin<KEY, M extends AbstractMessage, MB extends M.Builder<MB>> extends ProtobufRegistryPluginAdapter<KEY, M, MB> {
+
+    public static final String JOURNAL_DIRECTORY_SUFFIX = "-journal";
+
+    private final FileSynchronizedRegistry<KEY, IdentifiableMessage<KEY, M, MB>> registry;
+    private final ProtoBufJournal<M> journal;
+    private volatile boolean synchronizedWithRegistry;
+
+    public ProtoBufJournalRegistryPlugin(final FileSynchronizedRegistry<KEY, IdentifiableMessage<KEY, M, MB>> registry, final Class<M> messageClass) throws InstantiationException {
+        try {
+            this.registry = registry;
+            final File databaseDirectory = registry.getDatabaseDirectory();
+            this.journal = new ProtoBufJournal<>(new File(databaseDirectory.getParentFile(), databaseDirectory.getName() + JOURNAL_DIRECTORY_SUFFIX), (M) messageClass.getMethod("getDefaultInstance").invoke(null));
+        } catch (CouldNotPerformException | ReflectiveOperationException | ClassCastException ex) {
+            throw new InstantiationException(this, ex);
+        }
+    }
+
+    /**
+     * Synchronizes the journal with the current registry entries.
+     * Entries which are not part of the registry anymore are removed and all other entries are registered or updated if they differ.
+     * Afterwards the journal is compacted and all further registry modifications are appended to the journal.
+     *
+     * @throws CouldNotPerformException is thrown if at least one entry could not be synchronized.
+     */
+    public void synchronizeJournal() throws CouldNotPerformException {
+        final Map<String, M> entryMap = new HashMap<>();
+        for (final IdentifiableMessage<KEY, M, MB> entry : registry.getEntries()) {
+            entryMap.put(entry.getId().toString(), entry.getMessage());
+        }
+
+        ExceptionStack exceptionStack = null;
+        final Map<String, M> journalEntryMap = journal.getEntries();
+        for (final String id : journalEntryMap.keySet()) {
+            if (!entryMap.containsKey(id)) {
+                try {
+                    journal.remove(id);
+                } catch (CouldNotPerformException ex) {
+                    exceptionStack = MultiException.push(this, ex, exceptionStack);
+                }
+            }
+        }
+
+        for (final Map.Entry<String, M> entry : entryMap.entrySet()) {
+            if (entry.getValue().equals(journalEntryMap.get(entry.getKey()))) {
+                continue;
+            }
+            try {
+                append(entry.getKey(), entry.getValue());
+            } catch (CouldNotPerformException ex) {
+                exceptionStack = MultiException.push(this, ex, exceptionStack);
+            }
+        }
+        journal.compact();
+        synchronizedWithRegistry = true;
+        MultiException.checkAndThrow(() -> "Could not synchronize " + journal + " with " + registry + "!", exceptionStack);
+    }
+
+    /**
+     * Method returns the journal the registry entries are mirrored to.
+     *
+     * @return the journal.
+     */
+    public ProtoBufJournal<M> getJournal() {
+        return journal;
+    }
+
+    @Override
+    public void afterRegister(final IdentifiableMessage<KEY, M, MB> entry) throws CouldNotPerformException {
+        if (synchronizedWithRegistry) {
+            append(entry.getId().toString(), entry.getMessage());
+        }
+    }
+
+    @Override
+    public void afterUpdate(final IdentifiableMessage<KEY, M, MB> entry) throws CouldNotPerformException {
+        if (synchronizedWithRegistry) {
+            append(entry.getId().toString(), entry.getMessage());
+        }
+    }
+
+    @Override
+    public void afterConsistencyModification(final IdentifiableMessage<KEY, M, MB> entry) throws CouldNotPerformException {
+        if (synchronizedWithRegistry) {
+            append(entry.getId().toString(), entry.getMessage());
+        }
+    }
+
+    @Override
+    public void afterRemove(final IdentifiableMessage<KEY, M, MB> entry) throws CouldNotPerformException {
+        final String id = entry.getId().toString();
+        if (synchronizedWithRegistry && journal.contains(id)) {
+            journal.remove(id);
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        journal.shutdown();
+    }
+
+    private void append(final String id, final M message) throws CouldNotPerformException {
+        // update and consistency callbacks can be delivered more than once, so the records are written as upserts.
+        if (journal.contains(id)) {
+            journal.update(message);
+        } else {
+            journal.register(message);
+        }
+    }
+}
@@ -78,6 +78,20 @@ public interface RegistryPlugin<KEY, ENTRY extends Identifiable<KEY>, REGISTRY e
 
     void beforeUpstreamDependencyNotification(final Registry dependency) throws CouldNotPerformException;
 
+    /**
+     * Method returns true if the {@code after*} callbacks of this plugin can be delivered asynchronously.
+     * In this case these callbacks are no longer performed within the registry transaction but delivered in order
+     * by a dedicated worker of this plugin after the transaction is finished. So a slow plugin does not delay any registry writer anymore.
+     * All {@code before*} callbacks as well as {@code checkAccess} are still performed synchronously and can therefore reject a transaction.
+     *
+     * Note: Exceptions thrown by asynchronous callbacks are only logged.
+     *
+     * @return true if the asynchronous delivery is supported, otherwise false.
+     */
+    default boolean isAsyncCallbackSupported() {
+        return false;
+    }
+
     @Override
     void init(REGISTRY registry) throws InitializationException, InterruptedException;
 
@@ -32,7 +32,9 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
@@ -46,13 +48,25 @@ public class RegistryPluginPool<KEY, ENTRY extends Identifiable<KEY>, PLUGIN ext
 
     protected final Logger logger = LoggerFactory.getLogger(RegistryPluginPool.class);
 
+    /**
+     * The maximal number of pending asynchronous callbacks per plugin.
+     */
+    public static final int ASYNC_CALLBACK_QUEUE_CAPACITY = 1000;
+
     protected final List<PLUGIN> pluginList;
     protected REGISTRY registry;
     private final ReentrantReadWriteLock lock;
+    private final Map<PLUGIN, AsyncPluginCallbackQueue> asyncCallbackQueueMap;
+    /**
+     * Asynchronous callbacks of the running transaction which are queued after the transaction is finished.
+     */
+    private final ThreadLocal<List<PendingCallback>> pendingCallbackList;
 
     public RegistryPluginPool() {
         this.pluginList = new ArrayList<>();
         this.lock = new ReentrantReadWriteLock();
+        this.asyncCallbackQueueMap = new HashMap<>();
+        this.pendingCallbackList = ThreadLocal.withInitial(ArrayList::new);
     }
 
     @Override
@@ -69,6 +83,11 @@ public class RegistryPluginPool<KEY, ENTRY extends Identifiable<KEY>, PLUGIN ext
 
     @Override
     public void shutdown() {
+        // deliver pending callbacks before the plugins are shutdown.
+        for (final AsyncPluginCallbackQueue asyncCallbackQueue : asyncCallbackQueueMap.values()) {
+            asyncCallbackQueue.shutdown();
+        }
+
         for (PLUGIN plugin : pluginList) {
             try {
                 plugin.shutdown();
@@ -81,12 +100,83 @@ public class RegistryPluginPool<KEY, ENTRY extends Identifiable<KEY>, PLUGIN ext
     public void addPlugin(final PLUGIN plugin) throws CouldNotPerformException, InterruptedException {
         try {
             plugin.init(registry);
+            if (plugin.isAsyncCallbackSupported()) {
+                asyncCallbackQueueMap.put(plugin, new AsyncPluginCallbackQueue(plugin, ASYNC_CALLBACK_QUEUE_CAPACITY));
+            }
             pluginList.add(plugin);
         } catch (CouldNotPerformException ex) {
             throw new CouldNotPerformException("Could not add Plugin[" + plugin.getClass().getName() + "] to Registry[" + registry.getClass().getSimpleName() + "]", ex);
         }
     }
 
+    /**
+     * Returns the queue delivering the asynchronous callbacks of the given plugin, e.g. to inspect its depth and lag.
+     *
+     * @param plugin the plugin supporting asynchronous callbacks.
+     *
+     * @return the callback queue of the plugin.
+     *
+     * @throws NotAvailableException is thrown if the plugin is not registered or does not support asynchronous callbacks.
+     */
+    public AsyncPluginCallbackQueue getAsyncCallbackQueue(final PLUGIN plugin) throws NotAvailableException {
+        final AsyncPluginCallbackQueue asyncCallbackQueue = asyncCallbackQueueMap.get(plugin);
+        if (asyncCallbackQueue == null) {
+            throw new NotAvailableException("AsyncCallbackQueue of RegistryPlugin[" + plugin + "]");
+        }
+        return asyncCallbackQueue;
+    }
+
+    /**
+     * Checks if the given plugin receives its callbacks asynchronously.
+     * In this case the callback should be passed to {@link #scheduleAsyncCallback(RegistryPlugin, String, AsyncPluginCallbackQueue.Callback)}.
+     *
+     * @param plugin the plugin to check.
+     *
+     * @return true if the callbacks of the plugin are delivered asynchronously.
+     */
+    protected boolean isAsyncCallbackSupported(final PLUGIN plugin) {
+        return !asyncCallbackQueueMap.isEmpty() && asyncCallbackQueueMap.containsKey(plugin);
+    }
+
+    /**
+     * Schedules the given callback of an asynchronous plugin.
+     * The callback is queued when the current transaction is finished, which is signaled via {@link #dispatchAsyncCallbacks()}.
+     *
+     * @param plugin      the plugin to inform.
+     * @param description describes the callback for logging purposes.
+     * @param callback    the callback to deliver.
+     */
+    protected void scheduleAsyncCallback(final PLUGIN plugin, final String description, final AsyncPluginCallbackQueue.Callback callback) {
+        pendingCallbackList.get().add(new PendingCallback(asyncCallbackQueueMap.get(plugin), description, callback));
+    }
+
+    /**
+     * Queues all asynchronous callbacks scheduled by the current thread.
+     * Needs to be called by the registry after its transaction is finished and all registry locks are released.
+     * In case the queue of a plugin is full, this method blocks until the plugin has processed enough callbacks.
+     */
+    public void dispatchAsyncCallbacks() {
+        if (asyncCallbackQueueMap.isEmpty()) {
+            return;
+        }
+
+        final List<PendingCallback> callbackList = pendingCallbackList.get();
+        if (callbackList.isEmpty()) {
+            return;
+        }
+
+        final List<PendingCallback> dispatchList = new ArrayList<>(callbackList);
+        callbackList.clear();
+        try {
+            for (final PendingCallback pendingCallback : dispatchList) {
+                pendingCallback.asyncCallbackQueue.submit(pendingCallback.description, pendingCallback.callback);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            logger.warn("Asynchronous plugin callbacks of " + registry + " skipped because thread was externally interrupted!");
+        }
+    }
+
     @Override
     public void prepareRegistry(final File registryDirectory) throws RejectedException {
         if (pluginList.isEmpty() || lock.isWriteLockedByCurrentThread()) {
@@ -140,6 +230,10 @@ public class RegistryPluginPool<KEY, ENTRY extends Identifiable<KEY>, PLUGIN ext
         lock.writeLock().lock();
         try {
             for (PLUGIN plugin : pluginList) {
+                if (isAsyncCallbackSupported(plugin)) {
+                    scheduleAsyncCallback(plugin, "successfully Entry[" + entry + "] registration", () -> plugin.afterRegister(entry));
+                    continue;
+                }
                 try {
                     plugin.afterRegister(entry);
                 } catch (Exception ex) {
@@ -182,6 +276,10 @@ public class RegistryPluginPool<KEY, ENTRY extends Identifiable<KEY>, PLUGIN ext
         lock.writeLock().lock();
         try {
             for (PLUGIN plugin : pluginList) {
+                if (isAsyncCallbackSupported(plugin)) {
+                    scheduleAsyncCallback(plugin, "successfully Entry[" + entry + "] update", () -> plugin.afterUpdate(entry));
+                    continue;
+                }
                 try {
                     plugin.afterUpdate(entry);
                 } catch (Exception ex) {
@@ -202,6 +300,10 @@ public class RegistryPluginPool<KEY, ENTRY extends Identifiable<KEY>, PLUGIN ext
         lock.writeLock().lock();
         try {
             for (PLUGIN plugin : pluginList) {
+                if (isAsyncCallbackSupported(plugin)) {
+                    scheduleAsyncCallback(plugin, "Entry[" + entry + "] modification", () -> plugin.afterConsistencyModification(entry));
+                    continue;
+                }
                 try {
                     plugin.afterConsistencyModification(entry);
                 } catch (Exception ex) {
@@ -244,6 +346,10 @@ public class RegistryPluginPool<KEY, ENTRY extends Identifiable<KEY>, PLUGIN ext
         lock.writeLock().lock();
         try {
             for (PLUGIN plugin : pluginList) {
+                if (isAsyncCallbackSupported(plugin)) {
+                    scheduleAsyncCallback(plugin, "successfully Entry[" + entry + "] removal", () -> plugin.afterRemove(entry));
+                    continue;
+                }
                 try {
                     plugin.afterRemove(entry);
                 } catch (Exception ex) {
@@ -333,6 +439,10 @@ public class RegistryPluginPool<KEY, ENTRY extends Identifiable<KEY>, PLUGIN ext
         lock.writeLock().lock();
         try {
             for (PLUGIN plugin : pluginList) {
+                if (isAsyncCallbackSupported(plugin)) {
+                    scheduleAsyncCallback(plugin, "registry change", () -> plugin.afterRegistryChange());
+                    continue;
+                }
                 try {
                     plugin.afterRegistryChange();
                 } catch (RejectedException ex) {
@@ -377,6 +487,10 @@ public class RegistryPluginPool<KEY, ENTRY extends Identifiable<KEY>, PLUGIN ext
         lock.writeLock().lock();
         try {
             for (PLUGIN plugin : pluginList) {
+                if (isAsyncCallbackSupported(plugin)) {
+                    scheduleAsyncCallback(plugin, "finished consistency check", () -> plugin.afterConsistencyCheck());
+                    continue;
+                }
                 try {
                     plugin.afterConsistencyCheck();
                 } catch (RejectedException ex) {
@@ -391,4 +505,17 @@ public class RegistryPluginPool<KEY, ENTRY extends Identifiable<KEY>, PLUGIN ext
             lock.writeLock().unlock();
         }
     }
+
+    private static class PendingCallback {
+
+        private final AsyncPluginCallbackQueue asyncCallbackQueue;
+        private final String description;
+        private final AsyncPluginCallbackQueue.Callback callback;
+
+        private PendingCallback(final AsyncPluginCallbackQueue asyncCallbackQueue, final String description, final AsyncPluginCallbackQueue.Callback callback) {
+            this.asyncCallbackQueue = asyncCallbackQueue;
+            this.description = description;
+            this.callback = callback;
+        }
+    }
 }
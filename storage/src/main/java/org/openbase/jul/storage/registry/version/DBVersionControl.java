@@ -30,8 +30,10 @@ import org.openbase.jps.core.JPService;
 import org.openbase.jul.exception.CouldNotPerformException;
 import org.openbase.jul.exception.InstantiationException;
 import org.openbase.jul.exception.InvalidStateException;
+import org.openbase.jul.exception.MultiException;
 import org.openbase.jul.exception.printer.ExceptionPrinter;
 import org.openbase.jul.exception.printer.LogLevel;
+import org.openbase.jul.schedule.GlobalCachedExecutorService;
 import org.openbase.jul.storage.file.FileProvider;
 import org.openbase.jul.storage.registry.FileSynchronizedRegistry;
 import org.slf4j.Logger;
@@ -45,6 +47,9 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 /**
  * @author <a href="mailto:divine@openbase.org">Divine Threepwood</a>
@@ -127,63 +132,193 @@ public class DBVersionControl {
             final Map<String, Set<File>> globalKeySet = new HashMap<>();
             final List<DBVersionConverter> currentToTargetConverterPipeline = getDBConverterPipeline(currentVersion, latestSupportedDBVersion);
 
-            int versionOfCurrentTransaction = currentVersion;
-
             // check if upgrade is needed and write access is permitted.
-            if (!currentToTargetConverterPipeline.isEmpty()) {
-                registry.checkWriteAccess();
+            if (currentToTargetConverterPipeline.isEmpty()) {
+                return;
             }
+            registry.checkWriteAccess();
+
+            final long upgradeStartTime = System.currentTimeMillis();
 
             // load db entries
             final Map<File, JsonObject> dbFileEntryMap = loadDbSnapshot();
+            final Set<File> initialDbFileSet = new HashSet<>(dbFileEntryMap.keySet());
+
+            // upgrade db entries stage by stage, where each stage is either a chain of independent converters or a single converter which is applied to all entries.
+            int stageBegin = 0;
+            while (stageBegin < currentToTargetConverterPipeline.size()) {
+                int stageEnd = stageBegin + 1;
+                if (isIndependent(currentToTargetConverterPipeline.get(stageBegin))) {
+                    while (stageEnd < currentToTargetConverterPipeline.size() && isIndependent(currentToTargetConverterPipeline.get(stageEnd))) {
+                        stageEnd++;
+                    }
+                } else if (currentToTargetConverterPipeline.get(stageBegin) instanceof GlobalDBVersionConverter) {
 
-            // upgrade db entries
-            for (DBVersionConverter converter : currentToTargetConverterPipeline) {
+                    // load global dbs if needed
+                    if (globalDbSnapshots == null) {
+                        globalDbSnapshots = loadGlobalDBSnapshots();
+                        for (Entry<String, Map<File, DatabaseEntryDescriptor>> entry : globalDbSnapshots.entrySet()) {
+                            globalKeySet.put(entry.getKey(), new HashSet<>(entry.getValue().keySet()));
+                        }
+                    }
+                }
 
-                // calculate current transaction version
-                versionOfCurrentTransaction++;
+                final long stageStartTime = System.currentTimeMillis();
+                final List<DBVersionConverter> stageConverterList = currentToTargetConverterPipeline.subList(stageBegin, stageEnd);
+                if (isIndependent(stageConverterList.get(0))) {
+                    upgradeDBEntriesInParallel(stageConverterList, dbFileEntryMap);
+                } else {
+                    upgradeDBEntries(stageConverterList.get(0), dbFileEntryMap, globalDbSnapshots);
+                }
+                logUpgradeProgress("Version[" + (currentVersion + stageEnd) + "] reached", dbFileEntryMap.size() * stageConverterList.size(), stageStartTime);
+                stageBegin = stageEnd;
+            }
 
-                // load global dbs if needed
-                if (globalDbSnapshots == null && converter instanceof GlobalDBVersionConverter) {
-                    globalDbSnapshots = loadGlobalDBSnapshots();
-                    for (Entry<String, Map<File, DatabaseEntryDescriptor>> entry : globalDbSnapshots.entrySet()) {
-                        globalKeySet.put(entry.getKey(), new HashSet<>(entry.getValue().keySet()));
-                    }
+            // remove all entries which have been removed by any converter
+            for (final File dbFile : initialDbFileSet) {
+                if (!dbFileEntryMap.containsKey(dbFile) && !dbFile.delete()) {
+                    throw new CouldNotPerformException("Could not remove database entry[" + dbFile + "]");
                 }
+            }
 
-                for (Entry<File, JsonObject> dbEntry : new HashSet<>(dbFileEntryMap.entrySet())) {
-                    // update converted entry
-                    final JsonObject jsonObject = upgradeDBEntry(dbEntry.getValue(), converter, dbFileEntryMap, globalDbSnapshots);
+            // format and store each entry once
+            storeDBSnapshot(dbFileEntryMap);
 
-                    // entry was not converted but removed
-                    if (!dbFileEntryMap.values().contains(jsonObject)) {
-                        if (!dbEntry.getKey().delete()) {
-                            throw new CouldNotPerformException("Could not remove database entry[" + dbEntry + "]");
-                        }
-                        dbFileEntryMap.remove(dbEntry.getKey());
-                        continue;
+            // format and store global db if changed
+            storeGlobalDBSnapshots(globalDbSnapshots, globalKeySet);
+
+            // update current db version related to performed transactions.
+            currentDBVersion = currentVersion + currentToTargetConverterPipeline.size();
+
+            // upgrade db version
+            syncCurrentDBVersionWithFilesystem();
+
+            logUpgradeProgress("Database[" + databaseDirectory.getName() + "] upgraded", dbFileEntryMap.size() * currentToTargetConverterPipeline.size(), upgradeStartTime);
+        } catch (CouldNotPerformException ex) {
+            throw new CouldNotPerformException("Could not upgrade Database[" + databaseDirectory.getAbsolutePath() + "] to" + (targetVersion == latestSupportedDBVersion ? " latest" : "") + " Version[" + targetVersion + "]!", ex);
+        }
+    }
+
+    private boolean isIndependent(final DBVersionConverter converter) {
+        return !(converter instanceof GlobalDBVersionConverter) && converter.isParallelProcessingSupported();
+    }
+
+    /**
+     * Method applies the given converter chain on all entries of the given db snapshot.
+     * Since all converters of the chain only modify the given entry, each entry is passed through the whole chain independently and the entries are upgraded concurrently.
+     *
+     * @param converterChain the independent converters to apply in order.
+     * @param dbSnapshot     the db snapshot to upgrade.
+     * @throws CouldNotPerformException is thrown if at least one entry could not be upgraded or a converter has added entries to the snapshot.
+     */
+    private void upgradeDBEntriesInParallel(final List<DBVersionConverter> converterChain, final Map<File, JsonObject> dbSnapshot) throws CouldNotPerformException {
+        final Set<File> dbFileSet = new HashSet<>(dbSnapshot.keySet());
+        final List<File> dbFileList = new ArrayList<>(dbFileSet);
+        final int partitionCount = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), dbFileList.size()));
+        final int partitionSize = (dbFileList.size() + partitionCount - 1) / partitionCount;
+
+        final List<Future<List<CouldNotPerformException>>> partitionFutureList = new ArrayList<>();
+        for (int partitionStart = 0; partitionStart < dbFileList.size(); partitionStart += partitionSize) {
+            final List<File> partition = dbFileList.subList(partitionStart, Math.min(partitionStart + partitionSize, dbFileList.size()));
+            partitionFutureList.add(GlobalCachedExecutorService.submit(() -> {
+                final List<CouldNotPerformException> exceptionList = new ArrayList<>();
+                for (final File dbFile : partition) {
+                    try {
+                        upgradeDBEntry(dbFile, converterChain, dbSnapshot);
+                    } catch (CouldNotPerformException ex) {
+                        exceptionList.add(new CouldNotPerformException("Could not upgrade Entry[" + dbFile.getName() + "]!", ex));
                     }
+                }
+                return exceptionList;
+            }));
+        }
 
-                    dbFileEntryMap.replace(dbEntry.getKey(), dbEntry.getValue(), jsonObject);
+        MultiException.ExceptionStack exceptionStack = null;
+        try {
+            for (final Future<List<CouldNotPerformException>> partitionFuture : partitionFutureList) {
+                for (final CouldNotPerformException ex : partitionFuture.get()) {
+                    exceptionStack = MultiException.push(this, ex, exceptionStack);
                 }
+            }
+        } catch (InterruptedException ex) {
+            for (final Future<List<CouldNotPerformException>> partitionFuture : partitionFutureList) {
+                partitionFuture.cancel(true);
+            }
+            Thread.currentThread().interrupt();
+            throw new CouldNotPerformException("Could not upgrade all entries because thread was externally interrupted!", ex);
+        } catch (ExecutionException ex) {
+            for (final Future<List<CouldNotPerformException>> partitionFuture : partitionFutureList) {
+                partitionFuture.cancel(true);
+            }
+            throw new CouldNotPerformException("Could not upgrade all entries!", ex);
+        }
+
+        // added entries would have skipped some converters of the chain, so the independence declaration was violated.
+        for (final File dbFile : dbSnapshot.keySet()) {
+            if (!dbFileSet.contains(dbFile)) {
+                exceptionStack = MultiException.push(this, new InvalidStateException("Entry[" + dbFile.getName() + "] was added by a converter which declares to support parallel processing!"), exceptionStack);
+            }
+        }
+        MultiException.checkAndThrow(() -> "Could not upgrade all entries!", exceptionStack);
+    }
+
+    /**
+     * Method passes the entry of the given file through the whole converter chain.
+     *
+     * @param dbFile         the file of the entry to upgrade.
+     * @param converterChain the independent converters to apply in order.
+     * @param dbSnapshot     the db snapshot to upgrade.
+     * @throws CouldNotPerformException is thrown if the entry could not be upgraded.
+     */
+    private void upgradeDBEntry(final File dbFile, final List<DBVersionConverter> converterChain, final Map<File, JsonObject> dbSnapshot) throws CouldNotPerformException {
+        JsonObject entry = dbSnapshot.get(dbFile);
+        for (final DBVersionConverter converter : converterChain) {
+            entry = upgradeDBEntry(entry, converter, dbSnapshot, null);
+
+            // entry was not converted but removed
+            if (entry == null) {
+                dbSnapshot.remove(dbFile);
+                return;
+            }
+        }
+        dbSnapshot.put(dbFile, entry);
+    }
 
-                // update current db version related to performed transactions.
-                currentDBVersion = versionOfCurrentTransaction;
+    /**
+     * Method applies the given converter on all entries of the given db snapshot.
+     * Because the converter may read or modify other entries, all entries are upgraded before the next converter is applied.
+     * Entries added by the converter are not passed to the converter itself but to all following ones.
+     *
+     * @param converter         the converter to apply.
+     * @param dbSnapshot        the db snapshot to upgrade.
+     * @param globalDbSnapshots the global db snapshots passed to global converters.
+     * @throws CouldNotPerformException is thrown if an entry could not be upgraded.
+     */
+    private void upgradeDBEntries(final DBVersionConverter converter, final Map<File, JsonObject> dbSnapshot, final Map<String, Map<File, DatabaseEntryDescriptor>> globalDbSnapshots) throws CouldNotPerformException {
+        for (final File dbFile : new ArrayList<>(dbSnapshot.keySet())) {
+            final JsonObject outdatedEntry = dbSnapshot.get(dbFile);
 
-                // format and store
-                storeDBSnapshot(dbFileEntryMap);
+            // entry was removed by the converter while upgrading another entry
+            if (outdatedEntry == null) {
+                continue;
+            }
 
-                // format and store global db if changed
-                storeGlobalDBSnapshots(globalDbSnapshots, globalKeySet);
+            final JsonObject entry = upgradeDBEntry(outdatedEntry, converter, dbSnapshot, globalDbSnapshots);
 
-                // upgrade db version
-                syncCurrentDBVersionWithFilesystem();
+            // entry was not converted but removed
+            if (entry == null || !dbSnapshot.containsKey(dbFile)) {
+                dbSnapshot.remove(dbFile);
+                continue;
             }
-        } catch (CouldNotPerformException ex) {
-            throw new CouldNotPerformException("Could not upgrade Database[" + databaseDirectory.getAbsolutePath() + "] to" + (targetVersion == latestSupportedDBVersion ? " latest" : "") + " Version[" + targetVersion + "]!", ex);
+            dbSnapshot.put(dbFile, entry);
         }
     }
 
+    private void logUpgradeProgress(final String progress, final int conversionCounter, final long startTime) {
+        final long duration = Math.max(1, System.currentTimeMillis() - startTime);
+        logger.info(progress + ": " + conversionCounter + " entry conversions within " + duration + "ms (" + (conversionCounter * 1000L / duration) + " conversions/s).");
+    }
+
     public JsonObject upgradeDBEntry(final JsonObject entry, final DBVersionConverter converter, final Map<File, JsonObject> dbSnapshot, Map<String, Map<File, DatabaseEntryDescriptor>> globalDbSnapshots) throws CouldNotPerformException {
         try {
             // upgrade
@@ -198,7 +333,8 @@ public class DBVersionControl {
     }
 
     private Map<File, JsonObject> loadDbSnapshot() throws CouldNotPerformException {
-        final HashMap<File, JsonObject> dbFileEntryMap = new HashMap<>();
+        // concurrent map is used to support parallel upgrades.
+        final Map<File, JsonObject> dbFileEntryMap = new ConcurrentHashMap<>();
         for (File entry : databaseDirectory.listFiles(entryFileProvider.getFileFilter())) {
             dbFileEntryMap.put(entry, loadDBEntry(entry));
         }
@@ -45,4 +45,15 @@ public interface DBVersionConverter {
     JsonObject upgrade(final JsonObject outdatedDBEntry, final Map<File, JsonObject> dbSnapshot) throws CouldNotPerformException;
 
     DBVersionControl getVersionControl();
+
+    /**
+     * Defines if this converter can be applied to several entries concurrently.
+     * This is only supported if the upgrade only modifies the given entry and neither reads nor modifies any other entry of the db snapshot.
+     * By default, converters are applied sequentially.
+     *
+     * @return true if the entries can be upgraded in parallel.
+     */
+    default boolean isParallelProcessingSupported() {
+        return false;
+    }
 }
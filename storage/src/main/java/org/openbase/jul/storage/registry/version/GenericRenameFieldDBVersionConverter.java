@@ -65,6 +65,16 @@ public abstract class GenericRenameFieldDBVersionConverter extends AbstractDBVer
         return rename(outdatedDBEntry, newName, path);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @return true because renaming only modifies the given entry.
+     */
+    @Override
+    public boolean isParallelProcessingSupported() {
+        return true;
+    }
+
     /**
      * Method to rename a field.
      *
@@ -0,0 +1,149 @@
+package org.openbase.jul.storage.file;
+
+/*-
+ * #%L
+ * JUL Storage
+ * %%
+ * Copyright (C) 2015 - 2021 openbase.org
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openbase.jul.exception.CouldNotPerformException;
+import org.openbase.jul.exception.NotAvailableException;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author <a href="mailto:divine@openbase.org">Divine Threepwood</a>
+ */
+public class DatabaseSnapshotTest {
+
+    private static final List<String> VALIDATION_IDENTIFIERS = Arrays.asList("org.example.Handler", "dependency:LocationRegistry:digest");
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test(timeout = 5000)
+    public void testRestore() throws Exception {
+        System.out.println("testRestore");
+        final File databaseDirectory = temporaryFolder.newFolder("db");
+        final DatabaseSnapshot<String> snapshot = new DatabaseSnapshot<>(temporaryFolder.newFile(".db.snapshot"), new StringSnapshotProcessor());
+        final Map<File, String> fileDataMap = createDatabase(databaseDirectory, "a", "b");
+
+        snapshot.write(fileDataMap, 3, VALIDATION_IDENTIFIERS);
+        final DatabaseSnapshot.RestoredSnapshot<String> restoredSnapshot = snapshot.restore(databaseDirectory.listFiles(), 3);
+
+        assertEquals(fileDataMap, restoredSnapshot.getFileDataMap());
+        assertTrue(restoredSnapshot.isValidatedWith(VALIDATION_IDENTIFIERS));
+
+        // a modified dependency or handler configuration only invalidates the validation, not the restored data.
+        assertFalse(restoredSnapshot.isValidatedWith(Arrays.asList("org.example.Handler", "dependency:LocationRegistry:modified")));
+        assertFalse(restoredSnapshot.isValidatedWith(Collections.singletonList("org.example.Handler")));
+    }
+
+    @Test(timeout = 5000)
+    public void testRestoreRejectsModifiedDatabase() throws Exception {
+        System.out.println("testRestoreRejectsModifiedDatabase");
+        final File databaseDirectory = temporaryFolder.newFolder("db");
+        final DatabaseSnapshot<String> snapshot = new DatabaseSnapshot<>(new File(temporaryFolder.getRoot(), ".db.snapshot"), new StringSnapshotProcessor());
+
+        try {
+            snapshot.restore(databaseDirectory.listFiles(), 3);
+            fail("Missing snapshot was restored!");
+        } catch (NotAvailableException ex) {
+            // expected
+        }
+
+        snapshot.write(createDatabase(databaseDirectory, "a", "b"), 3, VALIDATION_IDENTIFIERS);
+        assertRestoreFails(snapshot, databaseDirectory, 4, "Snapshot of an other database version was restored!");
+
+        // a modified file has to be parsed again.
+        final File modifiedFile = new File(databaseDirectory, "a.json");
+        writeFile(modifiedFile, "modified content");
+        assertRestoreFails(snapshot, databaseDirectory, 3, "Snapshot of modified file was restored!");
+
+        // a new file has to be parsed as well.
+        snapshot.write(createDatabase(databaseDirectory, "a", "b"), 3, VALIDATION_IDENTIFIERS);
+        writeFile(new File(databaseDirectory, "c.json"), "c");
+        assertRestoreFails(snapshot, databaseDirectory, 3, "Snapshot of extended database was restored!");
+    }
+
+    private void assertRestoreFails(final DatabaseSnapshot<String> snapshot, final File databaseDirectory, final int dbVersion, final String message) {
+        try {
+            snapshot.restore(databaseDirectory.listFiles(), dbVersion);
+            fail(message);
+        } catch (CouldNotPerformException ex) {
+            // expected
+        }
+    }
+
+    private Map<File, String> createDatabase(final File databaseDirectory, final String... names) throws IOException {
+        final Map<File, String> fileDataMap = new LinkedHashMap<>();
+        for (final String name : names) {
+            final File file = new File(databaseDirectory, name + ".json");
+            writeFile(file, name);
+            fileDataMap.put(file, name);
+        }
+        return fileDataMap;
+    }
+
+    private void writeFile(final File file, final String content) throws IOException {
+        try (final FileOutputStream outputStream = new FileOutputStream(file)) {
+            outputStream.write(content.getBytes("UTF-8"));
+        }
+    }
+
+    private static class StringSnapshotProcessor implements SnapshotProcessor<String> {
+
+        @Override
+        public void write(final String data, final OutputStream outputStream) throws CouldNotPerformException {
+            try {
+                new DataOutputStream(outputStream).writeUTF(data);
+            } catch (IOException ex) {
+                throw new CouldNotPerformException("Could not write " + data + "!", ex);
+            }
+        }
+
+        @Override
+        public String read(final InputStream inputStream) throws CouldNotPerformException {
+            try {
+                return new DataInputStream(inputStream).readUTF();
+            } catch (IOException ex) {
+                throw new CouldNotPerformException("Could not read entry!", ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package org.openbase.jul.storage.file;
+
+/*-
+ * #%L
+ * JUL Storage
+ * %%
+ * Copyright (C) 2015 - 2021 openbase.org
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author <a href="mailto:divine@openbase.org">Divine Threepwood</a>
+ */
+public class DirectoryWatcherTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    /**
+     * Test if changes applied in short succession are reported and files rejected by the filter are skipped.
+     *
+     * @throws Exception
+     */
+    @Test(timeout = 30000)
+    public void testDebounce() throws Exception {
+        System.out.println("testDebounce");
+        final File directory = temporaryFolder.newFolder("db");
+        final BlockingQueue<Set<File>> changeQueue = new LinkedBlockingQueue<>();
+        final DirectoryWatcher watcher = new DirectoryWatcher(directory, file -> file.getName().endsWith(".json"), 500, 10000);
+        watcher.addObserver((source, changedFiles) -> changeQueue.add(changedFiles));
+        watcher.activate();
+        try {
+            final Set<File> expectedFileSet = new HashSet<>();
+            for (int i = 0; i < 3; i++) {
+                expectedFileSet.add(write(new File(directory, "entry" + i + ".json")));
+            }
+            write(new File(directory, "ignored.txt"));
+
+            final Set<File> changedFileSet = new HashSet<>();
+            while (!changedFileSet.containsAll(expectedFileSet)) {
+                final Set<File> changes = changeQueue.poll(20, TimeUnit.SECONDS);
+                assertNotNull("Changes not reported!", changes);
+                changedFileSet.addAll(changes);
+            }
+            assertEquals("Filtered file reported!", expectedFileSet, changedFileSet);
+        } finally {
+            watcher.shutdown();
+        }
+    }
+
+    /**
+     * Test if continuous changes are reported after the maximal latency instead of waiting until the changes are settled.
+     *
+     * @throws Exception
+     */
+    @Test(timeout = 30000)
+    public void testMaxLatency() throws Exception {
+        System.out.println("testMaxLatency");
+        final File directory = temporaryFolder.newFolder("db");
+        final File file = new File(directory, "entry.json");
+        final BlockingQueue<Set<File>> changeQueue = new LinkedBlockingQueue<>();
+        final DirectoryWatcher watcher = new DirectoryWatcher(directory, null, 500, 1000);
+        watcher.addObserver((source, changedFiles) -> changeQueue.add(changedFiles));
+        watcher.activate();
+        try {
+            // modify the file more frequently than the debounce delay until the changes are reported.
+            final long timeout = System.currentTimeMillis() + 20000;
+            Set<File> changes = null;
+            while (changes == null && System.currentTimeMillis() < timeout) {
+                write(file);
+                changes = changeQueue.poll(100, TimeUnit.MILLISECONDS);
+            }
+            assertNotNull("Continuous changes not reported!", changes);
+            assertTrue("Modified file not reported!", changes.contains(file));
+        } finally {
+            watcher.shutdown();
+        }
+    }
+
+    private static File write(final File file) throws IOException {
+        try (final FileWriter writer = new FileWriter(file, true)) {
+            writer.write("{}\n");
+        }
+        return file;
+    }
+}
@@ -0,0 +1,160 @@
+package org.openbase.jul.storage.file;
+
+/*-
+ * #%L
+ * JUL Storage
+ * %%
+ * Copyright (C) 2015 - 2021 openbase.org
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openbase.jul.exception.CouldNotPerformException;
+import org.openbase.jul.processing.FileProcessor;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author <a href="mailto:divine@openbase.org">Divine Threepwood</a>
+ */
+public class FileSynchronizerTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test(timeout = 5000)
+    public void testAtomicWrite() throws Exception {
+        System.out.println("testAtomicWrite");
+        final File file = createFile("a", "initial");
+        final StringFileProcessor fileProcessor = new StringFileProcessor();
+
+        new FileSynchronizer<>("modified", file, FileSynchronizer.InitMode.RESTORE, fileProcessor).write(true);
+        assertEquals("modified", read(file));
+        assertEquals("Temporary file was not replaced!", 1, file.getParentFile().listFiles().length);
+
+        // a write which fails after the temporary file was partially written does not touch the actual file.
+        fileProcessor.failingSerialization = true;
+        final FileSynchronizer<String> fileSynchronizer = new FileSynchronizer<>("corrupted", file, FileSynchronizer.InitMode.RESTORE, fileProcessor);
+        try {
+            fileSynchronizer.write(true);
+            fail("Failed write was not reported!");
+        } catch (CouldNotPerformException ex) {
+            // expected
+        }
+        assertTrue(fileSynchronizer.isWriteFailed());
+        assertEquals("modified", read(file));
+        assertEquals("Temporary file was not removed!", 1, file.getParentFile().listFiles().length);
+
+        fileProcessor.failingSerialization = false;
+        fileSynchronizer.write(true);
+        assertFalse(fileSynchronizer.isWriteFailed());
+        assertEquals("corrupted", read(file));
+    }
+
+    @Test(timeout = 5000)
+    public void testWriteBehindQueue() throws Exception {
+        System.out.println("testWriteBehindQueue");
+        final File file = createFile("b", "initial");
+        final StringFileProcessor fileProcessor = new StringFileProcessor();
+        final FileWriteBehindQueue writeBehindQueue = FileWriteBehindQueue.getInstance();
+
+        final FileSynchronizer<String> fileSynchronizer = new FileSynchronizer<>("modified", file, FileSynchronizer.InitMode.RESTORE, fileProcessor);
+        writeBehindQueue.schedule(fileSynchronizer, 60000);
+        writeBehindQueue.schedule(fileSynchronizer, 60000);
+        assertTrue(fileSynchronizer.isWriteBackPending());
+        assertEquals("Write was not delegated!", "initial", read(file));
+
+        writeBehindQueue.flush();
+        assertFalse(fileSynchronizer.isWriteBackPending());
+        assertEquals("modified", read(file));
+
+        // a failed write back stays pending and is reported by the synchronizer.
+        final FileSynchronizer<String> failingFileSynchronizer = new FileSynchronizer<>("corrupted", file, FileSynchronizer.InitMode.RESTORE, fileProcessor);
+        fileProcessor.failingSerialization = true;
+        writeBehindQueue.schedule(failingFileSynchronizer, 60000);
+        try {
+            writeBehindQueue.flush();
+            fail("Failed write back was not reported!");
+        } catch (CouldNotPerformException ex) {
+            // expected
+        }
+        assertTrue(failingFileSynchronizer.isWriteBackPending());
+        assertTrue(failingFileSynchronizer.isWriteFailed());
+        assertEquals("modified", read(file));
+
+        // the write back can be retried once the cause is resolved.
+        fileProcessor.failingSerialization = false;
+        writeBehindQueue.schedule(failingFileSynchronizer, 60000);
+        failingFileSynchronizer.flush();
+        assertFalse(failingFileSynchronizer.isWriteBackPending());
+        assertFalse(failingFileSynchronizer.isWriteFailed());
+        assertEquals("corrupted", read(file));
+    }
+
+    private File createFile(final String name, final String content) throws IOException {
+        final File file = new File(temporaryFolder.newFolder(name), name + ".txt");
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static String read(final File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+
+    private static class StringFileProcessor implements FileProcessor<String> {
+
+        private volatile boolean failingSerialization;
+
+        @Override
+        public String deserialize(final File file) throws CouldNotPerformException {
+            try {
+                return read(file);
+            } catch (IOException ex) {
+                throw new CouldNotPerformException("Could not read " + file + "!", ex);
+            }
+        }
+
+        @Override
+        public String deserialize(final File file, final String data) throws CouldNotPerformException {
+            return deserialize(file);
+        }
+
+        @Override
+        public File serialize(final String data, final File file) throws CouldNotPerformException {
+            try {
+                if (failingSerialization) {
+                    Files.write(file.toPath(), data.substring(0, data.length() / 2).getBytes(StandardCharsets.UTF_8));
+                    throw new CouldNotPerformException("Simulated interrupted serialization.");
+                }
+                Files.write(file.toPath(), data.getBytes(StandardCharsets.UTF_8));
+                return file;
+            } catch (IOException ex) {
+                throw new CouldNotPerformException("Could not write " + file + "!", ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package org.openbase.jul.storage.file;
+
+/*-
+ * #%L
+ * JUL Storage
+ * %%
+ * Copyright (C) 2015 - 2021 openbase.org
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openbase.jul.exception.CouldNotPerformException;
+import org.openbase.jul.exception.InstantiationException;
+import org.openbase.jul.extension.protobuf.processing.ProtoBufFileProcessor;
+import org.openbase.type.domotic.unit.UnitConfigType.UnitConfig;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author <a href="mailto:divine@openbase.org">Divine Threepwood</a>
+ */
+public class ProtoBufJournalTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test(timeout = 10000)
+    public void testReplayAfterReopen() throws Exception {
+        System.out.println("testReplayAfterReopen");
+        final File directory = temporaryFolder.newFolder();
+
+        ProtoBufJournal<UnitConfig> journal = new ProtoBufJournal<>(directory, UnitConfig.getDefaultInstance());
+        journal.register(UnitConfig.newBuilder().setId("a").build());
+        journal.register(UnitConfig.newBuilder().setId("b").build());
+        journal.update(UnitConfig.newBuilder().setId("a").addAlias("alias-a").build());
+        journal.remove("b");
+        journal.shutdown();
+
+        journal = new ProtoBufJournal<>(directory, UnitConfig.getDefaultInstance());
+        final Map<String, UnitConfig> entries = journal.getEntries();
+        assertEquals(1, entries.size());
+        assertEquals("alias-a", entries.get("a").getAlias(0));
+
+        // records appended after a replay have to be replayed as well.
+        journal.register(UnitConfig.newBuilder().setId("c").build());
+        journal.compact();
+        journal.update(UnitConfig.newBuilder().setId("c").addAlias("alias-c").build());
+        journal.shutdown();
+
+        journal = new ProtoBufJournal<>(directory, UnitConfig.getDefaultInstance());
+        assertEquals(2, journal.getEntries().size());
+        assertEquals("alias-c", journal.getEntries().get("c").getAlias(0));
+        journal.shutdown();
+    }
+
+    @Test(timeout = 10000)
+    public void testTornLastWrite() throws Exception {
+        System.out.println("testTornLastWrite");
+        final File directory = temporaryFolder.newFolder();
+        final File journalFile = new File(directory, ProtoBufJournal.JOURNAL_FILE_NAME);
+
+        ProtoBufJournal<UnitConfig> journal = new ProtoBufJournal<>(directory, UnitConfig.getDefaultInstance());
+        journal.register(UnitConfig.newBuilder().setId("a").build());
+        journal.register(UnitConfig.newBuilder().setId("b").build());
+        journal.shutdown();
+        final long validLength = journalFile.length();
+
+        // simulate a crash while writing a record which announces 20 bytes but only provides 3 of them.
+        append(journalFile, new byte[]{20, 8, 1, 18});
+
+        journal = new ProtoBufJournal<>(directory, UnitConfig.getDefaultInstance());
+        assertEquals(2, journal.getEntries().size());
+        assertEquals("Torn record was not truncated!", validLength, journalFile.length());
+
+        // the journal has to stay appendable at the truncated offset.
+        journal.register(UnitConfig.newBuilder().setId("c").build());
+        journal.shutdown();
+
+        // simulate a crash which leaves zero filled blocks behind.
+        append(journalFile, new byte[64]);
+
+        journal = new ProtoBufJournal<>(directory, UnitConfig.getDefaultInstance());
+        assertEquals(3, journal.getEntries().size());
+        journal.shutdown();
+    }
+
+    @Test(timeout = 10000)
+    public void testMidFileCorruption() throws Exception {
+        System.out.println("testMidFileCorruption");
+        final File directory = temporaryFolder.newFolder();
+        final File journalFile = new File(directory, ProtoBufJournal.JOURNAL_FILE_NAME);
+
+        ProtoBufJournal<UnitConfig> journal = new ProtoBufJournal<>(directory, UnitConfig.getDefaultInstance());
+        journal.register(UnitConfig.newBuilder().setId("a").build());
+        journal.shutdown();
+
+        // a complete record without id followed by a further record can not be caused by a crash.
+        append(journalFile, new byte[]{2, 8, 0});
+        final long corruptedLength = journalFile.length();
+        append(journalFile, new byte[]{5, 8, 0, 18, 1, 'b'});
+
+        try {
+            new ProtoBufJournal<>(directory, UnitConfig.getDefaultInstance()).shutdown();
+            fail("Mid-file corruption was not detected!");
+        } catch (InstantiationException ex) {
+            // expected
+        }
+        assertFalse("Records after the corruption were discarded!", journalFile.length() < corruptedLength);
+    }
+
+    @Test(timeout = 10000)
+    public void testFailedAppend() throws Exception {
+        System.out.println("testFailedAppend");
+        final File directory = temporaryFolder.newFolder();
+        final File journalFile = new File(directory, ProtoBufJournal.JOURNAL_FILE_NAME);
+
+        final FailingProtoBufJournal journal = new FailingProtoBufJournal(directory);
+        journal.register(UnitConfig.newBuilder().setId("a").build());
+        final long validLength = journalFile.length();
+
+        // the next record is only partially written.
+        journal.failNextWrite = true;
+        try {
+            journal.register(UnitConfig.newBuilder().setId("b").build());
+            fail("Failed write was not reported!");
+        } catch (CouldNotPerformException ex) {
+            // expected
+        }
+        assertFalse("Entry of failed record was applied!", journal.contains("b"));
+        assertEquals("Torn record was not discarded!", validLength, journalFile.length());
+
+        // further records are not allowed to follow the torn one.
+        journal.register(UnitConfig.newBuilder().setId("c").build());
+        journal.shutdown();
+
+        final ProtoBufJournal<UnitConfig> reopenedJournal = new ProtoBufJournal<>(directory, UnitConfig.getDefaultInstance());
+        assertEquals(2, reopenedJournal.getEntries().size());
+        assertTrue(reopenedJournal.contains("a"));
+        assertTrue(reopenedJournal.contains("c"));
+        reopenedJournal.shutdown();
+    }
+
+    @Test(timeout = 10000)
+    public void testJsonExportAndImport() throws Exception {
+        System.out.println("testJsonExportAndImport");
+        final File jsonDirectory = temporaryFolder.newFolder();
+        final ProtoBufFileProcessor<UnitConfig, UnitConfig, UnitConfig.Builder> fileProcessor = new ProtoBufFileProcessor<>(UnitConfig.newBuilder());
+        final ProtoBufJSonFileProvider fileProvider = new ProtoBufJSonFileProvider();
+
+        final ProtoBufJournal<UnitConfig> journal = new ProtoBufJournal<>(temporaryFolder.newFolder(), UnitConfig.getDefaultInstance());
+        journal.register(UnitConfig.newBuilder().setId("a").addAlias("alias-a").build());
+        journal.register(UnitConfig.newBuilder().setId("b").addAlias("alias-b").build());
+        journal.exportToJson(jsonDirectory, fileProvider, fileProcessor);
+        journal.shutdown();
+        assertEquals("One json file per entry expected!", 2, jsonDirectory.listFiles(fileProvider.getFileFilter()).length);
+
+        // import into a journal which already contains an outdated version of one entry.
+        final File importDirectory = temporaryFolder.newFolder();
+        ProtoBufJournal<UnitConfig> importJournal = new ProtoBufJournal<>(importDirectory, UnitConfig.getDefaultInstance());
+        importJournal.register(UnitConfig.newBuilder().setId("a").build());
+        importJournal.importFromJson(jsonDirectory, fileProvider.getFileFilter(), fileProcessor);
+        importJournal.shutdown();
+
+        // the imported state has to be part of the snapshot.
+        assertEquals(0, new File(importDirectory, ProtoBufJournal.JOURNAL_FILE_NAME).length());
+        importJournal = new ProtoBufJournal<>(importDirectory, UnitConfig.getDefaultInstance());
+        final Map<String, UnitConfig> entries = importJournal.getEntries();
+        assertEquals(2, entries.size());
+        assertEquals("alias-a", entries.get("a").getAlias(0));
+        assertEquals("alias-b", entries.get("b").getAlias(0));
+        importJournal.shutdown();
+    }
+
+    private void append(final File file, final byte[] data) throws IOException {
+        try (final FileOutputStream outputStream = new FileOutputStream(file, true)) {
+            outputStream.write(data);
+        }
+    }
+
+    private static class FailingProtoBufJournal extends ProtoBufJournal<UnitConfig> {
+
+        private boolean failNextWrite;
+
+        FailingProtoBufJournal(final File directory) throws InstantiationException {
+            super(directory, UnitConfig.getDefaultInstance());
+        }
+
+        @Override
+        void write(final FileChannel channel, final byte[] data) throws IOException {
+            if (failNextWrite) {
+                failNextWrite = false;
+                channel.write(ByteBuffer.wrap(data, 0, data.length / 2));
+                throw new IOException("Simulated interrupted write.");
+            }
+            super.write(channel, data);
+        }
+    }
+}
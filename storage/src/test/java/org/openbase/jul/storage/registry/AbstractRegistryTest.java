@@ -21,11 +21,19 @@ package org.openbase.jul.storage.registry;
  * <http://www.gnu.org/licenses/lgpl-3.0.html>.
  * #L%
  */
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.After;
 import org.junit.AfterClass;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -33,7 +41,13 @@ import org.openbase.jps.core.JPService;
 import org.openbase.jps.exception.JPServiceException;
 import org.openbase.jul.exception.CouldNotPerformException;
 import org.openbase.jul.exception.InstantiationException;
+import org.openbase.jul.exception.MultiException;
+import org.openbase.jul.exception.RejectedException;
 import org.openbase.jul.exception.printer.ExceptionPrinter;
+import org.openbase.jul.extension.protobuf.IdentifiableMessage;
+import org.openbase.jul.iface.Identifiable;
+import org.openbase.jul.storage.registry.plugin.AbstractRegistryPluginAdapter;
+import org.openbase.type.domotic.unit.UnitConfigType.UnitConfig;
 import org.slf4j.LoggerFactory;
 
 /**
@@ -122,6 +136,341 @@ public class AbstractRegistryTest {
 
     }
 
+    @Test(timeout = 10000)
+    public void testIncrementalConsistencyCheck() throws Exception {
+        final AbstractRegistry registry = new AbstractRegistryImpl();
+        final CountingConsistencyHandler consistencyHandler = new CountingConsistencyHandler();
+        registry.registerConsistencyHandler(consistencyHandler);
+
+        for (int i = 0; i < 100; i++) {
+            registry.load(new TestEntry("Entry" + i));
+        }
+
+        // a full check is applied on all entries
+        registry.checkConsistency();
+        assertEquals("Full check did not validate all entries!", 100, consistencyHandler.processedEntryCounter);
+
+        // a transaction only validates the modified entry
+        consistencyHandler.processedEntryCounter = 0;
+        registry.register(new TestEntry("NewEntry"));
+        assertEquals("Incremental check validated unmodified entries!", 1, consistencyHandler.processedEntryCounter);
+    }
+
+    @Test(timeout = 10000)
+    public void testParallelConsistencyCheck() throws Exception {
+        final AbstractRegistry registry = new AbstractRegistryImpl();
+        final ParallelConsistencyHandler consistencyHandler = new ParallelConsistencyHandler();
+        registry.registerConsistencyHandler(consistencyHandler);
+
+        final int entryCount = AbstractRegistry.PARALLEL_CONSISTENCY_CHECK_THRESHOLD * 2;
+        for (int i = 0; i < entryCount; i++) {
+            registry.load(new TestEntry("Entry" + i));
+        }
+
+        registry.checkConsistency();
+        assertEquals("Parallel check did not validate all entries!", entryCount, consistencyHandler.processedEntryCounter.get());
+
+        consistencyHandler.invalidEntryId = "Entry42";
+        try {
+            registry.checkConsistency();
+            fail("Inconsistency detected by parallel handler was not reported!");
+        } catch (CouldNotPerformException ex) {
+            // expected
+        }
+    }
+
+    /**
+     * Test if a batch load applies all valid entries and reports the invalid ones.
+     *
+     * @throws Exception
+     */
+    @Test(timeout = 5000)
+    public void testLoadAll() throws Exception {
+        final AbstractRegistry registry = new AbstractRegistryImpl();
+        registry.load(new TestEntry("Entry0"));
+
+        final List<TestEntry> entryList = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            entryList.add(new TestEntry("Entry" + i));
+        }
+
+        try {
+            registry.loadAll(entryList);
+            fail("Duplicated entry was not rejected!");
+        } catch (MultiException ex) {
+            assertEquals("Unexpected number of rejected entries!", 1, ex.getExceptionStack().size());
+        }
+        assertEquals("Not all valid entries are loaded!", 10, registry.size());
+    }
+
+    /**
+     * Test if batch transactions are atomic, report each invalid entry, inform plugins once per entry and notify observers once per batch.
+     *
+     * @throws Exception
+     */
+    @Test(timeout = 5000)
+    public void testBatchTransactions() throws Exception {
+        final AbstractRegistry registry = new AbstractRegistryImpl();
+        registry.setupSandbox(new RegistrySandboxImpl(new HashMap(), registry));
+        registry.registerConsistencyHandler(new RejectingConsistencyHandler());
+        final AtomicInteger notificationCounter = new AtomicInteger();
+        final AtomicInteger beforeRegisterCounter = new AtomicInteger();
+        final AtomicInteger afterRegisterCounter = new AtomicInteger();
+        final AtomicInteger afterRemoveCounter = new AtomicInteger();
+        registry.addObserver((source, data) -> notificationCounter.incrementAndGet());
+        registry.pluginPool.addPlugin(new AbstractRegistryPluginAdapter<String, TestEntry, Registry<String, TestEntry>>() {
+            @Override
+            public void beforeRegister(final TestEntry entry) {
+                beforeRegisterCounter.incrementAndGet();
+            }
+
+            @Override
+            public void afterRegister(final TestEntry entry) {
+                afterRegisterCounter.incrementAndGet();
+            }
+
+            @Override
+            public void afterRemove(final TestEntry entry) {
+                afterRemoveCounter.incrementAndGet();
+            }
+        });
+
+        // entries rejected by the consistency check are reported individually and nothing is applied.
+        final String invalidId1 = RejectingConsistencyHandler.INVALID_ID_PREFIX + "1";
+        final String invalidId3 = RejectingConsistencyHandler.INVALID_ID_PREFIX + "3";
+        try {
+            registry.registerAll(Arrays.asList(new TestEntry("Entry0"), new TestEntry(invalidId1), new TestEntry("Entry2"), new TestEntry(invalidId3)));
+            fail("Batch with inconsistent entries was not rejected!");
+        } catch (MultiException ex) {
+            assertEquals("Unexpected number of rejected entries!", 2, ex.getExceptionStack().size());
+            assertTrue("Inconsistent entry not reported!", ex.getExceptionStack().get(0).getException().getMessage().contains(invalidId1));
+            assertTrue("Inconsistent entry not reported!", ex.getExceptionStack().get(1).getException().getMessage().contains(invalidId3));
+        }
+        assertTrue("Entries of a rejected batch applied!", registry.isEmpty());
+        assertEquals("Plugins informed about a rejected batch!", 0, beforeRegisterCounter.get() + afterRegisterCounter.get());
+        assertEquals("Observers notified about a rejected batch!", 0, notificationCounter.get());
+
+        // invalid transaction requests are reported individually and nothing is applied.
+        registry.register(new TestEntry("Entry0"));
+        notificationCounter.set(0);
+        beforeRegisterCounter.set(0);
+        afterRegisterCounter.set(0);
+        try {
+            registry.updateAll(Arrays.asList(new TestEntry("Entry0"), new TestEntry("Unknown1"), new TestEntry("Unknown2")));
+            fail("Update of unknown entries was not rejected!");
+        } catch (MultiException ex) {
+            assertEquals("Unexpected number of rejected entries!", 2, ex.getExceptionStack().size());
+        }
+        assertEquals("Observers notified about a rejected batch!", 0, notificationCounter.get());
+
+        // a valid batch informs the plugins once per entry and the observers once per batch.
+        final int entryCount = 5;
+        final List<TestEntry> entryList = new ArrayList<>();
+        for (int i = 1; i <= entryCount; i++) {
+            entryList.add(new TestEntry("Entry" + i));
+        }
+        assertEquals("Not all entries registered!", entryCount, registry.registerAll(entryList).size());
+        assertEquals("Registry does not contain all entries!", entryCount + 1, registry.size());
+        assertEquals("Plugins not informed once per entry!", entryCount, beforeRegisterCounter.get());
+        assertEquals("Plugins not informed once per entry!", entryCount, afterRegisterCounter.get());
+        assertEquals("Observers not notified once per batch!", 1, notificationCounter.get());
+
+        assertEquals("Not all entries removed!", entryCount, registry.removeAll(entryList).size());
+        assertEquals("Plugins not informed once per entry!", entryCount, afterRemoveCounter.get());
+        assertEquals("Observers not notified once per batch!", 2, notificationCounter.get());
+        assertEquals("Unexpected number of entries!", 1, registry.size());
+    }
+
+    @Test(timeout = 5000)
+    public void testEntryIndex() throws Exception {
+        final AbstractRegistry<String, TestEntry, ?, ?, ?> registry = new AbstractRegistryImpl();
+        for (int i = 0; i < 10; i++) {
+            registry.register(new TestEntry("Entry" + i));
+        }
+        registry.registerIndex("parity", entry -> Collections.singleton(Integer.parseInt(entry.getId().substring(5)) % 2));
+
+        assertEquals("Index does not contain all even entries!", 5, registry.getEntriesByIndex("parity", 0).size());
+        registry.register(new TestEntry("Entry10"));
+        assertEquals("Index not updated after registration!", 6, registry.getEntriesByIndex("parity", 0).size());
+        registry.remove("Entry0");
+        assertEquals("Index not updated after removal!", 5, registry.getEntriesByIndex("parity", 0).size());
+        assertTrue("Unknown key should resolve an empty list!", registry.getEntriesByIndex("parity", 2).isEmpty());
+    }
+
+    @Test(timeout = 5000)
+    public void testEntrySnapshot() throws Exception {
+        final AbstractRegistry<String, TestEntry, ?, ?, ?> registry = new AbstractRegistryImpl();
+        registry.register(new TestEntry("Entry0"));
+
+        final List<TestEntry> entryList = registry.getEntries();
+        final Map<String, TestEntry> entryMap = registry.getEntryMap();
+        registry.register(new TestEntry("Entry1"));
+
+        assertEquals("Published entries are modified by a later transaction!", 1, entryMap.size());
+        assertEquals("Returned entries are modified by a later transaction!", 1, entryList.size());
+        assertEquals("Later transaction not published!", 2, registry.getEntries().size());
+        assertTrue("Registered entry not available!", registry.contains("Entry1"));
+
+        // returned lists are copies which can be modified by the caller.
+        entryList.clear();
+        assertEquals("Registry affected by a modification of the returned list!", 2, registry.size());
+    }
+
+    /**
+     * Test if published entries are isolated from in place modifications applied by consistency handlers
+     * and if such modifications are published even if the registry was not modified otherwise.
+     *
+     * @throws Exception
+     */
+    @Test(timeout = 5000)
+    public void testEntrySnapshotAfterConsistencyModification() throws Exception {
+        final AbstractRegistry<String, IdentifiableMessage<String, UnitConfig, UnitConfig.Builder>, ?, ?, ?> registry = new AbstractRegistryImpl();
+        final AliasConsistencyHandler consistencyHandler = new AliasConsistencyHandler();
+        registry.registerConsistencyHandler(consistencyHandler);
+        registry.register(new IdentifiableMessage<>(UnitConfig.newBuilder().setId("Entry0").build()));
+
+        final IdentifiableMessage<String, UnitConfig, UnitConfig.Builder> publishedEntry = registry.get("Entry0");
+        assertTrue("Entry already modified!", publishedEntry.getMessage().getAliasList().isEmpty());
+
+        consistencyHandler.enabled = true;
+        registry.checkConsistency();
+
+        assertTrue("Published entry modified in place!", publishedEntry.getMessage().getAliasList().isEmpty());
+        assertEquals("Consistency modification not published!", Collections.singletonList(AliasConsistencyHandler.ALIAS), registry.get("Entry0").getMessage().getAliasList());
+    }
+
+    @Test(timeout = 5000)
+    public void testValidationIdentifiers() throws Exception {
+        final AbstractRegistry registry = new AbstractRegistryImpl();
+        final AbstractRegistry dependency = new AbstractRegistryImpl();
+        dependency.setName("Dependency");
+        dependency.register(new TestEntry("Entry0"));
+
+        final List<String> handlerIdentifierList = registry.getValidationIdentifiers();
+        registry.registerConsistencyHandler(new CountingConsistencyHandler());
+        assertEquals("Consistency handler not identified!", handlerIdentifierList.size() + 1, registry.getValidationIdentifiers().size());
+
+        registry.registerDependency(dependency);
+        final List<String> validationIdentifierList = registry.getValidationIdentifiers();
+        assertEquals("Dependency not identified!", handlerIdentifierList.size() + 2, validationIdentifierList.size());
+        assertEquals("Identifiers of an unchanged state differ!", validationIdentifierList, registry.getValidationIdentifiers());
+
+        dependency.register(new TestEntry("Entry1"));
+        assertFalse("Modified dependency not detected!", validationIdentifierList.equals(registry.getValidationIdentifiers()));
+    }
+
+    @Test(timeout = 5000)
+    public void testUnchangedNotificationFilter() throws Exception {
+        final AbstractRegistry<String, TestEntry, ?, ?, ?> registry = new AbstractRegistryImpl();
+        final AtomicInteger notificationCounter = new AtomicInteger();
+        registry.addObserver((source, data) -> notificationCounter.incrementAndGet());
+
+        final TestEntry entry = new TestEntry("Entry0");
+        registry.register(entry);
+        assertEquals("Registration not notified!", 1, notificationCounter.get());
+
+        registry.update(entry);
+        assertEquals("Unchanged registry notified!", 1, notificationCounter.get());
+
+        registry.remove(entry);
+        assertEquals("Removal not notified!", 2, notificationCounter.get());
+
+        registry.register(entry);
+        assertEquals("Second registration not notified!", 3, notificationCounter.get());
+    }
+
+    /**
+     * Test if observers are informed about entries modified by consistency handlers
+     * even if the modification is the only change of the registry.
+     *
+     * @throws Exception
+     */
+    @Test(timeout = 5000)
+    public void testConsistencyModificationNotification() throws Exception {
+        final AbstractRegistry<String, IdentifiableMessage<String, UnitConfig, UnitConfig.Builder>, ?, ?, ?> registry = new AbstractRegistryImpl();
+        final AbstractRegistry dependency = new AbstractRegistryImpl();
+        final AliasConsistencyHandler consistencyHandler = new AliasConsistencyHandler();
+        final AtomicInteger notificationCounter = new AtomicInteger();
+        registry.registerConsistencyHandler(consistencyHandler);
+        registry.registerDependency(dependency);
+        registry.addObserver((source, data) -> notificationCounter.incrementAndGet());
+
+        registry.register(new IdentifiableMessage<>(UnitConfig.newBuilder().setId("Entry0").build()));
+        assertEquals("Registration not notified!", 1, notificationCounter.get());
+
+        // the modification of the dependency causes a consistency modification of the registry.
+        consistencyHandler.enabled = true;
+        dependency.register(new TestEntry("Entry0"));
+
+        assertEquals("Consistency modification not applied!", Collections.singletonList(AliasConsistencyHandler.ALIAS), registry.get("Entry0").getMessage().getAliasList());
+        assertEquals("Consistency modification not notified!", 2, notificationCounter.get());
+    }
+
+    /**
+     * Test if externally modified entries are validated by the sandbox and rejected modifications are not applied at all.
+     *
+     * @throws Exception
+     */
+    @Test(timeout = 5000)
+    public void testReloadEntries() throws Exception {
+        final AbstractRegistry registry = new AbstractRegistryImpl();
+        registry.setupSandbox(new RegistrySandboxImpl(new HashMap(), registry));
+        registry.registerConsistencyHandler(new RejectingConsistencyHandler());
+        registry.register(new TestEntry("Entry0"));
+
+        registry.reloadEntries(Arrays.asList(new TestEntry("Entry1")), Collections.emptyList());
+        assertTrue("Valid modification not applied!", registry.contains("Entry1"));
+
+        try {
+            registry.reloadEntries(Arrays.asList(new TestEntry("Entry2"), new TestEntry(RejectingConsistencyHandler.INVALID_ID_PREFIX + "3")), Arrays.asList("Entry0"));
+            fail("Invalid modification was not rejected!");
+        } catch (RejectedException ex) {
+            // expected
+        }
+        assertTrue("Removal applied even though the modifications are rejected!", registry.contains("Entry0"));
+        assertFalse("Valid entry applied even though the modifications are rejected!", registry.contains("Entry2"));
+        assertFalse("Invalid entry applied!", registry.contains(RejectingConsistencyHandler.INVALID_ID_PREFIX + "3"));
+        assertEquals("Registry modified by rejected modifications!", 2, registry.size());
+
+        // the sandbox is still in sync with the registry.
+        registry.reloadEntries(Collections.emptyList(), Arrays.asList("Entry0"));
+        assertFalse("Valid removal not applied!", registry.contains("Entry0"));
+        assertEquals("Unexpected number of entries!", 1, registry.size());
+    }
+
+    @Test(timeout = 5000)
+    public void testAsyncPluginCallbacks() throws Exception {
+        final AbstractRegistry registry = new AbstractRegistryImpl();
+        final List<String> registeredIdList = Collections.synchronizedList(new ArrayList<>());
+        final List<Boolean> publishedBeforeCallbackList = Collections.synchronizedList(new ArrayList<>());
+        registry.pluginPool.addPlugin(new AbstractRegistryPluginAdapter<String, TestEntry, Registry<String, TestEntry>>() {
+            @Override
+            public void afterRegister(final TestEntry entry) {
+                publishedBeforeCallbackList.add(registry.contains(entry.getId()));
+                registeredIdList.add(entry.getId());
+            }
+
+            @Override
+            public boolean isAsyncCallbackSupported() {
+                return true;
+            }
+        });
+
+        final int entryCount = 10;
+        for (int i = 0; i < entryCount; i++) {
+            registry.register(new TestEntry("Entry" + i));
+        }
+
+        while (registeredIdList.size() < entryCount) {
+            Thread.sleep(10);
+        }
+        for (int i = 0; i < entryCount; i++) {
+            assertEquals("Callbacks not delivered in order!", "Entry" + i, registeredIdList.get(i));
+        }
+        assertFalse("Callback delivered before transaction was finished!", publishedBeforeCallbackList.contains(false));
+        registry.shutdown();
+    }
+
     public class AbstractRegistryImpl extends AbstractRegistry {
 
         public AbstractRegistryImpl() throws InstantiationException {
@@ -133,4 +482,82 @@ public class AbstractRegistryTest {
         }
     }
 
+    private static class TestEntry implements Identifiable<String> {
+
+        private final String id;
+
+        public TestEntry(final String id) {
+            this.id = id;
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + "[" + id + "]";
+        }
+    }
+
+    private static class CountingConsistencyHandler extends AbstractConsistencyHandler<String, TestEntry, Map<String, TestEntry>, Registry<String, TestEntry>> {
+
+        private int processedEntryCounter = 0;
+
+        @Override
+        public void processData(String id, TestEntry entry, Map<String, TestEntry> entryMap, Registry<String, TestEntry> registry) {
+            processedEntryCounter++;
+        }
+
+        @Override
+        public boolean isIncrementalCheckSupported() {
+            return true;
+        }
+    }
+
+    private static class AliasConsistencyHandler extends AbstractConsistencyHandler<String, IdentifiableMessage<String, UnitConfig, UnitConfig.Builder>, Map<String, IdentifiableMessage<String, UnitConfig, UnitConfig.Builder>>, Registry<String, IdentifiableMessage<String, UnitConfig, UnitConfig.Builder>>> {
+
+        private static final String ALIAS = "Checked";
+
+        private volatile boolean enabled = false;
+
+        @Override
+        public void processData(String id, IdentifiableMessage<String, UnitConfig, UnitConfig.Builder> entry, Map<String, IdentifiableMessage<String, UnitConfig, UnitConfig.Builder>> entryMap, Registry<String, IdentifiableMessage<String, UnitConfig, UnitConfig.Builder>> registry) throws CouldNotPerformException, EntryModification {
+            if (enabled && !entry.getMessage().getAliasList().contains(ALIAS)) {
+                throw new EntryModification(entry.setMessage(entry.getMessage().toBuilder().addAlias(ALIAS), this), this);
+            }
+        }
+    }
+
+    private static class RejectingConsistencyHandler extends AbstractConsistencyHandler<String, TestEntry, Map<String, TestEntry>, Registry<String, TestEntry>> {
+
+        private static final String INVALID_ID_PREFIX = "Invalid";
+
+        @Override
+        public void processData(String id, TestEntry entry, Map<String, TestEntry> entryMap, Registry<String, TestEntry> registry) throws CouldNotPerformException {
+            if (id.startsWith(INVALID_ID_PREFIX)) {
+                throw new CouldNotPerformException("Entry[" + id + "] is invalid!");
+            }
+        }
+    }
+
+    private static class ParallelConsistencyHandler extends AbstractConsistencyHandler<String, TestEntry, Map<String, TestEntry>, Registry<String, TestEntry>> {
+
+        private final AtomicInteger processedEntryCounter = new AtomicInteger();
+        private volatile String invalidEntryId;
+
+        @Override
+        public void processData(String id, TestEntry entry, Map<String, TestEntry> entryMap, Registry<String, TestEntry> registry) throws CouldNotPerformException {
+            processedEntryCounter.incrementAndGet();
+            if (id.equals(invalidEntryId)) {
+                throw new CouldNotPerformException("Entry[" + id + "] is invalid!");
+            }
+        }
+
+        @Override
+        public boolean isParallelProcessingSupported() {
+            return true;
+        }
+    }
 }
@@ -0,0 +1,238 @@
+package org.openbase.jul.storage.registry;
+
+/*-
+ * #%L
+ * JUL Storage
+ * %%
+ * Copyright (C) 2015 - 2021 openbase.org
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.openbase.jps.core.JPService;
+import org.openbase.jul.exception.CouldNotPerformException;
+import org.openbase.jul.exception.MultiException;
+import org.openbase.jul.exception.printer.ExceptionPrinter;
+import org.openbase.jul.extension.protobuf.IdentifiableMessage;
+import org.openbase.type.domotic.unit.UnitConfigType.UnitConfig;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author <a href="mailto:divine@openbase.org">Divine Threepwood</a>
+ */
+public class AbstractSynchronizerTest {
+
+    private static final org.slf4j.Logger LOGGER = LoggerFactory.getLogger(AbstractSynchronizerTest.class);
+
+    private static final int ENTRY_COUNT = 20;
+
+    @BeforeClass
+    public static void setUpClass() throws Throwable {
+        try {
+            JPService.setupJUnitTestMode();
+        } catch (Throwable ex) {
+            throw ExceptionPrinter.printHistoryAndReturnThrowable(ex, LOGGER);
+        }
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+    }
+
+    /**
+     * Test if only the entries which failed within a batch are retried by the next synchronization.
+     * Note: Changes are published while the synchronizer is active so they might already be applied by an observer triggered synchronization,
+     * which does not affect the expected results since each entry is only reported after it was successfully processed.
+     *
+     * @throws java.lang.Exception
+     */
+    @Test(timeout = 10000)
+    public void testBatchWithPartialFailure() throws Exception {
+        System.out.println("testBatchWithPartialFailure");
+
+        final RemoteRegistry<String, UnitConfig, UnitConfig.Builder> remoteRegistry = new RemoteRegistry<>();
+        final TestSynchronizer synchronizer = new TestSynchronizer(remoteRegistry);
+        try {
+            final List<UnitConfig> entryList = new ArrayList<>();
+            for (int i = 0; i < ENTRY_COUNT; i++) {
+                entryList.add(UnitConfig.newBuilder().setId("Entry" + i).build());
+            }
+            remoteRegistry.notifyRegistryUpdate(entryList);
+
+            // register
+            synchronizer.failingIdSet.add("Entry3");
+            synchronize(synchronizer);
+            assertEquals(ENTRY_COUNT - 1, synchronizer.registeredIdList.size());
+            assertFalse(synchronizer.registeredIdList.contains("Entry3"));
+
+            synchronizer.failingIdSet.clear();
+            synchronize(synchronizer);
+            assertEquals(ENTRY_COUNT, synchronizer.registeredIdList.size());
+            assertEquals(1, Collections.frequency(synchronizer.registeredIdList, "Entry3"));
+
+            // update
+            entryList.set(5, entryList.get(5).toBuilder().addAlias("Alias5").build());
+            entryList.set(6, entryList.get(6).toBuilder().addAlias("Alias6").build());
+            synchronizer.failingIdSet.add("Entry5");
+            remoteRegistry.notifyRegistryUpdate(entryList);
+            synchronize(synchronizer);
+            assertEquals(Collections.singletonList("Entry6"), synchronizer.updatedIdList);
+
+            synchronizer.failingIdSet.clear();
+            synchronize(synchronizer);
+            assertEquals(2, synchronizer.updatedIdList.size());
+            assertEquals(1, Collections.frequency(synchronizer.updatedIdList, "Entry5"));
+
+            // remove
+            entryList.remove(8);
+            entryList.remove(7);
+            synchronizer.failingIdSet.add("Entry7");
+            remoteRegistry.notifyRegistryUpdate(entryList);
+            synchronize(synchronizer);
+            assertEquals(Collections.singletonList("Entry8"), synchronizer.removedIdList);
+
+            synchronizer.failingIdSet.clear();
+            synchronize(synchronizer);
+            assertEquals(2, synchronizer.removedIdList.size());
+            assertEquals(1, Collections.frequency(synchronizer.removedIdList, "Entry7"));
+
+            // nothing left to apply
+            synchronize(synchronizer);
+            assertEquals(ENTRY_COUNT, synchronizer.registeredIdList.size());
+            assertEquals(2, synchronizer.updatedIdList.size());
+            assertEquals(2, synchronizer.removedIdList.size());
+        } finally {
+            synchronizer.shutdown();
+            remoteRegistry.shutdown();
+        }
+    }
+
+    /**
+     * Test if a batch failure which can not be assigned to single entries causes the retry of the whole batch.
+     *
+     * @throws java.lang.Exception
+     */
+    @Test(timeout = 10000)
+    public void testRejectedBatch() throws Exception {
+        System.out.println("testRejectedBatch");
+
+        final RemoteRegistry<String, UnitConfig, UnitConfig.Builder> remoteRegistry = new RemoteRegistry<>();
+        final TestSynchronizer synchronizer = new TestSynchronizer(remoteRegistry);
+        try {
+            final List<UnitConfig> entryList = new ArrayList<>();
+            for (int i = 0; i < ENTRY_COUNT; i++) {
+                entryList.add(UnitConfig.newBuilder().setId("Entry" + i).build());
+            }
+            remoteRegistry.notifyRegistryUpdate(entryList);
+
+            synchronizer.rejectBatch = true;
+            synchronize(synchronizer);
+            assertTrue(synchronizer.registeredIdList.isEmpty());
+
+            synchronizer.rejectBatch = false;
+            synchronize(synchronizer);
+            assertEquals(ENTRY_COUNT, synchronizer.registeredIdList.size());
+            assertEquals(ENTRY_COUNT, new HashSet<>(synchronizer.registeredIdList).size());
+        } finally {
+            synchronizer.shutdown();
+            remoteRegistry.shutdown();
+        }
+    }
+
+    /**
+     * Performs a synchronization by reactivating the given synchronizer.
+     *
+     * @param synchronizer the synchronizer to sync.
+     *
+     * @throws Exception is thrown if the reactivation fails.
+     */
+    private static void synchronize(final TestSynchronizer synchronizer) throws Exception {
+        synchronizer.deactivate();
+        try {
+            synchronizer.activate();
+        } catch (AssertionError ex) {
+            // in test mode failed synchronizations are additionally reported via an assertion, the applied state is validated by the test itself.
+        }
+    }
+
+    private static class TestSynchronizer extends AbstractSynchronizer<String, IdentifiableMessage<String, UnitConfig, UnitConfig.Builder>> {
+
+        private final RemoteRegistry<String, UnitConfig, UnitConfig.Builder> remoteRegistry;
+        private final Set<String> failingIdSet = ConcurrentHashMap.newKeySet();
+        private final List<String> registeredIdList = Collections.synchronizedList(new ArrayList<>());
+        private final List<String> updatedIdList = Collections.synchronizedList(new ArrayList<>());
+        private final List<String> removedIdList = Collections.synchronizedList(new ArrayList<>());
+        private volatile boolean rejectBatch = false;
+
+        TestSynchronizer(final RemoteRegistry<String, UnitConfig, UnitConfig.Builder> remoteRegistry) throws org.openbase.jul.exception.InstantiationException {
+            super(remoteRegistry);
+            this.remoteRegistry = remoteRegistry;
+        }
+
+        @Override
+        protected void registerAll(final List<IdentifiableMessage<String, UnitConfig, UnitConfig.Builder>> entries) throws MultiException, InterruptedException {
+            if (rejectBatch) {
+                throw new MultiException("Could not register entries!", MultiException.push(this, new CouldNotPerformException("Transaction rejected!"), null));
+            }
+            super.registerAll(entries);
+        }
+
+        @Override
+        public void register(final IdentifiableMessage<String, UnitConfig, UnitConfig.Builder> entry) throws CouldNotPerformException {
+            registeredIdList.add(process(entry));
+        }
+
+        @Override
+        public void update(final IdentifiableMessage<String, UnitConfig, UnitConfig.Builder> entry) throws CouldNotPerformException {
+            updatedIdList.add(process(entry));
+        }
+
+        @Override
+        public void remove(final IdentifiableMessage<String, UnitConfig, UnitConfig.Builder> entry) throws CouldNotPerformException {
+            removedIdList.add(process(entry));
+        }
+
+        private String process(final IdentifiableMessage<String, UnitConfig, UnitConfig.Builder> entry) throws CouldNotPerformException {
+            if (failingIdSet.contains(entry.getId())) {
+                throw new CouldNotPerformException("Could not process Entry[" + entry.getId() + "]!");
+            }
+            return entry.getId();
+        }
+
+        @Override
+        public List<IdentifiableMessage<String, UnitConfig, UnitConfig.Builder>> getEntries() throws CouldNotPerformException {
+            return remoteRegistry.getEntries();
+        }
+
+        @Override
+        protected boolean isParallelProcessingSupported() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package org.openbase.jul.storage.registry;
+
+/*-
+ * #%L
+ * JUL Storage
+ * %%
+ * Copyright (C) 2015 - 2021 openbase.org
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openbase.jps.core.JPService;
+import org.openbase.jps.exception.JPServiceException;
+import org.openbase.jul.exception.CouldNotPerformException;
+import org.openbase.jul.exception.InstantiationException;
+import org.openbase.jul.iface.Identifiable;
+import org.openbase.jul.processing.FileProcessor;
+import org.openbase.jul.storage.file.DatabaseSnapshot;
+import org.openbase.jul.storage.file.FileProvider;
+import org.openbase.jul.storage.file.SnapshotProcessor;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+/**
+ * @author <a href="mailto:divine@openbase.org">Divine Threepwood</a>
+ */
+public class FileSynchronizedRegistryImplTest {
+
+    private static final String FILE_TYPE = "entry";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void setUpClass() throws JPServiceException {
+        JPService.setupJUnitTestMode();
+    }
+
+    /**
+     * Test if external modifications of the database files are reloaded by the database watcher
+     * and if rejected modifications affect neither the registry nor its database snapshot.
+     *
+     * @throws Exception
+     */
+    @Test(timeout = 30000)
+    public void testReloadDatabaseFiles() throws Exception {
+        System.out.println("testReloadDatabaseFiles");
+        final File databaseDirectory = temporaryFolder.newFolder("test-db");
+        writeEntryFile(databaseDirectory, new TestEntry("Entry0", "FirstLabel"));
+        writeEntryFile(databaseDirectory, new TestEntry("Entry1", "Label1"));
+
+        final TestRegistry registry = new TestRegistry(databaseDirectory);
+        try {
+            registry.registerConsistencyHandler(new UniqueLabelConsistencyHandler());
+            registry.activateSnapshotSupport(new TestEntrySnapshotProcessor());
+            registry.loadRegistry();
+            registry.checkConsistency();
+            registry.activateDatabaseWatcher();
+
+            // the previous entry is removed before the label is claimed by the new one.
+            writeEntryFile(databaseDirectory, new TestEntry("RenamedEntry1", "Label1"));
+            waitFor(() -> registry.contains("RenamedEntry1"));
+            assertFalse("Entry with changed id not removed!", registry.contains("Entry1"));
+
+            // the duplicated label is rejected by the sandbox.
+            writeEntryFile(databaseDirectory, "FirstLabel." + FILE_TYPE, new TestEntry("Entry0", "Label1"));
+            Thread.sleep(FileSynchronizedRegistryImpl.DATABASE_WATCHER_DEBOUNCE_DELAY * 4);
+
+            // modifications are reloaded in order, so the rejected modification is processed once this one is applied.
+            writeEntryFile(databaseDirectory, new TestEntry("Entry2", "Label2"));
+            waitFor(() -> registry.contains("Entry2"));
+
+            assertEquals("Rejected modification applied!", "FirstLabel", registry.get("Entry0").getLabel());
+            assertEquals("Rejected modification published!", "FirstLabel", registry.getEntryMap().get("Entry0").getLabel());
+            assertEquals("Unexpected number of entries!", 3, registry.size());
+        } finally {
+            registry.shutdown();
+        }
+
+        try {
+            new DatabaseSnapshot<>(new File(databaseDirectory.getParentFile(), "." + databaseDirectory.getName() + ".snapshot"), new TestEntrySnapshotProcessor())
+                    .restore(databaseDirectory.listFiles(new TestEntryFileProvider().getFileFilter()), -1);
+            fail("Snapshot of the rejected database file was written!");
+        } catch (CouldNotPerformException ex) {
+            // expected
+        }
+    }
+
+    private void waitFor(final BooleanSupplier condition) throws InterruptedException {
+        while (!condition.getAsBoolean()) {
+            Thread.sleep(50);
+        }
+    }
+
+    private void writeEntryFile(final File databaseDirectory, final TestEntry entry) throws IOException {
+        writeEntryFile(databaseDirectory, entry.getLabel() + "." + FILE_TYPE, entry);
+    }
+
+    private void writeEntryFile(final File databaseDirectory, final String fileName, final TestEntry entry) throws IOException {
+        Files.write(new File(databaseDirectory, fileName).toPath(), (entry.getId() + ";" + entry.getLabel()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static class TestRegistry extends FileSynchronizedRegistryImpl<String, TestEntry, Map<String, TestEntry>, FileSynchronizedRegistry<String, TestEntry>> {
+
+        TestRegistry(final File databaseDirectory) throws CouldNotPerformException, InterruptedException {
+            super(new HashMap<>(), databaseDirectory, new TestEntryProcessor(), new TestEntryFileProvider(), true);
+            setupSandbox(new FileSynchronizedRegistrySandbox<String, TestEntry, Map<String, TestEntry>, FileSynchronizedRegistry<String, TestEntry>>(new HashMap<>(), this));
+        }
+    }
+
+    private static class TestEntry implements Identifiable<String> {
+
+        private final String id;
+        private final String label;
+
+        TestEntry(final String id, final String label) {
+            this.id = id;
+            this.label = label;
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof TestEntry)) {
+                return false;
+            }
+            final TestEntry other = (TestEntry) obj;
+            return id.equals(other.id) && label.equals(other.label);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(id, label);
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + "[" + id + "]";
+        }
+    }
+
+    private static class TestEntryProcessor implements FileProcessor<TestEntry> {
+
+        @Override
+        public TestEntry deserialize(final File file) throws CouldNotPerformException {
+            try {
+                final String[] content = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8).split(";");
+                return new TestEntry(content[0], content[1]);
+            } catch (IOException | ArrayIndexOutOfBoundsException ex) {
+                throw new CouldNotPerformException("Could not read " + file + "!", ex);
+            }
+        }
+
+        @Override
+        public TestEntry deserialize(final File file, final TestEntry entry) throws CouldNotPerformException {
+            return deserialize(file);
+        }
+
+        @Override
+        public File serialize(final TestEntry entry, final File file) throws CouldNotPerformException {
+            try {
+                Files.write(file.toPath(), (entry.getId() + ";" + entry.getLabel()).getBytes(StandardCharsets.UTF_8));
+                return file;
+            } catch (IOException ex) {
+                throw new CouldNotPerformException("Could not write " + file + "!", ex);
+            }
+        }
+    }
+
+    /**
+     * Names the files by the label of their entry, so the file of an entry is kept if its id changes.
+     */
+    private static class TestEntryFileProvider implements FileProvider<Identifiable<String>> {
+
+        @Override
+        public String getFileName(final Identifiable<String> context) {
+            return ((TestEntry) context).getLabel() + "." + FILE_TYPE;
+        }
+
+        @Override
+        public String getFileType() {
+            return FILE_TYPE;
+        }
+
+        @Override
+        public FileFilter getFileFilter() {
+            return file -> file.isFile() && file.getName().endsWith("." + FILE_TYPE);
+        }
+    }
+
+    private static class TestEntrySnapshotProcessor implements SnapshotProcessor<TestEntry> {
+
+        @Override
+        public void write(final TestEntry entry, final OutputStream outputStream) throws CouldNotPerformException {
+            try {
+                final DataOutputStream dataOutputStream = new DataOutputStream(outputStream);
+                dataOutputStream.writeUTF(entry.getId());
+                dataOutputStream.writeUTF(entry.getLabel());
+            } catch (IOException ex) {
+                throw new CouldNotPerformException("Could not write " + entry + "!", ex);
+            }
+        }
+
+        @Override
+        public TestEntry read(final InputStream inputStream) throws CouldNotPerformException {
+            try {
+                final DataInputStream dataInputStream = new DataInputStream(inputStream);
+                return new TestEntry(dataInputStream.readUTF(), dataInputStream.readUTF());
+            } catch (IOException ex) {
+                throw new CouldNotPerformException("Could not read entry!", ex);
+            }
+        }
+    }
+
+    /**
+     * Rejects entries whose label is already used by another entry.
+     */
+    private static class UniqueLabelConsistencyHandler extends AbstractConsistencyHandler<String, TestEntry, Map<String, TestEntry>, FileSynchronizedRegistry<String, TestEntry>> {
+
+        @Override
+        public void processData(final String id, final TestEntry entry, final Map<String, TestEntry> entryMap, final FileSynchronizedRegistry<String, TestEntry> registry) throws CouldNotPerformException {
+            for (final TestEntry otherEntry : entryMap.values()) {
+                if (!otherEntry.getId().equals(id) && otherEntry.getLabel().equals(entry.getLabel())) {
+                    throw new CouldNotPerformException("Label[" + entry.getLabel() + "] of " + entry + " is already used by " + otherEntry + "!");
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package org.openbase.jul.storage.registry;
+
+/*-
+ * #%L
+ * JUL Storage
+ * %%
+ * Copyright (C) 2015 - 2021 openbase.org
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.openbase.jps.core.JPService;
+import org.openbase.jps.exception.JPServiceException;
+import org.openbase.jul.exception.CouldNotPerformException;
+import org.openbase.jul.exception.InstantiationException;
+import org.openbase.jul.exception.NotAvailableException;
+import org.openbase.jul.extension.protobuf.IdentifiableMessage;
+import org.openbase.jul.storage.registry.plugin.RegistryPlugin;
+import org.openbase.type.domotic.unit.UnitConfigType.UnitConfig;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author <a href="mailto:divine@openbase.org">Divine Threepwood</a>
+ */
+public class RegistryChangeFeedTest {
+
+    @BeforeClass
+    public static void setUpClass() throws JPServiceException {
+        JPService.setupJUnitTestMode();
+    }
+
+    @Test(timeout = 5000)
+    public void testChangesSince() throws Exception {
+        final RegistryChangeFeed<String, String> changeFeed = new RegistryChangeFeed<>(3);
+
+        changeFeed.record(RegistryChange.Type.REGISTER, "a", null, "A");
+        changeFeed.record(RegistryChange.Type.REGISTER, "b", null, "B");
+        assertEquals("Changes published before commit!", 0, changeFeed.getChangesSince(0).size());
+        assertEquals(1, changeFeed.commit());
+
+        changeFeed.record(RegistryChange.Type.REMOVE, "a", "A", null);
+        assertEquals(2, changeFeed.commit());
+        assertEquals("Transaction without changes increased sequence number!", 2, changeFeed.commit());
+
+        final List<RegistryChange<String, String>> changeList = changeFeed.getChangesSince(0);
+        assertEquals(3, changeList.size());
+        assertEquals("a", changeList.get(0).getId());
+        assertEquals(RegistryChange.Type.REMOVE, changeList.get(2).getType());
+        assertEquals(1, changeFeed.getChangesSince(1).size());
+        assertEquals(0, changeFeed.getChangesSince(2).size());
+
+        // evicts the first change, so transaction 1 can not be resumed from 0 anymore.
+        changeFeed.record(RegistryChange.Type.UPDATE, "b", "B", "BB");
+        assertEquals(3, changeFeed.commit());
+        assertResyncRequired(changeFeed, 0);
+        assertEquals(2, changeFeed.getChangesSince(1).size());
+
+        changeFeed.reset();
+        assertEquals(4, changeFeed.commit());
+        assertResyncRequired(changeFeed, 3);
+        assertResyncRequired(changeFeed, 5);
+        assertEquals(0, changeFeed.getChangesSince(4).size());
+    }
+
+    /**
+     * Test if a feed without capacity, as configured via --registry-change-feed-capacity 0, still counts the transactions and forces consumers to resync.
+     *
+     * @throws Exception
+     */
+    @Test(timeout = 5000)
+    public void testChangesSinceWithoutCapacity() throws Exception {
+        final RegistryChangeFeed<String, String> changeFeed = new RegistryChangeFeed<>(0);
+        assertEquals(0, changeFeed.getChangesSince(0).size());
+
+        changeFeed.record(RegistryChange.Type.REGISTER, "a", null, "A");
+        assertEquals(1, changeFeed.commit());
+        assertResyncRequired(changeFeed, 0);
+        assertEquals(0, changeFeed.getChangesSince(1).size());
+
+        assertEquals("Transaction without changes increased sequence number!", 1, changeFeed.commit());
+
+        changeFeed.markModified();
+        assertEquals(2, changeFeed.commit());
+        assertResyncRequired(changeFeed, 1);
+        assertEquals(0, changeFeed.getChangesSince(2).size());
+    }
+
+    /**
+     * Test if entries rewritten by consistency handlers are recorded as update with the state they had when the change was applied.
+     *
+     * @throws Exception
+     */
+    @Test(timeout = 5000)
+    public void testConsistencyModificationChanges() throws Exception {
+        final AbstractRegistry<String, IdentifiableMessage<String, UnitConfig, UnitConfig.Builder>, ?, ?, ?> registry = new AbstractRegistryImpl();
+        registry.registerConsistencyHandler(new AliasConsistencyHandler());
+
+        final long sequenceNumber = registry.getTransactionSequenceNumber();
+        registry.register(new IdentifiableMessage<>(UnitConfig.newBuilder().setId("Entry0").build()));
+
+        final List<RegistryChange<String, IdentifiableMessage<String, UnitConfig, UnitConfig.Builder>>> changeList = registry.getChangesSince(sequenceNumber);
+        assertEquals("Consistency modification not recorded!", 2, changeList.size());
+        assertEquals(RegistryChange.Type.REGISTER, changeList.get(0).getType());
+        assertTrue("Registered state modified afterwards!", changeList.get(0).getEntry().getMessage().getAliasList().isEmpty());
+        assertEquals(RegistryChange.Type.UPDATE, changeList.get(1).getType());
+        assertEquals(changeList.get(0).getEntry(), changeList.get(1).getPreviousEntry());
+        assertEquals(Collections.singletonList(AliasConsistencyHandler.ALIAS), changeList.get(1).getEntry().getMessage().getAliasList());
+        assertEquals(registry.get("Entry0"), changeList.get(1).getEntry());
+    }
+
+    private void assertResyncRequired(final RegistryChangeFeed<String, String> changeFeed, final long sequenceNumber) {
+        try {
+            changeFeed.getChangesSince(sequenceNumber);
+            fail("Changes since transaction " + sequenceNumber + " should not be available!");
+        } catch (NotAvailableException ex) {
+            // expected
+        }
+    }
+
+    private static class AbstractRegistryImpl extends AbstractRegistry<String, IdentifiableMessage<String, UnitConfig, UnitConfig.Builder>, Map<String, IdentifiableMessage<String, UnitConfig, UnitConfig.Builder>>, Registry<String, IdentifiableMessage<String, UnitConfig, UnitConfig.Builder>>, RegistryPlugin<String, IdentifiableMessage<String, UnitConfig, UnitConfig.Builder>, Registry<String, IdentifiableMessage<String, UnitConfig, UnitConfig.Builder>>>> {
+
+        AbstractRegistryImpl() throws InstantiationException {
+            super(new HashMap<>());
+        }
+    }
+
+    /**
+     * Rewrites each entry without alias by adding a default alias.
+     */
+    private static class AliasConsistencyHandler extends AbstractConsistencyHandler<String, IdentifiableMessage<String, UnitConfig, UnitConfig.Builder>, Map<String, IdentifiableMessage<String, UnitConfig, UnitConfig.Builder>>, Registry<String, IdentifiableMessage<String, UnitConfig, UnitConfig.Builder>>> {
+
+        private static final String ALIAS = "Alias";
+
+        @Override
+        public void processData(String id, IdentifiableMessage<String, UnitConfig, UnitConfig.Builder> entry, Map<String, IdentifiableMessage<String, UnitConfig, UnitConfig.Builder>> entryMap, Registry<String, IdentifiableMessage<String, UnitConfig, UnitConfig.Builder>> registry) throws CouldNotPerformException, EntryModification {
+            if (entry.getMessage().getAliasList().isEmpty()) {
+                throw new EntryModification(entry.setMessage(entry.getMessage().toBuilder().addAlias(ALIAS), this), this);
+            }
+        }
+    }
+}
@@ -22,10 +22,14 @@ package org.openbase.jul.storage.registry;
  * #L%
  */
 
+import java.lang.reflect.Proxy;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.After;
 import org.junit.AfterClass;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import org.junit.Before;
@@ -33,6 +37,7 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 import org.openbase.jps.core.JPService;
 import org.openbase.jps.exception.JPServiceException;
+import org.openbase.jul.exception.CouldNotPerformException;
 import org.openbase.jul.exception.RejectedException;
 import org.openbase.jul.exception.printer.ExceptionPrinter;
 import org.slf4j.LoggerFactory;
@@ -141,6 +146,84 @@ public class RegistryLockingTest {
         
     }
 
+    @Test(timeout = 20000)
+    public void orderedLockingTest() throws Exception {
+        System.out.println("orderedLockingTest");
+        final AbstractRegistry registry1 = new AbstractRegistryImpl();
+        final AbstractRegistry registry2 = new AbstractRegistryImpl();
+        final AbstractRegistry registry3 = new AbstractRegistryImpl();
+
+        // registry 2 and 3 share their dependencies but register them in opposite order.
+        registry2.registerDependency(registry1);
+        registry2.registerDependency(registry3);
+        registry3.registerDependency(registry1);
+
+        final int iterations = 1000;
+        final Thread lockThread = new Thread(() -> {
+            try {
+                for (int i = 0; i < iterations; i++) {
+                    registry2.lock();
+                    registry2.unlock();
+                }
+            } catch (CouldNotPerformException ex) {
+                ExceptionPrinter.printHistory(ex, LOGGER);
+            }
+        });
+        lockThread.start();
+        for (int i = 0; i < iterations; i++) {
+            registry3.lock();
+            registry3.unlock();
+        }
+        lockThread.join();
+
+        assertEquals("Registry 2 was not locked as often as expected!", iterations, registry2.getLockMetrics().getLockCount());
+        assertEquals("Registry 3 was not locked as often as expected!", iterations, registry3.getLockMetrics().getLockCount());
+        assertEquals("Ordered lock acquisition needed retries!", 0, registry2.getLockMetrics().getRetryCount() + registry3.getLockMetrics().getRetryCount());
+        assertTrue("Registry 1 still locked!", registry1.tryLockRegistry());
+        registry1.unlockRegistry();
+    }
+
+    /**
+     * Test if the lock acquisition backs off while a dependency which is not derived from {@link AbstractRegistry} rejects to be locked.
+     *
+     * @throws Exception
+     */
+    @Test(timeout = 10000)
+    public void foreignRegistryLockingTest() throws Exception {
+        System.out.println("foreignRegistryLockingTest");
+        final AbstractRegistry registry = new AbstractRegistryImpl();
+        final AtomicInteger lockAttemptCounter = new AtomicInteger();
+        final long lockableTime = System.currentTimeMillis() + 500;
+
+        // foreign registry which rejects all lock attempts within the first 500ms.
+        final Registry foreignRegistry = (Registry) Proxy.newProxyInstance(Registry.class.getClassLoader(), new Class[]{Registry.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "recursiveTryLockRegistry":
+                    lockAttemptCounter.incrementAndGet();
+                    if (System.currentTimeMillis() < lockableTime) {
+                        return false;
+                    }
+                    ((Set) args[0]).add(proxy);
+                    return true;
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return "ForeignRegistry";
+                default:
+                    return null;
+            }
+        });
+        registry.registerDependency(foreignRegistry);
+
+        registry.lock();
+        registry.unlock();
+
+        assertTrue("Foreign registry was polled " + lockAttemptCounter.get() + " times!", lockAttemptCounter.get() < 50);
+        assertEquals("Retries not recorded!", lockAttemptCounter.get() - 1, registry.getLockMetrics().getRetryCount());
+    }
+
     public class AbstractRegistryImpl extends AbstractRegistry {
 
         public AbstractRegistryImpl() throws org.openbase.jul.exception.InstantiationException {
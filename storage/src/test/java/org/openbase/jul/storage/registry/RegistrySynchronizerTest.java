@@ -0,0 +1,256 @@
+package org.openbase.jul.storage.registry;
+
+/*-
+ * #%L
+ * JUL Storage
+ * %%
+ * Copyright (C) 2015 - 2021 openbase.org
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.openbase.jps.core.JPService;
+import org.openbase.jul.exception.CouldNotPerformException;
+import org.openbase.jul.exception.InvalidStateException;
+import org.openbase.jul.exception.MultiException;
+import org.openbase.jul.exception.RejectedException;
+import org.openbase.jul.exception.printer.ExceptionPrinter;
+import org.openbase.jul.iface.Configurable;
+import org.openbase.type.domotic.unit.UnitConfigType.UnitConfig;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author <a href="mailto:divine@openbase.org">Divine Threepwood</a>
+ */
+public class RegistrySynchronizerTest {
+
+    private static final org.slf4j.Logger LOGGER = LoggerFactory.getLogger(RegistrySynchronizerTest.class);
+
+    private static final int ENTRY_COUNT = 10;
+    private static final String INVALID_ID = "InvalidEntry";
+
+    @BeforeClass
+    public static void setUpClass() throws Throwable {
+        try {
+            JPService.setupJUnitTestMode();
+        } catch (Throwable ex) {
+            throw ExceptionPrinter.printHistoryAndReturnThrowable(ex, LOGGER);
+        }
+    }
+
+    /**
+     * Test if all changes are applied within one transaction of the local registry
+     * and if a rejected transaction falls back to apply the entries one by one.
+     *
+     * @throws java.lang.Exception
+     */
+    @Test(timeout = 10000)
+    public void testBatchTransactions() throws Exception {
+        System.out.println("testBatchTransactions");
+
+        final RemoteRegistry<String, UnitConfig, UnitConfig.Builder> remoteRegistry = new RemoteRegistry<>();
+        final TestLocalRegistry localRegistry = new TestLocalRegistry();
+        final TestRegistrySynchronizer synchronizer = new TestRegistrySynchronizer(localRegistry, remoteRegistry);
+        try {
+            final List<UnitConfig> entryList = new ArrayList<>();
+            for (int i = 0; i < ENTRY_COUNT; i++) {
+                entryList.add(UnitConfig.newBuilder().setId("Entry" + i).build());
+            }
+
+            // register within one transaction
+            remoteRegistry.notifyRegistryUpdate(entryList);
+            synchronize(synchronizer);
+            assertEquals(ENTRY_COUNT, localRegistry.size());
+            assertEquals(1, localRegistry.batchTransactionCounter.get());
+            assertEquals(0, localRegistry.singleTransactionCounter.get());
+
+            // update within one transaction
+            entryList.set(1, entryList.get(1).toBuilder().addAlias("Alias1").build());
+            entryList.set(2, entryList.get(2).toBuilder().addAlias("Alias2").build());
+            remoteRegistry.notifyRegistryUpdate(entryList);
+            synchronize(synchronizer);
+            assertEquals("Alias1", localRegistry.get("Entry1").getConfig().getAlias(0));
+            assertEquals("Alias2", localRegistry.get("Entry2").getConfig().getAlias(0));
+            assertEquals(2, localRegistry.batchTransactionCounter.get());
+            assertEquals(0, localRegistry.singleTransactionCounter.get());
+
+            // a rejected transaction is applied entry by entry so only the invalid entry is skipped.
+            entryList.add(UnitConfig.newBuilder().setId("Entry" + ENTRY_COUNT).build());
+            entryList.add(UnitConfig.newBuilder().setId(INVALID_ID).build());
+            remoteRegistry.notifyRegistryUpdate(entryList);
+            synchronize(synchronizer);
+            assertEquals(ENTRY_COUNT + 1, localRegistry.size());
+            assertTrue(localRegistry.contains("Entry" + ENTRY_COUNT));
+            assertFalse(localRegistry.contains(INVALID_ID));
+            assertEquals(3, localRegistry.batchTransactionCounter.get());
+            assertEquals("Rejected transaction was not applied entry by entry!", 2, localRegistry.singleTransactionCounter.get());
+
+            // remove within one transaction
+            entryList.remove(entryList.size() - 1);
+            entryList.remove(0);
+            entryList.remove(0);
+            remoteRegistry.notifyRegistryUpdate(entryList);
+            synchronize(synchronizer);
+            assertEquals(ENTRY_COUNT - 1, localRegistry.size());
+            assertFalse(localRegistry.contains("Entry0"));
+            assertFalse(localRegistry.contains("Entry1"));
+            assertEquals(4, localRegistry.batchTransactionCounter.get());
+            assertEquals(2, localRegistry.singleTransactionCounter.get());
+        } finally {
+            synchronizer.shutdown();
+            remoteRegistry.shutdown();
+        }
+    }
+
+    /**
+     * Performs a synchronization by activating the given synchronizer.
+     * The synchronizer is deactivated afterwards so no further synchronization is triggered by the remote registry, which keeps the transaction counters deterministic.
+     *
+     * @param synchronizer the synchronizer to sync.
+     *
+     * @throws Exception is thrown if the activation fails.
+     */
+    private static void synchronize(final TestRegistrySynchronizer synchronizer) throws Exception {
+        try {
+            synchronizer.activate();
+        } catch (AssertionError ex) {
+            // in test mode failed synchronizations are additionally reported via an assertion, the applied state is validated by the test itself.
+        } finally {
+            synchronizer.deactivate();
+        }
+    }
+
+    /**
+     * Creates a registry remote which only provides the data of the given remote registry.
+     */
+    private static RegistryRemote<?> createRegistryRemote(final RemoteRegistry<String, UnitConfig, UnitConfig.Builder> remoteRegistry) {
+        return (RegistryRemote<?>) Proxy.newProxyInstance(RegistrySynchronizerTest.class.getClassLoader(), new Class[]{RegistryRemote.class}, (proxy, method, args) -> {
+            if (!method.getDeclaringClass().isInstance(remoteRegistry)) {
+                throw new UnsupportedOperationException(method.getName());
+            }
+            try {
+                return method.invoke(remoteRegistry, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+        });
+    }
+
+    private static class TestRegistrySynchronizer extends RegistrySynchronizer<String, TestEntry, UnitConfig, UnitConfig.Builder> {
+
+        TestRegistrySynchronizer(final TestLocalRegistry localRegistry, final RemoteRegistry<String, UnitConfig, UnitConfig.Builder> remoteRegistry) throws org.openbase.jul.exception.InstantiationException {
+            super(localRegistry, remoteRegistry, createRegistryRemote(remoteRegistry), TestEntry::new);
+        }
+
+        @Override
+        protected boolean isBatchTransactionSupported() {
+            return true;
+        }
+    }
+
+    /**
+     * Local registry which rejects each transaction containing the invalid entry.
+     */
+    private static class TestLocalRegistry extends SynchronizableRegistryImpl<String, TestEntry> {
+
+        private final AtomicInteger batchTransactionCounter = new AtomicInteger();
+        private final AtomicInteger singleTransactionCounter = new AtomicInteger();
+
+        TestLocalRegistry() throws org.openbase.jul.exception.InstantiationException {
+            super();
+        }
+
+        @Override
+        public List<TestEntry> registerAll(final Collection<TestEntry> entries) throws MultiException, InvalidStateException {
+            batchTransactionCounter.incrementAndGet();
+            for (final TestEntry entry : entries) {
+                if (entry.config.getId().equals(INVALID_ID)) {
+                    throw new MultiException("Could not register entries!", MultiException.push(this, new RejectedException("Transaction rejected!"), null));
+                }
+            }
+            return super.registerAll(entries);
+        }
+
+        @Override
+        public List<TestEntry> updateAll(final Collection<TestEntry> entries) throws MultiException, InvalidStateException {
+            batchTransactionCounter.incrementAndGet();
+            return super.updateAll(entries);
+        }
+
+        @Override
+        public List<TestEntry> removeAllByKey(final Collection<String> keys) throws MultiException, InvalidStateException {
+            batchTransactionCounter.incrementAndGet();
+            return super.removeAllByKey(keys);
+        }
+
+        @Override
+        public TestEntry register(final TestEntry entry) throws CouldNotPerformException {
+            singleTransactionCounter.incrementAndGet();
+            if (entry.getId().equals(INVALID_ID)) {
+                throw new RejectedException("Entry[" + INVALID_ID + "] rejected!");
+            }
+            return super.register(entry);
+        }
+
+        @Override
+        public TestEntry update(final TestEntry entry) throws CouldNotPerformException {
+            singleTransactionCounter.incrementAndGet();
+            return super.update(entry);
+        }
+
+        @Override
+        public TestEntry remove(final String key) throws CouldNotPerformException {
+            singleTransactionCounter.incrementAndGet();
+            return super.remove(key);
+        }
+    }
+
+    private static class TestEntry implements Configurable<String, UnitConfig> {
+
+        private volatile UnitConfig config;
+
+        TestEntry(final UnitConfig config) {
+            this.config = config;
+        }
+
+        @Override
+        public String getId() {
+            return config.getId();
+        }
+
+        @Override
+        public UnitConfig getConfig() {
+            return config;
+        }
+
+        @Override
+        public UnitConfig applyConfigUpdate(final UnitConfig config) {
+            this.config = config;
+            return config;
+        }
+    }
+}
@@ -22,6 +22,8 @@ package org.openbase.jul.storage.registry;
  * #L%
  */
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -29,8 +31,12 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 import org.openbase.jps.core.JPService;
 import org.openbase.jul.exception.printer.ExceptionPrinter;
+import org.openbase.jul.extension.protobuf.IdentifiableMessage;
+import org.openbase.type.domotic.unit.UnitConfigType.UnitConfig;
 import org.slf4j.LoggerFactory;
 
+import static org.junit.Assert.*;
+
 /**
  *
  * @author <a href="mailto:divine@openbase.org">Divine Threepwood</a>
@@ -73,4 +79,55 @@ public class RemoteRegistryTest {
         System.out.println("notifyRegistryUpdate");
         remoteRegistry.notifyRegistryUpdate(new ArrayList());
     }
+
+    /**
+     * Test if notifyRegistryUpdate only publishes the entries which are really added, updated or removed.
+     *
+     * @throws java.lang.Exception
+     */
+    @Test(timeout = 10000)
+    public void testNotifyRegistryUpdateChangeSet() throws Exception {
+        System.out.println("testNotifyRegistryUpdateChangeSet");
+
+        final RemoteRegistry<String, UnitConfig, UnitConfig.Builder> registry = new RemoteRegistry<>();
+        final List<RegistryChangeSet<String, IdentifiableMessage<String, UnitConfig, UnitConfig.Builder>>> changeSetList = new ArrayList<>();
+        registry.addChangeObserver((source, changeSet) -> changeSetList.add(changeSet));
+
+        try {
+            final UnitConfig entryA = UnitConfig.newBuilder().setId("A").addAlias("A-1").build();
+            final UnitConfig entryB = UnitConfig.newBuilder().setId("B").addAlias("B-1").build();
+
+            // initial state
+            registry.notifyRegistryUpdate(Arrays.asList(entryA, entryB));
+            assertEquals("Initial update not published!", 1, changeSetList.size());
+            assertEquals(2, changeSetList.get(0).getAddedEntries().size());
+            assertTrue(changeSetList.get(0).getUpdatedEntries().isEmpty());
+            assertTrue(changeSetList.get(0).getRemovedEntries().isEmpty());
+
+            // equal but newly built entries are no changes
+            registry.notifyRegistryUpdate(Arrays.asList(entryA.toBuilder().build(), entryB.toBuilder().build()));
+            assertEquals("Unchanged state was published!", 1, changeSetList.size());
+
+            // update
+            final UnitConfig updatedEntryB = entryB.toBuilder().addAlias("B-2").build();
+            registry.notifyRegistryUpdate(Arrays.asList(entryA, updatedEntryB));
+            assertEquals(2, changeSetList.size());
+            assertTrue(changeSetList.get(1).getAddedEntries().isEmpty());
+            assertEquals(1, changeSetList.get(1).getUpdatedEntries().size());
+            assertEquals(updatedEntryB, changeSetList.get(1).getUpdatedEntries().get("B").getMessage());
+            assertTrue(changeSetList.get(1).getRemovedEntries().isEmpty());
+            assertEquals(updatedEntryB, registry.getMessage("B"));
+
+            // remove
+            registry.notifyRegistryUpdate(Arrays.asList(updatedEntryB));
+            assertEquals(3, changeSetList.size());
+            assertTrue(changeSetList.get(2).getAddedEntries().isEmpty());
+            assertTrue(changeSetList.get(2).getUpdatedEntries().isEmpty());
+            assertEquals(entryA, changeSetList.get(2).getRemovedEntries().get("A").getMessage());
+            assertFalse(registry.contains("A"));
+            assertEquals(1, registry.size());
+        } finally {
+            registry.shutdown();
+        }
+    }
 }
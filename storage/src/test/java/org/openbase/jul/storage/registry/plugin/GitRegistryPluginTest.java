@@ -0,0 +1,175 @@
+package org.openbase.jul.storage.registry.plugin;
+
+/*-
+ * #%L
+ * JUL Storage
+ * %%
+ * Copyright (C) 2015 - 2021 openbase.org
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.Status;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openbase.jul.exception.CouldNotPerformException;
+import org.openbase.jul.exception.InstantiationException;
+import org.openbase.jul.processing.FileProcessor;
+import org.openbase.jul.storage.file.FileSynchronizer;
+import org.openbase.jul.storage.registry.FileSynchronizedRegistry;
+import org.openbase.type.domotic.unit.UnitConfigType.UnitConfig;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author <a href="mailto:divine@openbase.org">Divine Threepwood</a>
+ */
+public class GitRegistryPluginTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test(timeout = 20000)
+    public void testSelectiveDelayedCommit() throws Exception {
+        System.out.println("testSelectiveDelayedCommit");
+        final File databaseDirectory = createDatabaseRepository();
+        final CommittingGitRegistryPlugin plugin = new CommittingGitRegistryPlugin(createRegistry(databaseDirectory));
+
+        try (final Git git = Git.open(databaseDirectory)) {
+            final FileSynchronizer<String> registeredFileSynchronizer = createFileSynchronizer(databaseDirectory, "registered.json");
+            final FileSynchronizer<String> savedFileSynchronizer = createFileSynchronizer(databaseDirectory, "saved.json");
+            createFileSynchronizer(databaseDirectory, "unrelated.json");
+
+            plugin.afterRegister(null, registeredFileSynchronizer);
+            plugin.afterSave(null, savedFileSynchronizer);
+
+            // the changes are committed together once the commit delay has passed.
+            assertEquals("Commit was not delayed!", 1, countCommits(git));
+            waitForCommits(git, 2);
+
+            final Status status = git.status().call();
+            assertTrue("Changed files were not committed!", status.getUncommittedChanges().isEmpty());
+            assertEquals("Only the reported files are allowed to be staged!", 1, status.getUntracked().size());
+            assertTrue(status.getUntracked().contains("unrelated.json"));
+
+            // removed files are staged as removal.
+            Files.delete(registeredFileSynchronizer.getFile().toPath());
+            plugin.afterRemove(null, registeredFileSynchronizer);
+            waitForCommits(git, 3);
+            assertTrue("Removal was not committed!", git.status().call().getUncommittedChanges().isEmpty());
+            assertTrue(git.status().call().getUntracked().contains("unrelated.json"));
+        } finally {
+            plugin.shutdown();
+        }
+    }
+
+    private File createDatabaseRepository() throws Exception {
+        // the plugin pulls during its initialization, so the database is cloned from a repository with an initial commit.
+        final File originDirectory = temporaryFolder.newFolder("origin");
+        try (final Git origin = Git.init().setDirectory(originDirectory).call()) {
+            Files.write(new File(originDirectory, "initial.json").toPath(), "initial".getBytes(StandardCharsets.UTF_8));
+            origin.add().addFilepattern("initial.json").call();
+            origin.commit().setMessage("initial commit").call();
+        }
+
+        final File databaseDirectory = new File(temporaryFolder.getRoot(), "db");
+        Git.cloneRepository().setURI(originDirectory.toURI().toString()).setDirectory(databaseDirectory).call().close();
+        return databaseDirectory;
+    }
+
+    private FileSynchronizedRegistry createRegistry(final File databaseDirectory) {
+        return (FileSynchronizedRegistry) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{FileSynchronizedRegistry.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getDatabaseDirectory":
+                    return databaseDirectory;
+                case "toString":
+                    return "TestRegistry";
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+
+    private FileSynchronizer<String> createFileSynchronizer(final File databaseDirectory, final String fileName) throws IOException, InstantiationException {
+        final File file = new File(databaseDirectory, fileName);
+        Files.write(file.toPath(), fileName.getBytes(StandardCharsets.UTF_8));
+        return new FileSynchronizer<>(fileName, file, FileSynchronizer.InitMode.RESTORE, new StringFileProcessor());
+    }
+
+    private int countCommits(final Git git) throws Exception {
+        int commitCounter = 0;
+        for (final RevCommit ignored : git.log().call()) {
+            commitCounter++;
+        }
+        return commitCounter;
+    }
+
+    private void waitForCommits(final Git git, final int expectedCommits) throws Exception {
+        while (countCommits(git) < expectedCommits) {
+            Thread.sleep(50);
+        }
+        assertEquals(expectedCommits, countCommits(git));
+    }
+
+    private static class CommittingGitRegistryPlugin extends GitRegistryPlugin<String, UnitConfig, UnitConfig.Builder> {
+
+        CommittingGitRegistryPlugin(final FileSynchronizedRegistry registry) throws InstantiationException {
+            super(registry);
+        }
+
+        @Override
+        boolean isTestModeEnabled() {
+            return false;
+        }
+    }
+
+    private static class StringFileProcessor implements FileProcessor<String> {
+
+        @Override
+        public String deserialize(final File file) throws CouldNotPerformException {
+            try {
+                return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+            } catch (IOException ex) {
+                throw new CouldNotPerformException("Could not read " + file + "!", ex);
+            }
+        }
+
+        @Override
+        public String deserialize(final File file, final String data) throws CouldNotPerformException {
+            return deserialize(file);
+        }
+
+        @Override
+        public File serialize(final String data, final File file) throws CouldNotPerformException {
+            try {
+                Files.write(file.toPath(), data.getBytes(StandardCharsets.UTF_8));
+                return file;
+            } catch (IOException ex) {
+                throw new CouldNotPerformException("Could not write " + file + "!", ex);
+            }
+        }
+    }
+}
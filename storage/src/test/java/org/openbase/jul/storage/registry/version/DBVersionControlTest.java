@@ -0,0 +1,111 @@
+package org.openbase.jul.storage.registry.version;
+
+/*-
+ * #%L
+ * JUL Storage
+ * %%
+ * Copyright (C) 2015 - 2021 openbase.org
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openbase.jul.storage.file.FileProvider;
+import org.openbase.jul.storage.registry.FileSynchronizedRegistry;
+import org.openbase.jul.storage.registry.version.dbconvert.Entry_0_To_1_DBConverter;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.lang.reflect.Proxy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author <a href="mailto:divine@openbase.org">Divine Threepwood</a>
+ */
+public class DBVersionControlTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test(timeout = 10000)
+    public void testUpgradeWithChainedConverters() throws Exception {
+        System.out.println("testUpgradeWithChainedConverters");
+        final File databaseDirectory = temporaryFolder.newFolder("entry-db");
+        storeEntry(databaseDirectory, "a");
+        storeEntry(databaseDirectory, "b");
+        storeEntry(databaseDirectory, "obsolete");
+
+        final DBVersionControl versionControl = new DBVersionControl("Entry", new JsonFileProvider(), Entry_0_To_1_DBConverter.class.getPackage(), databaseDirectory, createRegistry());
+        assertEquals(3, versionControl.getLatestSupportedDBVersion());
+        versionControl.upgradeDB(0, 3);
+
+        // the independent converters 0 and 1 are chained per entry, converter 2 is applied afterwards.
+        for (final String label : new String[]{"a", "b"}) {
+            final JsonObject entry = loadEntry(databaseDirectory, label);
+            assertEquals(label, entry.get("label").getAsString());
+            assertEquals(label + "-alias", entry.get("alias").getAsString());
+            assertTrue(entry.get("upgraded").getAsBoolean());
+            assertFalse(entry.has("name"));
+        }
+
+        // entries added by a converter are not passed to the converter itself.
+        assertFalse(loadEntry(databaseDirectory, "c").has("upgraded"));
+
+        assertFalse("Removed entry still exists!", new File(databaseDirectory, "obsolete.json").exists());
+        assertEquals(3, versionControl.detectCurrentDBVersion());
+    }
+
+    private void storeEntry(final File databaseDirectory, final String name) throws Exception {
+        final JsonObject entry = new JsonObject();
+        entry.addProperty("name", name);
+        FileUtils.writeStringToFile(new File(databaseDirectory, name + ".json"), entry.toString(), "UTF-8");
+    }
+
+    private JsonObject loadEntry(final File databaseDirectory, final String label) throws Exception {
+        return new JsonParser().parse(FileUtils.readFileToString(new File(databaseDirectory, label + ".json"), "UTF-8")).getAsJsonObject();
+    }
+
+    private FileSynchronizedRegistry createRegistry() {
+        // the upgrade only checks the write access of the registry.
+        return (FileSynchronizedRegistry) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{FileSynchronizedRegistry.class}, (proxy, method, args) -> null);
+    }
+
+    private static class JsonFileProvider implements FileProvider<Object> {
+
+        @Override
+        public String getFileName(final Object context) {
+            return context + ".json";
+        }
+
+        @Override
+        public String getFileType() {
+            return "json";
+        }
+
+        @Override
+        public FileFilter getFileFilter() {
+            return file -> file.isFile() && file.getName().endsWith(".json");
+        }
+    }
+}
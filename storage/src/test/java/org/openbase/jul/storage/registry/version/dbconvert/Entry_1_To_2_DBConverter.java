@@ -0,0 +1,53 @@
+package org.openbase.jul.storage.registry.version.dbconvert;
+
+/*-
+ * #%L
+ * JUL Storage
+ * %%
+ * Copyright (C) 2015 - 2021 openbase.org
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import com.google.gson.JsonObject;
+import org.openbase.jul.storage.registry.version.AbstractDBVersionConverter;
+import org.openbase.jul.storage.registry.version.DBVersionControl;
+
+import java.io.File;
+import java.util.Map;
+
+/**
+ * Derives the alias from the label which is only available after the previous upgrade.
+ *
+ * @author <a href="mailto:divine@openbase.org">Divine Threepwood</a>
+ */
+public class Entry_1_To_2_DBConverter extends AbstractDBVersionConverter {
+
+    public Entry_1_To_2_DBConverter(final DBVersionControl versionControl) {
+        super(versionControl);
+    }
+
+    @Override
+    public JsonObject upgrade(final JsonObject outdatedDBEntry, final Map<File, JsonObject> dbSnapshot) {
+        outdatedDBEntry.addProperty("alias", outdatedDBEntry.get("label").getAsString() + "-alias");
+        return outdatedDBEntry;
+    }
+
+    @Override
+    public boolean isParallelProcessingSupported() {
+        return true;
+    }
+}
@@ -0,0 +1,58 @@
+package org.openbase.jul.storage.registry.version.dbconvert;
+
+/*-
+ * #%L
+ * JUL Storage
+ * %%
+ * Copyright (C) 2015 - 2021 openbase.org
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import com.google.gson.JsonObject;
+import org.openbase.jul.storage.registry.version.AbstractDBVersionConverter;
+import org.openbase.jul.storage.registry.version.DBVersionControl;
+
+import java.io.File;
+import java.util.Map;
+
+/**
+ * Removes the obsolete entry, splits entry a into a and c and marks all upgraded entries.
+ *
+ * @author <a href="mailto:divine@openbase.org">Divine Threepwood</a>
+ */
+public class Entry_2_To_3_DBConverter extends AbstractDBVersionConverter {
+
+    public Entry_2_To_3_DBConverter(final DBVersionControl versionControl) {
+        super(versionControl);
+    }
+
+    @Override
+    public JsonObject upgrade(final JsonObject outdatedDBEntry, final Map<File, JsonObject> dbSnapshot) {
+        final String label = outdatedDBEntry.get("label").getAsString();
+        if (label.equals("obsolete")) {
+            return null;
+        }
+
+        if (label.equals("a")) {
+            final JsonObject splitEntry = new JsonObject();
+            splitEntry.addProperty("label", "c");
+            dbSnapshot.put(new File(getVersionControl().getDatabaseDirectory(), "c.json"), splitEntry);
+        }
+        outdatedDBEntry.addProperty("upgraded", true);
+        return outdatedDBEntry;
+    }
+}